@@ -0,0 +1,385 @@
+package org.team1540.rooster.datastructures;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A lookup table that interpolates between a set of points, for setpoint maps such as shooter
+ * speed against target distance.
+ *
+ * <p>Keys and values are stored in sorted {@code double} arrays, so a lookup boxes nothing and
+ * allocates nothing. A lookup finds its segment by binary search in O(log n) time, or, if the keys
+ * are evenly spaced, by direct calculation in O(1) time. Between points the table interpolates
+ * linearly or with a monotone cubic (see {@link Interpolation}); outside the range of the keys it
+ * returns the value of the nearest end point rather than extrapolating.
+ *
+ * <p>A table can be edited live by making it a public, non-final field marked with {@link
+ * org.team1540.rooster.preferencemanager.Preference Preference} (or in a {@link
+ * org.team1540.rooster.preferencemanager.TuningClass TuningClass}). The {@link
+ * org.team1540.rooster.preferencemanager.PreferenceManager PreferenceManager} stores it as text in
+ * the form returned by {@link #toString()}, e.g. {@code "1.0:3000, 2.5:3600, 4.0:4500"}, and
+ * updates the table in place whenever the text changes.
+ *
+ * <p>An {@code InterpolatingTable} is not thread-safe; look it up and edit it from the same
+ * thread, usually the main robot thread.
+ */
+public class InterpolatingTable implements DoubleUnaryOperator {
+
+    /**
+     * How to interpolate between points.
+     */
+    public enum Interpolation {
+        /**
+         * Straight lines between points.
+         */
+        LINEAR,
+        /**
+         * A monotone cubic (Fritsch-Carlson) spline. The curve is smooth through each point, and
+         * never overshoots: between two points, it stays between their values.
+         */
+        CUBIC
+    }
+
+    // keys within this fraction of the range of a uniform grid count as uniform
+    private static final double UNIFORM_TOLERANCE = 1e-9;
+
+    @NotNull
+    private final Interpolation interpolation;
+
+    @NotNull
+    private double[] keys = new double[0];
+    @NotNull
+    private double[] values = new double[0];
+    // tangents at each point, for cubic interpolation
+    @NotNull
+    private double[] tangents = new double[0];
+    private boolean uniform;
+    private double inverseStep;
+    @NotNull
+    private String text = "";
+    @Nullable
+    private String rejectedText;
+
+    /**
+     * Creates a new {@code InterpolatingTable} with linear interpolation.
+     *
+     * @param keys The keys, in strictly increasing order. The array is copied.
+     * @param values The value for each key. The array is copied.
+     * @throws IllegalArgumentException If the arrays are empty or of different lengths, if the keys
+     * are not strictly increasing, or if any key or value is not finite.
+     */
+    public InterpolatingTable(@NotNull double[] keys, @NotNull double[] values) {
+        this(keys, values, Interpolation.LINEAR);
+    }
+
+    /**
+     * Creates a new {@code InterpolatingTable}.
+     *
+     * @param keys The keys, in strictly increasing order. The array is copied.
+     * @param values The value for each key. The array is copied.
+     * @param interpolation How to interpolate between points.
+     * @throws IllegalArgumentException If the arrays are empty or of different lengths, if the keys
+     * are not strictly increasing, or if any key or value is not finite.
+     */
+    public InterpolatingTable(@NotNull double[] keys, @NotNull double[] values,
+        @NotNull Interpolation interpolation) {
+        this.interpolation = Objects.requireNonNull(interpolation);
+        set(keys, values);
+    }
+
+    /**
+     * Creates a new {@code InterpolatingTable} from text in the form returned by {@link
+     * #toString()}: comma-separated {@code key:value} pairs, in increasing order of key.
+     *
+     * @param text The text.
+     * @param interpolation How to interpolate between points.
+     * @return The table.
+     * @throws IllegalArgumentException If the text can't be parsed, or describes a table that the
+     * constructor would reject.
+     */
+    @NotNull
+    public static InterpolatingTable parse(@NotNull String text,
+        @NotNull Interpolation interpolation) {
+        InterpolatingTable table = new InterpolatingTable(new double[]{0}, new double[]{0},
+            interpolation);
+        table.setText(text);
+        return table;
+    }
+
+    /**
+     * Replaces every point in the table.
+     *
+     * @param keys The keys, in strictly increasing order. The array is copied.
+     * @param values The value for each key. The array is copied.
+     * @throws IllegalArgumentException If the arrays are empty or of different lengths, if the keys
+     * are not strictly increasing, or if any key or value is not finite. The table is left
+     * unchanged.
+     */
+    public void set(@NotNull double[] keys, @NotNull double[] values) {
+        Objects.requireNonNull(keys);
+        Objects.requireNonNull(values);
+        if (keys.length == 0 || keys.length != values.length) {
+            throw new IllegalArgumentException("Need the same nonzero number of keys and values, "
+                + "got " + keys.length + " keys and " + values.length + " values");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (!Double.isFinite(keys[i]) || !Double.isFinite(values[i])) {
+                throw new IllegalArgumentException("Point " + i + " is not finite");
+            }
+            if (i > 0 && !(keys[i] > keys[i - 1])) {
+                throw new IllegalArgumentException("Keys must be strictly increasing, but key " + i
+                    + " (" + keys[i] + ") follows " + keys[i - 1]);
+            }
+        }
+
+        this.keys = keys.clone();
+        this.values = values.clone();
+        tangents = interpolation == Interpolation.CUBIC
+            ? computeTangents(keys, values) : new double[0];
+        checkUniform();
+        text = format(keys, values);
+    }
+
+    /**
+     * Replaces every point in the table from text in the form returned by {@link #toString()}. If
+     * the text is the same as the current text, or as the text rejected by the last call, nothing
+     * happens, so this can be called every loop with text that only changes occasionally.
+     *
+     * @param text The text.
+     * @throws IllegalArgumentException If the text can't be parsed, or describes a table that
+     * {@link #set(double[], double[])} would reject. The table is left unchanged.
+     */
+    public void setText(@NotNull String text) {
+        Objects.requireNonNull(text);
+        if (text.equals(this.text) || text.equals(rejectedText)) {
+            return;
+        }
+        try {
+            parseInto(text);
+            // keep the text as written, so the next call with it is a no-op
+            this.text = text;
+            rejectedText = null;
+        } catch (IllegalArgumentException e) {
+            rejectedText = text;
+            throw e;
+        }
+    }
+
+    private void parseInto(@NotNull String text) {
+        String[] entries = text.split(",");
+        double[] newKeys = new double[entries.length];
+        double[] newValues = new double[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            String[] pair = entries[i].split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected key:value, got \""
+                    + entries[i].trim() + "\"");
+            }
+            try {
+                newKeys[i] = Double.parseDouble(pair[0].trim());
+                newValues[i] = Double.parseDouble(pair[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad number in \"" + entries[i].trim() + "\"",
+                    e);
+            }
+        }
+        set(newKeys, newValues);
+    }
+
+    private void checkUniform() {
+        int last = keys.length - 1;
+        uniform = false;
+        if (last < 1) {
+            return;
+        }
+        double step = (keys[last] - keys[0]) / last;
+        double tolerance = UNIFORM_TOLERANCE * (keys[last] - keys[0]);
+        for (int i = 1; i < last; i++) {
+            if (Math.abs(keys[i] - (keys[0] + i * step)) > tolerance) {
+                return;
+            }
+        }
+        uniform = true;
+        inverseStep = 1 / step;
+    }
+
+    @NotNull
+    private static double[] computeTangents(@NotNull double[] keys, @NotNull double[] values) {
+        int n = keys.length;
+        double[] tangents = new double[n];
+        if (n < 2) {
+            return tangents;
+        }
+        tangents[0] = (values[1] - values[0]) / (keys[1] - keys[0]);
+        tangents[n - 1] = (values[n - 1] - values[n - 2]) / (keys[n - 1] - keys[n - 2]);
+        for (int i = 1; i < n - 1; i++) {
+            double h0 = keys[i] - keys[i - 1];
+            double h1 = keys[i + 1] - keys[i];
+            double d0 = (values[i] - values[i - 1]) / h0;
+            double d1 = (values[i + 1] - values[i]) / h1;
+            if (d0 * d1 <= 0) {
+                // a local extremum, so flatten out to avoid overshoot
+                tangents[i] = 0;
+            } else {
+                // weighted harmonic mean, which keeps the spline monotone
+                double w0 = 2 * h1 + h0;
+                double w1 = h1 + 2 * h0;
+                tangents[i] = (w0 + w1) / (w0 / d0 + w1 / d1);
+            }
+        }
+        return tangents;
+    }
+
+    @NotNull
+    private static String format(@NotNull double[] keys, @NotNull double[] values) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(keys[i]).append(':').append(values[i]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Looks up a value, interpolating between the nearest points. Keys below the first point or
+     * above the last return the value of that point.
+     *
+     * @param key The key.
+     * @return The interpolated value, or {@link Double#NaN} if {@code key} is {@link Double#NaN}.
+     */
+    @Contract(pure = true)
+    public double get(double key) {
+        int last = keys.length - 1;
+        if (key <= keys[0]) {
+            return values[0];
+        }
+        if (key >= keys[last]) {
+            return values[last];
+        }
+        if (Double.isNaN(key)) {
+            return Double.NaN;
+        }
+
+        // find i such that keys[i] <= key < keys[i + 1]
+        int i;
+        if (uniform) {
+            i = (int) ((key - keys[0]) * inverseStep);
+            // rounding can put us one off at a boundary
+            if (i > last - 1) {
+                i = last - 1;
+            }
+            if (key < keys[i]) {
+                i--;
+            } else if (key >= keys[i + 1]) {
+                i++;
+            }
+        } else {
+            i = Arrays.binarySearch(keys, key);
+            if (i >= 0) {
+                return values[i];
+            }
+            i = -(i + 1) - 1;
+        }
+
+        double h = keys[i + 1] - keys[i];
+        double t = (key - keys[i]) / h;
+        if (interpolation == Interpolation.LINEAR) {
+            return values[i] + t * (values[i + 1] - values[i]);
+        }
+
+        // cubic Hermite basis
+        double t2 = t * t;
+        double t3 = t2 * t;
+        return (2 * t3 - 3 * t2 + 1) * values[i]
+            + (t3 - 2 * t2 + t) * h * tangents[i]
+            + (-2 * t3 + 3 * t2) * values[i + 1]
+            + (t3 - t2) * h * tangents[i + 1];
+    }
+
+    /**
+     * Looks up a value. This is the same as {@link #get(double)}.
+     *
+     * @param key The key.
+     * @return The interpolated value.
+     */
+    @Override
+    @Contract(pure = true)
+    public double applyAsDouble(double key) {
+        return get(key);
+    }
+
+    /**
+     * Gets the number of points in the table.
+     *
+     * @return The number of points.
+     */
+    @Contract(pure = true)
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Gets the key of a point.
+     *
+     * @param index The index of the point.
+     * @return The key.
+     * @throws IndexOutOfBoundsException If {@code index} is out of range.
+     */
+    @Contract(pure = true)
+    public double getKey(int index) {
+        return keys[Objects.checkIndex(index, keys.length)];
+    }
+
+    /**
+     * Gets the value of a point.
+     *
+     * @param index The index of the point.
+     * @return The value.
+     * @throws IndexOutOfBoundsException If {@code index} is out of range.
+     */
+    @Contract(pure = true)
+    public double getValue(int index) {
+        return values[Objects.checkIndex(index, values.length)];
+    }
+
+    /**
+     * Gets how the table interpolates between points.
+     *
+     * @return The interpolation.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Interpolation getInterpolation() {
+        return interpolation;
+    }
+
+    /**
+     * Returns whether the keys are evenly spaced, in which case lookups take constant time.
+     *
+     * @return {@code true} if the keys are evenly spaced, {@code false} otherwise.
+     */
+    @Contract(pure = true)
+    public boolean isUniform() {
+        return uniform;
+    }
+
+    /**
+     * Returns the points in the table as comma-separated {@code key:value} pairs, the form
+     * accepted by {@link #setText(String)}. If the table was last set from text, that text is
+     * returned as is. The string is built when the table changes, so this does not allocate.
+     *
+     * @return The table as text.
+     */
+    @NotNull
+    @Override
+    @Contract(pure = true)
+    public String toString() {
+        return text;
+    }
+}
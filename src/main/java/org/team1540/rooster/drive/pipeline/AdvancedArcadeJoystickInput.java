@@ -5,6 +5,7 @@ import java.util.function.DoubleSupplier;
 import org.jetbrains.annotations.NotNull;
 import org.team1540.rooster.functional.Input;
 import org.team1540.rooster.util.MathUtils;
+import org.team1540.rooster.util.ResponseCurve;
 
 /**
  * Modified arcade drive joystick input.
@@ -70,6 +71,27 @@ public class AdvancedArcadeJoystickInput implements Input<TankDriveData> {
     this.hardTurnInput = hardTurnInput;
   }
 
+  /**
+   * Creates a new {@code AdvancedArcadeJoystickInput} that shapes all three inputs with a {@link
+   * ResponseCurve}. Each input gets its own {@linkplain ResponseCurve#copy() copy} of the curve, so
+   * a slew rate set on the curve limits each input separately.
+   *
+   * @param reverseBackwards If {@code true}, reverses the direction of the soft turn when the
+   * throttle is negative.
+   * @param curve The response curve for the inputs, usually including a deadzone (see {@link
+   * ResponseCurve#deadzoneExpo(double, double)}).
+   * @param throttleInput A {@link DoubleSupplier} that supplies the raw input for the throttle.
+   * @param softTurnInput A {@link DoubleSupplier} that supplies the raw input for the soft-turn.
+   * @param hardTurnInput A {@link DoubleSupplier} that supplies the raw input for the hard-turn.
+   */
+  public AdvancedArcadeJoystickInput(boolean reverseBackwards, @NotNull ResponseCurve curve,
+      @NotNull DoubleSupplier throttleInput,
+      @NotNull DoubleSupplier softTurnInput,
+      @NotNull DoubleSupplier hardTurnInput) {
+    this(reverseBackwards, curve.copy().shape(throttleInput), curve.copy().shape(softTurnInput),
+        curve.copy().shape(hardTurnInput));
+  }
+
   /**
    * Gets the desired output.
    *
@@ -4,19 +4,35 @@ import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.DemandType;
 import com.ctre.phoenix.motorcontrol.IMotorController;
 import java.util.Objects;
+import java.util.function.LongSupplier;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.team1540.rooster.functional.Output;
+import org.team1540.rooster.wrappers.ChickenController;
+import org.team1540.rooster.wrappers.ChickenControllerGroup;
+import org.team1540.rooster.wrappers.DemandFilter;
 
 /**
  * {@link Output} to pass drive commands to Talon SRX and Victor SPX motor controllers. For output
  * details, see the method documentation for {@link #accept(TankDriveData) accept()}.
+ *
+ * <p>Each side's demands go through a {@link DemandFilter}, so demands that haven't changed since
+ * the last loop are not passed to the controller again (apart from a periodic refresh). A {@link
+ * ChickenController} already filters every {@code set()} call itself, so for one the {@code
+ * CTREOutput} uses the controller's own {@linkplain ChickenController#getDemandFilter() filter}
+ * rather than filtering twice; other controllers get a filter owned by the {@code CTREOutput}.
+ * Either way, the filters are available through {@link #getLeftFilter()} and {@link
+ * #getRightFilter()}.
  */
 public class CTREOutput implements Output<TankDriveData> {
 
   private IMotorController left;
   private IMotorController right;
   private boolean closedLoop;
+  @NotNull
+  private final DemandFilter leftFilter;
+  @NotNull
+  private final DemandFilter rightFilter;
 
   /**
    * Command previously set motors according to the provided {@link TankDriveData}.
@@ -33,30 +49,73 @@ public class CTREOutput implements Output<TankDriveData> {
   @Override
   @Contract(pure = true)
   public void accept(@NotNull TankDriveData tankDriveData) {
-    processSide(tankDriveData.left, left);
-    processSide(tankDriveData.right, right);
+    processSide(tankDriveData.left, left, leftFilter);
+    processSide(tankDriveData.right, right, rightFilter);
   }
 
-  private void processSide(DriveData data, IMotorController controller) {
+  private void processSide(DriveData data, IMotorController controller, DemandFilter filter) {
     if (data.position.isPresent() && closedLoop) {
       if (data.additionalFeedForward.isPresent()) {
-        controller.set(ControlMode.Position, data.position.getAsDouble(),
+        send(controller, filter, ControlMode.Position, data.position.getAsDouble(),
             DemandType.ArbitraryFeedForward, data.additionalFeedForward.getAsDouble());
       } else {
-        controller.set(ControlMode.Position, data.position.getAsDouble());
+        send(controller, filter, ControlMode.Position, data.position.getAsDouble(),
+            DemandType.Neutral, 0);
       }
     } else if (data.velocity.isPresent() && closedLoop) {
       if (data.additionalFeedForward.isPresent()) {
-        controller.set(ControlMode.Velocity, data.velocity.getAsDouble(),
+        send(controller, filter, ControlMode.Velocity, data.velocity.getAsDouble(),
             DemandType.ArbitraryFeedForward, data.additionalFeedForward.getAsDouble());
       } else {
-        controller.set(ControlMode.Velocity, data.velocity.getAsDouble());
+        send(controller, filter, ControlMode.Velocity, data.velocity.getAsDouble(),
+            DemandType.Neutral, 0);
       }
     } else {
-      controller.set(ControlMode.PercentOutput, data.additionalFeedForward.orElse(0));
+      send(controller, filter, ControlMode.PercentOutput, data.additionalFeedForward.orElse(0),
+          DemandType.Neutral, 0);
     }
   }
 
+  private static void send(IMotorController controller, DemandFilter filter, ControlMode mode,
+      double demand0, DemandType demand1Type, double demand1) {
+    // a ChickenController runs the demand through the same filter inside set()
+    if (controller instanceof ChickenController
+        || filter.shouldSend(mode, demand0, demand1Type, demand1)) {
+      controller.set(mode, demand0, demand1Type, demand1);
+    }
+  }
+
+  @NotNull
+  private static DemandFilter filterFor(@NotNull IMotorController controller,
+      @NotNull LongSupplier clock) {
+    return controller instanceof ChickenController
+        ? ((ChickenController) controller).getDemandFilter() : new DemandFilter(clock);
+  }
+
+  /**
+   * Gets the {@link DemandFilter} used for the left side. If the left controller is a {@link
+   * ChickenController}, this is the controller's own filter.
+   *
+   * @return The left-side demand filter.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public DemandFilter getLeftFilter() {
+    return leftFilter;
+  }
+
+  /**
+   * Gets the {@link DemandFilter} used for the right side. If the right controller is a {@link
+   * ChickenController}, this is the controller's own filter.
+   *
+   * @return The right-side demand filter.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public DemandFilter getRightFilter() {
+    return rightFilter;
+  }
+
   /**
    * Returns whether this {@code CTREOutput} commands its controllers in closed-loop mode if
    * possible. If {@code true}, when {@link #accept(TankDriveData) accept()} is called and the
@@ -112,8 +171,54 @@ public class CTREOutput implements Output<TankDriveData> {
    */
   public CTREOutput(@NotNull IMotorController left, @NotNull IMotorController right,
       boolean closedLoop) {
+    this(left, right, closedLoop, () -> System.nanoTime() / 1000);
+  }
+
+  /**
+   * Creates a new {@code CTREOutput} whose demand filters run on the provided clock, e.g.
+   * simulation time. This only affects filters the {@code CTREOutput} owns; a {@link
+   * ChickenController} keeps filtering on its own clock.
+   *
+   * @param left The left-side motor controller.
+   * @param right The right-side motor controller.
+   * @param closedLoop Whether to command the controllers in closed-loop mode if possible. (See
+   * {@link #isClosedLoop()}/{@link #setClosedLoop(boolean) setClosedLoop()}).
+   * @param clock A clock returning the current time in microseconds.
+   */
+  public CTREOutput(@NotNull IMotorController left, @NotNull IMotorController right,
+      boolean closedLoop, @NotNull LongSupplier clock) {
     this.left = Objects.requireNonNull(left);
     this.right = Objects.requireNonNull(right);
     this.closedLoop = closedLoop;
+    Objects.requireNonNull(clock);
+    leftFilter = filterFor(left, clock);
+    rightFilter = filterFor(right, clock);
+  }
+
+  /**
+   * Creates a new {@code CTREOutput} that commands the leaders of two {@link
+   * ChickenControllerGroup ChickenControllerGroups}. This is equivalent to calling {@link
+   * #CTREOutput(ChickenControllerGroup, ChickenControllerGroup, boolean)} with {@code closedLoop}
+   * equal to {@code true}.
+   *
+   * @param left The left-side group.
+   * @param right The right-side group.
+   */
+  public CTREOutput(@NotNull ChickenControllerGroup left, @NotNull ChickenControllerGroup right) {
+    this(left, right, true);
+  }
+
+  /**
+   * Creates a new {@code CTREOutput} that commands the leaders of two {@link
+   * ChickenControllerGroup ChickenControllerGroups}.
+   *
+   * @param left The left-side group.
+   * @param right The right-side group.
+   * @param closedLoop Whether to command the controllers in closed-loop mode if possible. (See
+   * {@link #isClosedLoop()}/{@link #setClosedLoop(boolean) setClosedLoop()}).
+   */
+  public CTREOutput(@NotNull ChickenControllerGroup left, @NotNull ChickenControllerGroup right,
+      boolean closedLoop) {
+    this(left.getLeader(), right.getLeader(), closedLoop);
   }
 }
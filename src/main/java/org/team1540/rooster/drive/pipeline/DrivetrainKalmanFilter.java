@@ -0,0 +1,126 @@
+package org.team1540.rooster.drive.pipeline;
+
+import java.util.Objects;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.util.Matrix2;
+
+/**
+ * Steady-state Kalman filter for a differential drive's wheel velocities.
+ *
+ * <p>The filter predicts the next velocities from a {@link DrivetrainModel} and the throttle that
+ * was applied, then blends the prediction with measured encoder velocities. The blend is the
+ * steady-state Kalman gain, which is computed once in the constructor, so each loop costs a few
+ * multiply-adds and allocates nothing. The filtered velocities lag the true velocities less than
+ * a plain low-pass filter with the same noise rejection would, because the model knows what the
+ * throttle is about to do.
+ */
+public class DrivetrainKalmanFilter {
+
+  // cached A_d, B_d, and the Kalman gain
+  private final double a00, a01, a10, a11;
+  private final double b00, b01, b10, b11;
+  private final double k00, k01, k10, k11;
+
+  private double left;
+  private double right;
+
+  /**
+   * Creates a new {@code DrivetrainKalmanFilter} starting at rest.
+   *
+   * @param model The drivetrain model.
+   * @param dt The loop period, in seconds.
+   * @param modelStdDev The standard deviation of the model's velocity prediction error per loop, in
+   * velocity units. Larger values trust the measurements more.
+   * @param measurementStdDev The standard deviation of the measured velocities, in velocity units.
+   * Larger values trust the model more.
+   */
+  public DrivetrainKalmanFilter(@NotNull DrivetrainModel model, double dt, double modelStdDev,
+      double measurementStdDev) {
+    Objects.requireNonNull(model);
+    if (!(dt > 0 && modelStdDev > 0 && measurementStdDev > 0)) {
+      throw new IllegalArgumentException(
+          "Loop period and standard deviations must be positive");
+    }
+    Matrix2 a = model.getDiscreteA(dt);
+    Matrix2 b = model.getDiscreteB(dt);
+    Matrix2 q = Matrix2.diagonal(modelStdDev * modelStdDev, modelStdDev * modelStdDev);
+    Matrix2 r = Matrix2.diagonal(measurementStdDev * measurementStdDev,
+        measurementStdDev * measurementStdDev);
+
+    // the measurement is the state itself (C = I), so the dual Riccati equation gives the a priori
+    // covariance and the gain is P (P + R)^-1
+    Matrix2 p = Matrix2.solveDARE(a.transpose(), Matrix2.IDENTITY, q, r);
+    Matrix2 k = p.times(p.plus(r).inverse());
+
+    a00 = a.m00;
+    a01 = a.m01;
+    a10 = a.m10;
+    a11 = a.m11;
+    b00 = b.m00;
+    b01 = b.m01;
+    b10 = b.m10;
+    b11 = b.m11;
+    k00 = k.m00;
+    k01 = k.m01;
+    k10 = k.m10;
+    k11 = k.m11;
+  }
+
+  /**
+   * Advances the estimate by one loop period using the model.
+   *
+   * @param leftThrottle The throttle applied to the left side during the period.
+   * @param rightThrottle The throttle applied to the right side during the period.
+   */
+  public void predict(double leftThrottle, double rightThrottle) {
+    double nextLeft = a00 * left + a01 * right + b00 * leftThrottle + b01 * rightThrottle;
+    double nextRight = a10 * left + a11 * right + b10 * leftThrottle + b11 * rightThrottle;
+    left = nextLeft;
+    right = nextRight;
+  }
+
+  /**
+   * Corrects the estimate with measured velocities.
+   *
+   * @param leftVelocity The measured left velocity.
+   * @param rightVelocity The measured right velocity.
+   */
+  public void correct(double leftVelocity, double rightVelocity) {
+    double leftResidual = leftVelocity - left;
+    double rightResidual = rightVelocity - right;
+    left += k00 * leftResidual + k01 * rightResidual;
+    right += k10 * leftResidual + k11 * rightResidual;
+  }
+
+  /**
+   * Resets the estimate.
+   *
+   * @param leftVelocity The left velocity.
+   * @param rightVelocity The right velocity.
+   */
+  public void reset(double leftVelocity, double rightVelocity) {
+    left = leftVelocity;
+    right = rightVelocity;
+  }
+
+  /**
+   * Gets the estimated left velocity.
+   *
+   * @return The left velocity.
+   */
+  @Contract(pure = true)
+  public double getLeftVelocity() {
+    return left;
+  }
+
+  /**
+   * Gets the estimated right velocity.
+   *
+   * @return The right velocity.
+   */
+  @Contract(pure = true)
+  public double getRightVelocity() {
+    return right;
+  }
+}
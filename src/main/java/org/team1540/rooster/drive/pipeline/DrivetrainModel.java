@@ -0,0 +1,110 @@
+package org.team1540.rooster.drive.pipeline;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.util.Matrix2;
+
+/**
+ * Linear model of a differential drive's wheel velocities.
+ *
+ * <p>The state is the left and right wheel velocities and the input is the left and right
+ * throttle (-1 to 1), so \(\dot{x} = A x + B u\). The model is built from feed-forward constants
+ * in the same units as {@link FeedForwardProcessor}, as measured by {@link
+ * org.team1540.rooster.util.robots.SysIdRobot SysIdRobot}: driving straight takes \(k_V v + k_A
+ * a\) on both sides, and turning in place takes \(k_{V,angular} v + k_{A,angular} a\) on each side
+ * with opposite signs. Turning usually has a larger \(k_A\) than driving straight because the
+ * robot's moment of inertia resists it, which is what couples the two sides.
+ *
+ * <p>The static friction constant \(k_S\) is not part of the linear model; controllers add it as a
+ * separate feed-forward.
+ */
+public class DrivetrainModel {
+
+  @NotNull
+  private final Matrix2 a;
+  @NotNull
+  private final Matrix2 b;
+
+  /**
+   * Creates a new {@code DrivetrainModel} that uses the same constants for driving straight and
+   * turning. The two sides are then independent.
+   *
+   * @param kV The velocity feed-forward, in throttle per unit of velocity.
+   * @param kA The acceleration feed-forward, in throttle per unit of acceleration.
+   */
+  public DrivetrainModel(double kV, double kA) {
+    this(kV, kA, kV, kA);
+  }
+
+  /**
+   * Creates a new {@code DrivetrainModel}.
+   *
+   * @param kVLinear The velocity feed-forward when driving straight, in throttle per unit of wheel
+   * velocity.
+   * @param kALinear The acceleration feed-forward when driving straight, in throttle per unit of
+   * wheel acceleration.
+   * @param kVAngular The velocity feed-forward when turning in place, in throttle per unit of wheel
+   * velocity.
+   * @param kAAngular The acceleration feed-forward when turning in place, in throttle per unit of
+   * wheel acceleration.
+   * @throws IllegalArgumentException If any constant is not positive.
+   */
+  public DrivetrainModel(double kVLinear, double kALinear, double kVAngular, double kAAngular) {
+    if (!(kVLinear > 0 && kALinear > 0 && kVAngular > 0 && kAAngular > 0)) {
+      throw new IllegalArgumentException("Feed-forward constants must be positive");
+    }
+    double a1 = -(kVLinear / kALinear + kVAngular / kAAngular) / 2;
+    double a2 = -(kVLinear / kALinear - kVAngular / kAAngular) / 2;
+    double b1 = (1 / kALinear + 1 / kAAngular) / 2;
+    double b2 = (1 / kALinear - 1 / kAAngular) / 2;
+    a = new Matrix2(a1, a2, a2, a1);
+    b = new Matrix2(b1, b2, b2, b1);
+  }
+
+  /**
+   * Gets the continuous-time system matrix A.
+   *
+   * @return A.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public Matrix2 getA() {
+    return a;
+  }
+
+  /**
+   * Gets the continuous-time input matrix B.
+   *
+   * @return B.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public Matrix2 getB() {
+    return b;
+  }
+
+  /**
+   * Gets the system matrix for a zero-order hold of the input over a time step.
+   *
+   * @param dt The time step, in seconds.
+   * @return \(A_d = e^{A \Delta t}\).
+   */
+  @NotNull
+  @Contract(pure = true)
+  public Matrix2 getDiscreteA(double dt) {
+    return a.times(dt).exp();
+  }
+
+  /**
+   * Gets the input matrix for a zero-order hold of the input over a time step.
+   *
+   * @param dt The time step, in seconds.
+   * @return \(B_d = A^{-1} (A_d - I) B\).
+   */
+  @NotNull
+  @Contract(pure = true)
+  public Matrix2 getDiscreteB(double dt) {
+    // A is always invertible since every constant is positive
+    return a.inverse().times(getDiscreteA(dt).minus(Matrix2.IDENTITY)).times(b);
+  }
+}
@@ -1,6 +1,7 @@
 package org.team1540.rooster.drive.pipeline;
 
 import java.util.function.DoubleSupplier;
+import org.team1540.rooster.util.FastMath;
 
 /**
  * A {@link PIDProcessor} for maintaining a robot's heading.
@@ -93,8 +94,7 @@ public class HeadingPIDProcessor extends PIDProcessor<TankDriveData, TankDriveDa
       double heading = headingSupplier.getAsDouble();
       double headingTarget = data.heading.getAsDouble();
 
-      // basically magic https://stackoverflow.com/a/2007279
-      return Math.atan2(Math.sin(heading - headingTarget), Math.cos(heading - headingTarget));
+      return FastMath.wrapAngle(heading - headingTarget);
     } else {
       return 0;
     }
@@ -0,0 +1,184 @@
+package org.team1540.rooster.drive.pipeline;
+
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.DoubleSupplier;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.team1540.rooster.functional.Processor;
+import org.team1540.rooster.util.Matrix2;
+
+/**
+ * Closed-loop velocity controller for a differential drive, replacing a stack of {@link
+ * FeedForwardProcessor}, {@link TurningRatePIDProcessor}, and {@link HeadingPIDProcessor} with a
+ * single controller that knows how the two sides interact.
+ *
+ * <p>This {@link Processor} takes the velocity (and optionally acceleration) setpoints from a
+ * {@link TankDriveData} and computes the throttle for each side as the sum of:
+ * <ul>
+ * <li>a plant-inversion feed-forward that, according to the {@link DrivetrainModel}, takes the
+ * drivetrain from the current setpoint to the next one in one loop period;</li>
+ * <li>a linear-quadratic regulator (LQR) on the velocity error, whose gain balances the maximum
+ * acceptable velocity error against the maximum acceptable throttle; and</li>
+ * <li>\(k_S\) in the direction of each side's setpoint, like {@link FeedForwardProcessor}'s
+ * throttle bump.</li>
+ * </ul>
+ * The velocity error is measured against a {@link DrivetrainKalmanFilter} if one is provided, or
+ * against the raw measured velocities otherwise. The result is clamped to [-1, 1] and output as
+ * {@linkplain DriveData#additionalFeedForward feed-forwards} with positions and velocities
+ * cleared, so a {@link CTREOutput} sends it in percent output mode.
+ *
+ * <p>All of the matrices are computed in the constructor and cached as primitives, so each loop
+ * costs a few multiply-adds. Sides without a velocity setpoint are commanded to zero velocity.
+ */
+public class LQRVelocityProcessor implements Processor<TankDriveData, TankDriveData> {
+
+  @NotNull
+  private final DoubleSupplier leftVelocitySupplier;
+  @NotNull
+  private final DoubleSupplier rightVelocitySupplier;
+  @Nullable
+  private final DrivetrainKalmanFilter filter;
+  private final double kS;
+  private final double dt;
+
+  // cached A_d, B_d^-1, and the LQR gain
+  private final double a00, a01, a10, a11;
+  private final double bi00, bi01, bi10, bi11;
+  private final double k00, k01, k10, k11;
+
+  /**
+   * Creates a new {@code LQRVelocityProcessor} without a Kalman filter.
+   *
+   * @param model The drivetrain model.
+   * @param kS The static friction feed-forward, in throttle.
+   * @param dt The loop period, in seconds.
+   * @param maxVelocityError The velocity error at which the regulator should use about {@code
+   * maxThrottle}; smaller values make the regulator more aggressive.
+   * @param maxThrottle The throttle the regulator should use at {@code maxVelocityError}.
+   * @param leftVelocitySupplier A supplier for the measured left velocity.
+   * @param rightVelocitySupplier A supplier for the measured right velocity.
+   */
+  public LQRVelocityProcessor(@NotNull DrivetrainModel model, double kS, double dt,
+      double maxVelocityError, double maxThrottle, @NotNull DoubleSupplier leftVelocitySupplier,
+      @NotNull DoubleSupplier rightVelocitySupplier) {
+    this(model, kS, dt, maxVelocityError, maxThrottle, leftVelocitySupplier,
+        rightVelocitySupplier, null);
+  }
+
+  /**
+   * Creates a new {@code LQRVelocityProcessor}.
+   *
+   * @param model The drivetrain model.
+   * @param kS The static friction feed-forward, in throttle.
+   * @param dt The loop period, in seconds. The processor should be run at this period.
+   * @param maxVelocityError The velocity error at which the regulator should use about {@code
+   * maxThrottle}; smaller values make the regulator more aggressive.
+   * @param maxThrottle The throttle the regulator should use at {@code maxVelocityError}.
+   * @param leftVelocitySupplier A supplier for the measured left velocity.
+   * @param rightVelocitySupplier A supplier for the measured right velocity.
+   * @param filter A Kalman filter built from the same model and loop period, or {@code null} to
+   * use the measured velocities directly. The processor corrects and predicts the filter itself.
+   */
+  public LQRVelocityProcessor(@NotNull DrivetrainModel model, double kS, double dt,
+      double maxVelocityError, double maxThrottle, @NotNull DoubleSupplier leftVelocitySupplier,
+      @NotNull DoubleSupplier rightVelocitySupplier, @Nullable DrivetrainKalmanFilter filter) {
+    Objects.requireNonNull(model);
+    if (!(dt > 0 && maxVelocityError > 0 && maxThrottle > 0)) {
+      throw new IllegalArgumentException(
+          "Loop period, max velocity error, and max throttle must be positive");
+    }
+    this.leftVelocitySupplier = Objects.requireNonNull(leftVelocitySupplier);
+    this.rightVelocitySupplier = Objects.requireNonNull(rightVelocitySupplier);
+    this.filter = filter;
+    this.kS = kS;
+    this.dt = dt;
+
+    Matrix2 a = model.getDiscreteA(dt);
+    Matrix2 b = model.getDiscreteB(dt);
+    Matrix2 q = Matrix2.bryson(maxVelocityError, maxVelocityError);
+    Matrix2 r = Matrix2.bryson(maxThrottle, maxThrottle);
+    Matrix2 p = Matrix2.solveDARE(a, b, q, r);
+    // K = (R + B^T P B)^-1 B^T P A
+    Matrix2 bt = b.transpose();
+    Matrix2 k = r.plus(bt.times(p).times(b)).inverse().times(bt).times(p).times(a);
+    Matrix2 bInverse = b.inverse();
+
+    a00 = a.m00;
+    a01 = a.m01;
+    a10 = a.m10;
+    a11 = a.m11;
+    bi00 = bInverse.m00;
+    bi01 = bInverse.m01;
+    bi10 = bInverse.m10;
+    bi11 = bInverse.m11;
+    k00 = k.m00;
+    k01 = k.m01;
+    k10 = k.m10;
+    k11 = k.m11;
+  }
+
+  @Override
+  @NotNull
+  public TankDriveData apply(@NotNull TankDriveData data) {
+    double leftSetpoint = data.left.velocity.orElse(0);
+    double rightSetpoint = data.right.velocity.orElse(0);
+
+    double leftVelocity = leftVelocitySupplier.getAsDouble();
+    double rightVelocity = rightVelocitySupplier.getAsDouble();
+    if (filter != null) {
+      filter.correct(leftVelocity, rightVelocity);
+      leftVelocity = filter.getLeftVelocity();
+      rightVelocity = filter.getRightVelocity();
+    }
+
+    // feed-forward: u = B_d^-1 (r_next - A_d r)
+    double leftNext = leftSetpoint + data.left.acceleration.orElse(0) * dt;
+    double rightNext = rightSetpoint + data.right.acceleration.orElse(0) * dt;
+    double leftDelta = leftNext - (a00 * leftSetpoint + a01 * rightSetpoint);
+    double rightDelta = rightNext - (a10 * leftSetpoint + a11 * rightSetpoint);
+    double leftThrottle = bi00 * leftDelta + bi01 * rightDelta;
+    double rightThrottle = bi10 * leftDelta + bi11 * rightDelta;
+
+    // feedback: u += K (r - x)
+    double leftError = leftSetpoint - leftVelocity;
+    double rightError = rightSetpoint - rightVelocity;
+    leftThrottle += k00 * leftError + k01 * rightError;
+    rightThrottle += k10 * leftError + k11 * rightError;
+
+    leftThrottle += leftSetpoint != 0 ? Math.copySign(kS, leftSetpoint) : 0;
+    rightThrottle += rightSetpoint != 0 ? Math.copySign(kS, rightSetpoint) : 0;
+
+    leftThrottle = Math.max(-1, Math.min(1, leftThrottle));
+    rightThrottle = Math.max(-1, Math.min(1, rightThrottle));
+
+    if (filter != null) {
+      // kS only overcomes friction, which the linear model leaves out
+      filter.predict(withoutFriction(leftThrottle), withoutFriction(rightThrottle));
+    }
+
+    return new TankDriveData(
+        new DriveData(OptionalDouble.empty(), OptionalDouble.empty(), data.left.acceleration,
+            OptionalDouble.of(leftThrottle)),
+        new DriveData(OptionalDouble.empty(), OptionalDouble.empty(), data.right.acceleration,
+            OptionalDouble.of(rightThrottle)),
+        data.heading, data.turningRate);
+  }
+
+  @Contract(pure = true)
+  private double withoutFriction(double throttle) {
+    return Math.copySign(Math.max(0, Math.abs(throttle) - kS), throttle);
+  }
+
+  /**
+   * Gets the cached LQR gain.
+   *
+   * @return The gain matrix K, in throttle per unit of velocity error.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public Matrix2 getGain() {
+    return new Matrix2(k00, k01, k10, k11);
+  }
+}
@@ -1,22 +1,28 @@
 package org.team1540.rooster.drive.pipeline;
 
+import java.util.function.LongSupplier;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
 import org.team1540.rooster.functional.Processor;
+import org.team1540.rooster.util.PIDCore;
 
 /**
- * Processor to execute a generic PID loop.
+ * Processor to execute a generic PID loop. The loop itself is a {@link PIDCore}, available through
+ * {@link #getCore()} for configuring output limits, anti-windup, and derivative filtering.
+ *
+ * <p>By default subclasses only provide the error, so the D term acts on the error rather than on
+ * the measurement; for a setpoint that changes smoothly (e.g. one following a motion profile) that
+ * is usually what's wanted anyway. Subclasses that can also provide the measurement should
+ * override {@link #getMeasurement(Object) getMeasurement()}, which moves the D term onto the
+ * measurement so setpoint steps don't produce a derivative kick.
  *
  * @param <I> The input type of the processor.
  * @param <O> The output type of the processor.
  */
 public abstract class PIDProcessor<I, O> implements Processor<I, O> {
 
-  private double p, i, d;
-
-  private double iAccum;
-
-  private double lastError;
-
-  private long lastTime = -1;
+  @NotNull
+  private final PIDCore core;
 
   /**
    * Create a new {@code PIDProcessor}.
@@ -26,9 +32,7 @@ public abstract class PIDProcessor<I, O> implements Processor<I, O> {
    * @param d The D coefficient.
    */
   protected PIDProcessor(double p, double i, double d) {
-    this.p = p;
-    this.i = i;
-    this.d = d;
+    core = new PIDCore(p, i, d);
   }
 
   /**
@@ -41,6 +45,20 @@ public abstract class PIDProcessor<I, O> implements Processor<I, O> {
    */
   protected abstract double getError(I data);
 
+  /**
+   * Extract the measured value from the data passed to the processor. If this returns a value
+   * other than {@link Double#NaN NaN}, the D term acts on the measurement instead of the error.
+   * The default implementation returns {@code NaN}.
+   *
+   * @param data The data instance that was passed to the processor's {@link #apply(Object) apply()}
+   * method.
+   * @return The measurement, in the same units as the error, or {@code NaN} to keep the D term on
+   * the error.
+   */
+  protected double getMeasurement(I data) {
+    return Double.NaN;
+  }
+
   /**
    * Create the processor output.
    *
@@ -54,31 +72,15 @@ public abstract class PIDProcessor<I, O> implements Processor<I, O> {
 
   @Override
   public O apply(I input) {
-    double output = 0;
     double error = getError(input);
-
-    // p gain
-    output += error * p;
-
-    if (lastTime != -1) {
-      double dt = (System.currentTimeMillis() - lastTime) / 1000.0;
-
-      // i gain
-      iAccum += error * dt;
-      output += i * iAccum;
-
-      // d gain
-      double dError = (error - lastError) / dt;
-      output += d * dError;
+    double measurement = getMeasurement(input);
+    if (Double.isNaN(measurement)) {
+      // a measurement of -error against a setpoint of 0 puts the derivative on the error
+      return createOutput(input, core.calculate(0, -error));
     }
-
-    lastError = error;
-    lastTime = System.currentTimeMillis();
-
-    return createOutput(input, output);
+    return createOutput(input, core.calculate(measurement + error, measurement));
   }
 
-
   /**
    * Gets the current value of the integral accumulator.
    *
@@ -87,7 +89,7 @@ public abstract class PIDProcessor<I, O> implements Processor<I, O> {
    * #reset()}), returns 0.
    */
   public double getIAccum() {
-    return iAccum;
+    return core.getIntegral();
   }
 
   /**
@@ -98,7 +100,7 @@ public abstract class PIDProcessor<I, O> implements Processor<I, O> {
    * returns 0.
    */
   public double getError() {
-    return lastError;
+    return core.getError();
   }
 
   /**
@@ -108,8 +110,28 @@ public abstract class PIDProcessor<I, O> implements Processor<I, O> {
    * equivalent to creating a new processor instance.
    */
   public void reset() {
-    iAccum = 0;
-    lastError = 0;
-    lastTime = -1;
+    core.reset();
+  }
+
+  /**
+   * Sets the clock used to measure the time between calls to {@link #apply(Object) apply()}.
+   * Defaults to {@link System#nanoTime()}; simulations should pass their own clock so the I and D
+   * terms see simulated rather than wall-clock time. This also resets the loop.
+   *
+   * @param clock A clock returning the current time in nanoseconds.
+   */
+  public void setClock(@NotNull LongSupplier clock) {
+    core.setClock(clock);
+  }
+
+  /**
+   * Gets the underlying PID loop.
+   *
+   * @return The {@link PIDCore}.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public PIDCore getCore() {
+    return core;
   }
 }
@@ -4,20 +4,24 @@ import edu.wpi.first.wpilibj.Timer;
 import java.util.OptionalDouble;
 import org.jetbrains.annotations.NotNull;
 import org.team1540.rooster.functional.Input;
-import org.team1540.rooster.motionprofiling.MotionProfile;
 import org.team1540.rooster.motionprofiling.MotionProfile.Point;
+import org.team1540.rooster.motionprofiling.Profile;
 
 /**
  * Class to get commanded drive values from a set of motion profiles.
  *
  * This class is non-reusable; the first call to {@link #get()} begins a timer to determine where
  * the input is in the profile. To execute multiple profiles, create multiple {@code
- * ProfileInputs}.
+ * ProfileInputs}, or use a {@link ProfileSequenceInput} to run them back to back without stopping.
  */
 public class ProfileInput implements Input<TankDriveData> {
 
-  private MotionProfile left;
-  private MotionProfile right;
+  private Profile left;
+  private Profile right;
+
+  // read into on every call, so views of a profile don't allocate
+  private final Point leftPoint = new Point();
+  private final Point rightPoint = new Point();
 
   private Timer timer = new Timer();
 
@@ -29,15 +33,15 @@ public class ProfileInput implements Input<TankDriveData> {
    * @param left The left-side profile to execute.
    * @param right The right-side profile to execute.
    */
-  public ProfileInput(@NotNull MotionProfile left, @NotNull MotionProfile right) {
+  public ProfileInput(@NotNull Profile left, @NotNull Profile right) {
     this.left = left;
     this.right = right;
   }
 
-  @NotNull
-  private Point getCurrentSegment(@NotNull MotionProfile trajectory, double currentTime) {
+  private void getCurrentSegment(@NotNull Profile trajectory, double currentTime,
+      @NotNull Point into) {
     // Start from the current time and find the closest point.
-    int startIndex = Math.toIntExact(Math.round(currentTime / trajectory.get(0).dt));
+    int startIndex = Math.toIntExact(Math.round(currentTime / trajectory.get(0, into).dt));
 
     int length = trajectory.size();
     int index = startIndex;
@@ -45,7 +49,7 @@ public class ProfileInput implements Input<TankDriveData> {
       index = length - 1;
       finished = true;
     }
-    return trajectory.get(index);
+    trajectory.get(index, into);
   }
 
   @Override
@@ -56,8 +60,8 @@ public class ProfileInput implements Input<TankDriveData> {
 
     double timeValue = timer.get();
 
-    Point leftPoint = getCurrentSegment(left, timeValue);
-    Point rightPoint = getCurrentSegment(right, timeValue);
+    getCurrentSegment(left, timeValue, leftPoint);
+    getCurrentSegment(right, timeValue, rightPoint);
 
     return new TankDriveData(
         new DriveData(
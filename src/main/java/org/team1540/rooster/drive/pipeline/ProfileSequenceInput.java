@@ -0,0 +1,337 @@
+package org.team1540.rooster.drive.pipeline;
+
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.team1540.rooster.functional.Input;
+import org.team1540.rooster.motionprofiling.MotionProfile.Point;
+import org.team1540.rooster.motionprofiling.Profile;
+import org.team1540.rooster.motionprofiling.ProfilePair;
+
+/**
+ * Input that runs a queue of {@link ProfilePair ProfilePairs} back to back without stopping.
+ *
+ * <p>Unlike {@link ProfileInput}, which stops at the end of its one profile, a {@code
+ * ProfileSequenceInput} moves straight on to the next queued segment. The handoff happens on the
+ * exact time boundary between segments, so any time left over past the end of one segment is
+ * carried into the next rather than dropped or repeated. Each segment's positions are {@linkplain
+ * ProfilePair#offset(double, double) offset} so that it starts where the previous segment ended;
+ * segments can therefore be generated independently, each starting at position 0. For the motion
+ * to be continuous, each segment should start at the velocity the previous one ended at; {@link
+ * #setVelocityTolerance(double)} makes {@link #append(ProfilePair)} enforce that.
+ *
+ * <p>Each segment's duration is measured by {@link #append(ProfilePair) append()}, on the calling
+ * thread, and queued with it. The next segment is taken off the queue and offset while the current
+ * one is still running, which only reads its first and last points, so a handoff costs no more
+ * than any other call to {@link #get()}. Segments can be appended at
+ * any time, from any thread, including while the sequence is running. When the queue runs dry,
+ * the input holds the last point and {@link #isFinished()} returns {@code true}; a segment appended
+ * after that starts immediately.
+ *
+ * <p>Points are looked up by walking forward from the previous lookup, so profiles with varying
+ * time steps are supported and each call costs O(1) on average.
+ */
+public class ProfileSequenceInput implements Input<TankDriveData> {
+
+  @NotNull
+  private final Queue<Segment> queue = new ConcurrentLinkedQueue<>();
+  @NotNull
+  private LongSupplier clock = System::nanoTime;
+  private double velocityTolerance = Double.POSITIVE_INFINITY;
+
+  // the last pair appended, for checking velocity continuity
+  @Nullable
+  private ProfilePair tail;
+
+  // only touched by get()
+  @Nullable
+  private ProfilePair current;
+  @Nullable
+  private ProfilePair next;
+  private double nextDuration;
+  private boolean started;
+  private long segmentStartNanos;
+  private double duration;
+  @NotNull
+  private final Cursor left = new Cursor();
+  @NotNull
+  private final Cursor right = new Cursor();
+  @NotNull
+  private final Point scratch = new Point();
+  private volatile boolean finished;
+  private volatile int segmentsCompleted;
+
+  /**
+   * Creates a new {@code ProfileSequenceInput}.
+   *
+   * @param segments The initial segments, in order.
+   */
+  public ProfileSequenceInput(@NotNull ProfilePair... segments) {
+    for (ProfilePair segment : segments) {
+      append(segment);
+    }
+  }
+
+  /**
+   * Adds a segment to the end of the queue. This can be called from any thread, including while
+   * the sequence is running. It walks every point of the segment to measure its duration, so on
+   * the robot it's best called outside the main loop, e.g. while generating the segment.
+   *
+   * @param segment The segment to add.
+   * @throws NullPointerException If {@code segment} is {@code null}.
+   * @throws IllegalArgumentException If either side of the segment is empty, or starts at a
+   * velocity more than the {@linkplain #setVelocityTolerance(double) velocity tolerance} away from
+   * the velocity the previous segment ends at.
+   */
+  public synchronized void append(@NotNull ProfilePair segment) {
+    Objects.requireNonNull(segment);
+    if (segment.getLeft().size() == 0 || segment.getRight().size() == 0) {
+      throw new IllegalArgumentException("Segment profiles cannot be empty");
+    }
+    if (tail != null) {
+      checkVelocity(tail.getLeft(), segment.getLeft(), "left");
+      checkVelocity(tail.getRight(), segment.getRight(), "right");
+    }
+    queue.add(new Segment(segment,
+        Math.max(duration(segment.getLeft()), duration(segment.getRight()))));
+    tail = segment;
+  }
+
+  private void checkVelocity(@NotNull Profile previous, @NotNull Profile next,
+      @NotNull String side) {
+    double end = previous.get(previous.size() - 1).velocity;
+    double start = next.get(0).velocity;
+    if (Math.abs(end - start) > velocityTolerance) {
+      throw new IllegalArgumentException("Segment's " + side + " side starts at velocity " + start
+          + " but the previous segment ends at " + end);
+    }
+  }
+
+  /**
+   * Sets how far the starting velocity of an appended segment may be from the ending velocity of
+   * the segment before it. Defaults to unlimited, i.e. no check.
+   *
+   * @param velocityTolerance The tolerance, in profile velocity units.
+   * @throws IllegalArgumentException If {@code velocityTolerance} is negative or NaN.
+   */
+  public synchronized void setVelocityTolerance(double velocityTolerance) {
+    if (!(velocityTolerance >= 0)) {
+      throw new IllegalArgumentException(
+          "Velocity tolerance must be non-negative, was " + velocityTolerance);
+    }
+    this.velocityTolerance = velocityTolerance;
+  }
+
+  /**
+   * Sets the clock used to time the profiles. Defaults to {@link System#nanoTime()}. This should
+   * be set before the first call to {@link #get()}.
+   *
+   * @param clock A clock returning the current time in nanoseconds.
+   */
+  public void setClock(@NotNull LongSupplier clock) {
+    this.clock = Objects.requireNonNull(clock);
+  }
+
+  @Override
+  public TankDriveData get() {
+    long now = clock.getAsLong();
+
+    if (current == null) {
+      prefetch();
+      if (next == null) {
+        return new TankDriveData();
+      }
+      begin(now);
+    }
+
+    double elapsed = (now - segmentStartNanos) / 1e9;
+    while (elapsed >= duration) {
+      if (next == null) {
+        prefetch();
+      }
+      if (next == null) {
+        if (!finished) {
+          finished = true;
+          segmentsCompleted++;
+        }
+        break;
+      }
+      if (finished) {
+        // the queue ran dry and the robot is holding still, so start the new segment from now
+        segmentStartNanos = now;
+      } else {
+        segmentStartNanos += (long) (duration * 1e9);
+        segmentsCompleted++;
+      }
+      begin(segmentStartNanos);
+      elapsed = (now - segmentStartNanos) / 1e9;
+    }
+
+    if (next == null) {
+      prefetch();
+    }
+
+    Point leftPoint = left.seek(elapsed);
+    Point rightPoint = right.seek(elapsed);
+
+    return new TankDriveData(
+        new DriveData(
+            OptionalDouble.of(leftPoint.position),
+            OptionalDouble.of(leftPoint.velocity),
+            OptionalDouble.of(leftPoint.acceleration),
+            OptionalDouble.empty()),
+        new DriveData(
+            OptionalDouble.of(rightPoint.position),
+            OptionalDouble.of(rightPoint.velocity),
+            OptionalDouble.of(rightPoint.acceleration),
+            OptionalDouble.empty()),
+        OptionalDouble.of(leftPoint.heading),
+        OptionalDouble.empty());
+  }
+
+  /**
+   * Makes the prefetched segment current, starting at the given time.
+   */
+  private void begin(long startNanos) {
+    current = Objects.requireNonNull(next);
+    next = null;
+    finished = false;
+    segmentStartNanos = startNanos;
+    duration = nextDuration;
+    left.reset(current.getLeft());
+    right.reset(current.getRight());
+    started = true;
+  }
+
+  /**
+   * Takes the next segment off the queue, if there is one, and offsets it to start where the
+   * current segment ends.
+   */
+  private void prefetch() {
+    Segment queued = queue.poll();
+    if (queued == null) {
+      return;
+    }
+    ProfilePair segment = queued.profiles;
+    if (current != null) {
+      segment = segment.offset(
+          endOffset(current.getLeft(), segment.getLeft()),
+          endOffset(current.getRight(), segment.getRight()));
+    }
+    nextDuration = queued.duration;
+    next = segment;
+  }
+
+  /**
+   * Gets the offset that makes {@code next} start where {@code previous} ends.
+   */
+  private double endOffset(@NotNull Profile previous, @NotNull Profile next) {
+    double end = previous.get(previous.size() - 1, scratch).position;
+    return end - next.get(0, scratch).position;
+  }
+
+  @Contract(pure = true)
+  private static double duration(@NotNull Profile profile) {
+    Point point = new Point();
+    double duration = 0;
+    for (int i = 1; i < profile.size(); i++) {
+      duration += profile.get(i, point).dt;
+    }
+    return duration;
+  }
+
+  /**
+   * Returns whether the sequence has run out of segments. This becomes {@code false} again if
+   * another segment is appended and {@link #get()} is called.
+   *
+   * @return {@code true} if the last queued segment has finished, {@code false} otherwise.
+   */
+  @Contract(pure = true)
+  public boolean isFinished() {
+    return finished;
+  }
+
+  /**
+   * Returns whether {@link #get()} has started running the first segment.
+   *
+   * @return {@code true} if the sequence has started, {@code false} otherwise.
+   */
+  @Contract(pure = true)
+  public boolean isStarted() {
+    return started;
+  }
+
+  /**
+   * Gets the number of segments that have been run to completion.
+   *
+   * @return The number of completed segments.
+   */
+  @Contract(pure = true)
+  public int getSegmentsCompleted() {
+    return segmentsCompleted;
+  }
+
+  /**
+   * Gets the number of segments waiting to run, not counting the current one.
+   *
+   * @return The number of queued segments.
+   */
+  public int getQueuedSegments() {
+    return queue.size() + (next != null ? 1 : 0);
+  }
+
+  /**
+   * A queued segment and its duration, measured when it was appended.
+   */
+  private static class Segment {
+
+    @NotNull
+    final ProfilePair profiles;
+    final double duration;
+
+    Segment(@NotNull ProfilePair profiles, double duration) {
+      this.profiles = profiles;
+      this.duration = duration;
+    }
+  }
+
+  /**
+   * Position within one side's profile.
+   */
+  private static class Cursor {
+
+    private Profile profile;
+    private int index;
+    // the time of the point at index, relative to the start of the segment
+    private double time;
+    // seek() reads into this rather than allocating a point per lookup
+    @NotNull
+    private final Point point = new Point();
+
+    void reset(@NotNull Profile profile) {
+      this.profile = profile;
+      index = 0;
+      time = 0;
+    }
+
+    @NotNull
+    Point seek(double elapsed) {
+      // move to the point nearest in time, like ProfileInput
+      int last = profile.size() - 1;
+      while (index < last) {
+        double dt = profile.get(index + 1, point).dt;
+        if (time + dt / 2 > elapsed) {
+          break;
+        }
+        time += dt;
+        index++;
+      }
+      return profile.get(index, point);
+    }
+  }
+}
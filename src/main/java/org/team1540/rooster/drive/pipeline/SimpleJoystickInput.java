@@ -1,9 +1,13 @@
 package org.team1540.rooster.drive.pipeline;
 
 import edu.wpi.first.wpilibj.Joystick;
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+import org.jetbrains.annotations.NotNull;
 import org.team1540.rooster.functional.Input;
 import org.team1540.rooster.util.ControlUtils;
 import org.team1540.rooster.util.MathUtils;
+import org.team1540.rooster.util.ResponseCurve;
 
 /**
  * Simple tank-style input from a WPILib {@link Joystick}. The left and right joysticks are used to
@@ -12,6 +16,8 @@ import org.team1540.rooster.util.MathUtils;
  * and the back to the other, the forward trigger will cause the robot to drive straight forward and
  * the back trigger will cause it to drive straight backwards. This {@link Input} creates a {@link
  * TankDriveData} with only the feed-forward fields set on the left and right sides.
+ *
+ * <p>Each axis is passed through a deadzone, or through a {@link ResponseCurve} if one is provided.
  */
 public class SimpleJoystickInput implements Input<TankDriveData> {
 
@@ -23,24 +29,31 @@ public class SimpleJoystickInput implements Input<TankDriveData> {
   private boolean invertLeft;
   private boolean invertRight;
 
-  private double deadzone;
+  @NotNull
+  private DoubleUnaryOperator leftShape;
+  @NotNull
+  private DoubleUnaryOperator rightShape;
+  @NotNull
+  private DoubleUnaryOperator fwdShape;
+  @NotNull
+  private DoubleUnaryOperator backShape;
 
   @Override
   public TankDriveData get() {
       double triggerValue;
       if (fwdAxis != -1 && backAxis != -1) {
-          triggerValue = ControlUtils.deadzone(joystick.getRawAxis(fwdAxis), deadzone)
-              - ControlUtils.deadzone(joystick.getRawAxis(backAxis), deadzone);
+          triggerValue = fwdShape.applyAsDouble(joystick.getRawAxis(fwdAxis))
+              - backShape.applyAsDouble(joystick.getRawAxis(backAxis));
       } else {
           triggerValue = 0;
       }
       double leftThrottle = MathUtils.constrain(
-          ControlUtils.deadzone(
-              MathUtils.negateDoubleIf(invertLeft, joystick.getRawAxis(leftAxis)), deadzone
+          leftShape.applyAsDouble(
+              MathUtils.negateDoubleIf(invertLeft, joystick.getRawAxis(leftAxis))
           ) + triggerValue, 1);
       double rightThrottle = MathUtils.constrain(
-          ControlUtils.deadzone(
-              MathUtils.negateDoubleIf(invertRight, joystick.getRawAxis(rightAxis)), deadzone
+          rightShape.applyAsDouble(
+              MathUtils.negateDoubleIf(invertRight, joystick.getRawAxis(rightAxis))
           ) + triggerValue, 1);
 
       return new TankDriveData().withAdditionalFeedForwards(leftThrottle, rightThrottle);
@@ -103,6 +116,37 @@ public class SimpleJoystickInput implements Input<TankDriveData> {
    */
   public SimpleJoystickInput(Joystick joystick, int leftAxis, int rightAxis, int fwdAxis,
       int backAxis, boolean invertLeft, boolean invertRight, double deadzone) {
+    this(joystick, leftAxis, rightAxis, fwdAxis, backAxis, invertLeft, invertRight,
+        x -> ControlUtils.deadzone(x, deadzone));
+  }
+
+  /**
+   * Creates a new {@code SimpleJoystickInput} that shapes the axes with a {@link ResponseCurve}
+   * instead of a deadzone. Each axis gets its own {@linkplain ResponseCurve#copy() copy} of the
+   * curve, so a slew rate set on the curve limits each axis separately.
+   *
+   * @param joystick The {@link Joystick} to use.
+   * @param leftAxis The axis number (as provided to {@link Joystick#getRawAxis(int)} for the left
+   * side.
+   * @param rightAxis The axis number (as provided to {@link Joystick#getRawAxis(int)} for the right
+   * side.
+   * @param fwdAxis The axis number (as provided to {@link Joystick#getRawAxis(int)} for the forward
+   * axis, or -1 for none.
+   * @param backAxis The axis number (as provided to {@link Joystick#getRawAxis(int)} for the back
+   * axis, or -1 for none.
+   * @param invertLeft Whether to invert the axis value of the left axis.
+   * @param invertRight Whether to invert the axis value of the right axis.
+   * @param curve The response curve for the axes, usually including a deadzone (see {@link
+   * ResponseCurve#deadzoneExpo(double, double)}).
+   */
+  public SimpleJoystickInput(Joystick joystick, int leftAxis, int rightAxis, int fwdAxis,
+      int backAxis, boolean invertLeft, boolean invertRight, @NotNull ResponseCurve curve) {
+    this(joystick, leftAxis, rightAxis, fwdAxis, backAxis, invertLeft, invertRight,
+        (DoubleUnaryOperator) Objects.requireNonNull(curve));
+  }
+
+  private SimpleJoystickInput(Joystick joystick, int leftAxis, int rightAxis, int fwdAxis,
+      int backAxis, boolean invertLeft, boolean invertRight, @NotNull DoubleUnaryOperator shape) {
     this.joystick = joystick;
     this.leftAxis = leftAxis;
     this.rightAxis = rightAxis;
@@ -110,6 +154,14 @@ public class SimpleJoystickInput implements Input<TankDriveData> {
     this.backAxis = backAxis;
     this.invertLeft = invertLeft;
     this.invertRight = invertRight;
-    this.deadzone = deadzone;
+    leftShape = copy(shape);
+    rightShape = copy(shape);
+    fwdShape = copy(shape);
+    backShape = copy(shape);
+  }
+
+  private static DoubleUnaryOperator copy(DoubleUnaryOperator shape) {
+    // response curves carry slew limiter state, so every axis needs its own
+    return shape instanceof ResponseCurve ? ((ResponseCurve) shape).copy() : shape;
   }
 }
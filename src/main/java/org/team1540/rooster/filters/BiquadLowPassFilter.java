@@ -0,0 +1,86 @@
+package org.team1540.rooster.filters;
+
+/**
+ * Second-order (biquad) low-pass filter, using the coefficients from Robert Bristow-Johnson's
+ * Audio EQ Cookbook. With the default Q of 1/&radic;2, this is a Butterworth filter: flat in the
+ * passband, falling off at 40 dB per decade above the cutoff, which rejects high-frequency noise
+ * with much less lag at low frequencies than a first-order filter or moving average of similar
+ * strength.
+ *
+ * <p>The filter assumes samples arrive at a fixed rate. It starts in steady state at the first
+ * sample, so there is no startup transient from zero.
+ */
+public class BiquadLowPassFilter extends Filter {
+
+  /**
+   * The Q factor for a Butterworth response, 1/&radic;2.
+   */
+  public static final double BUTTERWORTH_Q = Math.sqrt(0.5);
+
+  private final double b0, b1, b2, a1, a2;
+  private boolean hasSample;
+  // transposed direct form II state
+  private double z1;
+  private double z2;
+
+  /**
+   * Creates a new Butterworth {@code BiquadLowPassFilter}.
+   *
+   * @param cutoff The cutoff (-3 dB) frequency, in Hz.
+   * @param sampleRate The rate at which samples are fed to the filter, in Hz.
+   * @throws IllegalArgumentException If {@code cutoff} is not between 0 and half of {@code
+   * sampleRate}.
+   */
+  public BiquadLowPassFilter(double cutoff, double sampleRate) {
+    this(cutoff, sampleRate, BUTTERWORTH_Q);
+  }
+
+  /**
+   * Creates a new {@code BiquadLowPassFilter}.
+   *
+   * @param cutoff The cutoff frequency, in Hz.
+   * @param sampleRate The rate at which samples are fed to the filter, in Hz.
+   * @param q The Q factor. Values above {@link #BUTTERWORTH_Q} give a sharper cutoff with a
+   * resonant peak and overshoot; values below give a softer cutoff.
+   * @throws IllegalArgumentException If {@code cutoff} is not between 0 and half of {@code
+   * sampleRate}, or {@code q} is not positive.
+   */
+  public BiquadLowPassFilter(double cutoff, double sampleRate, double q) {
+    if (!(cutoff > 0 && cutoff < sampleRate / 2)) {
+      throw new IllegalArgumentException(
+          "Cutoff must be between 0 and half the sample rate, was " + cutoff);
+    }
+    if (!(q > 0)) {
+      throw new IllegalArgumentException("Q must be positive, was " + q);
+    }
+    double w0 = 2 * Math.PI * cutoff / sampleRate;
+    double cos = Math.cos(w0);
+    double alpha = Math.sin(w0) / (2 * q);
+    double a0 = 1 + alpha;
+
+    b0 = (1 - cos) / 2 / a0;
+    b1 = (1 - cos) / a0;
+    b2 = b0;
+    a1 = -2 * cos / a0;
+    a2 = (1 - alpha) / a0;
+  }
+
+  @Override
+  public double applyAsDouble(double input) {
+    if (!hasSample) {
+      hasSample = true;
+      // the state that outputs input forever given input forever, using a DC gain of 1
+      z1 = input * (1 - b0);
+      z2 = input * (b2 - a2);
+    }
+    double output = b0 * input + z1;
+    z1 = b1 * input - a1 * output + z2;
+    z2 = b2 * input - a2 * output;
+    return output;
+  }
+
+  @Override
+  public void reset() {
+    hasSample = false;
+  }
+}
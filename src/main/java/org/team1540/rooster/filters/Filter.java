@@ -0,0 +1,35 @@
+package org.team1540.rooster.filters;
+
+import java.util.function.DoubleUnaryOperator;
+import org.team1540.rooster.functional.Processor;
+
+/**
+ * Base class for stateful single-input filters. Each call to {@link #applyAsDouble(double)} feeds
+ * the filter one sample and returns the filtered value, so a filter instance should be called
+ * exactly once per sample and never shared between signals.
+ *
+ * <p>{@link #apply(Double)} is provided so that filters can be used as {@link Processor
+ * Processors} in pipelines. It boxes the result, so allocation-sensitive code should call {@link
+ * #applyAsDouble(double)} directly.
+ */
+public abstract class Filter implements Processor<Double, Double>, DoubleUnaryOperator {
+
+  /**
+   * Feeds the filter a sample.
+   *
+   * @param input The sample.
+   * @return The filtered value.
+   */
+  @Override
+  public abstract double applyAsDouble(double input);
+
+  @Override
+  public Double apply(Double input) {
+    return applyAsDouble(input);
+  }
+
+  /**
+   * Clears the filter's history, so that the next sample is treated like the first.
+   */
+  public abstract void reset();
+}
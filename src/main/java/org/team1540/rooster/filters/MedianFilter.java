@@ -0,0 +1,134 @@
+package org.team1540.rooster.filters;
+
+/**
+ * Median of the last {@code n} samples. A median filter removes isolated spikes, such as a single
+ * bad encoder reading or a vision frame that locked onto the wrong target, without smearing them
+ * into the neighbouring samples like an average would. Until {@code n} samples have been seen, the
+ * median is over the samples seen so far; for an even number of samples it is the mean of the two
+ * middle ones.
+ *
+ * <p>The window is kept in a ring buffer indexed by two heaps: a max-heap of the lower half and a
+ * min-heap of the upper half, whose tops are the middle samples. Each new sample overwrites the
+ * oldest one in place, so it costs O(log n) to sift through one heap plus at most one swap
+ * between the tops. Samples are ordered by {@link Double#compare(double, double)}, so NaN is
+ * treated as larger than every other value rather than corrupting the heaps.
+ */
+public class MedianFilter extends Filter {
+
+  private final double[] values;
+  // heaps of indices into values; lower is a max-heap and upper is a min-heap
+  private final int[] lower;
+  private final int[] upper;
+  // for each index into values, its position in whichever heap it's in
+  private final int[] position;
+  private final boolean[] inLower;
+  private int lowerSize;
+  private int upperSize;
+  private int count;
+  private int next;
+
+  /**
+   * Creates a new {@code MedianFilter}.
+   *
+   * @param size The number of samples to take the median of.
+   * @throws IllegalArgumentException If {@code size} is not positive.
+   */
+  public MedianFilter(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("Size must be positive, was " + size);
+    }
+    values = new double[size];
+    lower = new int[(size + 1) / 2];
+    upper = new int[size / 2];
+    position = new int[size];
+    inLower = new boolean[size];
+  }
+
+  @Override
+  public double applyAsDouble(double input) {
+    int slot = next;
+    next = next + 1 == values.length ? 0 : next + 1;
+    values[slot] = input;
+
+    if (count < values.length) {
+      count++;
+      // keep the lower half the same size as the upper half or one larger
+      if (lowerSize <= upperSize) {
+        place(lower, lowerSize++, slot, true);
+      } else {
+        place(upper, upperSize++, slot, false);
+      }
+    }
+    // otherwise the slot of the oldest sample is reused and stays in the same heap
+
+    if (inLower[slot]) {
+      sift(lower, lowerSize, 1, position[slot]);
+    } else {
+      sift(upper, upperSize, -1, position[slot]);
+    }
+
+    // only one value changed, so one swap of the tops is enough to restore lower <= upper
+    if (upperSize > 0 && Double.compare(values[lower[0]], values[upper[0]]) > 0) {
+      int top = lower[0];
+      place(lower, 0, upper[0], true);
+      place(upper, 0, top, false);
+      sift(lower, lowerSize, 1, 0);
+      sift(upper, upperSize, -1, 0);
+    }
+
+    if (lowerSize > upperSize) {
+      return values[lower[0]];
+    } else {
+      return (values[lower[0]] + values[upper[0]]) / 2;
+    }
+  }
+
+  private void place(int[] heap, int index, int slot, boolean isLower) {
+    heap[index] = slot;
+    position[slot] = index;
+    inLower[slot] = isLower;
+  }
+
+  // moves a heap entry up or down to its correct position; sign is 1 for the max-heap and -1 for
+  // the min-heap
+  private void sift(int[] heap, int size, int sign, int index) {
+    int slot = heap[index];
+    double value = values[slot];
+    boolean isLower = sign > 0;
+
+    while (index > 0) {
+      int parent = (index - 1) / 2;
+      if (sign * Double.compare(value, values[heap[parent]]) <= 0) {
+        break;
+      }
+      place(heap, index, heap[parent], isLower);
+      index = parent;
+    }
+
+    while (true) {
+      int child = 2 * index + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size
+          && sign * Double.compare(values[heap[child + 1]], values[heap[child]]) > 0) {
+        child++;
+      }
+      if (sign * Double.compare(values[heap[child]], value) <= 0) {
+        break;
+      }
+      place(heap, index, heap[child], isLower);
+      index = child;
+    }
+
+    place(heap, index, slot, isLower);
+  }
+
+  @Override
+  public void reset() {
+    count = 0;
+    next = 0;
+    lowerSize = 0;
+    upperSize = 0;
+  }
+}
@@ -0,0 +1,58 @@
+package org.team1540.rooster.filters;
+
+/**
+ * Moving average over the last {@code n} samples, kept in a ring buffer with a running sum. Until
+ * {@code n} samples have been seen, the average is over the samples seen so far.
+ *
+ * <p>Each sample costs O(1). To keep floating-point error in the running sum from accumulating,
+ * the sum is recomputed from the buffer once every {@code n} samples.
+ */
+public class MovingAverageFilter extends Filter {
+
+  private final double[] buffer;
+  private int count;
+  private int next;
+  private double sum;
+
+  /**
+   * Creates a new {@code MovingAverageFilter}.
+   *
+   * @param size The number of samples to average.
+   * @throws IllegalArgumentException If {@code size} is not positive.
+   */
+  public MovingAverageFilter(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("Size must be positive, was " + size);
+    }
+    buffer = new double[size];
+  }
+
+  @Override
+  public double applyAsDouble(double input) {
+    if (count < buffer.length) {
+      count++;
+    } else {
+      sum -= buffer[next];
+    }
+    buffer[next] = input;
+    sum += input;
+
+    next++;
+    if (next == buffer.length) {
+      next = 0;
+      double exact = 0;
+      for (int i = 0; i < count; i++) {
+        exact += buffer[i];
+      }
+      sum = exact;
+    }
+    return sum / count;
+  }
+
+  @Override
+  public void reset() {
+    count = 0;
+    next = 0;
+    sum = 0;
+  }
+}
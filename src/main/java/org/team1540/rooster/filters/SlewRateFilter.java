@@ -0,0 +1,79 @@
+package org.team1540.rooster.filters;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Limits how fast a signal can change. The output follows the input, but moves by at most the
+ * configured rate times the time since the previous sample. The first sample passes through
+ * unchanged.
+ *
+ * <p>Time is measured with {@link System#nanoTime()} by default; {@link #setClock(LongSupplier)}
+ * replaces it, e.g. with a simulated clock.
+ */
+public class SlewRateFilter extends Filter {
+
+  private final double maxIncrease;
+  private final double maxDecrease;
+  @NotNull
+  private LongSupplier clock = System::nanoTime;
+  private boolean hasSample;
+  private double last;
+  private long lastTimeNanos;
+
+  /**
+   * Creates a new {@code SlewRateFilter} with the same limit in both directions.
+   *
+   * @param maxRate The maximum change in output per second.
+   * @throws IllegalArgumentException If {@code maxRate} is not positive.
+   */
+  public SlewRateFilter(double maxRate) {
+    this(maxRate, maxRate);
+  }
+
+  /**
+   * Creates a new {@code SlewRateFilter}.
+   *
+   * @param maxIncrease The maximum increase in output per second.
+   * @param maxDecrease The maximum decrease in output per second, as a positive number.
+   * @throws IllegalArgumentException If either rate is not positive.
+   */
+  public SlewRateFilter(double maxIncrease, double maxDecrease) {
+    if (!(maxIncrease > 0 && maxDecrease > 0)) {
+      throw new IllegalArgumentException("Slew rates must be positive");
+    }
+    this.maxIncrease = maxIncrease;
+    this.maxDecrease = maxDecrease;
+  }
+
+  @Override
+  public double applyAsDouble(double input) {
+    long now = clock.getAsLong();
+    double output = input;
+    if (hasSample) {
+      double dt = (now - lastTimeNanos) / 1e9;
+      output = Math.max(last - maxDecrease * dt, Math.min(last + maxIncrease * dt, input));
+    }
+    hasSample = true;
+    last = output;
+    lastTimeNanos = now;
+    return output;
+  }
+
+  /**
+   * Sets the clock used to measure the time between samples, and {@linkplain #reset() resets} the
+   * filter.
+   *
+   * @param clock A clock returning the current time in nanoseconds.
+   */
+  public void setClock(@NotNull LongSupplier clock) {
+    this.clock = Objects.requireNonNull(clock);
+    reset();
+  }
+
+  @Override
+  public void reset() {
+    hasSample = false;
+  }
+}
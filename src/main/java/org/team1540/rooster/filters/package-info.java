@@ -0,0 +1,9 @@
+/**
+ * Stateful filters for smoothing noisy sensor readings such as {@link
+ * org.team1540.rooster.wrappers.NavX NavX} accelerations, controller velocities, and {@link
+ * org.team1540.rooster.wrappers.Limelight Limelight} target angles. Every filter is both a {@link
+ * org.team1540.rooster.functional.Processor Processor} for use in pipelines and a {@link
+ * java.util.function.DoubleUnaryOperator DoubleUnaryOperator}; called through the latter, filters
+ * allocate nothing per sample.
+ */
+package org.team1540.rooster.filters;
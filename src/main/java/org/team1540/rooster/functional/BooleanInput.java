@@ -0,0 +1,57 @@
+package org.team1540.rooster.functional;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Extension of a {@link BooleanSupplier} adding the same composition methods as {@link Input}.
+ *
+ * {@code BooleanInput} is the primitive specialization of {@link Input}{@code <Boolean>}, for
+ * chains of {@code BooleanInputs}, {@link BooleanProcessor BooleanProcessors}, and {@link
+ * BooleanOutput BooleanOutputs} that pass {@code boolean}s without boxing them.
+ */
+@FunctionalInterface
+public interface BooleanInput extends BooleanSupplier {
+
+  /**
+   * Creates a new {@code BooleanInput} that applies the provided {@link BooleanProcessor} to this
+   * {@code BooleanInput}'s output.
+   *
+   * @param f The {@link BooleanProcessor} to apply.
+   * @return A new {@code BooleanInput} as described above.
+   */
+  default BooleanInput then(BooleanProcessor f) {
+    return () -> f.applyAsBoolean(getAsBoolean());
+  }
+
+  /**
+   * Creates a new {@link Executable} that, when run, applies the provided {@link BooleanOutput} to
+   * this {@code BooleanInput}'s output.
+   *
+   * @param c The {@link BooleanOutput} to use.
+   * @return A new {@link Executable} as described above.
+   */
+  default Executable then(BooleanOutput c) {
+    return () -> c.accept(getAsBoolean());
+  }
+
+  /**
+   * Creates a new {@link Input} that boxes this {@code BooleanInput}'s output, for use with
+   * generic pipeline stages.
+   *
+   * @return A new {@link Input} as described above.
+   */
+  default Input<Boolean> boxed() {
+    return this::getAsBoolean;
+  }
+
+  /**
+   * Creates a new {@code BooleanInput} that unboxes the output of the provided {@link Supplier}.
+   *
+   * @param i The {@link Supplier} (or {@link Input}) to unbox.
+   * @return A new {@code BooleanInput} as described above.
+   */
+  static BooleanInput unboxed(Supplier<Boolean> i) {
+    return i::get;
+  }
+}
@@ -0,0 +1,64 @@
+package org.team1540.rooster.functional;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Functional interface for an operation that accepts a {@code boolean} and returns no result, with
+ * the same composition methods as {@link Output}. The standard library has no such interface.
+ *
+ * {@code BooleanOutput} is the primitive specialization of {@link Output}{@code <Boolean>}.
+ */
+@FunctionalInterface
+public interface BooleanOutput {
+
+  /**
+   * Performs this operation on the given argument.
+   *
+   * @param value The argument.
+   */
+  void accept(boolean value);
+
+  /**
+   * Creates a new {@code BooleanOutput} that applies the provided {@link BooleanProcessor} to the
+   * input before passing it to this {@code BooleanOutput}.
+   *
+   * @param f The {@link BooleanProcessor} to apply.
+   * @return A new {@code BooleanOutput} as described above.
+   */
+  default BooleanOutput after(BooleanProcessor f) {
+    return i -> accept(f.applyAsBoolean(i));
+  }
+
+  /**
+   * Creates a new {@link Executable} that, when run, applies this {@code BooleanOutput} to the
+   * provided {@link BooleanSupplier}'s (or {@link BooleanInput}'s) output.
+   *
+   * @param i The {@link BooleanSupplier} (or {@link BooleanInput}) to use.
+   * @return A new {@link Executable} as described above.
+   */
+  default Executable after(BooleanSupplier i) {
+    return () -> accept(i.getAsBoolean());
+  }
+
+  /**
+   * Creates a new {@link Output} that unboxes its input before passing it to this {@code
+   * BooleanOutput}, for use with generic pipeline stages.
+   *
+   * @return A new {@link Output} as described above.
+   */
+  default Output<Boolean> boxed() {
+    return this::accept;
+  }
+
+  /**
+   * Creates a new {@code BooleanOutput} that boxes its input before passing it to the provided
+   * {@link Consumer}.
+   *
+   * @param o The {@link Consumer} (or {@link Output}) to wrap.
+   * @return A new {@code BooleanOutput} as described above.
+   */
+  static BooleanOutput unboxed(Consumer<Boolean> o) {
+    return o::accept;
+  }
+}
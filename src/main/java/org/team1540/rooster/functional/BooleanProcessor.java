@@ -0,0 +1,67 @@
+package org.team1540.rooster.functional;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Functional interface for a function from a {@code boolean} to a {@code boolean}, with the same
+ * composition methods as {@link Processor}. The standard library has no such interface.
+ *
+ * {@code BooleanProcessor} is the primitive specialization of {@link Processor}{@code <Boolean,
+ * Boolean>}.
+ */
+@FunctionalInterface
+public interface BooleanProcessor {
+
+  /**
+   * Applies this function to the given argument.
+   *
+   * @param value The argument.
+   * @return The result.
+   */
+  boolean applyAsBoolean(boolean value);
+
+  /**
+   * Creates a new {@link BooleanInput} that applies this {@code BooleanProcessor} to the output of
+   * the supplied {@link BooleanSupplier}.
+   *
+   * @param i The {@link BooleanSupplier} (or {@link BooleanInput}) to process in the returned
+   * {@link BooleanInput}.
+   * @return A {@link BooleanInput} as described above.
+   */
+  default BooleanInput process(BooleanSupplier i) {
+    return () -> applyAsBoolean(i.getAsBoolean());
+  }
+
+  /**
+   * Creates a new {@link BooleanOutput} that applies this {@code BooleanProcessor} to the input
+   * before passing it to the provided {@link BooleanOutput}.
+   *
+   * @param o The {@link BooleanOutput} to pass the processed results to.
+   * @return A new {@link BooleanOutput} as described above.
+   */
+  default BooleanOutput followedBy(BooleanOutput o) {
+    return t -> o.accept(applyAsBoolean(t));
+  }
+
+  /**
+   * Creates a new {@link Processor} that unboxes its input, applies this {@code
+   * BooleanProcessor}, and boxes the result, for use with generic pipeline stages.
+   *
+   * @return A new {@link Processor} as described above.
+   */
+  default Processor<Boolean, Boolean> boxed() {
+    return this::applyAsBoolean;
+  }
+
+  /**
+   * Creates a new {@code BooleanProcessor} that boxes its input, applies the provided {@link
+   * Function}, and unboxes the result.
+   *
+   * @param f The {@link Function} (or {@link Processor}) to wrap.
+   * @return A new {@code BooleanProcessor} as described above.
+   */
+  static BooleanProcessor unboxed(Function<Boolean, Boolean> f) {
+    return f::apply;
+  }
+}
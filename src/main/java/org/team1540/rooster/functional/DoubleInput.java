@@ -0,0 +1,74 @@
+package org.team1540.rooster.functional;
+
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Extension of a {@link DoubleSupplier} adding the same composition methods as {@link Input}.
+ *
+ * {@code DoubleInput} is the primitive specialization of {@link Input}{@code <Double>}: chains of
+ * {@code DoubleInputs}, {@link DoubleProcessor DoubleProcessors}, and {@link DoubleOutput
+ * DoubleOutputs} pass samples as {@code double}s and never box them. As with {@link Input}, library
+ * functions should take {@link DoubleSupplier DoubleSuppliers} as parameters but return {@code
+ * DoubleInputs}.
+ */
+@FunctionalInterface
+public interface DoubleInput extends DoubleSupplier {
+
+  /**
+   * Creates a new {@code DoubleInput} that applies the provided {@link DoubleUnaryOperator} to
+   * this {@code DoubleInput}'s output.
+   *
+   * @param f The {@link DoubleUnaryOperator} (or {@link DoubleProcessor}) to apply.
+   * @return A new {@code DoubleInput} as described above.
+   */
+  default DoubleInput then(DoubleUnaryOperator f) {
+    return () -> f.applyAsDouble(getAsDouble());
+  }
+
+  /**
+   * Creates a new {@link Executable} that, when run, applies the provided {@link DoubleConsumer}
+   * (or {@link DoubleOutput}) to this {@code DoubleInput}'s output.
+   *
+   * @param c The {@link DoubleConsumer} (or {@link DoubleOutput}) to use.
+   * @return A new {@link Executable} as described above.
+   */
+  default Executable then(DoubleConsumer c) {
+    return () -> c.accept(getAsDouble());
+  }
+
+  /**
+   * Creates a new {@code DoubleInput} that reads this {@code DoubleInput} at most once per loop
+   * iteration of the provided {@link TickClock}, like {@link Input#memoizedPerTick(TickClock)}.
+   *
+   * @param clock The {@link TickClock} that marks loop iterations.
+   * @return A new {@code DoubleInput} as described above.
+   * @throws NullPointerException If {@code clock} is {@code null}.
+   */
+  default DoubleInput memoizedPerTick(TickClock clock) {
+    return new MemoizedDoubleInput(this, Objects.requireNonNull(clock));
+  }
+
+  /**
+   * Creates a new {@link Input} that boxes this {@code DoubleInput}'s output, for use with generic
+   * pipeline stages.
+   *
+   * @return A new {@link Input} as described above.
+   */
+  default Input<Double> boxed() {
+    return this::getAsDouble;
+  }
+
+  /**
+   * Creates a new {@code DoubleInput} that unboxes the output of the provided {@link Supplier}.
+   *
+   * @param i The {@link Supplier} (or {@link Input}) to unbox.
+   * @return A new {@code DoubleInput} as described above.
+   */
+  static DoubleInput unboxed(Supplier<Double> i) {
+    return i::get;
+  }
+}
@@ -0,0 +1,60 @@
+package org.team1540.rooster.functional;
+
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Extension of a {@link DoubleConsumer} adding the same composition methods as {@link Output}.
+ *
+ * {@code DoubleOutput} is the primitive specialization of {@link Output}{@code <Double>}. As with
+ * {@link Output}, library functions should take {@link DoubleConsumer DoubleConsumers} as
+ * parameters but return {@code DoubleOutputs}.
+ */
+@FunctionalInterface
+public interface DoubleOutput extends DoubleConsumer {
+
+  /**
+   * Creates a new {@code DoubleOutput} that applies the provided {@link DoubleUnaryOperator} to the
+   * input before passing it to this {@code DoubleOutput}.
+   *
+   * @param f The {@link DoubleUnaryOperator} (or {@link DoubleProcessor}) to apply.
+   * @return A new {@code DoubleOutput} as described above.
+   */
+  default DoubleOutput after(DoubleUnaryOperator f) {
+    return i -> accept(f.applyAsDouble(i));
+  }
+
+  /**
+   * Creates a new {@link Executable} that, when run, applies this {@code DoubleOutput} to the
+   * provided {@link DoubleSupplier}'s (or {@link DoubleInput}'s) output.
+   *
+   * @param i The {@link DoubleSupplier} (or {@link DoubleInput}) to use.
+   * @return A new {@link Executable} as described above.
+   */
+  default Executable after(DoubleSupplier i) {
+    return () -> accept(i.getAsDouble());
+  }
+
+  /**
+   * Creates a new {@link Output} that unboxes its input before passing it to this {@code
+   * DoubleOutput}, for use with generic pipeline stages.
+   *
+   * @return A new {@link Output} as described above.
+   */
+  default Output<Double> boxed() {
+    return this::accept;
+  }
+
+  /**
+   * Creates a new {@code DoubleOutput} that boxes its input before passing it to the provided
+   * {@link Consumer}.
+   *
+   * @param o The {@link Consumer} (or {@link Output}) to wrap.
+   * @return A new {@code DoubleOutput} as described above.
+   */
+  static DoubleOutput unboxed(Consumer<Double> o) {
+    return o::accept;
+  }
+}
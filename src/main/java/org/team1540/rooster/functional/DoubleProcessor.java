@@ -0,0 +1,63 @@
+package org.team1540.rooster.functional;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+/**
+ * Extension of a {@link DoubleUnaryOperator} adding the same composition methods as {@link
+ * Processor}.
+ *
+ * {@code DoubleProcessor} is the primitive specialization of {@link Processor}{@code <Double,
+ * Double>}. As with {@link Processor}, library functions should take {@link DoubleUnaryOperator
+ * DoubleUnaryOperators} as parameters but return {@code DoubleProcessors}.
+ */
+@FunctionalInterface
+public interface DoubleProcessor extends DoubleUnaryOperator {
+
+  /**
+   * Creates a new {@link DoubleInput} that applies this {@code DoubleProcessor} to the output of
+   * the supplied {@link DoubleSupplier}.
+   *
+   * @param i The {@link DoubleSupplier} (or {@link DoubleInput}) to process in the returned {@link
+   * DoubleInput}.
+   * @return A {@link DoubleInput} as described above.
+   */
+  default DoubleInput process(DoubleSupplier i) {
+    return () -> applyAsDouble(i.getAsDouble());
+  }
+
+  /**
+   * Creates a new {@link DoubleOutput} that applies this {@code DoubleProcessor} to the input
+   * before passing it to the provided {@link DoubleConsumer}.
+   *
+   * @param o The {@link DoubleConsumer} (or {@link DoubleOutput}) to pass the processed results
+   * to.
+   * @return A new {@link DoubleOutput} as described above.
+   */
+  default DoubleOutput followedBy(DoubleConsumer o) {
+    return t -> o.accept(applyAsDouble(t));
+  }
+
+  /**
+   * Creates a new {@link Processor} that unboxes its input, applies this {@code DoubleProcessor},
+   * and boxes the result, for use with generic pipeline stages.
+   *
+   * @return A new {@link Processor} as described above.
+   */
+  default Processor<Double, Double> boxed() {
+    return this::applyAsDouble;
+  }
+
+  /**
+   * Creates a new {@code DoubleProcessor} that boxes its input, applies the provided {@link
+   * Function}, and unboxes the result.
+   *
+   * @param f The {@link Function} (or {@link Processor}) to wrap.
+   * @return A new {@code DoubleProcessor} as described above.
+   */
+  static DoubleProcessor unboxed(Function<Double, Double> f) {
+    return f::apply;
+  }
+}
@@ -1,5 +1,6 @@
 package org.team1540.rooster.functional;
 
+import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -39,4 +40,18 @@ public interface Input<T> extends Supplier<T> {
   default Executable then(Consumer<T> c) {
     return () -> c.accept(get());
   }
+
+  /**
+   * Creates a new {@code Input} that reads this {@code Input} at most once per loop iteration of
+   * the provided {@link TickClock}, returning the cached value for every later read in the same
+   * iteration. Use this when several pipeline stages share an expensive input such as a gyro
+   * reading.
+   *
+   * @param clock The {@link TickClock} that marks loop iterations.
+   * @return A new {@code Input} as described above.
+   * @throws NullPointerException If {@code clock} is {@code null}.
+   */
+  default Input<T> memoizedPerTick(TickClock clock) {
+    return new MemoizedInput<>(this, Objects.requireNonNull(clock));
+  }
 }
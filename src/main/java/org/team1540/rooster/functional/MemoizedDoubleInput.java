@@ -0,0 +1,29 @@
+package org.team1540.rooster.functional;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Implementation of {@link DoubleInput#memoizedPerTick(TickClock)}.
+ */
+class MemoizedDoubleInput implements DoubleInput {
+
+  private final DoubleSupplier input;
+  private final TickClock clock;
+  private long generation = -1;
+  private double value;
+
+  MemoizedDoubleInput(DoubleSupplier input, TickClock clock) {
+    this.input = input;
+    this.clock = clock;
+  }
+
+  @Override
+  public double getAsDouble() {
+    long current = clock.getGeneration();
+    if (generation != current) {
+      value = input.getAsDouble();
+      generation = current;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,29 @@
+package org.team1540.rooster.functional;
+
+import java.util.function.Supplier;
+
+/**
+ * Implementation of {@link Input#memoizedPerTick(TickClock)}.
+ */
+class MemoizedInput<T> implements Input<T> {
+
+  private final Supplier<T> input;
+  private final TickClock clock;
+  private long generation = -1;
+  private T value;
+
+  MemoizedInput(Supplier<T> input, TickClock clock) {
+    this.input = input;
+    this.clock = clock;
+  }
+
+  @Override
+  public T get() {
+    long current = clock.getGeneration();
+    if (generation != current) {
+      value = input.get();
+      generation = current;
+    }
+    return value;
+  }
+}
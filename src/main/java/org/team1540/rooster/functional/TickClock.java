@@ -0,0 +1,37 @@
+package org.team1540.rooster.functional;
+
+import org.jetbrains.annotations.Contract;
+
+/**
+ * Counter of loop iterations, used to share one read of an {@link Input} between every consumer
+ * in the same loop.
+ *
+ * <p>Call {@link #tick()} once at the start of every loop (e.g. first thing in {@code
+ * robotPeriodic()}), and wrap shared inputs with {@link Input#memoizedPerTick(TickClock)} or
+ * {@link DoubleInput#memoizedPerTick(TickClock)}. The first read of a memoized input in each loop
+ * reads the underlying input; every later read in the same loop returns the cached value.
+ *
+ * <p>A {@code TickClock} and the inputs memoized with it do no locking, so they must all be used
+ * from the same thread.
+ */
+public class TickClock {
+
+  private long generation;
+
+  /**
+   * Starts a new loop iteration, invalidating every value cached in the previous one.
+   */
+  public void tick() {
+    generation++;
+  }
+
+  /**
+   * Gets the number of times {@link #tick()} has been called.
+   *
+   * @return The current generation.
+   */
+  @Contract(pure = true)
+  public long getGeneration() {
+    return generation;
+  }
+}
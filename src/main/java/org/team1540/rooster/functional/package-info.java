@@ -6,5 +6,12 @@
  * (especially in the scenario of constructing a {@linkplain org.team1540.rooster.drive.pipeline
  * drive pipeline}). This package also contains the common {@link org.team1540.rooster.functional.Executable}
  * functional interface for a function that takes no arguments and returns no result.
+ *
+ * <p>{@link org.team1540.rooster.functional.DoubleInput}, {@link
+ * org.team1540.rooster.functional.DoubleProcessor}, {@link
+ * org.team1540.rooster.functional.DoubleOutput}, and their {@code Boolean} counterparts are
+ * primitive specializations with the same composition methods, for scalar pipelines that should
+ * not box every sample. Each has a {@code boxed()} method and a static {@code unboxed} method to
+ * convert to and from the generic forms.
  */
 package org.team1540.rooster.functional;
@@ -0,0 +1,125 @@
+package org.team1540.rooster.mechanism.pipeline;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Encapsulates a setpoint for one mechanism axis.
+ *
+ * <p>Unlike {@link org.team1540.rooster.drive.pipeline.DriveData DriveData}, an {@code AxisData}
+ * is mutable and holds plain {@code double} fields: a missing setpoint is {@link Double#NaN}
+ * rather than an empty {@link java.util.OptionalDouble}. A mechanism pipeline creates one {@code
+ * AxisData}, usually in its {@link org.team1540.rooster.functional.Input Input}, and every
+ * processor modifies and returns that same instance, so no objects are created per loop. A
+ * consequence is that an {@code AxisData} should not be held onto past the loop that produced it;
+ * copy it with {@link #copyFrom(AxisData)} if needed.
+ */
+public final class AxisData {
+
+  /**
+   * The desired position in position-units, or {@link Double#NaN} if position should not be
+   * controlled.
+   */
+  public double position = Double.NaN;
+  /**
+   * The desired velocity in position-units per second, or {@link Double#NaN} if velocity should
+   * not be controlled.
+   */
+  public double velocity = Double.NaN;
+  /**
+   * The desired acceleration in position-units per second squared, or {@link Double#NaN} if
+   * acceleration should not be controlled.
+   */
+  public double acceleration = Double.NaN;
+  /**
+   * A raw amount (from -1 to 1 inclusive) to add to the motor throttle after any closed-loop
+   * logic. Defaults to 0.
+   */
+  public double feedForward;
+
+  /**
+   * Creates a new {@code AxisData} with no setpoints and no feed-forward.
+   */
+  public AxisData() {
+  }
+
+  /**
+   * Sets every field.
+   *
+   * @param position The desired position, or {@link Double#NaN}.
+   * @param velocity The desired velocity, or {@link Double#NaN}.
+   * @param acceleration The desired acceleration, or {@link Double#NaN}.
+   * @param feedForward The feed-forward.
+   * @return This {@code AxisData} in order to allow chaining.
+   */
+  @NotNull
+  public AxisData set(double position, double velocity, double acceleration,
+      double feedForward) {
+    this.position = position;
+    this.velocity = velocity;
+    this.acceleration = acceleration;
+    this.feedForward = feedForward;
+    return this;
+  }
+
+  /**
+   * Clears every setpoint and the feed-forward.
+   *
+   * @return This {@code AxisData} in order to allow chaining.
+   */
+  @NotNull
+  public AxisData clear() {
+    return set(Double.NaN, Double.NaN, Double.NaN, 0);
+  }
+
+  /**
+   * Copies every field from another {@code AxisData}.
+   *
+   * @param other The data to copy.
+   * @return This {@code AxisData} in order to allow chaining.
+   */
+  @NotNull
+  public AxisData copyFrom(@NotNull AxisData other) {
+    return set(other.position, other.velocity, other.acceleration, other.feedForward);
+  }
+
+  /**
+   * Returns whether there is a position setpoint.
+   *
+   * @return {@code true} if {@link #position} is not {@link Double#NaN}.
+   */
+  @Contract(pure = true)
+  public boolean hasPosition() {
+    return !Double.isNaN(position);
+  }
+
+  /**
+   * Returns whether there is a velocity setpoint.
+   *
+   * @return {@code true} if {@link #velocity} is not {@link Double#NaN}.
+   */
+  @Contract(pure = true)
+  public boolean hasVelocity() {
+    return !Double.isNaN(velocity);
+  }
+
+  /**
+   * Returns whether there is an acceleration setpoint.
+   *
+   * @return {@code true} if {@link #acceleration} is not {@link Double#NaN}.
+   */
+  @Contract(pure = true)
+  public boolean hasAcceleration() {
+    return !Double.isNaN(acceleration);
+  }
+
+  @Override
+  public String toString() {
+    return "AxisData{"
+        + "position=" + position
+        + ", velocity=" + velocity
+        + ", acceleration=" + acceleration
+        + ", feedForward=" + feedForward
+        + '}';
+  }
+}
@@ -0,0 +1,136 @@
+package org.team1540.rooster.mechanism.pipeline;
+
+import java.util.Objects;
+import java.util.function.DoubleSupplier;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.team1540.rooster.functional.Processor;
+import org.team1540.rooster.util.FastMath;
+
+/**
+ * {@link Processor} to apply a feed-forward for a single mechanism axis. Like {@link
+ * org.team1540.rooster.drive.pipeline.FeedForwardProcessor FeedForwardProcessor}, it allows for
+ * static friction (\(k_S\)), velocity (\(k_V\)), and acceleration (\(k_A\)) feed-forwards, and
+ * adds a gravity feed-forward (\(k_G\)) for one of two kinds of mechanism:
+ * <ul>
+ * <li>For an elevator, set with {@link #setElevatorGravity(double)}, gravity pulls with the same
+ * force everywhere, so \(k_G\) is added as is.</li>
+ * <li>For an arm, set with {@link #setArmGravity(double, double, double, DoubleSupplier)}, the
+ * torque from gravity is proportional to the cosine of the arm's angle from horizontal, so \(k_G
+ * \cos \theta\) is added.</li>
+ * </ul>
+ * For further details, see {@link #apply(AxisData) apply()}.
+ */
+public class AxisFeedForwardProcessor implements Processor<AxisData, AxisData> {
+
+  private final double kS;
+  private final double kV;
+  private final double kA;
+
+  private double kG;
+  private boolean arm;
+  private double radiansPerUnit;
+  private double horizontalPosition;
+  @Nullable
+  private DoubleSupplier measuredPosition;
+
+  /**
+   * Creates an {@code AxisFeedForwardProcessor} with no gravity feed-forward.
+   *
+   * @param kS The static friction feed-forward \(k_S\), in output units.
+   * @param kV The velocity feed-forward \(k_V\), in output units per velocity unit.
+   * @param kA The acceleration feed-forward \(k_A\), in output units per acceleration unit.
+   */
+  public AxisFeedForwardProcessor(double kS, double kV, double kA) {
+    this.kS = kS;
+    this.kV = kV;
+    this.kA = kA;
+  }
+
+  /**
+   * Adds a constant gravity feed-forward, for an elevator or other mechanism that gravity pulls on
+   * the same everywhere. This replaces any previous gravity feed-forward.
+   *
+   * @param kG The gravity feed-forward \(k_G\), in output units. This is the output that holds the
+   * mechanism still against gravity, so it is usually positive if positive output moves the
+   * mechanism up.
+   * @return This {@code AxisFeedForwardProcessor} in order to allow chaining.
+   */
+  @NotNull
+  public AxisFeedForwardProcessor setElevatorGravity(double kG) {
+    this.kG = kG;
+    arm = false;
+    measuredPosition = null;
+    return this;
+  }
+
+  /**
+   * Adds a cosine gravity feed-forward, for an arm. The arm's angle is taken from the position
+   * setpoint, so the feed-forward anticipates where the arm is being told to go; if the data has
+   * no position setpoint (e.g. when the arm is under velocity control), it is taken from the
+   * measured position instead. This replaces any previous gravity feed-forward.
+   *
+   * @param kG The gravity feed-forward \(k_G\), in output units. This is the output that holds the
+   * arm still when it is horizontal.
+   * @param radiansPerUnit The number of radians per position unit.
+   * @param horizontalPosition The position, in position units, at which the arm is horizontal and
+   * gravity pulls it toward decreasing position.
+   * @param measuredPosition The measured position of the arm, in position units.
+   * @return This {@code AxisFeedForwardProcessor} in order to allow chaining.
+   */
+  @NotNull
+  public AxisFeedForwardProcessor setArmGravity(double kG, double radiansPerUnit,
+      double horizontalPosition, @NotNull DoubleSupplier measuredPosition) {
+    this.measuredPosition = Objects.requireNonNull(measuredPosition);
+    this.kG = kG;
+    this.radiansPerUnit = radiansPerUnit;
+    this.horizontalPosition = horizontalPosition;
+    arm = true;
+    return this;
+  }
+
+  @Contract(pure = true)
+  private double gravity(double position) {
+    if (!arm) {
+      return kG;
+    }
+    return kG * FastMath.cos((position - horizontalPosition) * radiansPerUnit);
+  }
+
+  /**
+   * Applies feed-forwards to the provided {@link AxisData}. The feed-forward is calculated as
+   * follows:
+   * <ol>
+   * <li>The feed-forward starts at 0.</li>
+   * <li>The product of the velocity (if present) and \(k_V\) is added.</li>
+   * <li>The product of the acceleration (if present) and \(k_A\) is added.</li>
+   * <li>If the velocity is present and nonzero, \(k_S\) (with the sign of the velocity) is
+   * added.</li>
+   * <li>The gravity feed-forward, if any, is added.</li>
+   * </ol>
+   * The calculated feed-forward is then added to the data's existing {@link AxisData#feedForward
+   * feedForward}.
+   *
+   * @param data The data to use.
+   * @return The same {@link AxisData}, with the feed-forward added.
+   */
+  @Override
+  @NotNull
+  public AxisData apply(@NotNull AxisData data) {
+    double feedForward = 0;
+    if (data.hasVelocity()) {
+      feedForward += kV * data.velocity
+          + (data.velocity != 0 ? Math.copySign(kS, data.velocity) : 0);
+    }
+    if (data.hasAcceleration()) {
+      feedForward += kA * data.acceleration;
+    }
+    if (kG != 0) {
+      feedForward += gravity(data.hasPosition() || measuredPosition == null
+          ? data.position : measuredPosition.getAsDouble());
+    }
+    data.feedForward += feedForward;
+    return data;
+  }
+}
@@ -0,0 +1,111 @@
+package org.team1540.rooster.mechanism.pipeline;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+import java.util.Objects;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.functional.Output;
+import org.team1540.rooster.wrappers.ChickenController;
+import org.team1540.rooster.wrappers.ChickenControllerGroup;
+import org.team1540.rooster.wrappers.DemandFilter;
+
+/**
+ * {@link Output} to pass mechanism commands to a {@link ChickenController}. This is the
+ * single-axis counterpart of {@link org.team1540.rooster.drive.pipeline.CTREOutput CTREOutput};
+ * for output details, see the method documentation for {@link #accept(AxisData) accept()}.
+ *
+ * <p>The controller runs every demand through its own {@link DemandFilter}, so demands that
+ * haven't changed since the last loop (e.g. while the mechanism holds a position) are not sent
+ * again, apart from a periodic refresh. The {@code AxisOutput} doesn't filter a second time; the
+ * controller's filter is available through {@link #getFilter()}.
+ */
+public class AxisOutput implements Output<AxisData> {
+
+  @NotNull
+  private final ChickenController controller;
+  private boolean closedLoop;
+
+  /**
+   * Creates a new {@code AxisOutput}.
+   *
+   * @param controller The controller to command.
+   * @param closedLoop Whether to command the controller in closed-loop mode if possible. (See
+   * {@link #isClosedLoop()}/{@link #setClosedLoop(boolean) setClosedLoop()}).
+   */
+  public AxisOutput(@NotNull ChickenController controller, boolean closedLoop) {
+    this.controller = Objects.requireNonNull(controller);
+    this.closedLoop = closedLoop;
+  }
+
+  /**
+   * Creates a new {@code AxisOutput} that commands the leader of a {@link ChickenControllerGroup}.
+   *
+   * @param group The group.
+   * @param closedLoop Whether to command the controller in closed-loop mode if possible. (See
+   * {@link #isClosedLoop()}/{@link #setClosedLoop(boolean) setClosedLoop()}).
+   */
+  public AxisOutput(@NotNull ChickenControllerGroup group, boolean closedLoop) {
+    this(group.getLeader(), closedLoop);
+  }
+
+  /**
+   * Commands the controller according to the provided {@link AxisData}.
+   *
+   * <p>If closed-loop is enabled ({@link #isClosedLoop()} returns {@code true}) and the data has a
+   * position or velocity setpoint, that setpoint is sent to the controller as a closed-loop
+   * setpoint, with the {@link AxisData#feedForward feedForward} sent as an arbitrary
+   * feed-forward. (Position has priority over velocity.) Otherwise, the feed-forward is sent as
+   * the motor throttle from -1 to 1 inclusive.
+   *
+   * @param data The data to accept.
+   */
+  @Override
+  public void accept(@NotNull AxisData data) {
+    if (closedLoop && data.hasPosition()) {
+      send(ControlMode.Position, data.position, data.feedForward);
+    } else if (closedLoop && data.hasVelocity()) {
+      send(ControlMode.Velocity, data.velocity, data.feedForward);
+    } else {
+      controller.set(ControlMode.PercentOutput, data.feedForward);
+    }
+  }
+
+  private void send(ControlMode mode, double demand, double feedForward) {
+    controller.set(mode, demand, DemandType.ArbitraryFeedForward, feedForward);
+  }
+
+  /**
+   * Gets the {@link DemandFilter} used for the controller. This is the controller's own
+   * {@linkplain ChickenController#getDemandFilter() filter}.
+   *
+   * @return The demand filter.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public DemandFilter getFilter() {
+    return controller.getDemandFilter();
+  }
+
+  /**
+   * Returns whether this {@code AxisOutput} commands its controller in closed-loop mode if
+   * possible. See {@link #accept(AxisData) accept()} for details.
+   *
+   * @return {@code true} if closed-loop control will be used, {@code false} otherwise.
+   */
+  @Contract(pure = true)
+  public boolean isClosedLoop() {
+    return closedLoop;
+  }
+
+  /**
+   * Sets whether this {@code AxisOutput} commands its controller in closed-loop mode if possible.
+   * Turn this off when the loop is closed on the roboRIO with an {@link AxisPIDProcessor}. See
+   * {@link #accept(AxisData) accept()} for details.
+   *
+   * @param closedLoop Whether to use closed-loop, if possible.
+   */
+  public void setClosedLoop(boolean closedLoop) {
+    this.closedLoop = closedLoop;
+  }
+}
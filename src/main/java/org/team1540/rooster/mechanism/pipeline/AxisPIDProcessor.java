@@ -0,0 +1,115 @@
+package org.team1540.rooster.mechanism.pipeline;
+
+import java.util.Objects;
+import java.util.function.DoubleSupplier;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.functional.Processor;
+import org.team1540.rooster.util.PIDCore;
+
+/**
+ * {@link Processor} to run a PID loop on the roboRIO for a single mechanism axis. The loop closes
+ * on either the position or the velocity setpoint, against a measurement from a {@link
+ * DoubleSupplier}, and its output is added to the data's {@link AxisData#feedForward feedForward}.
+ * The loop itself is a {@link PIDCore}, available through {@link #getCore()} for configuring
+ * output limits, anti-windup, derivative filtering, and the clock.
+ *
+ * <p>The output of this processor still carries its setpoints, so it should usually be sent to an
+ * {@link AxisOutput} with closed-loop control turned off, which sends only the feed-forward as
+ * the motor throttle.
+ *
+ * <p>If the setpoint being controlled is missing, the loop is reset and the data is passed through
+ * unchanged, so the I term doesn't hold a stale value when the setpoint comes back.
+ */
+public class AxisPIDProcessor implements Processor<AxisData, AxisData> {
+
+  /**
+   * Which setpoint the loop controls.
+   */
+  public enum Setpoint {
+    /**
+     * Close the loop on {@link AxisData#position}.
+     */
+    POSITION,
+    /**
+     * Close the loop on {@link AxisData#velocity}.
+     */
+    VELOCITY
+  }
+
+  @NotNull
+  private final PIDCore core;
+  @NotNull
+  private final Setpoint setpoint;
+  @NotNull
+  private final DoubleSupplier measurement;
+
+  /**
+   * Creates a new {@code AxisPIDProcessor}.
+   *
+   * @param p The P gain, in output units per position (or velocity) unit of error.
+   * @param i The I gain, per second.
+   * @param d The D gain, in seconds.
+   * @param setpoint Which setpoint to control.
+   * @param measurement The measured position or velocity, in the same units as the setpoint.
+   */
+  public AxisPIDProcessor(double p, double i, double d, @NotNull Setpoint setpoint,
+      @NotNull DoubleSupplier measurement) {
+    this.setpoint = Objects.requireNonNull(setpoint);
+    this.measurement = Objects.requireNonNull(measurement);
+    core = new PIDCore(p, i, d);
+  }
+
+  @Override
+  @NotNull
+  public AxisData apply(@NotNull AxisData data) {
+    double target = setpoint == Setpoint.POSITION ? data.position : data.velocity;
+    if (Double.isNaN(target)) {
+      core.reset();
+      return data;
+    }
+    data.feedForward += core.calculate(target, measurement.getAsDouble());
+    return data;
+  }
+
+  /**
+   * Gets the closed-loop error from the last run of the PID loop.
+   *
+   * @return The setpoint minus the measurement, or 0 if the loop has not run since creation or the
+   * last reset.
+   */
+  @Contract(pure = true)
+  public double getError() {
+    return core.getError();
+  }
+
+  /**
+   * Resets the PID loop. This clears the integral and derivative, and should be called when the
+   * mechanism starts a new, unrelated motion.
+   */
+  public void reset() {
+    core.reset();
+  }
+
+  /**
+   * Gets which setpoint the loop controls.
+   *
+   * @return The controlled setpoint.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public Setpoint getSetpoint() {
+    return setpoint;
+  }
+
+  /**
+   * Gets the underlying PID loop.
+   *
+   * @return The {@link PIDCore}.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public PIDCore getCore() {
+    return core;
+  }
+}
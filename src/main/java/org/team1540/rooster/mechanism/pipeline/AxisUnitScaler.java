@@ -0,0 +1,47 @@
+package org.team1540.rooster.mechanism.pipeline;
+
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.functional.Processor;
+
+/**
+ * Scales units by a desired factor, like {@link org.team1540.rooster.drive.pipeline.UnitScaler
+ * UnitScaler} for a single axis, except that acceleration is divided by the square of the time
+ * factor as its units require. For details of the scaling, see {@link #apply(AxisData) apply()}.
+ */
+public class AxisUnitScaler implements Processor<AxisData, AxisData> {
+
+  private final double distanceFactor;
+  private final double timeFactor;
+
+  /**
+   * Creates a new {@code AxisUnitScaler}.
+   *
+   * @param distanceFactor The scale factor from input position units (e.g. degrees, inches) to
+   * output position units (e.g. ticks).
+   * @param timeFactor The scale factor from input time units (e.g. seconds) to output time units.
+   */
+  public AxisUnitScaler(double distanceFactor, double timeFactor) {
+    this.distanceFactor = distanceFactor;
+    this.timeFactor = timeFactor;
+  }
+
+  /**
+   * Scales the units in the provided {@link AxisData} in place. {@link AxisData#position position}
+   * is multiplied by the distance factor, {@link AxisData#velocity velocity} is multiplied by the
+   * distance factor then divided by the time factor, and {@link AxisData#acceleration
+   * acceleration} is multiplied by the distance factor then divided by the square of the time
+   * factor. Missing setpoints stay missing, and the feed-forward is passed through unaffected.
+   *
+   * @param data The data to scale.
+   * @return The same {@link AxisData}, scaled as above.
+   */
+  @Override
+  @NotNull
+  public AxisData apply(@NotNull AxisData data) {
+    // NaN stays NaN, so missing setpoints need no special case
+    data.position *= distanceFactor;
+    data.velocity *= distanceFactor / timeFactor;
+    data.acceleration *= distanceFactor / (timeFactor * timeFactor);
+    return data;
+  }
+}
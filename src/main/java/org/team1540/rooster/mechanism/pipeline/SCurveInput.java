@@ -0,0 +1,50 @@
+package org.team1540.rooster.mechanism.pipeline;
+
+import java.util.Objects;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.functional.Input;
+import org.team1540.rooster.motionprofiling.SCurveGenerator;
+
+/**
+ * {@link Input} that follows an {@link SCurveGenerator}. Each call to {@link #get()} {@linkplain
+ * SCurveGenerator#update() updates} the generator and returns its position, velocity, and
+ * acceleration setpoints, with no feed-forward. The target is changed through the generator.
+ *
+ * <p>The same {@link AxisData} instance is returned from every call.
+ */
+public class SCurveInput implements Input<AxisData> {
+
+  @NotNull
+  private final SCurveGenerator generator;
+  @NotNull
+  private final AxisData data = new AxisData();
+
+  /**
+   * Creates a new {@code SCurveInput}.
+   *
+   * @param generator The generator to follow.
+   */
+  public SCurveInput(@NotNull SCurveGenerator generator) {
+    this.generator = Objects.requireNonNull(generator);
+  }
+
+  @Override
+  @NotNull
+  public AxisData get() {
+    generator.update();
+    return data.set(generator.getPosition(), generator.getVelocity(),
+        generator.getAcceleration(), 0);
+  }
+
+  /**
+   * Gets the generator this input follows.
+   *
+   * @return The generator.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public SCurveGenerator getGenerator() {
+    return generator;
+  }
+}
@@ -0,0 +1,12 @@
+/**
+ * Stock inputs, processors, and outputs for single-axis mechanisms such as elevators, arms, and
+ * flywheels, the single-axis counterpart of {@link org.team1540.rooster.drive.pipeline}.
+ *
+ * <p>Everything in this package works on one {@link
+ * org.team1540.rooster.mechanism.pipeline.AxisData AxisData} per pipeline, which each stage
+ * updates in place and passes on, so running a mechanism loop allocates nothing.
+ *
+ * <p>Unless otherwise noted, all methods, constructors, etc. in this package throw a {@link
+ * java.lang.NullPointerException} if any parameters are {@code null}.
+ */
+package org.team1540.rooster.mechanism.pipeline;
@@ -6,9 +6,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * A sequence of {@link Point Points} that can be used by motion profiling systems.
+ * A {@link Profile} whose points are stored in an array.
  */
-public class MotionProfile {
+public class MotionProfile implements Profile {
 
   /**
    * The {@link Point Points} in the motion profile.
@@ -26,29 +26,41 @@ public class MotionProfile {
   }
 
   /**
-   * Gets the <i>n</i>th {@link Point} (0-indexed) in the motion profile.
+   * Gets the <i>n</i>th {@link Point} (0-indexed) in the motion profile. This returns the stored
+   * point itself, not a copy.
    *
    * @param index The index of the point to get.
    * @return The point at the specified index.
    * @throws ArrayIndexOutOfBoundsException if {@code index} &ge; {@link #size()}.
    */
+  @NotNull
+  @Override
   @Contract(pure = true)
   public Point get(int index) {
     return points[index];
   }
 
+  @NotNull
+  @Override
+  public Point get(int index, @NotNull Point into) {
+    Point point = points[index];
+    return into.set(point.dt, point.x, point.y, point.position, point.velocity,
+        point.acceleration, point.jerk, point.heading);
+  }
+
   /**
    * Get the number of {@link Point points} in the profile.
    *
    * @return The number of points in the profile; specifically, {@code points.length}.
    */
+  @Override
   @Contract(pure = true)
   public int size() {
     return points.length;
   }
 
   /**
-   * A single instant within a {@link MotionProfile}.
+   * A single instant within a {@link Profile}.
    */
   public static class Point {
 
@@ -110,6 +122,42 @@ public class MotionProfile {
       this.heading = heading;
     }
 
+    /**
+     * Creates a new {@code Point} with every field 0, e.g. to pass to {@link Profile#get(int,
+     * Point)}.
+     */
+    public Point() {
+    }
+
+    /**
+     * Sets every field of this point.
+     *
+     * @param dt The time change since the previous point, in seconds.
+     * @param x The x-position of the robot, or 0 if not applicable.
+     * @param y The y-position of the robot, or 0 if not applicable.
+     * @param position The position of the profiled mechanism.
+     * @param velocity The velocity of the profiled mechanism, in position units per second.
+     * @param acceleration The acceleration of the profiled mechanism, in position units per second
+     * squared.
+     * @param jerk The jerk of the profiled mechanism, in position units per second cubed.
+     * @param heading The robot's heading in radians, or 0 if not applicable.
+     * @return This point, for convenience.
+     */
+    @NotNull
+    @Contract("_, _, _, _, _, _, _, _ -> this")
+    public Point set(double dt, double x, double y, double position, double velocity,
+        double acceleration, double jerk, double heading) {
+      this.dt = dt;
+      this.x = x;
+      this.y = y;
+      this.position = position;
+      this.velocity = velocity;
+      this.acceleration = acceleration;
+      this.jerk = jerk;
+      this.heading = heading;
+      return this;
+    }
+
     @Contract(value = "null -> false", pure = true)
     @Override
     public boolean equals(@Nullable Object o) {
@@ -0,0 +1,110 @@
+package org.team1540.rooster.motionprofiling;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.motionprofiling.MotionProfile.Point;
+
+/**
+ * A sequence of {@link Point Points} that can be followed by motion profiling systems, read by
+ * index.
+ *
+ * <p>A {@link MotionProfile} stores its points in an array. {@link #reversed()}, {@link
+ * #mirrored()}, {@link #offset(double)}, and {@link #scaledSpeed(double)} create views of a
+ * profile that transform each point as it is read, without copying the points, so one stored
+ * profile can serve every variant of an autonomous routine. Views can be chained in any order; a
+ * chain of views is collapsed into a single view of the original profile, so reading a point costs
+ * the same no matter how many transformations are applied.
+ *
+ * <p>A view has no stored point to return, so {@link #get(int)} creates a new {@link Point} on
+ * every call. Code that reads points every loop should keep a {@code Point} of its own and read
+ * into it with {@link #get(int, Point)}, which never allocates.
+ */
+public interface Profile {
+
+  /**
+   * Get the number of {@link Point points} in the profile.
+   *
+   * @return The number of points in the profile.
+   */
+  @Contract(pure = true)
+  int size();
+
+  /**
+   * Copies the <i>n</i>th {@link Point} (0-indexed) in the profile into the provided point.
+   *
+   * @param index The index of the point to get.
+   * @param into The point to write the values into.
+   * @return {@code into}, for convenience.
+   * @throws ArrayIndexOutOfBoundsException if {@code index} is negative or &ge; {@link #size()}.
+   */
+  @NotNull
+  @Contract("_, _ -> param2")
+  Point get(int index, @NotNull Point into);
+
+  /**
+   * Gets the <i>n</i>th {@link Point} (0-indexed) in the profile. This may return a new point on
+   * every call; see {@link #get(int, Point)} for a version that doesn't allocate.
+   *
+   * @param index The index of the point to get.
+   * @return The point at the specified index.
+   * @throws ArrayIndexOutOfBoundsException if {@code index} is negative or &ge; {@link #size()}.
+   */
+  @NotNull
+  @Contract(pure = true)
+  default Point get(int index) {
+    return get(index, new Point());
+  }
+
+  /**
+   * Creates a view of this profile run backwards in time, so that the mechanism retraces the same
+   * positions from the end to the start. Velocity and jerk change sign; acceleration does not.
+   *
+   * @return A reversed view of this profile.
+   */
+  @NotNull
+  @Contract(pure = true)
+  default Profile reversed() {
+    return new ProfileView(this).reversed();
+  }
+
+  /**
+   * Creates a view of this profile mirrored across the x-axis, negating the y-position and
+   * heading of every point. To run a path on the other side of the field, mirror both sides'
+   * profiles and swap them; see {@link ProfilePair#mirrored()}.
+   *
+   * @return A mirrored view of this profile.
+   */
+  @NotNull
+  @Contract(pure = true)
+  default Profile mirrored() {
+    return new ProfileView(this).mirrored();
+  }
+
+  /**
+   * Creates a view of this profile with a constant added to every position, e.g. to start from
+   * the mechanism's current position instead of 0.
+   *
+   * @param offset The amount to add to each position.
+   * @return An offset view of this profile.
+   */
+  @NotNull
+  @Contract(pure = true)
+  default Profile offset(double offset) {
+    return new ProfileView(this).offset(offset);
+  }
+
+  /**
+   * Creates a view of this profile that follows the same positions at a different speed. Time
+   * steps are divided by the scale and velocities, accelerations, and jerks are multiplied by its
+   * first, second, and third powers respectively.
+   *
+   * @param scale The speed relative to this profile, e.g. 0.8 for 80% speed.
+   * @return A time-scaled view of this profile.
+   * @throws IllegalArgumentException If {@code scale} is not positive and finite.
+   */
+  @NotNull
+  @Contract(pure = true)
+  default Profile scaledSpeed(double scale) {
+    return new ProfileView(this).scaledSpeed(scale);
+  }
+}
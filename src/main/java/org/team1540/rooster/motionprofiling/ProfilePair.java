@@ -0,0 +1,117 @@
+package org.team1540.rooster.motionprofiling;
+
+import java.util.Objects;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The left and right {@link Profile Profiles} for a tank drive path.
+ *
+ * <p>Like the views on {@link Profile}, the transformation methods here return new pairs of
+ * views without copying any points.
+ */
+public class ProfilePair {
+
+  @NotNull
+  private final Profile left;
+  @NotNull
+  private final Profile right;
+
+  /**
+   * Creates a new {@code ProfilePair}.
+   *
+   * @param left The left-side profile.
+   * @param right The right-side profile.
+   * @throws NullPointerException If either profile is {@code null}.
+   */
+  public ProfilePair(@NotNull Profile left, @NotNull Profile right) {
+    this.left = Objects.requireNonNull(left);
+    this.right = Objects.requireNonNull(right);
+  }
+
+  /**
+   * Gets the left-side profile.
+   *
+   * @return The left profile.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public Profile getLeft() {
+    return left;
+  }
+
+  /**
+   * Gets the right-side profile.
+   *
+   * @return The right profile.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public Profile getRight() {
+    return right;
+  }
+
+  /**
+   * Creates a pair with the left and right profiles exchanged.
+   *
+   * @return A new {@code ProfilePair} as described above.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public ProfilePair swapped() {
+    return new ProfilePair(right, left);
+  }
+
+  /**
+   * Creates a pair that drives the mirror image of this path across the x-axis, e.g. for the
+   * other side of the field. The sides are swapped (a left turn becomes a right turn), and
+   * y-positions and headings are negated.
+   *
+   * @return A new {@code ProfilePair} as described above.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public ProfilePair mirrored() {
+    return new ProfilePair(right.mirrored(), left.mirrored());
+  }
+
+  /**
+   * Creates a pair that retraces this path from the end to the start. See {@link
+   * Profile#reversed()}.
+   *
+   * @return A new {@code ProfilePair} as described above.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public ProfilePair reversed() {
+    return new ProfilePair(left.reversed(), right.reversed());
+  }
+
+  /**
+   * Creates a pair with constants added to each side's positions. See {@link
+   * Profile#offset(double)}.
+   *
+   * @param leftOffset The amount to add to each left position.
+   * @param rightOffset The amount to add to each right position.
+   * @return A new {@code ProfilePair} as described above.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public ProfilePair offset(double leftOffset, double rightOffset) {
+    return new ProfilePair(left.offset(leftOffset), right.offset(rightOffset));
+  }
+
+  /**
+   * Creates a pair that follows this path at a different speed. See {@link
+   * Profile#scaledSpeed(double)}.
+   *
+   * @param scale The speed relative to this path, e.g. 0.8 for 80% speed.
+   * @return A new {@code ProfilePair} as described above.
+   * @throws IllegalArgumentException If {@code scale} is not positive and finite.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public ProfilePair scaledSpeed(double scale) {
+    return new ProfilePair(left.scaledSpeed(scale), right.scaledSpeed(scale));
+  }
+}
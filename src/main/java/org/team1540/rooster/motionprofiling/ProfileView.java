@@ -0,0 +1,100 @@
+package org.team1540.rooster.motionprofiling;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.motionprofiling.MotionProfile.Point;
+
+/**
+ * A {@link Profile} that transforms the points of another profile as they are read. Every
+ * transformation commutes with the others, so each view holds the untransformed profile plus the
+ * combined transformation, and applying another transformation just creates a view with updated
+ * parameters.
+ *
+ * <p>{@link #get(int, Point)} reads one or two points of the base profile into the provided point
+ * and transforms it in place, so it allocates nothing.
+ */
+final class ProfileView implements Profile {
+
+  @NotNull
+  private final Profile base;
+  private final boolean reversed;
+  private final boolean mirrored;
+  private final double offset;
+  private final double speed;
+
+  ProfileView(@NotNull Profile base) {
+    this(base, false, false, 0, 1);
+  }
+
+  private ProfileView(@NotNull Profile base, boolean reversed, boolean mirrored,
+      double offset, double speed) {
+    this.base = base;
+    this.reversed = reversed;
+    this.mirrored = mirrored;
+    this.offset = offset;
+    this.speed = speed;
+  }
+
+  @NotNull
+  @Override
+  public Point get(int index, @NotNull Point into) {
+    int size = base.size();
+    if (index < 0 || index >= size) {
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+
+    double dt;
+    double direction = 1;
+    if (reversed) {
+      // a point's dt is the time since the previous point, which is the next point when reversed
+      dt = base.get(index == 0 ? 0 : size - index, into).dt;
+      base.get(size - 1 - index, into);
+      direction = -1;
+    } else {
+      dt = base.get(index, into).dt;
+    }
+
+    return into.set(
+        dt / speed,
+        into.x,
+        mirrored ? -into.y : into.y,
+        into.position + offset,
+        direction * into.velocity * speed,
+        into.acceleration * speed * speed,
+        direction * into.jerk * speed * speed * speed,
+        mirrored ? -into.heading : into.heading);
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int size() {
+    return base.size();
+  }
+
+  @NotNull
+  @Override
+  public Profile reversed() {
+    return new ProfileView(base, !reversed, mirrored, offset, speed);
+  }
+
+  @NotNull
+  @Override
+  public Profile mirrored() {
+    return new ProfileView(base, reversed, !mirrored, offset, speed);
+  }
+
+  @NotNull
+  @Override
+  public Profile offset(double offset) {
+    return new ProfileView(base, reversed, mirrored, this.offset + offset, speed);
+  }
+
+  @NotNull
+  @Override
+  public Profile scaledSpeed(double scale) {
+    if (!(scale > 0 && scale < Double.POSITIVE_INFINITY)) {
+      throw new IllegalArgumentException("Speed scale must be positive and finite, was " + scale);
+    }
+    return new ProfileView(base, reversed, mirrored, offset, speed * scale);
+  }
+}
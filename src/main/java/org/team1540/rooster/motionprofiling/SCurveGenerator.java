@@ -0,0 +1,383 @@
+package org.team1540.rooster.motionprofiling;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.functional.DoubleInput;
+
+/**
+ * Online jerk-limited (S-curve) motion profile generator for a single mechanism such as an
+ * elevator or arm.
+ *
+ * <p>Instead of a precomputed {@link MotionProfile}, an {@code SCurveGenerator} holds a plan from
+ * its current state to a target position, and {@link #setTarget(double)} replans from wherever the
+ * mechanism is along the current plan, so the target can change at any time without a jump in
+ * position, velocity, or acceleration. The plan is at most seven constant-jerk phases: change
+ * velocity to a cruise velocity, cruise, and slow to a stop at the target. The phases are found
+ * analytically, except for the cruise velocity of moves too short to reach the maximum velocity,
+ * which is found by a fixed number of bisection steps; so both {@link #setTarget(double)} and
+ * {@link #update()} take constant time, and neither allocates.
+ *
+ * <p>With an infinite jerk limit, the generator produces trapezoidal profiles.
+ *
+ * <p>Call {@link #update()} once per loop to sample the plan at the current time, then read the
+ * setpoint through {@link #getPosition()}, {@link #getVelocity()}, and {@link #getAcceleration()}
+ * or the equivalent {@link DoubleInput DoubleInputs}. An {@code SCurveGenerator} is not
+ * thread-safe.
+ */
+public class SCurveGenerator {
+
+  private static final int PHASES = 7;
+  private static final int BISECTION_STEPS = 64;
+
+  private double maxVelocity;
+  private double maxAcceleration;
+  private double maxJerk;
+
+  @NotNull
+  private LongSupplier clock = System::nanoTime;
+
+  // the plan: each phase's duration, jerk, and state at its start; index PHASES is the end state
+  private final double[] phaseTime = new double[PHASES];
+  private final double[] phaseJerk = new double[PHASES];
+  private final double[] phasePosition = new double[PHASES + 1];
+  private final double[] phaseVelocity = new double[PHASES + 1];
+  private final double[] phaseAcceleration = new double[PHASES + 1];
+  private long planStartNanos;
+  private double planDuration;
+  private double target;
+
+  private double position;
+  private double velocity;
+  private double acceleration;
+  private boolean finished = true;
+
+  @NotNull
+  private final DoubleInput positionInput = this::getPosition;
+  @NotNull
+  private final DoubleInput velocityInput = this::getVelocity;
+  @NotNull
+  private final DoubleInput accelerationInput = this::getAcceleration;
+
+  /**
+   * Creates a new {@code SCurveGenerator} at rest at position 0.
+   *
+   * @param maxVelocity The maximum velocity, in position units per second.
+   * @param maxAcceleration The maximum acceleration, in position units per second squared.
+   * @param maxJerk The maximum jerk, in position units per second cubed, or {@link
+   * Double#POSITIVE_INFINITY} for trapezoidal profiles.
+   * @throws IllegalArgumentException If any limit is not positive, or if the velocity or
+   * acceleration limit is infinite.
+   */
+  public SCurveGenerator(double maxVelocity, double maxAcceleration, double maxJerk) {
+    setLimits(maxVelocity, maxAcceleration, maxJerk);
+    reset(0, 0, 0);
+  }
+
+  /**
+   * Changes the limits. The new limits apply from the next call to {@link #setTarget(double)};
+   * to apply them to the current motion, call {@link #setTarget(double)} with the current target.
+   *
+   * @param maxVelocity The maximum velocity, in position units per second.
+   * @param maxAcceleration The maximum acceleration, in position units per second squared.
+   * @param maxJerk The maximum jerk, in position units per second cubed, or {@link
+   * Double#POSITIVE_INFINITY} for trapezoidal profiles.
+   * @throws IllegalArgumentException If any limit is not positive, or if the velocity or
+   * acceleration limit is infinite.
+   */
+  public void setLimits(double maxVelocity, double maxAcceleration, double maxJerk) {
+    if (!(maxVelocity > 0 && maxVelocity < Double.POSITIVE_INFINITY
+        && maxAcceleration > 0 && maxAcceleration < Double.POSITIVE_INFINITY && maxJerk > 0)) {
+      throw new IllegalArgumentException("Limits must be positive, and velocity and acceleration "
+          + "limits must be finite");
+    }
+    this.maxVelocity = maxVelocity;
+    this.maxAcceleration = maxAcceleration;
+    this.maxJerk = maxJerk;
+  }
+
+  /**
+   * Sets the clock used to time the plan. Defaults to {@link System#nanoTime()}. Setting the clock
+   * resets the generator to rest at its current position.
+   *
+   * @param clock A clock returning the current time in nanoseconds.
+   */
+  public void setClock(@NotNull LongSupplier clock) {
+    this.clock = Objects.requireNonNull(clock);
+    reset(position, 0, 0);
+  }
+
+  /**
+   * Resets the generator to the given state, e.g. the mechanism's measured position, and holds
+   * it there (or, if moving, brings it to a stop) until a new target is set.
+   *
+   * @param position The position.
+   * @param velocity The velocity, in position units per second.
+   * @param acceleration The acceleration, in position units per second squared. It is clamped to
+   * the acceleration limit, and ignored if the jerk limit is infinite.
+   */
+  public void reset(double position, double velocity, double acceleration) {
+    this.position = position;
+    this.velocity = velocity;
+    this.acceleration = acceleration;
+    planStartNanos = clock.getAsLong();
+    target = position + stoppingDistance(velocity, clampAcceleration(acceleration));
+    plan(position, velocity, acceleration);
+  }
+
+  /**
+   * Sets the target position and replans from the generator's state at the current time. The
+   * mechanism comes to rest at the target.
+   *
+   * @param target The target position.
+   */
+  public void setTarget(double target) {
+    long now = clock.getAsLong();
+    sample(now);
+    this.target = target;
+    planStartNanos = now;
+    plan(position, velocity, acceleration);
+  }
+
+  /**
+   * Samples the plan at the current time. Call this once per loop, before reading the setpoint.
+   */
+  public void update() {
+    sample(clock.getAsLong());
+  }
+
+  private void sample(long now) {
+    double t = (now - planStartNanos) / 1e9;
+    if (t >= planDuration) {
+      position = target;
+      velocity = 0;
+      acceleration = 0;
+      finished = true;
+      return;
+    }
+    finished = false;
+
+    int phase = 0;
+    while (phase < PHASES - 1 && t >= phaseTime[phase]) {
+      t -= phaseTime[phase];
+      phase++;
+    }
+    double v = phaseVelocity[phase];
+    double a = phaseAcceleration[phase];
+    double j = phaseJerk[phase];
+    position = phasePosition[phase] + t * (v + t * (a / 2 + t * j / 6));
+    velocity = v + t * (a + t * j / 2);
+    acceleration = a + t * j;
+  }
+
+  private void plan(double p0, double v0, double a0) {
+    a0 = clampAcceleration(a0);
+    double distance = target - p0;
+
+    // head for the target from wherever we'd stop if we started braking now
+    double direction = distance >= stoppingDistance(v0, a0) ? 1 : -1;
+    double cruiseVelocity = direction * maxVelocity;
+    double cruiseTime = 0;
+
+    double fullDistance = changeVelocity(v0, a0, cruiseVelocity, 0)
+        + changeVelocity(cruiseVelocity, 0, 0, 4);
+    if (direction * (distance - fullDistance) >= 0) {
+      cruiseTime = (distance - fullDistance) / cruiseVelocity;
+    } else {
+      // too short to reach full speed, so find the fastest cruise velocity that doesn't overshoot;
+      // the distance covered grows with the cruise velocity, and 0 undershoots by construction
+      double low = 0;
+      double high = cruiseVelocity;
+      for (int i = 0; i < BISECTION_STEPS; i++) {
+        double mid = (low + high) / 2;
+        double d = changeVelocity(v0, a0, mid, 0) + changeVelocity(mid, 0, 0, 4);
+        if (direction * (d - distance) > 0) {
+          high = mid;
+        } else {
+          low = mid;
+        }
+      }
+      cruiseVelocity = low;
+      changeVelocity(v0, a0, cruiseVelocity, 0);
+      changeVelocity(cruiseVelocity, 0, 0, 4);
+    }
+    phaseTime[3] = cruiseTime;
+    phaseJerk[3] = 0;
+    phaseAcceleration[3] = 0;
+
+    // integrate the phases to get the state at the start of each
+    phasePosition[0] = p0;
+    phaseVelocity[0] = v0;
+    phaseAcceleration[0] = a0;
+    planDuration = 0;
+    for (int i = 0; i < PHASES; i++) {
+      double t = phaseTime[i];
+      double v = phaseVelocity[i];
+      double a = phaseAcceleration[i];
+      double j = t > 0 ? phaseJerk[i] : 0;
+      phasePosition[i + 1] = phasePosition[i] + t * (v + t * (a / 2 + t * j / 6));
+      phaseVelocity[i + 1] = v + t * (a + t * j / 2);
+      planDuration += t;
+    }
+    // the starting accelerations were filled in by changeVelocity(), so infinite-jerk steps are
+    // exact; the plan always ends at rest
+    phaseAcceleration[PHASES] = 0;
+    sample(planStartNanos);
+  }
+
+  /**
+   * Fills three phases, starting at {@code offset}, that change the velocity from {@code v0} with
+   * acceleration {@code a0} to {@code v1} with zero acceleration as fast as the limits allow.
+   *
+   * @return The distance covered.
+   */
+  private double changeVelocity(double v0, double a0, double v1, int offset) {
+    double dv = v1 - v0;
+    // the velocity change from just ramping the acceleration to 0
+    double rampChange = a0 * Math.abs(a0) / (2 * maxJerk);
+    double sign = dv >= rampChange ? 1 : -1;
+
+    // solve in the positive direction, then flip
+    double dvs = sign * dv;
+    double as = sign * a0;
+    // with no hold, dv = (2 peak^2 - a0^2) / 2J
+    double peak = Math.sqrt(Math.max(0, (2 * maxJerk * dvs + as * as) / 2));
+    double hold = 0;
+    if (!(peak <= maxAcceleration)) {
+      peak = maxAcceleration;
+      hold = (dvs - (2 * peak * peak - as * as) / (2 * maxJerk)) / peak;
+    }
+
+    phaseTime[offset] = Math.max(0, (peak - as) / maxJerk);
+    phaseTime[offset + 1] = Math.max(0, hold);
+    phaseTime[offset + 2] = peak / maxJerk;
+    phaseJerk[offset] = sign * maxJerk;
+    phaseJerk[offset + 1] = 0;
+    phaseJerk[offset + 2] = -sign * maxJerk;
+    phaseAcceleration[offset] = a0;
+    phaseAcceleration[offset + 1] = sign * peak;
+    phaseAcceleration[offset + 2] = sign * peak;
+
+    double distance = 0;
+    double v = v0;
+    for (int i = offset; i < offset + 3; i++) {
+      double t = phaseTime[i];
+      if (t > 0) {
+        double a = phaseAcceleration[i];
+        double j = phaseJerk[i];
+        distance += t * (v + t * (a / 2 + t * j / 6));
+        v += t * (a + t * j / 2);
+      }
+    }
+    return distance;
+  }
+
+  private double stoppingDistance(double v0, double a0) {
+    return changeVelocity(v0, a0, 0, 4);
+  }
+
+  private double clampAcceleration(double a) {
+    if (maxJerk == Double.POSITIVE_INFINITY) {
+      return 0;
+    }
+    return Math.max(-maxAcceleration, Math.min(maxAcceleration, a));
+  }
+
+  /**
+   * Gets the target position.
+   *
+   * @return The target.
+   */
+  @Contract(pure = true)
+  public double getTarget() {
+    return target;
+  }
+
+  /**
+   * Gets the position setpoint as of the last {@link #update()}.
+   *
+   * @return The position.
+   */
+  @Contract(pure = true)
+  public double getPosition() {
+    return position;
+  }
+
+  /**
+   * Gets the velocity setpoint as of the last {@link #update()}.
+   *
+   * @return The velocity, in position units per second.
+   */
+  @Contract(pure = true)
+  public double getVelocity() {
+    return velocity;
+  }
+
+  /**
+   * Gets the acceleration setpoint as of the last {@link #update()}.
+   *
+   * @return The acceleration, in position units per second squared.
+   */
+  @Contract(pure = true)
+  public double getAcceleration() {
+    return acceleration;
+  }
+
+  /**
+   * Returns whether the generator had reached the target as of the last {@link #update()}.
+   *
+   * @return {@code true} if the generator is at rest at the target, {@code false} otherwise.
+   */
+  @Contract(pure = true)
+  public boolean isFinished() {
+    return finished;
+  }
+
+  /**
+   * Gets the time the current plan takes from the last call to {@link #setTarget(double)} to the
+   * target.
+   *
+   * @return The duration, in seconds.
+   */
+  @Contract(pure = true)
+  public double getPlanDuration() {
+    return planDuration;
+  }
+
+  /**
+   * Gets a {@link DoubleInput} returning {@link #getPosition()}. The same object is returned every
+   * time.
+   *
+   * @return The position input.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public DoubleInput getPositionInput() {
+    return positionInput;
+  }
+
+  /**
+   * Gets a {@link DoubleInput} returning {@link #getVelocity()}. The same object is returned every
+   * time.
+   *
+   * @return The velocity input.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public DoubleInput getVelocityInput() {
+    return velocityInput;
+  }
+
+  /**
+   * Gets a {@link DoubleInput} returning {@link #getAcceleration()}. The same object is returned
+   * every time.
+   *
+   * @return The acceleration input.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public DoubleInput getAccelerationInput() {
+    return accelerationInput;
+  }
+}
@@ -1,6 +1,10 @@
 /**
  * Utilities for motion profiles.
  *
- * This class contains a common class to encapsulate motion profiles.
+ * This class contains a common interface to encapsulate motion profiles, {@link
+ * org.team1540.rooster.motionprofiling.Profile}, and its array-backed implementation, along with
+ * {@link org.team1540.rooster.motionprofiling.ProfilePair} for the two sides of a tank drive path,
+ * and {@link org.team1540.rooster.motionprofiling.SCurveGenerator}, which generates profiles for
+ * a single mechanism on the fly.
  */
 package org.team1540.rooster.motionprofiling;
@@ -12,12 +12,17 @@ import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.datastructures.InterpolatingTable;
 
 /**
  * Class to manage creating and updating robot preferences. Add an object containing fields marked
  * with {@link Preference} to have those values be controlled by what is saved in the robot's {@link
  * Preferences}. The PreferenceManager also supports storing non-persistent values via the {@link
  * SmartDashboard}.
+ *
+ * <p>Supported field types are {@code String}, {@code int}, {@code double}, {@code boolean}, and
+ * {@link InterpolatingTable}. Tables are stored as text and updated in place when the text is
+ * edited; text that can't be parsed is reported and leaves the table unchanged.
  */
 public class PreferenceManager {
 
@@ -184,7 +189,13 @@ public class PreferenceManager {
         Preferences.getInstance()::getDouble, SmartDashboard::getNumber),
     BOOLEAN(Boolean.TYPE,
         Preferences.getInstance()::putBoolean, SmartDashboard::putBoolean,
-        Preferences.getInstance()::getBoolean, SmartDashboard::getBoolean);
+        Preferences.getInstance()::getBoolean, SmartDashboard::getBoolean),
+    TABLE(InterpolatingTable.class,
+        (key, table) -> Preferences.getInstance().putString(key, table.toString()),
+        (key, table) -> SmartDashboard.putString(key, table.toString()),
+        (key, table) -> updateTable(table,
+            Preferences.getInstance().getString(key, table.toString())),
+        (key, table) -> updateTable(table, SmartDashboard.getString(key, table.toString())));
 
     final Class cls;
     final BiConsumer nonPersistentPutFunction;
@@ -201,5 +212,18 @@ public class PreferenceManager {
       this.getFunction = getFunction;
       this.nonPersistentGetFunction = nonPersistentGetFunction;
     }
+
+    @NotNull
+    private static InterpolatingTable updateTable(@NotNull InterpolatingTable table,
+        @NotNull String text) {
+      try {
+        table.setText(text);
+      } catch (IllegalArgumentException e) {
+        // setText() ignores the same bad text after rejecting it once, so this reports each bad
+        // edit once rather than every loop
+        DriverStation.reportError("Invalid table \"" + text + "\": " + e.getMessage(), false);
+      }
+      return table;
+    }
   }
 }
@@ -0,0 +1,301 @@
+package org.team1540.rooster.sim;
+
+import java.util.Objects;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.drive.pipeline.CTREOutput;
+import org.team1540.rooster.functional.Executable;
+import org.team1540.rooster.wrappers.ChickenController;
+import org.team1540.rooster.wrappers.SimChickenController;
+import org.team1540.rooster.wrappers.SimChickenController.Motor;
+import org.team1540.rooster.wrappers.SimNavX;
+
+/**
+ * Deterministic, fixed-step simulation of a differential (tank) drivetrain.
+ *
+ * <p>Each side is driven by a {@link SimChickenController}, whose {@link ChickenController} view is
+ * available through {@link #getLeftController()}/{@link #getRightController()} and wrapped in a
+ * {@link CTREOutput} by {@link #getOutput()}. The controllers run their closed loops as a Talon SRX
+ * would; the resulting motor forces are applied to a rigid body with the drivetrain's mass and
+ * moment of inertia. Wheel positions and velocities are fed back into the controllers' selected
+ * sensors, and heading into a {@link SimNavX}, so a pipeline built against real hardware can run
+ * against the simulation unchanged.
+ *
+ * <p>Dynamics are integrated with semi-implicit Euler at 1 ms regardless of how the simulation is
+ * stepped, and nothing depends on wall-clock time, so identical inputs always produce identical
+ * results. Pipelines that contain a {@link org.team1540.rooster.drive.pipeline.PIDProcessor
+ * PIDProcessor} should be given {@link #getTimeNanos()} as their {@linkplain
+ * org.team1540.rooster.drive.pipeline.PIDProcessor#setClock(java.util.function.LongSupplier)
+ * clock}. Wheel slip and rolling resistance are not modeled.
+ */
+public class DifferentialDriveSim {
+
+  private static final double STEP = 0.001;
+  private static final double GRAVITY = 9.80665;
+
+  @NotNull
+  private final SimChickenController left;
+  @NotNull
+  private final SimChickenController right;
+  @NotNull
+  private final SimNavX navx = new SimNavX();
+  @NotNull
+  private final CTREOutput output;
+
+  private final double wheelRadius;
+  private final double trackWidth;
+  private final double mass;
+  private final double momentOfInertia;
+
+  private long timeUs;
+
+  private double x;
+  private double y;
+  private double heading;
+  private double linearVelocity;
+  private double angularVelocity;
+  private double leftDistance;
+  private double rightDistance;
+
+  /**
+   * Creates a new {@code DifferentialDriveSim}.
+   *
+   * @param motor The motor model.
+   * @param motorsPerSide The number of motors driving each side.
+   * @param gearRatio The reduction between the motors and the wheels (motor rotations per wheel
+   * rotation).
+   * @param wheelRadius The wheel radius, in meters.
+   * @param trackWidth The distance between the left and right wheels, in meters.
+   * @param mass The mass of the robot, in kilograms.
+   * @param momentOfInertia The moment of inertia of the robot about its center, in kg*m^2.
+   * @param countsPerRev The number of encoder counts per wheel rotation.
+   */
+  public DifferentialDriveSim(@NotNull Motor motor, int motorsPerSide, double gearRatio,
+      double wheelRadius, double trackWidth, double mass, double momentOfInertia,
+      double countsPerRev) {
+    Objects.requireNonNull(motor);
+    if (!(wheelRadius > 0 && trackWidth > 0 && mass > 0 && momentOfInertia > 0)) {
+      throw new IllegalArgumentException(
+          "Wheel radius, track width, mass, and moment of inertia must be positive");
+    }
+    this.wheelRadius = wheelRadius;
+    this.trackWidth = trackWidth;
+    this.mass = mass;
+    this.momentOfInertia = momentOfInertia;
+
+    // the per-side inertia is only used if a controller is updated on its own
+    double sideInertia = mass / 2 * wheelRadius * wheelRadius;
+    left = new SimChickenController(1, motor, motorsPerSide, gearRatio, sideInertia, countsPerRev);
+    right = new SimChickenController(2, motor, motorsPerSide, gearRatio, sideInertia,
+        countsPerRev);
+    // the controllers filter on their own simulation clocks; any filter the output owns gets the
+    // drivetrain's, so nothing in the simulation reads the wall clock
+    output = new CTREOutput(left.getController(), right.getController(), true,
+        this::getTimeMicros);
+  }
+
+  /**
+   * Advances the simulation.
+   *
+   * @param dt The time to advance by, in seconds.
+   */
+  public void update(double dt) {
+    double remaining = dt;
+    while (remaining > 1e-9) {
+      double h = Math.min(STEP, remaining);
+      step(h);
+      remaining -= h;
+    }
+  }
+
+  /**
+   * Runs a control loop against the simulation. The loop is executed once every {@code
+   * loopPeriod} of simulated time, with the dynamics integrated in between, until {@code duration}
+   * of simulated time has passed.
+   *
+   * @param loop The loop to run, e.g. a pipeline ending in {@link #getOutput()}.
+   * @param loopPeriod The time between executions of the loop, in seconds.
+   * @param duration The total time to simulate, in seconds.
+   */
+  public void run(@NotNull Executable loop, double loopPeriod, double duration) {
+    Objects.requireNonNull(loop);
+    if (!(loopPeriod > 0)) {
+      throw new IllegalArgumentException("Loop period must be positive, was " + loopPeriod);
+    }
+    long iterations = Math.round(duration / loopPeriod);
+    for (long i = 0; i < iterations; i++) {
+      loop.execute();
+      update(loopPeriod);
+    }
+  }
+
+  private void step(double h) {
+    double leftVoltage = left.stepControl(h);
+    double rightVoltage = right.stepControl(h);
+    double leftForce = left.getTorque(leftVoltage) / wheelRadius;
+    double rightForce = right.getTorque(rightVoltage) / wheelRadius;
+
+    double linearAccel = (leftForce + rightForce) / mass;
+    double angularAccel = (rightForce - leftForce) * (trackWidth / 2) / momentOfInertia;
+
+    linearVelocity += linearAccel * h;
+    angularVelocity += angularAccel * h;
+
+    double leftVelocity = linearVelocity - angularVelocity * trackWidth / 2;
+    double rightVelocity = linearVelocity + angularVelocity * trackWidth / 2;
+    leftDistance += leftVelocity * h;
+    rightDistance += rightVelocity * h;
+
+    heading += angularVelocity * h;
+    x += linearVelocity * Math.cos(heading) * h;
+    y += linearVelocity * Math.sin(heading) * h;
+
+    left.setMechanismState(leftDistance / wheelRadius, leftVelocity / wheelRadius);
+    right.setMechanismState(rightDistance / wheelRadius, rightVelocity / wheelRadius);
+    navx.setAngleRadians(heading);
+    navx.setAccel(linearAccel / GRAVITY, 0);
+
+    timeUs += Math.round(h * 1e6);
+  }
+
+  /**
+   * Resets the robot to rest at the origin, facing along the X axis. Controller configuration is
+   * kept, and encoder positions are not reset.
+   */
+  public void resetPose() {
+    x = 0;
+    y = 0;
+    heading = 0;
+    linearVelocity = 0;
+    angularVelocity = 0;
+    navx.setAngleRadians(0);
+  }
+
+  /**
+   * Gets an {@link CTREOutput} that commands the simulated controllers. The output is in
+   * closed-loop mode by default.
+   *
+   * @return The output.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public CTREOutput getOutput() {
+    return output;
+  }
+
+  /**
+   * Gets the left-side controller.
+   *
+   * @return The controller.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public ChickenController getLeftController() {
+    return left.getController();
+  }
+
+  /**
+   * Gets the right-side controller.
+   *
+   * @return The controller.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public ChickenController getRightController() {
+    return right.getController();
+  }
+
+  /**
+   * Gets the simulated NavX.
+   *
+   * @return The NavX.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public SimNavX getNavX() {
+    return navx;
+  }
+
+  /**
+   * Gets the simulation time.
+   *
+   * @return The simulated time since creation, in milliseconds.
+   */
+  @Contract(pure = true)
+  public long getTimeMillis() {
+    return timeUs / 1000;
+  }
+
+  /**
+   * Gets the simulation time.
+   *
+   * @return The simulated time since creation, in microseconds.
+   */
+  @Contract(pure = true)
+  public long getTimeMicros() {
+    return timeUs;
+  }
+
+  /**
+   * Gets the simulation time.
+   *
+   * @return The simulated time since creation, in nanoseconds.
+   */
+  @Contract(pure = true)
+  public long getTimeNanos() {
+    return timeUs * 1000;
+  }
+
+  /**
+   * Gets the X position of the robot.
+   *
+   * @return The X position, in meters.
+   */
+  @Contract(pure = true)
+  public double getX() {
+    return x;
+  }
+
+  /**
+   * Gets the Y position of the robot.
+   *
+   * @return The Y position, in meters.
+   */
+  @Contract(pure = true)
+  public double getY() {
+    return y;
+  }
+
+  /**
+   * Gets the heading of the robot.
+   *
+   * @return The heading counter-clockwise from the X axis, in radians. This continues past pi and
+   * -pi.
+   */
+  @Contract(pure = true)
+  public double getHeading() {
+    return heading;
+  }
+
+  /**
+   * Gets the forward velocity of the robot.
+   *
+   * @return The velocity, in meters per second.
+   */
+  @Contract(pure = true)
+  public double getLinearVelocity() {
+    return linearVelocity;
+  }
+
+  /**
+   * Gets the turning rate of the robot. This can be passed to a {@link
+   * org.team1540.rooster.drive.pipeline.TurningRatePIDProcessor TurningRatePIDProcessor} as its
+   * yaw rate supplier.
+   *
+   * @return The turning rate counter-clockwise, in radians per second.
+   */
+  @Contract(pure = true)
+  public double getAngularVelocity() {
+    return angularVelocity;
+  }
+}
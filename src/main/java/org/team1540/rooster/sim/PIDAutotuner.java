@@ -0,0 +1,728 @@
+package org.team1540.rooster.sim;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.apache.commons.math3.exception.TooManyEvaluationsException;
+import org.apache.commons.math3.optim.InitialGuess;
+import org.apache.commons.math3.optim.MaxEval;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.apache.commons.math3.optim.nonlinear.scalar.ObjectiveFunction;
+import org.apache.commons.math3.optim.nonlinear.scalar.noderiv.NelderMeadSimplex;
+import org.apache.commons.math3.optim.nonlinear.scalar.noderiv.SimplexOptimizer;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.drive.pipeline.PIDProcessor;
+import org.team1540.rooster.util.MiniPID;
+
+/**
+ * Offline PIDF gain search against a {@link Plant}.
+ *
+ * <p>Tuning happens in two stages. First, {@link #identify()} runs a relay-feedback experiment
+ * (Astrom-Hagglund): the plant is driven with a bang-bang output around zero until it settles into
+ * a limit cycle, whose amplitude and period give the ultimate gain and period. These seed a set of
+ * Ziegler-Nichols gains. Second, {@link #tune()} refines those gains with several Nelder-Mead
+ * searches started from randomly perturbed copies of the seed, each minimizing the integral of
+ * time-weighted absolute error (ITAE) of a simulated step response plus a penalty on overshoot.
+ * The searches run in parallel on a {@link ForkJoinPool}, one plant per search, and their results
+ * are returned best-first along with their rise time, overshoot, and settling time.
+ *
+ * <p>Gains are always in continuous units: I per second of accumulated error, D per unit of error
+ * per second. {@link #forPIDProcessor()} and {@link #forMiniPID(double)} adapt them to the
+ * respective controllers, so the result of a tuning run can be plugged into either.
+ * Search is done in log space, so gains never change sign; gains that are not being tuned are held
+ * at the values passed to {@link #setFixedGains(double, double, double, double)}.
+ *
+ * <p>Every evaluation is deterministic given the plant, and each search has its own seeded random
+ * number generator, so the same configuration always produces the same ranking regardless of how
+ * the work is scheduled.
+ */
+public class PIDAutotuner {
+
+  /**
+   * Index of the P gain in gain arrays.
+   */
+  public static final int P = 0;
+  /**
+   * Index of the I gain in gain arrays.
+   */
+  public static final int I = 1;
+  /**
+   * Index of the D gain in gain arrays.
+   */
+  public static final int D = 2;
+  /**
+   * Index of the F gain in gain arrays.
+   */
+  public static final int F = 3;
+
+  private static final double RELAY_AMPLITUDE = 0.5;
+
+  @NotNull
+  private final Supplier<Plant> plantFactory;
+  @NotNull
+  private final ControllerFactory controllerFactory;
+
+  @NotNull
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+  private double setpoint = 1;
+  private double loopPeriod = 0.02;
+  private double duration = 3;
+  private double overshootPenalty = 1;
+  private double settlingBand = 0.02;
+  private int searches = Runtime.getRuntime().availableProcessors();
+  private int maxEvaluations = 300;
+  private long seed = 1540;
+  private boolean[] tuned = {true, true, true, false};
+  private double[] fixedGains = new double[4];
+
+  /**
+   * A way to create a controller under test from a set of gains.
+   */
+  @FunctionalInterface
+  public interface ControllerFactory {
+
+    /**
+     * Creates a fresh controller.
+     *
+     * @param p The P gain.
+     * @param i The I gain, in continuous units.
+     * @param d The D gain, in continuous units.
+     * @param f The F gain, multiplied by the setpoint.
+     * @param clock A clock returning the simulated time in nanoseconds, for controllers that
+     * measure the time between updates.
+     * @return A function taking the setpoint and measurement and returning the controller output.
+     */
+    @NotNull
+    DoubleBinaryOperator create(double p, double i, double d, double f,
+        @NotNull LongSupplier clock);
+  }
+
+  /**
+   * Creates a new {@code PIDAutotuner}.
+   *
+   * @param plantFactory A supplier of fresh plants at rest. This is called once per simulation,
+   * possibly from several threads at once.
+   * @param controllerFactory The controller to tune, e.g. {@link #forPIDProcessor()} or {@link
+   * #forMiniPID(double)}.
+   */
+  public PIDAutotuner(@NotNull Supplier<Plant> plantFactory,
+      @NotNull ControllerFactory controllerFactory) {
+    this.plantFactory = Objects.requireNonNull(plantFactory);
+    this.controllerFactory = Objects.requireNonNull(controllerFactory);
+  }
+
+  /**
+   * Creates a {@link ControllerFactory} for {@link PIDProcessor}. The processor's clock is set to
+   * the simulated time, and F is added as {@code f * setpoint}. Subclasses such as {@link
+   * org.team1540.rooster.drive.pipeline.HeadingPIDProcessor HeadingPIDProcessor} share the same
+   * loop, so the resulting gains can be passed straight to their constructors.
+   *
+   * @return A new controller factory.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public static ControllerFactory forPIDProcessor() {
+    return (p, i, d, f, clock) -> {
+      double[] data = new double[2];
+      PIDProcessor<double[], Double> processor = new PIDProcessor<double[], Double>(p, i, d) {
+        @Override
+        protected double getError(double[] data) {
+          return data[0] - data[1];
+        }
+
+        @Override
+        protected Double createOutput(double[] data, double loopOutput) {
+          return loopOutput + f * data[0];
+        }
+      };
+      processor.setClock(clock);
+      return (setpoint, measurement) -> {
+        data[0] = setpoint;
+        data[1] = measurement;
+        return processor.apply(data);
+      };
+    };
+  }
+
+  /**
+   * Creates a {@link ControllerFactory} for {@link MiniPID}. {@code MiniPID} does not measure time
+   * and instead assumes it is called at a fixed rate, so the I and D gains are converted to
+   * per-call units using the loop period.
+   *
+   * @param loopPeriod The period at which the {@code MiniPID} will be called on the robot, in
+   * seconds. This should match {@link #setLoopPeriod(double)}.
+   * @return A new controller factory.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public static ControllerFactory forMiniPID(double loopPeriod) {
+    if (!(loopPeriod > 0)) {
+      throw new IllegalArgumentException("Loop period must be positive, was " + loopPeriod);
+    }
+    return (p, i, d, f, clock) -> {
+      MiniPID pid = new MiniPID(p, i * loopPeriod, d / loopPeriod, f);
+      return (setpoint, measurement) -> pid.getOutput(measurement, setpoint);
+    };
+  }
+
+  /**
+   * Runs a relay-feedback experiment on a fresh plant to find its ultimate gain and period, and
+   * its static gain from an open-loop step.
+   *
+   * @return The identification result. If the plant never settles into a limit cycle, the
+   * ultimate gain and period are {@link Double#NaN NaN}.
+   */
+  @NotNull
+  public Identification identify() {
+    // static gain from an open-loop step
+    Plant plant = plantFactory.get();
+    double y = plant.getMeasurement();
+    for (double t = 0; t < duration; t += loopPeriod) {
+      y = plant.update(RELAY_AMPLITUDE, loopPeriod);
+    }
+    double staticGain = y / RELAY_AMPLITUDE;
+
+    // relay with hysteresis around zero
+    plant = plantFactory.get();
+    double hysteresis = Math.abs(staticGain * RELAY_AMPLITUDE) * 0.01;
+    double output = RELAY_AMPLITUDE;
+    y = plant.getMeasurement();
+    double lastRise = Double.NaN;
+    double period = Double.NaN;
+    double max = Double.NEGATIVE_INFINITY;
+    double min = Double.POSITIVE_INFINITY;
+    double amplitude = 0;
+    int cycles = 0;
+    int steps = (int) Math.round(4 * duration / loopPeriod);
+    for (int k = 0; k < steps; k++) {
+      if (y > hysteresis && output > 0) {
+        output = -RELAY_AMPLITUDE;
+      } else if (y < -hysteresis && output < 0) {
+        output = RELAY_AMPLITUDE;
+        double t = k * loopPeriod;
+        if (!Double.isNaN(lastRise)) {
+          // the first cycles are transient; keep only the most recent
+          period = t - lastRise;
+          amplitude = (max - min) / 2;
+          cycles++;
+        }
+        max = Double.NEGATIVE_INFINITY;
+        min = Double.POSITIVE_INFINITY;
+        lastRise = t;
+      }
+      y = plant.update(output, loopPeriod);
+      max = Math.max(max, y);
+      min = Math.min(min, y);
+    }
+
+    double ultimateGain = Double.NaN;
+    double ultimatePeriod = Double.NaN;
+    if (cycles >= 2 && amplitude > hysteresis) {
+      ultimateGain = 4 * RELAY_AMPLITUDE
+          / (Math.PI * Math.sqrt(amplitude * amplitude - hysteresis * hysteresis));
+      ultimatePeriod = period;
+    }
+    return new Identification(ultimateGain, ultimatePeriod, staticGain);
+  }
+
+  /**
+   * Identifies the plant and searches for the best gains.
+   *
+   * @return The result of each search, best first. The list is never empty.
+   */
+  @NotNull
+  public List<Candidate> tune() {
+    return tune(identify().getSeedGains(fixedGains, tuned));
+  }
+
+  /**
+   * Searches for the best gains starting from the provided gains. Gains that are being tuned and
+   * are zero in {@code seedGains} are started at 1. Gains that aren't being tuned are held at the
+   * {@linkplain #setFixedGains(double, double, double, double) fixed gains}, whatever {@code
+   * seedGains} says.
+   *
+   * @param seedGains The starting P, I, D, and F gains.
+   * @return The result of each search, best first. The list is never empty.
+   */
+  @NotNull
+  public List<Candidate> tune(@NotNull double[] seedGains) {
+    if (seedGains.length != 4) {
+      throw new IllegalArgumentException("Expected 4 gains, got " + seedGains.length);
+    }
+    double[] seed = seedGains.clone();
+    for (int k = 0; k < 4; k++) {
+      if (!tuned[k]) {
+        seed[k] = fixedGains[k];
+      } else if (!(seed[k] > 0)) {
+        seed[k] = 1;
+      }
+    }
+
+    List<ForkJoinTask<Candidate>> tasks = new ArrayList<>(searches);
+    for (int s = 0; s < searches; s++) {
+      int index = s;
+      tasks.add(pool.submit(() -> search(seed, index)));
+    }
+    List<Candidate> results = new ArrayList<>(searches);
+    for (ForkJoinTask<Candidate> task : tasks) {
+      results.add(task.join());
+    }
+    results.sort(Comparator.comparingDouble(Candidate::getCost));
+    return results;
+  }
+
+  private Candidate search(double[] seedGains, int index) {
+    Random random = new Random(seed + index);
+    int dimensions = 0;
+    for (boolean t : tuned) {
+      if (t) {
+        dimensions++;
+      }
+    }
+    if (dimensions == 0) {
+      return evaluate(seedGains.clone());
+    }
+
+    // the first search starts at the seed; the rest start within a factor of ~3 of it
+    double[] start = new double[dimensions];
+    double[] steps = new double[dimensions];
+    for (int k = 0, j = 0; k < 4; k++) {
+      if (tuned[k]) {
+        start[j] = Math.log(seedGains[k]) + (index == 0 ? 0 : random.nextGaussian());
+        steps[j] = 0.5;
+        j++;
+      }
+    }
+
+    Candidate[] best = new Candidate[1];
+    ObjectiveFunction objective = new ObjectiveFunction(point -> {
+      Candidate candidate = evaluate(toGains(point, seedGains));
+      if (best[0] == null || candidate.getCost() < best[0].getCost()) {
+        best[0] = candidate;
+      }
+      return candidate.getCost();
+    });
+    try {
+      new SimplexOptimizer(1e-4, 1e-6).optimize(
+          new MaxEval(maxEvaluations),
+          objective,
+          GoalType.MINIMIZE,
+          new InitialGuess(start),
+          new NelderMeadSimplex(steps));
+    } catch (TooManyEvaluationsException e) {
+      // keep the best point found so far
+    }
+    return best[0];
+  }
+
+  private double[] toGains(double[] point, double[] seedGains) {
+    double[] gains = new double[4];
+    for (int k = 0, j = 0; k < 4; k++) {
+      gains[k] = tuned[k] ? Math.exp(point[j++]) : seedGains[k];
+    }
+    return gains;
+  }
+
+  /**
+   * Simulates a step response on a fresh plant with the given gains.
+   *
+   * @param gains The P, I, D, and F gains.
+   * @return The evaluated candidate.
+   */
+  @NotNull
+  public Candidate evaluate(@NotNull double[] gains) {
+    Plant plant = plantFactory.get();
+    long[] timeNanos = new long[1];
+    DoubleBinaryOperator controller = controllerFactory.create(
+        gains[P], gains[I], gains[D], gains[F], () -> timeNanos[0]);
+
+    double scale = Math.abs(setpoint);
+    double sign = Math.signum(setpoint);
+    double y = plant.getMeasurement();
+    double itae = 0;
+    double peak = 0;
+    double riseStart = Double.NaN;
+    double riseEnd = Double.NaN;
+    double settled = 0;
+    int steps = (int) Math.round(duration / loopPeriod);
+    for (int k = 0; k < steps; k++) {
+      double t = k * loopPeriod;
+      timeNanos[0] = Math.round(t * 1e9);
+      double output = controller.applyAsDouble(setpoint, y);
+      if (Double.isNaN(output)) {
+        output = 0;
+      }
+      y = plant.update(Math.max(-1, Math.min(1, output)), loopPeriod);
+      if (!Double.isFinite(y)) {
+        return new Candidate(gains, Double.POSITIVE_INFINITY, Double.NaN, Double.NaN, Double.NaN);
+      }
+
+      t += loopPeriod;
+      double progress = sign * y / scale;
+      double error = Math.abs(setpoint - y) / scale;
+      itae += t * error * loopPeriod;
+      peak = Math.max(peak, progress);
+      if (Double.isNaN(riseStart) && progress >= 0.1) {
+        riseStart = t;
+      }
+      if (Double.isNaN(riseEnd) && progress >= 0.9) {
+        riseEnd = t;
+      }
+      if (error > settlingBand) {
+        settled = t;
+      }
+    }
+
+    double overshoot = Math.max(0, peak - 1);
+    double riseTime = riseEnd - riseStart;
+    double settlingTime = settled < duration ? settled : Double.NaN;
+    return new Candidate(gains, itae + overshootPenalty * overshoot, riseTime, overshoot,
+        settlingTime);
+  }
+
+  /**
+   * Sets the step response target. Defaults to 1.
+   *
+   * @param setpoint The setpoint, in the units of the plant's measurement. Must not be zero.
+   * @return This autotuner.
+   */
+  @NotNull
+  public PIDAutotuner setSetpoint(double setpoint) {
+    if (setpoint == 0 || !Double.isFinite(setpoint)) {
+      throw new IllegalArgumentException("Setpoint must be finite and nonzero, was " + setpoint);
+    }
+    this.setpoint = setpoint;
+    return this;
+  }
+
+  /**
+   * Sets the period at which the controller is run. Defaults to 20 ms.
+   *
+   * @param loopPeriod The loop period, in seconds.
+   * @return This autotuner.
+   */
+  @NotNull
+  public PIDAutotuner setLoopPeriod(double loopPeriod) {
+    if (!(loopPeriod > 0)) {
+      throw new IllegalArgumentException("Loop period must be positive, was " + loopPeriod);
+    }
+    this.loopPeriod = loopPeriod;
+    return this;
+  }
+
+  /**
+   * Sets the length of each simulated step response. Defaults to 3 seconds.
+   *
+   * @param duration The duration, in seconds.
+   * @return This autotuner.
+   */
+  @NotNull
+  public PIDAutotuner setDuration(double duration) {
+    if (!(duration > 0)) {
+      throw new IllegalArgumentException("Duration must be positive, was " + duration);
+    }
+    this.duration = duration;
+    return this;
+  }
+
+  /**
+   * Sets how much overshoot is penalized relative to ITAE. Defaults to 1.
+   *
+   * @param overshootPenalty The cost added per unit of overshoot as a fraction of the setpoint.
+   * Must be positive.
+   * @return This autotuner.
+   */
+  @NotNull
+  public PIDAutotuner setOvershootPenalty(double overshootPenalty) {
+    if (!(overshootPenalty > 0)) {
+      throw new IllegalArgumentException(
+          "Overshoot penalty must be positive, was " + overshootPenalty);
+    }
+    this.overshootPenalty = overshootPenalty;
+    return this;
+  }
+
+  /**
+   * Sets the band the response must stay within to count as settled. Defaults to 2%.
+   *
+   * @param settlingBand The band, as a fraction of the setpoint. Must be positive.
+   * @return This autotuner.
+   */
+  @NotNull
+  public PIDAutotuner setSettlingBand(double settlingBand) {
+    if (!(settlingBand > 0)) {
+      throw new IllegalArgumentException("Settling band must be positive, was " + settlingBand);
+    }
+    this.settlingBand = settlingBand;
+    return this;
+  }
+
+  /**
+   * Sets which gains are searched. By default P, I, and D are tuned and F is held fixed. Only
+   * tune F for plants whose measurement settles under a constant output, such as velocity.
+   *
+   * @param p Whether to tune P.
+   * @param i Whether to tune I.
+   * @param d Whether to tune D.
+   * @param f Whether to tune F.
+   * @return This autotuner.
+   */
+  @NotNull
+  public PIDAutotuner setTuned(boolean p, boolean i, boolean d, boolean f) {
+    tuned = new boolean[]{p, i, d, f};
+    return this;
+  }
+
+  /**
+   * Sets the values of gains that are not being tuned. All default to 0.
+   *
+   * @param p The P gain.
+   * @param i The I gain.
+   * @param d The D gain.
+   * @param f The F gain.
+   * @return This autotuner.
+   */
+  @NotNull
+  public PIDAutotuner setFixedGains(double p, double i, double d, double f) {
+    fixedGains = new double[]{p, i, d, f};
+    return this;
+  }
+
+  /**
+   * Sets the number of independent searches. Defaults to the number of available processors.
+   *
+   * @param searches The number of searches.
+   * @return This autotuner.
+   */
+  @NotNull
+  public PIDAutotuner setSearches(int searches) {
+    if (searches < 1) {
+      throw new IllegalArgumentException("Need at least one search, was " + searches);
+    }
+    this.searches = searches;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of step responses simulated per search. Defaults to 300.
+   *
+   * @param maxEvaluations The maximum number of evaluations. Must be at least 1.
+   * @return This autotuner.
+   */
+  @NotNull
+  public PIDAutotuner setMaxEvaluations(int maxEvaluations) {
+    if (maxEvaluations < 1) {
+      throw new IllegalArgumentException(
+          "Need at least one evaluation, was " + maxEvaluations);
+    }
+    this.maxEvaluations = maxEvaluations;
+    return this;
+  }
+
+  /**
+   * Sets the seed for the random starting points. Defaults to 1540.
+   *
+   * @param seed The seed.
+   * @return This autotuner.
+   */
+  @NotNull
+  public PIDAutotuner setSeed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  /**
+   * Sets the pool searches run on. Defaults to {@link ForkJoinPool#commonPool()}.
+   *
+   * @param pool The pool.
+   * @return This autotuner.
+   */
+  @NotNull
+  public PIDAutotuner setPool(@NotNull ForkJoinPool pool) {
+    this.pool = Objects.requireNonNull(pool);
+    return this;
+  }
+
+  /**
+   * The result of a relay-feedback experiment.
+   */
+  public static class Identification {
+
+    private final double ultimateGain;
+    private final double ultimatePeriod;
+    private final double staticGain;
+
+    private Identification(double ultimateGain, double ultimatePeriod, double staticGain) {
+      this.ultimateGain = ultimateGain;
+      this.ultimatePeriod = ultimatePeriod;
+      this.staticGain = staticGain;
+    }
+
+    /**
+     * Gets the ultimate gain: the proportional gain at which the closed loop oscillates.
+     *
+     * @return The ultimate gain, or {@link Double#NaN NaN} if no limit cycle was found.
+     */
+    @Contract(pure = true)
+    public double getUltimateGain() {
+      return ultimateGain;
+    }
+
+    /**
+     * Gets the ultimate period: the period of oscillation at the ultimate gain.
+     *
+     * @return The ultimate period in seconds, or {@link Double#NaN NaN} if no limit cycle was
+     * found.
+     */
+    @Contract(pure = true)
+    public double getUltimatePeriod() {
+      return ultimatePeriod;
+    }
+
+    /**
+     * Gets the static gain: the steady-state measurement per unit of input.
+     *
+     * @return The static gain.
+     */
+    @Contract(pure = true)
+    public double getStaticGain() {
+      return staticGain;
+    }
+
+    /**
+     * Gets Ziegler-Nichols PID gains for the gains being tuned, with F set to the inverse of the
+     * static gain. If no limit cycle was found, P is set to the inverse of the static gain and I
+     * and D to 0. Gains that aren't being tuned are copied from {@code fixedGains} unchanged.
+     *
+     * <p>The F seed is only meaningful for plants whose measurement settles under a constant
+     * output, such as velocity; for a position plant {@code F * setpoint} is not a useful
+     * feed-forward, and F should be left untuned.
+     *
+     * @param fixedGains The P, I, D, and F gains to use for gains that aren't being tuned.
+     * @param tuned Whether each of P, I, D, and F is being tuned.
+     * @return The P, I, D, and F gains.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public double[] getSeedGains(@NotNull double[] fixedGains, @NotNull boolean[] tuned) {
+      if (fixedGains.length != 4 || tuned.length != 4) {
+        throw new IllegalArgumentException("Expected 4 gains");
+      }
+      double inverseGain = staticGain == 0 ? 1 : 1 / Math.abs(staticGain);
+      double[] seed = new double[4];
+      if (Double.isNaN(ultimateGain)) {
+        seed[P] = inverseGain;
+      } else {
+        seed[P] = 0.6 * ultimateGain;
+        seed[I] = 1.2 * ultimateGain / ultimatePeriod;
+        seed[D] = 0.075 * ultimateGain * ultimatePeriod;
+      }
+      seed[F] = inverseGain;
+
+      double[] gains = fixedGains.clone();
+      for (int k = 0; k < 4; k++) {
+        if (tuned[k]) {
+          gains[k] = seed[k];
+        }
+      }
+      return gains;
+    }
+
+    @Override
+    public String toString() {
+      return "Identification{Ku=" + ultimateGain + ", Tu=" + ultimatePeriod + ", K="
+          + staticGain + "}";
+    }
+  }
+
+  /**
+   * A set of gains and how well they performed.
+   */
+  public static class Candidate {
+
+    @NotNull
+    private final double[] gains;
+    private final double cost;
+    private final double riseTime;
+    private final double overshoot;
+    private final double settlingTime;
+
+    private Candidate(@NotNull double[] gains, double cost, double riseTime, double overshoot,
+        double settlingTime) {
+      this.gains = gains;
+      this.cost = cost;
+      this.riseTime = riseTime;
+      this.overshoot = overshoot;
+      this.settlingTime = settlingTime;
+    }
+
+    /**
+     * Gets the gains.
+     *
+     * @return A copy of the P, I, D, and F gains, in continuous units.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public double[] getGains() {
+      return gains.clone();
+    }
+
+    /**
+     * Gets the cost of the step response; lower is better.
+     *
+     * @return The ITAE plus overshoot penalty, or positive infinity if the response diverged.
+     */
+    @Contract(pure = true)
+    public double getCost() {
+      return cost;
+    }
+
+    /**
+     * Gets the 10%-90% rise time.
+     *
+     * @return The rise time in seconds, or {@link Double#NaN NaN} if the response never reached
+     * 90% of the setpoint.
+     */
+    @Contract(pure = true)
+    public double getRiseTime() {
+      return riseTime;
+    }
+
+    /**
+     * Gets the overshoot.
+     *
+     * @return The overshoot, as a fraction of the setpoint.
+     */
+    @Contract(pure = true)
+    public double getOvershoot() {
+      return overshoot;
+    }
+
+    /**
+     * Gets the settling time.
+     *
+     * @return The time after which the response stayed within the settling band, in seconds, or
+     * {@link Double#NaN NaN} if it never settled.
+     */
+    @Contract(pure = true)
+    public double getSettlingTime() {
+      return settlingTime;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("P=%.5g I=%.5g D=%.5g F=%.5g cost=%.4g rise=%.3fs overshoot=%.1f%% "
+              + "settling=%.3fs", gains[P], gains[I], gains[D], gains[F], cost, riseTime,
+          overshoot * 100, settlingTime);
+    }
+  }
+}
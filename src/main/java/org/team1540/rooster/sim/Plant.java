@@ -0,0 +1,92 @@
+package org.team1540.rooster.sim;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import java.util.Objects;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.wrappers.SimChickenController;
+
+/**
+ * A single-input, single-output system to be controlled, such as a motor driving a mechanism.
+ * Plants are stateful and not thread-safe; code that runs simulations in parallel should create
+ * one plant per simulation.
+ */
+public interface Plant {
+
+  /**
+   * Gets the current measurement.
+   *
+   * @return The measurement.
+   */
+  double getMeasurement();
+
+  /**
+   * Applies an input for some time and returns the resulting measurement.
+   *
+   * @param input The input, e.g. a motor throttle from -1 to 1.
+   * @param dt The time to apply the input for, in seconds.
+   * @return The measurement after {@code dt} seconds.
+   */
+  double update(double input, double dt);
+
+  /**
+   * Creates a first-order plant with transfer function {@code gain / (timeConstant * s + 1)},
+   * starting at rest. This is a good model of a motor's velocity.
+   *
+   * @param gain The steady-state output per unit of input.
+   * @param timeConstant The time constant, in seconds.
+   * @return A new plant.
+   */
+  @NotNull
+  @Contract(pure = true)
+  static Plant firstOrder(double gain, double timeConstant) {
+    if (!(timeConstant > 0)) {
+      throw new IllegalArgumentException("Time constant must be positive, was " + timeConstant);
+    }
+    return new Plant() {
+      private double y;
+
+      @Override
+      public double getMeasurement() {
+        return y;
+      }
+
+      @Override
+      public double update(double input, double dt) {
+        // exact discretization, so large steps stay stable
+        double decay = Math.exp(-dt / timeConstant);
+        y = y * decay + gain * input * (1 - decay);
+        return y;
+      }
+    };
+  }
+
+  /**
+   * Creates a plant from a {@link SimChickenController}. The input is sent as a {@link
+   * ControlMode#PercentOutput PercentOutput} demand, and the measurement is the mechanism's
+   * position or velocity.
+   *
+   * @param controller The simulated controller.
+   * @param measurePosition {@code true} to measure position (in radians), {@code false} to measure
+   * velocity (in radians per second).
+   * @return A new plant.
+   */
+  @NotNull
+  @Contract(pure = true)
+  static Plant of(@NotNull SimChickenController controller, boolean measurePosition) {
+    Objects.requireNonNull(controller);
+    return new Plant() {
+      @Override
+      public double getMeasurement() {
+        return measurePosition ? controller.getPosition() : controller.getVelocity();
+      }
+
+      @Override
+      public double update(double input, double dt) {
+        controller.getController().set(ControlMode.PercentOutput, input);
+        controller.update(dt);
+        return getMeasurement();
+      }
+    };
+  }
+}
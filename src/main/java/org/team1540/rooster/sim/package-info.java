@@ -0,0 +1,6 @@
+/**
+ * Deterministic physics simulations for running and tuning pipelines off-robot, faster than real
+ * time. Simulated hardware lives in {@link org.team1540.rooster.wrappers wrappers} alongside the
+ * real wrappers.
+ */
+package org.team1540.rooster.sim;
@@ -6,7 +6,8 @@ import org.jetbrains.annotations.NotNull;
 
 /**
  * A button based on a joystick axis. This can be used to emulate a button using a trigger or
- * joystick.
+ * joystick. To avoid reading the axis from the driver station on every poll, pass an {@link
+ * HIDSnapshot} as the joystick.
  */
 public class AxisButton {
 
@@ -30,7 +31,7 @@ public class AxisButton {
 
   //  @Override
   public boolean get() {
-    return (Math.abs(stick.getRawAxis(axis)) >= Math.abs(threshold)
-        && Math.signum(stick.getRawAxis(axis)) == Math.signum(threshold));
+    double value = stick.getRawAxis(axis);
+    return Math.abs(value) >= Math.abs(threshold) && Math.signum(value) == Math.signum(threshold);
   }
 }
@@ -0,0 +1,150 @@
+package org.team1540.rooster.triggers;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.GenericHID;
+import java.util.Objects;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A copy of a joystick's axes, buttons, and POVs, captured once per loop.
+ *
+ * <p>Every {@link GenericHID#getRawAxis(int)} or {@link GenericHID#getPOV(int)} call goes through
+ * the {@link edu.wpi.first.wpilibj.DriverStation DriverStation}'s joystick cache, taking a lock
+ * and range-checking the joystick each time. Triggers are polled by the scheduler every loop, so
+ * these reads add up: a default {@link MultiAxisButton} reads six axes per poll, and a set of
+ * eight D-pad buttons reads the POV eight times. An {@code HIDSnapshot} reads each axis and POV
+ * exactly once in {@link #update()}, reads all the buttons as a single bitmask, and serves every
+ * other read from primitive arrays.
+ *
+ * <p>{@code HIDSnapshot} is itself a {@link GenericHID}, so it can be passed to any trigger in
+ * this package (or anything else that takes a {@link GenericHID}) in place of the real joystick:
+ * <pre>{@code
+ * HIDSnapshot driver = new HIDSnapshot(new Joystick(0));
+ * new MultiAxisButton(driver, 0.5).whenPressed(...);
+ * new StrictDPadButton(driver, 0, DPadAxis.UP).whenPressed(...);
+ *
+ * public void robotPeriodic() {
+ *   driver.update();
+ *   CommandScheduler.getInstance().run();
+ * }
+ * }</pre>
+ * {@link #update()} must be called once per loop before anything reads the snapshot; until the
+ * first update, every axis reads 0, every button reads released, and every POV reads -1. Only the
+ * raw axis, button, and POV getters and the counts come from the snapshot; {@link
+ * #getX(Hand)}, {@link #getY(Hand)}, {@link #getRawButtonPressed(int)}, and {@link
+ * #getRawButtonReleased(int)} still read the joystick directly.
+ *
+ * <p>{@link org.team1540.rooster.util.ChickenXboxController ChickenXboxController} keeps its own
+ * snapshot, which the scheduler updates; use {@link
+ * org.team1540.rooster.util.ChickenXboxController#getSnapshot() getSnapshot()} rather than
+ * wrapping it again.
+ */
+public class HIDSnapshot extends GenericHID {
+
+  // the most of each the driver station reports
+  private static final int MAX_AXES = 12;
+  private static final int MAX_POVS = 12;
+  private static final int MAX_BUTTONS = 32;
+
+  @NotNull
+  private final GenericHID source;
+  private final double[] axes = new double[MAX_AXES];
+  private final int[] povs = new int[MAX_POVS];
+  // bit i is button i + 1, since buttons are numbered from 1
+  private int buttons;
+  private int axisCount;
+  private int povCount;
+  private int buttonCount;
+
+  /**
+   * Creates a new {@code HIDSnapshot}. The snapshot starts empty; call {@link #update()} to
+   * capture the joystick's state.
+   *
+   * @param source The joystick to capture.
+   * @throws NullPointerException If {@code source} is {@code null}.
+   */
+  public HIDSnapshot(@NotNull GenericHID source) {
+    super(source.getPort());
+    this.source = Objects.requireNonNull(source);
+    for (int i = 0; i < MAX_POVS; i++) {
+      povs[i] = -1;
+    }
+  }
+
+  /**
+   * Captures the current state of every axis, button, and POV on the joystick. Call this once per
+   * loop, before the scheduler polls any triggers.
+   */
+  public void update() {
+    axisCount = Math.min(source.getAxisCount(), MAX_AXES);
+    povCount = Math.min(source.getPOVCount(), MAX_POVS);
+    buttonCount = Math.min(source.getButtonCount(), MAX_BUTTONS);
+
+    for (int i = 0; i < axisCount; i++) {
+      axes[i] = source.getRawAxis(i);
+    }
+    for (int i = 0; i < povCount; i++) {
+      povs[i] = source.getPOV(i);
+    }
+    // one call for every button instead of one per button; this is what getRawButton() masks
+    buttons = DriverStation.getInstance().getStickButtons(source.getPort());
+  }
+
+  /**
+   * Gets the joystick this snapshot captures.
+   *
+   * @return The joystick.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public GenericHID getSource() {
+    return source;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public double getRawAxis(int axis) {
+    return axis >= 0 && axis < axisCount ? axes[axis] : 0;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public boolean getRawButton(int button) {
+    return button >= 1 && button <= buttonCount && (buttons & 1 << (button - 1)) != 0;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int getPOV(int pov) {
+    return pov >= 0 && pov < povCount ? povs[pov] : -1;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int getAxisCount() {
+    return axisCount;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int getPOVCount() {
+    return povCount;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int getButtonCount() {
+    return buttonCount;
+  }
+
+  @Override
+  public double getX(Hand hand) {
+    return source.getX(hand);
+  }
+
+  @Override
+  public double getY(Hand hand) {
+    return source.getY(hand);
+  }
+}
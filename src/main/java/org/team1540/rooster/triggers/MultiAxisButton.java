@@ -8,6 +8,8 @@ import org.jetbrains.annotations.NotNull;
 /**
  * A button based on a set of joystick axes.
  * This can be used to emulate a button that is triggered by the movement of any specified axis.
+ * Since this reads up to six axes per poll, consider passing an {@link HIDSnapshot} as the
+ * joystick.
  */
 public class MultiAxisButton extends Button {
 
@@ -42,8 +44,9 @@ public class MultiAxisButton extends Button {
 
   @Override
   public boolean get() {
+    double threshold = Math.abs(this.threshold);
     for (int axis : axes) {
-      if (Math.abs(stick.getRawAxis(axis)) >= Math.abs(threshold)) {
+      if (Math.abs(stick.getRawAxis(axis)) >= threshold) {
         return true;
       }
     }
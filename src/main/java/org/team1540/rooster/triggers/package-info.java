@@ -1,5 +1,7 @@
 /**
  * Extensions of WPILib {@link edu.wpi.first.wpilibj2.command.button.Button Buttons} to support
- * various buttons not covered by stock WPILib.
+ * various buttons not covered by stock WPILib. Every button here reads its joystick through
+ * {@link edu.wpi.first.wpilibj.GenericHID}, so an {@link org.team1540.rooster.triggers.HIDSnapshot}
+ * can be passed in place of the joystick to share one read of each input per loop.
  */
 package org.team1540.rooster.triggers;
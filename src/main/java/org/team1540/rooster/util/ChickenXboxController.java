@@ -4,19 +4,37 @@ import static org.team1540.rooster.util.ControlUtils.deadzone;
 import static org.team1540.rooster.util.MathUtils.preserveSignRaiseToPower;
 
 import edu.wpi.first.wpilibj.XboxController;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import edu.wpi.first.wpilibj2.command.button.JoystickButton;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.DoubleSupplier;
 import java.util.function.Supplier;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.team1540.rooster.functional.DoubleInput;
 import org.team1540.rooster.triggers.AxisButton;
 import org.team1540.rooster.triggers.DPadAxis;
+import org.team1540.rooster.triggers.HIDSnapshot;
 import org.team1540.rooster.triggers.MultiAxisButton;
 import org.team1540.rooster.triggers.StrictDPadButton;
 
+/**
+ * An {@link XboxController} with extra ways to read it.
+ *
+ * <p>The buttons from {@link #getButton(XboxButton) getButton()} and the axes from {@link
+ * #getAxis(int) getAxis()} read from an {@link HIDSnapshot} of the controller rather than from
+ * the controller itself, so however many of them are polled, the driver station is read once per
+ * loop. The snapshot is refreshed by the {@link CommandScheduler} when it polls buttons in {@link
+ * CommandScheduler#run() run()}, ahead of this controller's own buttons and before any command
+ * executes. Code that reads an axis earlier in the loop, including subsystem {@code periodic()}
+ * methods, sees the previous loop's value. The raw getters inherited from {@link XboxController}
+ * still read the controller directly.
+ */
 public class ChickenXboxController extends XboxController {
 
+    // created once so that getAxis() returns the same object every time
+    private final Axis[] axes = new Axis[XboxAxis.values().length];
+    private final HIDSnapshot snapshot;
+
     /**
      * Construct an instance of a joystick. The joystick index is the USB port on the drivers
      * station.
@@ -25,6 +43,14 @@ public class ChickenXboxController extends XboxController {
      */
     public ChickenXboxController(int port) {
         super(port);
+        snapshot = new HIDSnapshot(this);
+        snapshot.update();
+        // registered before any of this controller's buttons, so it's polled before them
+        CommandScheduler.getInstance().addButton(snapshot::update);
+        for (int i = 0; i < axes.length; i++) {
+            int axis = i;
+            axes[i] = () -> snapshot.getRawAxis(axis);
+        }
     }
 
     public enum XboxAxis {
@@ -122,23 +148,32 @@ public class ChickenXboxController extends XboxController {
      * @return Angle in radians counter-clockwise from 12 o'clock
      */
     public double get2DJoystickAngle(Hand hand) {
-        return Math.atan2(getRectifiedY(hand), getRectifiedX(hand));
+        return FastMath.atan2(getRectifiedY(hand), getRectifiedX(hand));
     }
 
     public double get2DJoystickMagnitude(Hand hand) {
         return Vector2D.ZERO.distance(get2DJoystickVector(hand));
     }
 
+    /**
+     * Gets the snapshot that this controller's buttons and axes read from.
+     *
+     * @return The snapshot.
+     */
+    public HIDSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     public StrictDPadButton getButton(DPadAxis button) {
-        return new StrictDPadButton(this, 0, button);
+        return new StrictDPadButton(snapshot, 0, button);
     }
 
     public JoystickButton getButton(XboxButton button) {
-        return new JoystickButton(this, button.value);
+        return new JoystickButton(snapshot, button.value);
     }
 
     public AxisButton getButton(XboxAxis axis, double threshold) {
-        return new AxisButton(this, threshold, axis.value);
+        return new AxisButton(snapshot, threshold, axis.value);
     }
 
     public MultiAxisButton getButton(double threshold, XboxAxis... axes) {
@@ -146,15 +181,18 @@ public class ChickenXboxController extends XboxController {
         for (int i = 0; i < axes.length; i++) {
             axesIds[i] = axes[i].value;
         }
-        return new MultiAxisButton(this, threshold, axesIds);
+        return new MultiAxisButton(snapshot, threshold, axesIds);
     }
 
     public Axis getAxis(XboxAxis axis) {
-        return () -> getRawAxis(axis);
+        return getAxis(axis.value);
     }
 
     public Axis getAxis(int axis) {
-        return () -> getRawAxis(axis);
+        if (axis >= 0 && axis < axes.length) {
+            return axes[axis];
+        }
+        return () -> snapshot.getRawAxis(axis);
     }
 
     public Axis getXAxis(Hand hand) {
@@ -177,7 +215,7 @@ public class ChickenXboxController extends XboxController {
         return () -> get2DJoystickVector(hand);
     }
 
-    public interface Axis extends DoubleSupplier {
+    public interface Axis extends DoubleInput {
 
         default Axis withDeadzone(double deadzone) {
             return () -> deadzone(value(), deadzone);
@@ -213,7 +251,7 @@ public class ChickenXboxController extends XboxController {
         default Axis angle() {
             return () -> {
                 Vector2D value = value(); // to avoid creating the object twice
-                return Math.atan2(value.getY(), value.getX());
+                return FastMath.atan2(value.getY(), value.getX());
             };
         }
 
@@ -0,0 +1,272 @@
+package org.team1540.rooster.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import org.apache.log4j.Logger;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Edge detector for many boolean sources at once, like a {@link StateChangeDetector} that polls
+ * itself and calls handlers.
+ *
+ * <p>Sources are registered with {@link #register(BooleanSupplier, double)}, which returns an
+ * index, and handlers are attached to that index for rising edges, falling edges, and long
+ * presses. Each call to {@link #poll()} reads every source once and runs the handlers for the
+ * sources that changed. The state of every source lives in {@code long} bitsets and primitive
+ * arrays indexed by source, rather than one object per source, so polling allocates nothing and
+ * a source that isn't changing costs a supplier call, a few bit operations, and a comparison.
+ * Handlers only ever run on transitions.
+ *
+ * <p>A source can be debounced: its state only changes once the raw value has held for the
+ * debounce time, so contact bounce or a noisy sensor crossing a threshold doesn't fire a burst of
+ * events. Every source starts out false, so a source that is already true at the first poll fires
+ * a rising edge.
+ *
+ * <p>A handler that throws doesn't stop the others: the exception is logged, and the remaining
+ * handlers for that source and the remaining sources still run in the same poll.
+ *
+ * <p>An {@code EdgeEventBus} is not thread-safe; register sources and poll from the same thread,
+ * usually the main robot thread in {@code robotPeriodic()}.
+ */
+public class EdgeEventBus {
+
+    private static final Logger logger = Logger.getLogger(EdgeEventBus.class);
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final String RISING = "rising";
+    private static final String FALLING = "falling";
+    private static final String LONG_PRESS = "long-press";
+
+    private int count;
+    @NotNull
+    private BooleanSupplier[] sources = new BooleanSupplier[INITIAL_CAPACITY];
+    @NotNull
+    private Runnable[] risingHandlers = new Runnable[INITIAL_CAPACITY];
+    @NotNull
+    private Runnable[] fallingHandlers = new Runnable[INITIAL_CAPACITY];
+    @NotNull
+    private Runnable[] longPressHandlers = new Runnable[INITIAL_CAPACITY];
+    @NotNull
+    private long[] debounceNanos = new long[INITIAL_CAPACITY];
+    @NotNull
+    private long[] longPressNanos = new long[INITIAL_CAPACITY];
+    // when each source's raw value last changed
+    @NotNull
+    private long[] changedAt = new long[INITIAL_CAPACITY];
+
+    // one bit per source
+    @NotNull
+    private long[] rawBits = new long[INITIAL_CAPACITY / Long.SIZE];
+    @NotNull
+    private long[] stateBits = new long[INITIAL_CAPACITY / Long.SIZE];
+    @NotNull
+    private long[] longPressFiredBits = new long[INITIAL_CAPACITY / Long.SIZE];
+
+    @NotNull
+    private LongSupplier clock = System::nanoTime;
+
+    /**
+     * Registers a source without debouncing.
+     *
+     * @param source The source.
+     * @return The index of the source, for attaching handlers and reading its state.
+     */
+    public int register(@NotNull BooleanSupplier source) {
+        return register(source, 0);
+    }
+
+    /**
+     * Registers a debounced source.
+     *
+     * @param source The source.
+     * @param debounce How long, in seconds, the source must hold a new value before its state
+     * changes.
+     * @return The index of the source, for attaching handlers and reading its state.
+     * @throws IllegalArgumentException If {@code debounce} is negative or NaN.
+     */
+    public int register(@NotNull BooleanSupplier source, double debounce) {
+        Objects.requireNonNull(source);
+        if (!(debounce >= 0)) {
+            throw new IllegalArgumentException("Debounce must be non-negative, was " + debounce);
+        }
+        if (count == sources.length) {
+            grow();
+        }
+        int index = count++;
+        sources[index] = source;
+        debounceNanos[index] = toNanos(debounce);
+        longPressNanos[index] = -1;
+        return index;
+    }
+
+    private void grow() {
+        int capacity = sources.length * 2;
+        sources = Arrays.copyOf(sources, capacity);
+        risingHandlers = Arrays.copyOf(risingHandlers, capacity);
+        fallingHandlers = Arrays.copyOf(fallingHandlers, capacity);
+        longPressHandlers = Arrays.copyOf(longPressHandlers, capacity);
+        debounceNanos = Arrays.copyOf(debounceNanos, capacity);
+        longPressNanos = Arrays.copyOf(longPressNanos, capacity);
+        changedAt = Arrays.copyOf(changedAt, capacity);
+        rawBits = Arrays.copyOf(rawBits, capacity / Long.SIZE);
+        stateBits = Arrays.copyOf(stateBits, capacity / Long.SIZE);
+        longPressFiredBits = Arrays.copyOf(longPressFiredBits, capacity / Long.SIZE);
+    }
+
+    /**
+     * Adds a handler to run when a source becomes true. Handlers added to the same source run in
+     * the order they were added.
+     *
+     * @param index The index of the source.
+     * @param handler The handler.
+     * @return This {@code EdgeEventBus} in order to allow chaining.
+     * @throws IndexOutOfBoundsException If no source has the given index.
+     */
+    @NotNull
+    public EdgeEventBus onRising(int index, @NotNull Runnable handler) {
+        risingHandlers[checkIndex(index)] = chain(risingHandlers[index], handler, RISING, index);
+        return this;
+    }
+
+    /**
+     * Adds a handler to run when a source becomes false. Handlers added to the same source run in
+     * the order they were added.
+     *
+     * @param index The index of the source.
+     * @param handler The handler.
+     * @return This {@code EdgeEventBus} in order to allow chaining.
+     * @throws IndexOutOfBoundsException If no source has the given index.
+     */
+    @NotNull
+    public EdgeEventBus onFalling(int index, @NotNull Runnable handler) {
+        fallingHandlers[checkIndex(index)] = chain(fallingHandlers[index], handler, FALLING,
+                index);
+        return this;
+    }
+
+    /**
+     * Adds a handler to run once when a source has been true for a given time. The time is
+     * measured from when the raw value became true, so it includes the debounce time. A source has
+     * a single long-press duration; adding another long-press handler replaces the duration for
+     * all of its long-press handlers.
+     *
+     * @param index The index of the source.
+     * @param duration How long, in seconds, the source must be held.
+     * @param handler The handler.
+     * @return This {@code EdgeEventBus} in order to allow chaining.
+     * @throws IndexOutOfBoundsException If no source has the given index.
+     * @throws IllegalArgumentException If {@code duration} is negative or NaN.
+     */
+    @NotNull
+    public EdgeEventBus onLongPress(int index, double duration, @NotNull Runnable handler) {
+        checkIndex(index);
+        if (!(duration >= 0)) {
+            throw new IllegalArgumentException("Duration must be non-negative, was " + duration);
+        }
+        longPressNanos[index] = toNanos(duration);
+        longPressHandlers[index] = chain(longPressHandlers[index], handler, LONG_PRESS, index);
+        return this;
+    }
+
+    /**
+     * Reads every source once and runs the handlers for any transitions. Call this once per loop.
+     */
+    public void poll() {
+        long now = clock.getAsLong();
+        for (int i = 0; i < count; i++) {
+            int word = i >>> 6;
+            long bit = 1L << i;
+
+            boolean raw = sources[i].getAsBoolean();
+            if (raw != ((rawBits[word] & bit) != 0)) {
+                rawBits[word] ^= bit;
+                changedAt[i] = now;
+            }
+            long heldFor = now - changedAt[i];
+
+            boolean state = (stateBits[word] & bit) != 0;
+            if (raw != state && heldFor >= debounceNanos[i]) {
+                stateBits[word] ^= bit;
+                state = raw;
+                if (raw) {
+                    longPressFiredBits[word] &= ~bit;
+                    run(risingHandlers[i], RISING, i);
+                } else {
+                    run(fallingHandlers[i], FALLING, i);
+                }
+            }
+
+            if (state && raw && (longPressFiredBits[word] & bit) == 0 && longPressNanos[i] >= 0
+                && heldFor >= longPressNanos[i]) {
+                longPressFiredBits[word] |= bit;
+                run(longPressHandlers[i], LONG_PRESS, i);
+            }
+        }
+    }
+
+    /**
+     * Gets the debounced state of a source as of the last {@link #poll()}.
+     *
+     * @param index The index of the source.
+     * @return The state of the source.
+     * @throws IndexOutOfBoundsException If no source has the given index.
+     */
+    @Contract(pure = true)
+    public boolean get(int index) {
+        return (stateBits[checkIndex(index) >>> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Gets the number of registered sources.
+     *
+     * @return The number of sources.
+     */
+    @Contract(pure = true)
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Sets the clock used for debouncing and long presses. Defaults to {@link System#nanoTime()}.
+     *
+     * @param clock A clock returning the current time in nanoseconds.
+     */
+    public void setClock(@NotNull LongSupplier clock) {
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, count);
+    }
+
+    private static void run(Runnable handler, String event, int index) {
+        if (handler != null) {
+            try {
+                handler.run();
+            } catch (RuntimeException e) {
+                logger.error("Exception in " + event + " handler for source " + index, e);
+            }
+        }
+    }
+
+    @NotNull
+    private static Runnable chain(Runnable first, @NotNull Runnable second, String event,
+            int index) {
+        Objects.requireNonNull(second);
+        if (first == null) {
+            return second;
+        }
+        // each handler is guarded separately so one that throws doesn't skip the ones after it
+        return () -> {
+            run(first, event, index);
+            run(second, event, index);
+        };
+    }
+
+    private static long toNanos(double seconds) {
+        return (long) (seconds * 1e9);
+    }
+}
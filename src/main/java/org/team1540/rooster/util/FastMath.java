@@ -0,0 +1,164 @@
+package org.team1540.rooster.util;
+
+import org.jetbrains.annotations.Contract;
+
+/**
+ * Fast approximations of the {@link Math} functions used in control loops and joystick
+ * processing.
+ *
+ * <p>Everything here is static, allocation-free, and accurate to a documented bound that is far
+ * below sensor and joystick noise. The trigonometric functions interpolate between entries of
+ * small precomputed tables, which avoids the argument reduction and polynomial evaluation that
+ * make {@link Math#sin(double)} and {@link Math#atan2(double, double)} comparatively slow on the
+ * roboRIO's ARM core.
+ */
+public class FastMath {
+
+    /**
+     * The maximum absolute error of {@link #sin(double)} and {@link #cos(double)} for arguments
+     * within &plusmn;1000 radians.
+     */
+    public static final double TRIG_ERROR = 1.2e-6;
+
+    /**
+     * The maximum absolute error of {@link #atan2(double, double)}, in radians.
+     */
+    public static final double ATAN2_ERROR = 1e-7;
+
+    private static final double TWO_PI = 2 * Math.PI;
+    private static final double INV_TWO_PI = 1 / TWO_PI;
+    private static final double HALF_PI = Math.PI / 2;
+
+    // sine over one full turn, with one extra entry so interpolation never wraps
+    private static final int SIN_BITS = 11;
+    private static final int SIN_SIZE = 1 << SIN_BITS;
+    private static final int SIN_MASK = SIN_SIZE - 1;
+    private static final double SIN_SCALE = SIN_SIZE / TWO_PI;
+    private static final double[] SIN_TABLE = new double[SIN_SIZE + 1];
+
+    // arctangent over [0, 1], again with one extra entry
+    private static final int ATAN_SIZE = 1024;
+    private static final double[] ATAN_TABLE = new double[ATAN_SIZE + 1];
+
+    static {
+        for (int i = 0; i <= SIN_SIZE; i++) {
+            SIN_TABLE[i] = Math.sin(i / SIN_SCALE);
+        }
+        for (int i = 0; i <= ATAN_SIZE; i++) {
+            ATAN_TABLE[i] = Math.atan((double) i / ATAN_SIZE);
+        }
+    }
+
+    private FastMath() {
+    }
+
+    /**
+     * Wraps an angle to the range [-&pi;, &pi;) without branching. This gives the same result as
+     * {@code Math.atan2(Math.sin(angle), Math.cos(angle))} (except at exactly &pi;, which maps to
+     * -&pi;) to within a few ulps of {@code angle}, at the cost of one multiply and a floor.
+     *
+     * @param angle The angle, in radians.
+     * @return The equivalent angle in [-&pi;, &pi;).
+     */
+    @Contract(pure = true)
+    public static double wrapAngle(double angle) {
+        return angle - TWO_PI * Math.floor(angle * INV_TWO_PI + 0.5);
+    }
+
+    /**
+     * Approximates {@link Math#sin(double)} by linear interpolation in a 2048-entry table. The
+     * absolute error is at most {@link #TRIG_ERROR} for arguments within &plusmn;1000 radians;
+     * beyond that, the error grows with the rounding error of the argument itself.
+     *
+     * @param angle The angle, in radians.
+     * @return The approximate sine.
+     */
+    @Contract(pure = true)
+    public static double sin(double angle) {
+        double index = angle * SIN_SCALE;
+        double floor = Math.floor(index);
+        int i = (int) (long) floor & SIN_MASK;
+        double a = SIN_TABLE[i];
+        return a + (SIN_TABLE[i + 1] - a) * (index - floor);
+    }
+
+    /**
+     * Approximates {@link Math#cos(double)}, with the same accuracy as {@link #sin(double)}.
+     *
+     * @param angle The angle, in radians.
+     * @return The approximate cosine.
+     */
+    @Contract(pure = true)
+    public static double cos(double angle) {
+        return sin(angle + HALF_PI);
+    }
+
+    /**
+     * Approximates {@link Math#atan2(double, double)} using a 1024-entry arctangent table on [0, 1]
+     * and octant symmetry. The absolute error is at most {@link #ATAN2_ERROR} for all finite
+     * arguments. Signed zeros are handled like {@link Math#atan2(double, double)}; if either
+     * argument is NaN, the result is NaN.
+     *
+     * @param y The ordinate.
+     * @param x The abscissa.
+     * @return The approximate angle of the point (x, y), in radians from -&pi; to &pi;.
+     */
+    @Contract(pure = true)
+    public static double atan2(double y, double x) {
+        double ax = Math.abs(x);
+        double ay = Math.abs(y);
+        double max = Math.max(ax, ay);
+        if (max == 0) {
+            // the signed zero cases; Math gets these right and they're rare
+            return Math.atan2(y, x);
+        }
+        double ratio = Math.min(ax, ay) / max;
+        if (Double.isNaN(ratio)) {
+            return Double.NaN;
+        }
+
+        double index = ratio * ATAN_SIZE;
+        int i = (int) index;
+        double a = ATAN_TABLE[i];
+        // for ratio == 1 the fraction is 0, so the extra entry is never past the end
+        double angle = a + (ATAN_TABLE[Math.min(i + 1, ATAN_SIZE)] - a) * (index - i);
+
+        if (ay > ax) {
+            angle = HALF_PI - angle;
+        }
+        if (x < 0) {
+            angle = Math.PI - angle;
+        }
+        return Math.copySign(angle, y);
+    }
+
+    /**
+     * Raises the magnitude of the input to a power, keeping the input's sign. The common joystick
+     * exponents 1, 2, 3, 0.5, and 1.5 are computed with multiplication and {@link
+     * Math#sqrt(double)}, which are exact to within 2 ulps; other exponents fall back to {@link
+     * Math#pow(double, double)}.
+     *
+     * @param input The input.
+     * @param exponent The exponent.
+     * @return \(\operatorname{sgn}(input) \cdot |input|^{exponent}\).
+     */
+    @Contract(pure = true)
+    public static double preserveSignPow(double input, double exponent) {
+        double abs = Math.abs(input);
+        double result;
+        if (exponent == 2) {
+            result = abs * abs;
+        } else if (exponent == 3) {
+            result = abs * abs * abs;
+        } else if (exponent == 1) {
+            result = abs;
+        } else if (exponent == 0.5) {
+            result = Math.sqrt(abs);
+        } else if (exponent == 1.5) {
+            result = abs * Math.sqrt(abs);
+        } else {
+            result = Math.pow(abs, exponent);
+        }
+        return Math.copySign(result, input);
+    }
+}
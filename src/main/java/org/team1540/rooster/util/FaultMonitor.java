@@ -0,0 +1,260 @@
+package org.team1540.rooster.util;
+
+import com.ctre.phoenix.motorcontrol.StickyFaults;
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
+import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.log4j.Logger;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.wrappers.ChickenController;
+
+/**
+ * Background scanner for the sticky faults of many {@link ChickenController ChickenControllers}.
+ *
+ * <p>Unlike {@link StickyFaultsUtils#processStickyFaults(String, String, ChickenController)
+ * StickyFaultsUtils.processStickyFaults()}, which blocks the calling thread for every controller, a
+ * {@code FaultMonitor} polls all registered controllers on a {@link Notifier} thread. Each
+ * controller gets a {@link StickyFaults} struct that is reused on every poll, and nothing is
+ * allocated unless a fault actually appears or clears. Only transitions are reported: all
+ * transitions from one poll are logged and posted as a single Shuffleboard event.
+ *
+ * <p>Each controller is locked (by synchronizing on it) while it is polled, so that the poll does
+ * not overwrite the last error of a read made by a {@link
+ * org.team1540.rooster.wrappers.SensorSnapshot SensorSnapshot} on another thread.
+ *
+ * <p>Robot code can read the current fault state at any time without locking through {@link
+ * #getFaultBits(int)}, {@link #hasFault(int)}, and {@link #getFaultMask()}. Controllers are
+ * identified by the index returned from {@link #register(String, String, ChickenController)
+ * register()}.
+ */
+public class FaultMonitor {
+
+    private static final Logger logger = Logger.getLogger(FaultMonitor.class);
+
+    /**
+     * The maximum number of controllers a {@code FaultMonitor} can hold, limited by the width of
+     * {@link #getFaultMask()}.
+     */
+    public static final int MAX_CONTROLLERS = Long.SIZE;
+
+    @NotNull
+    private final ChickenController[] controllers = new ChickenController[MAX_CONTROLLERS];
+    @NotNull
+    private final String[] names = new String[MAX_CONTROLLERS];
+    @NotNull
+    private final StickyFaults[] structs = new StickyFaults[MAX_CONTROLLERS];
+    // written by register(), read by the poll thread; the volatile write publishes the entry
+    private volatile int count;
+
+    @NotNull
+    private final AtomicIntegerArray faultBits = new AtomicIntegerArray(MAX_CONTROLLERS);
+    @NotNull
+    private final AtomicLong faultMask = new AtomicLong();
+
+    // only touched by pollAll(), which never overlaps with itself
+    @NotNull
+    private final StickyFaults scratch = new StickyFaults();
+
+    @NotNull
+    private final Notifier notifier = new Notifier(this::pollAll);
+    private final double period;
+    private volatile boolean running;
+
+    /**
+     * Creates a new {@code FaultMonitor}. The monitor does not poll until {@link #start()} is
+     * called.
+     *
+     * @param period The time between polls, in seconds.
+     */
+    public FaultMonitor(double period) {
+        if (!(period > 0)) {
+            throw new IllegalArgumentException("Period must be positive, was " + period);
+        }
+        this.period = period;
+    }
+
+    /**
+     * Creates a new {@code FaultMonitor} that polls every half second. The monitor does not poll
+     * until {@link #start()} is called.
+     */
+    public FaultMonitor() {
+        this(0.5);
+    }
+
+    /**
+     * Registers a controller to be monitored. Controllers can be registered while the monitor is
+     * running.
+     *
+     * @param subsystemName The name of the subsystem the controller belongs to.
+     * @param motorName The name of the motor.
+     * @param controller The controller.
+     * @return The index of the controller, for use with {@link #getFaultBits(int)} and {@link
+     * #hasFault(int)}.
+     * @throws IllegalStateException If {@link #MAX_CONTROLLERS} controllers are already
+     * registered.
+     */
+    public synchronized int register(@NotNull String subsystemName, @NotNull String motorName,
+        @NotNull ChickenController controller) {
+        int index = count;
+        if (index == MAX_CONTROLLERS) {
+            throw new IllegalStateException(
+                "FaultMonitor can hold at most " + MAX_CONTROLLERS + " controllers");
+        }
+        controllers[index] = Objects.requireNonNull(controller);
+        names[index] = subsystemName + " controller " + controller.getDeviceID() + " ("
+            + motorName + ")";
+        structs[index] = new StickyFaults();
+        count = index + 1;
+        return index;
+    }
+
+    /**
+     * Starts polling in the background.
+     */
+    public synchronized void start() {
+        running = true;
+        notifier.startPeriodic(period);
+    }
+
+    /**
+     * Stops polling. Fault state is kept and polling can be restarted with {@link #start()}.
+     */
+    public synchronized void stop() {
+        notifier.stop();
+        running = false;
+    }
+
+    /**
+     * Returns whether the monitor is polling in the background.
+     *
+     * @return {@code true} between {@link #start()} and {@link #stop()}, {@code false} otherwise.
+     */
+    @Contract(pure = true)
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Polls every registered controller once on the calling thread. This is what the background
+     * thread runs; it is exposed to allow a synchronous scan, e.g. in {@code disabledInit()}.
+     *
+     * @throws IllegalStateException If the monitor is running.
+     */
+    public synchronized void poll() {
+        if (running) {
+            throw new IllegalStateException("Can't poll while the monitor is running");
+        }
+        pollAll();
+    }
+
+    // runs on the Notifier thread, or on the caller's while stopped; the lock in stop() and poll()
+    // keeps the two from overlapping, since Notifier.stop() waits for a running callback
+    private void pollAll() {
+        int n = count;
+        long mask = 0;
+        StringBuilder transitions = null;
+
+        for (int i = 0; i < n; i++) {
+            StickyFaults faults = structs[i];
+            ChickenController controller = controllers[i];
+            // the call sets the controller's last error, which SensorSnapshot reads under this lock
+            synchronized (controller) {
+                controller.getStickyFaults(faults);
+            }
+            int bits = faults.toBitfield();
+            int previous = faultBits.getAndSet(i, bits);
+            if (bits != 0) {
+                mask |= 1L << i;
+            }
+
+            if (bits != previous) {
+                if (transitions == null) {
+                    transitions = new StringBuilder();
+                }
+                appendTransition(transitions, names[i], bits & ~previous, previous & ~bits);
+            }
+        }
+
+        faultMask.set(mask);
+
+        if (transitions != null) {
+            String description = transitions.toString();
+            logger.warn(description);
+            Shuffleboard.addEventMarker("Sticky faults changed", description,
+                EventImportance.kHigh);
+        }
+    }
+
+    private void appendTransition(@NotNull StringBuilder builder, @NotNull String name, int raised,
+        int cleared) {
+        if (builder.length() != 0) {
+            builder.append('\n');
+        }
+        builder.append(name);
+        if (raised != 0) {
+            scratch.update(raised);
+            builder.append(" raised: ").append(StickyFaultsUtils.describeFaults(scratch));
+            if (cleared != 0) {
+                builder.append(';');
+            }
+        }
+        if (cleared != 0) {
+            scratch.update(cleared);
+            builder.append(" cleared: ").append(StickyFaultsUtils.describeFaults(scratch));
+        }
+    }
+
+    /**
+     * Gets the sticky fault bits of a controller as of the last poll, in the format of {@link
+     * StickyFaults#toBitfield()}.
+     *
+     * @param index The index returned when the controller was registered.
+     * @return The fault bits, or 0 if the controller has no faults or hasn't been polled yet.
+     */
+    public int getFaultBits(int index) {
+        return faultBits.get(Objects.checkIndex(index, MAX_CONTROLLERS));
+    }
+
+    /**
+     * Returns whether a controller had any sticky faults as of the last poll.
+     *
+     * @param index The index returned when the controller was registered.
+     * @return {@code true} if the controller has faults, {@code false} otherwise.
+     */
+    public boolean hasFault(int index) {
+        return getFaultBits(index) != 0;
+    }
+
+    /**
+     * Gets a bitmap of which controllers had sticky faults as of the last poll. Bit {@code i} is
+     * set if the controller with index {@code i} has any fault.
+     *
+     * @return The fault bitmap.
+     */
+    public long getFaultMask() {
+        return faultMask.get();
+    }
+
+    /**
+     * Returns whether any registered controller had sticky faults as of the last poll.
+     *
+     * @return {@code true} if any controller has faults, {@code false} otherwise.
+     */
+    public boolean hasAnyFault() {
+        return faultMask.get() != 0;
+    }
+
+    /**
+     * Gets the number of registered controllers.
+     *
+     * @return The number of registered controllers.
+     */
+    @Contract(pure = true)
+    public int size() {
+        return count;
+    }
+}
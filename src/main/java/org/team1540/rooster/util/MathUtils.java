@@ -66,7 +66,8 @@ public class MathUtils {
 
     /**
      * Raises the input to the provided power while preserving the sign. Useful for joystick
-     * scaling.
+     * scaling. Common exponents are computed without {@link Math#pow(double, double)}; see {@link
+     * FastMath#preserveSignPow(double, double)}.
      *
      * @param input The input to be raised.
      * @param pow The power.
@@ -74,6 +75,6 @@ public class MathUtils {
      */
     @Contract(pure = true)
     public static double preserveSignRaiseToPower(double input, double pow) {
-        return Math.copySign(Math.pow(Math.abs(input), pow), input);
+        return FastMath.preserveSignPow(input, pow);
     }
 }
@@ -0,0 +1,271 @@
+package org.team1540.rooster.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable 2x2 matrix of doubles.
+ *
+ * <p>This is just enough linear algebra to design controllers and observers for two-state
+ * systems like a differential drive's wheel velocities. Designing allocates freely; code that runs
+ * every loop should read the public elements of the resulting matrices once and cache them as
+ * primitives.
+ */
+public final class Matrix2 {
+
+    /**
+     * The identity matrix.
+     */
+    @NotNull
+    public static final Matrix2 IDENTITY = new Matrix2(1, 0, 0, 1);
+    /**
+     * The zero matrix.
+     */
+    @NotNull
+    public static final Matrix2 ZERO = new Matrix2(0, 0, 0, 0);
+
+    /**
+     * The element in row 0, column 0.
+     */
+    public final double m00;
+    /**
+     * The element in row 0, column 1.
+     */
+    public final double m01;
+    /**
+     * The element in row 1, column 0.
+     */
+    public final double m10;
+    /**
+     * The element in row 1, column 1.
+     */
+    public final double m11;
+
+    /**
+     * Creates a new matrix from its elements in row-major order.
+     *
+     * @param m00 The element in row 0, column 0.
+     * @param m01 The element in row 0, column 1.
+     * @param m10 The element in row 1, column 0.
+     * @param m11 The element in row 1, column 1.
+     */
+    public Matrix2(double m00, double m01, double m10, double m11) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m10 = m10;
+        this.m11 = m11;
+    }
+
+    /**
+     * Creates a diagonal matrix.
+     *
+     * @param d0 The element in row 0, column 0.
+     * @param d1 The element in row 1, column 1.
+     * @return A new matrix.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static Matrix2 diagonal(double d0, double d1) {
+        return new Matrix2(d0, 0, 0, d1);
+    }
+
+    /**
+     * Creates a diagonal cost or covariance matrix using Bryson's rule: each diagonal element is
+     * the inverse square of the largest acceptable (or expected) value of that state or input.
+     *
+     * @param max0 The largest acceptable value of the first state or input.
+     * @param max1 The largest acceptable value of the second state or input.
+     * @return A new matrix.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static Matrix2 bryson(double max0, double max1) {
+        return diagonal(1 / (max0 * max0), 1 / (max1 * max1));
+    }
+
+    /**
+     * Adds another matrix to this one.
+     *
+     * @param other The matrix to add.
+     * @return The sum.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Matrix2 plus(@NotNull Matrix2 other) {
+        return new Matrix2(m00 + other.m00, m01 + other.m01, m10 + other.m10, m11 + other.m11);
+    }
+
+    /**
+     * Subtracts another matrix from this one.
+     *
+     * @param other The matrix to subtract.
+     * @return The difference.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Matrix2 minus(@NotNull Matrix2 other) {
+        return new Matrix2(m00 - other.m00, m01 - other.m01, m10 - other.m10, m11 - other.m11);
+    }
+
+    /**
+     * Multiplies this matrix by another.
+     *
+     * @param other The matrix to multiply by, on the right.
+     * @return The product.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Matrix2 times(@NotNull Matrix2 other) {
+        return new Matrix2(
+                m00 * other.m00 + m01 * other.m10, m00 * other.m01 + m01 * other.m11,
+                m10 * other.m00 + m11 * other.m10, m10 * other.m01 + m11 * other.m11);
+    }
+
+    /**
+     * Multiplies every element by a scalar.
+     *
+     * @param scalar The scalar.
+     * @return The scaled matrix.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Matrix2 times(double scalar) {
+        return new Matrix2(m00 * scalar, m01 * scalar, m10 * scalar, m11 * scalar);
+    }
+
+    /**
+     * Transposes this matrix.
+     *
+     * @return The transpose.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Matrix2 transpose() {
+        return new Matrix2(m00, m10, m01, m11);
+    }
+
+    /**
+     * Computes the determinant.
+     *
+     * @return The determinant.
+     */
+    @Contract(pure = true)
+    public double determinant() {
+        return m00 * m11 - m01 * m10;
+    }
+
+    /**
+     * Inverts this matrix.
+     *
+     * @return The inverse.
+     * @throws ArithmeticException If the matrix is singular.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Matrix2 inverse() {
+        double det = determinant();
+        if (det == 0 || !Double.isFinite(det)) {
+            throw new ArithmeticException("Matrix is singular: " + this);
+        }
+        return new Matrix2(m11 / det, -m01 / det, -m10 / det, m00 / det);
+    }
+
+    /**
+     * Gets the largest absolute value of any element.
+     *
+     * @return The max norm.
+     */
+    @Contract(pure = true)
+    public double maxNorm() {
+        return Math.max(Math.max(Math.abs(m00), Math.abs(m01)),
+                Math.max(Math.abs(m10), Math.abs(m11)));
+    }
+
+    /**
+     * Computes the matrix exponential \(e^{M}\) by scaling and squaring a Taylor series.
+     *
+     * @return The matrix exponential.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Matrix2 exp() {
+        int squarings = Math.max(0, Math.getExponent(maxNorm()) + 2);
+        Matrix2 scaled = times(Math.scalb(1.0, -squarings));
+
+        Matrix2 result = IDENTITY;
+        Matrix2 term = IDENTITY;
+        for (int k = 1; k <= 16; k++) {
+            term = term.times(scaled).times(1.0 / k);
+            result = result.plus(term);
+        }
+        for (int k = 0; k < squarings; k++) {
+            result = result.times(result);
+        }
+        return result;
+    }
+
+    /**
+     * Solves the discrete algebraic Riccati equation
+     * \(P = Q + A^T P A - A^T P B (R + B^T P B)^{-1} B^T P A\) by iterating it to convergence.
+     *
+     * @param a The system matrix A.
+     * @param b The input matrix B.
+     * @param q The state cost Q.
+     * @param r The input cost R.
+     * @return The solution P.
+     * @throws ArithmeticException If the iteration does not converge, e.g. because the system is
+     * not stabilizable.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static Matrix2 solveDARE(@NotNull Matrix2 a, @NotNull Matrix2 b, @NotNull Matrix2 q,
+        @NotNull Matrix2 r) {
+        Matrix2 at = a.transpose();
+        Matrix2 bt = b.transpose();
+        Matrix2 p = q;
+        for (int k = 0; k < 10_000; k++) {
+            Matrix2 pa = p.times(a);
+            Matrix2 btpa = bt.times(pa);
+            Matrix2 next = q.plus(at.times(pa))
+                    .minus(btpa.transpose().times(r.plus(bt.times(p).times(b)).inverse())
+                            .times(btpa));
+            // keep P exactly symmetric so rounding can't accumulate
+            next = new Matrix2(next.m00, (next.m01 + next.m10) / 2, (next.m01 + next.m10) / 2,
+                    next.m11);
+            if (next.minus(p).maxNorm() <= 1e-12 * Math.max(1, next.maxNorm())) {
+                return next;
+            }
+            p = next;
+        }
+        throw new ArithmeticException("Riccati iteration did not converge");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Matrix2 matrix = (Matrix2) o;
+        return Double.compare(matrix.m00, m00) == 0
+                && Double.compare(matrix.m01, m01) == 0
+                && Double.compare(matrix.m10, m10) == 0
+                && Double.compare(matrix.m11, m11) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(m00);
+        result = 31 * result + Double.hashCode(m01);
+        result = 31 * result + Double.hashCode(m10);
+        result = 31 * result + Double.hashCode(m11);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "[[" + m00 + ", " + m01 + "], [" + m10 + ", " + m11 + "]]";
+    }
+}
@@ -4,6 +4,10 @@ package org.team1540.rooster.util;
  * Source: https://github.com/tekdemo/MiniPID-Java Small, easy to use PID implementation with
  * advanced controller capability.<br> Minimal usage:<br> MiniPID pid = new MiniPID(p,i,d); <br>
  * ...looping code...{ <br> output= pid.getOutput(sensorvalue,target); <br> }
+ *
+ * <p>The loop itself is a {@link PIDCore} stepped with a time step of one cycle, so gains keep
+ * their per-cycle meaning. Output and ramp limits are enforced through the core's {@linkplain
+ * PIDCore.AntiWindup#CLAMP clamping} anti-windup.
  */
 public class MiniPID {
     //**********************************
@@ -15,9 +19,9 @@ public class MiniPID {
     private double D = 0;
     private double F = 0;
 
+    private final PIDCore core = new PIDCore(0, 0, 0);
+
     private double maxIOutput = 0;
-    private double maxError = 0;
-    private double errorSum = 0;
 
     private double maxOutput = 0;
     private double minOutput = 0;
@@ -101,11 +105,8 @@ public class MiniPID {
      * @param i New gain value for the Integral term
      */
     public void setI(double i) {
-        if (I != 0) {
-            errorSum = errorSum * I / i;
-        }
-        if (maxIOutput != 0) {
-            maxError = maxIOutput / i;
+        if (I != 0 && i != 0) {
+            core.setIntegral(core.getIntegral() * I / i);
         }
         I = i;
         checkSigns();
@@ -188,13 +189,8 @@ public class MiniPID {
      * prevent large windup issues and make tuning simpler
      */
     public void setMaxIOutput(double maximum) {
-        // Internally maxError and Izone are similar, but scaled for different purposes.
-        // The maxError is generated for simplifying math, since calculations against
-        // the max error are far more common than changing the I term or Izone.
         maxIOutput = maximum;
-        if (I != 0) {
-            maxError = maxIOutput / I;
-        }
+        core.setMaxIOutput(maximum == 0 ? Double.POSITIVE_INFINITY : Math.abs(maximum));
     }
 
     /**
@@ -255,12 +251,6 @@ public class MiniPID {
      * @return calculated output value for driving the system
      */
     public double getOutput(double actual, double setpoint) {
-        double output;
-        double Poutput;
-        double Ioutput;
-        double Doutput;
-        double Foutput;
-
         this.setpoint = setpoint;
 
         // Ramp the setpoint used for calculations if user has opted to do so
@@ -268,76 +258,37 @@ public class MiniPID {
             setpoint = constrain(setpoint, actual - setpointRange, actual + setpointRange);
         }
 
-        // Do the simple parts of the calculations
-        double error = setpoint - actual;
-
-        // Calculate F output. Notice, this depends only on the setpoint, and not the error.
-        Foutput = F * setpoint;
-
-        // Calculate P term
-        Poutput = P * error;
-
-        // If this is our first time running this, we don't actually _have_ a previous input or output.
-        // For sensor, sanely assume it was exactly where it is now.
-        // For last output, we can assume it's the current time-independent outputs.
+        // If this is our first time running this, we don't actually _have_ a previous output.
+        // Assume it's the current time-independent outputs.
         if (firstRun) {
-            lastActual = actual;
-            lastOutput = Poutput + Foutput;
+            lastOutput = P * (setpoint - actual) + F * setpoint;
             firstRun = false;
         }
 
-        // Calculate D Term
-        // Note, this is negative. This actually "slows" the system if it's doing
-        // the correct thing, and small values helps prevent output spikes and overshoot
-        Doutput = -D * (actual - lastActual);
-        lastActual = actual;
-
-        // The Iterm is more complex. There's several things to factor in to make it easier to deal with.
-        // 1. maxIoutput restricts the amount of output contributed by the Iterm.
-        // 2. prevent windup by not increasing errorSum if we're already running against our max Ioutput
-        // 3. prevent windup by not increasing errorSum if output is output=maxOutput
-        Ioutput = I * errorSum;
-        if (maxIOutput != 0) {
-            Ioutput = constrain(Ioutput, -maxIOutput, maxIOutput);
-        }
-
-        // And, finally, we can just add the terms up
-        output = Foutput + Poutput + Ioutput + Doutput;
-
-        // Figure out what we're doing with the error.
-        if (minOutput != maxOutput && !bounded(output, minOutput, maxOutput)) {
-            errorSum = error;
-            // reset the error sum to a sane level
-            // Setting to current error ensures a smooth transition when the P term
-            // decreases enough for the I term to start acting upon the controller
-            // From that point the I term will build up as would be expected
-        } else if (outputRampRate != 0 && !bounded(output, lastOutput - outputRampRate,
-            lastOutput + outputRampRate)) {
-            errorSum = error;
-        } else if (maxIOutput != 0) {
-            errorSum = constrain(errorSum + error, -maxError, maxError);
-            // In addition to output limiting directly, we also want to prevent I term
-            // buildup, so restrict the error directly
-        } else {
-            errorSum += error;
+        // Output and ramp limits both go through the core, so its anti-windup covers both
+        double min = Double.NEGATIVE_INFINITY;
+        double max = Double.POSITIVE_INFINITY;
+        if (minOutput != maxOutput) {
+            min = minOutput;
+            max = maxOutput;
         }
-
-        // Restrict output to our specified output and ramp limits
         if (outputRampRate != 0) {
-            output = constrain(output, lastOutput - outputRampRate, lastOutput + outputRampRate);
-        }
-        if (minOutput != maxOutput) {
-            output = constrain(output, minOutput, maxOutput);
+            min = Math.max(min, lastOutput - outputRampRate);
+            max = Math.min(max, lastOutput + outputRampRate);
+            if (min > max) {
+                // the ramp is entirely outside the output limits; head for the nearest one
+                min = max = lastOutput > max ? max : min;
+            }
         }
+        core.setOutputLimits(min, max);
+
+        lastActual = actual;
+        double output = core.calculate(setpoint, actual, 1);
+
         if (outputFilter != 0) {
             output = lastOutput * outputFilter + output * (1 - outputFilter);
         }
 
-        // Get a test printline with lots of details about the internal
-        // calculations. This can be useful for debugging.
-        // System.out.printf("Final output %5.2f [ %5.2f, %5.2f , %5.2f  ], eSum %.2f\n",output,Poutput, Ioutput, Doutput,errorSum );
-        // System.out.printf("%5.2f\t%5.2f\t%5.2f\t%5.2f\n",output,Poutput, Ioutput, Doutput );
-
         lastOutput = output;
         return output;
     }
@@ -371,7 +322,7 @@ public class MiniPID {
      */
     public void reset() {
         firstRun = true;
-        errorSum = 0;
+        core.reset();
     }
 
     /**
@@ -455,6 +406,11 @@ public class MiniPID {
      * {@literal}reversed value
      */
     private void checkSigns() {
+        checkSignsOfGains();
+        core.setPIDF(P, I, D, F);
+    }
+
+    private void checkSignsOfGains() {
         if (reversed) {  // all values should be below zero
             if (P > 0) {
                 P *= -1;
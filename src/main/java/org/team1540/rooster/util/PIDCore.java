@@ -0,0 +1,377 @@
+package org.team1540.rooster.util;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The PIDF loop shared by {@link MiniPID} and {@link
+ * org.team1540.rooster.drive.pipeline.PIDProcessor PIDProcessor}.
+ *
+ * <p>The output is \(F \cdot setpoint + P \cdot e + I \int e \, dt - D \frac{d}{dt} measurement\).
+ * The derivative is taken on the measurement rather than the error, so setpoint steps don't
+ * produce a derivative kick, and can be passed through a first-order low-pass filter with
+ * {@link #setDerivativeFilter(double)}.
+ *
+ * <p>Time comes from an injectable nanosecond clock, {@link System#nanoTime()} by default; on the
+ * robot, {@code () -> RobotController.getFPGATime() * 1000} works as well. The clock is read
+ * exactly once per {@link #calculate(double, double) calculate()} call. Callers that run at a
+ * fixed rate, or that want to be fully deterministic, can pass the time step directly to {@link
+ * #calculate(double, double, double)}. If the time step is zero, negative, or NaN, the integral is
+ * left alone and the previous derivative is reused instead of dividing by zero.
+ *
+ * <p>The integral term can be capped with {@link #setMaxIOutput(double)}. When the output is
+ * limited with {@link #setOutputLimits(double, double)}, the {@link AntiWindup} strategy decides
+ * what happens to the integral while the output is saturated.
+ *
+ * <p>{@code PIDCore} keeps all of its state in primitive fields and never allocates. It is not
+ * thread-safe.
+ */
+public class PIDCore {
+
+    /**
+     * What to do with the integral while the output is saturated.
+     */
+    public enum AntiWindup {
+        /**
+         * Keep integrating. The integral can wind up far past what the output can use.
+         */
+        NONE,
+        /**
+         * Conditional integration: stop integrating while the output is saturated and the error
+         * would push it further into saturation.
+         */
+        CLAMP,
+        /**
+         * Back-calculation: bleed the integral toward the value that would just reach the output
+         * limit, at a rate set by the {@linkplain #setTrackingTimeConstant(double) tracking time
+         * constant}.
+         */
+        BACK_CALCULATION
+    }
+
+    private double p;
+    private double i;
+    private double d;
+    private double f;
+
+    private double minOutput = Double.NEGATIVE_INFINITY;
+    private double maxOutput = Double.POSITIVE_INFINITY;
+    private double maxIOutput = Double.POSITIVE_INFINITY;
+    @NotNull
+    private AntiWindup antiWindup = AntiWindup.CLAMP;
+    private double trackingTimeConstant = 0;
+    private double derivativeFilter = 0;
+
+    @NotNull
+    private LongSupplier clock = System::nanoTime;
+
+    private boolean firstRun = true;
+    private long lastTimeNanos;
+    private double lastMeasurement;
+    private double derivative;
+    private double integral;
+    private double error;
+    private double output;
+
+    /**
+     * Creates a new {@code PIDCore} with no feed-forward.
+     *
+     * @param p The P gain.
+     * @param i The I gain, per second.
+     * @param d The D gain, in seconds.
+     */
+    public PIDCore(double p, double i, double d) {
+        this(p, i, d, 0);
+    }
+
+    /**
+     * Creates a new {@code PIDCore}.
+     *
+     * @param p The P gain.
+     * @param i The I gain, per second.
+     * @param d The D gain, in seconds.
+     * @param f The F gain, multiplied by the setpoint.
+     */
+    public PIDCore(double p, double i, double d, double f) {
+        this.p = p;
+        this.i = i;
+        this.d = d;
+        this.f = f;
+    }
+
+    /**
+     * Runs the loop using the clock to measure the time since the last call. The first call after
+     * creation or {@link #reset()} uses only the P and F terms.
+     *
+     * @param setpoint The setpoint.
+     * @param measurement The measured value.
+     * @return The output.
+     */
+    public double calculate(double setpoint, double measurement) {
+        long now = clock.getAsLong();
+        double dt = firstRun ? 0 : (now - lastTimeNanos) / 1e9;
+        lastTimeNanos = now;
+        return calculate(setpoint, measurement, dt);
+    }
+
+    /**
+     * Runs the loop with an explicit time step. The clock is not read.
+     *
+     * @param setpoint The setpoint.
+     * @param measurement The measured value.
+     * @param dt The time since the last call, in seconds. If this is not positive, the integral is
+     * not updated and the last derivative is reused.
+     * @return The output.
+     */
+    public double calculate(double setpoint, double measurement, double dt) {
+        error = setpoint - measurement;
+        boolean stepped = dt > 0 && !firstRun;
+
+        if (firstRun) {
+            derivative = 0;
+            firstRun = false;
+        } else if (stepped) {
+            double raw = -(measurement - lastMeasurement) / dt;
+            if (derivativeFilter > 0) {
+                derivative += (raw - derivative) * dt / (derivativeFilter + dt);
+            } else {
+                derivative = raw;
+            }
+        }
+        lastMeasurement = measurement;
+
+        double lastIntegral = integral;
+        if (stepped) {
+            integral = clampIntegral(integral + error * dt);
+        }
+
+        double unsaturated = f * setpoint + p * error + i * integral + d * derivative;
+        double limited = constrain(unsaturated, minOutput, maxOutput);
+
+        if (stepped && limited != unsaturated) {
+            switch (antiWindup) {
+                case CLAMP:
+                    // undo this step's integration if it pushed further into the limit
+                    if (i * error * (unsaturated - limited) > 0) {
+                        unsaturated -= i * (integral - lastIntegral);
+                        integral = lastIntegral;
+                        limited = constrain(unsaturated, minOutput, maxOutput);
+                    }
+                    break;
+                case BACK_CALCULATION:
+                    if (i != 0) {
+                        double rate = trackingTimeConstant > 0
+                                ? Math.min(1, dt / trackingTimeConstant) : 1;
+                        integral = clampIntegral(integral + (limited - unsaturated) * rate / i);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        output = limited;
+        return output;
+    }
+
+    private double clampIntegral(double value) {
+        if (i == 0 || maxIOutput == Double.POSITIVE_INFINITY) {
+            return value;
+        }
+        double limit = Math.abs(maxIOutput / i);
+        return constrain(value, -limit, limit);
+    }
+
+    @Contract(pure = true)
+    private static double constrain(double value, double min, double max) {
+        return value > max ? max : value < min ? min : value;
+    }
+
+    /**
+     * Resets the loop. This clears the integral and derivative, and makes the next call to {@link
+     * #calculate(double, double) calculate()} behave like the first.
+     */
+    public void reset() {
+        firstRun = true;
+        integral = 0;
+        derivative = 0;
+        error = 0;
+        output = 0;
+    }
+
+    /**
+     * Sets all four gains.
+     *
+     * @param p The P gain.
+     * @param i The I gain, per second.
+     * @param d The D gain, in seconds.
+     * @param f The F gain.
+     */
+    public void setPIDF(double p, double i, double d, double f) {
+        this.p = p;
+        this.i = i;
+        this.d = d;
+        this.f = f;
+    }
+
+    /**
+     * Gets the P gain.
+     *
+     * @return The P gain.
+     */
+    @Contract(pure = true)
+    public double getP() {
+        return p;
+    }
+
+    /**
+     * Gets the I gain.
+     *
+     * @return The I gain, per second.
+     */
+    @Contract(pure = true)
+    public double getI() {
+        return i;
+    }
+
+    /**
+     * Gets the D gain.
+     *
+     * @return The D gain, in seconds.
+     */
+    @Contract(pure = true)
+    public double getD() {
+        return d;
+    }
+
+    /**
+     * Gets the F gain.
+     *
+     * @return The F gain.
+     */
+    @Contract(pure = true)
+    public double getF() {
+        return f;
+    }
+
+    /**
+     * Limits the output to a range. Defaults to unlimited.
+     *
+     * @param min The minimum output; may be {@link Double#NEGATIVE_INFINITY}.
+     * @param max The maximum output; may be {@link Double#POSITIVE_INFINITY}.
+     * @throws IllegalArgumentException If {@code min} is greater than {@code max}.
+     */
+    public void setOutputLimits(double min, double max) {
+        if (!(min <= max)) {
+            throw new IllegalArgumentException("Minimum " + min + " is above maximum " + max);
+        }
+        minOutput = min;
+        maxOutput = max;
+    }
+
+    /**
+     * Limits the magnitude of the I term's contribution to the output. Defaults to unlimited.
+     *
+     * @param maxIOutput The maximum I term magnitude; may be {@link Double#POSITIVE_INFINITY}.
+     * @throws IllegalArgumentException If {@code maxIOutput} is negative or NaN.
+     */
+    public void setMaxIOutput(double maxIOutput) {
+        if (!(maxIOutput >= 0)) {
+            throw new IllegalArgumentException("Max I output must be non-negative, was "
+                    + maxIOutput);
+        }
+        this.maxIOutput = maxIOutput;
+        integral = clampIntegral(integral);
+    }
+
+    /**
+     * Sets the anti-windup strategy used while the output is saturated. Defaults to {@link
+     * AntiWindup#CLAMP}.
+     *
+     * @param antiWindup The strategy.
+     */
+    public void setAntiWindup(@NotNull AntiWindup antiWindup) {
+        this.antiWindup = Objects.requireNonNull(antiWindup);
+    }
+
+    /**
+     * Sets how quickly {@link AntiWindup#BACK_CALCULATION} bleeds off excess integral. Each step
+     * removes {@code dt / trackingTimeConstant} of the excess, capped at all of it. Defaults to 0,
+     * which removes all of the excess every step.
+     *
+     * @param trackingTimeConstant The tracking time constant, in seconds.
+     */
+    public void setTrackingTimeConstant(double trackingTimeConstant) {
+        if (!(trackingTimeConstant >= 0)) {
+            throw new IllegalArgumentException("Tracking time constant must be non-negative, was "
+                    + trackingTimeConstant);
+        }
+        this.trackingTimeConstant = trackingTimeConstant;
+    }
+
+    /**
+     * Sets the time constant of the low-pass filter on the derivative. Defaults to 0 (no
+     * filtering). A few loop periods is a reasonable starting point for noisy sensors.
+     *
+     * @param timeConstant The filter time constant, in seconds.
+     */
+    public void setDerivativeFilter(double timeConstant) {
+        if (!(timeConstant >= 0)) {
+            throw new IllegalArgumentException("Filter time constant must be non-negative, was "
+                    + timeConstant);
+        }
+        derivativeFilter = timeConstant;
+    }
+
+    /**
+     * Sets the clock used by {@link #calculate(double, double)}. This also resets the loop.
+     *
+     * @param clock A clock returning the current time in nanoseconds.
+     */
+    public void setClock(@NotNull LongSupplier clock) {
+        this.clock = Objects.requireNonNull(clock);
+        reset();
+    }
+
+    /**
+     * Gets the integral of the error.
+     *
+     * @return The accumulated error, in error units times seconds.
+     */
+    @Contract(pure = true)
+    public double getIntegral() {
+        return integral;
+    }
+
+    /**
+     * Sets the integral of the error, e.g. to keep the I term constant across a change in I gain.
+     *
+     * @param integral The accumulated error, in error units times seconds.
+     */
+    public void setIntegral(double integral) {
+        this.integral = clampIntegral(integral);
+    }
+
+    /**
+     * Gets the error from the last call to {@code calculate()}.
+     *
+     * @return The setpoint minus the measurement, or 0 if the loop has not run since creation or
+     * the last reset.
+     */
+    @Contract(pure = true)
+    public double getError() {
+        return error;
+    }
+
+    /**
+     * Gets the output from the last call to {@code calculate()}.
+     *
+     * @return The output, or 0 if the loop has not run since creation or the last reset.
+     */
+    @Contract(pure = true)
+    public double getOutput() {
+        return output;
+    }
+}
@@ -0,0 +1,198 @@
+package org.team1540.rooster.util;
+
+import java.util.Objects;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongSupplier;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.team1540.rooster.filters.SlewRateFilter;
+import org.team1540.rooster.functional.Processor;
+
+/**
+ * Precomputed joystick response curve with an optional slew-rate limit.
+ *
+ * <p>At construction, the curve (any {@link DoubleUnaryOperator}, such as {@link
+ * #deadzoneExpo(double, double)}) is sampled at evenly spaced points over [-1, 1]. Evaluating the
+ * curve is then a clamp, two array reads, and a linear interpolation, no matter how expensive the
+ * original function was. Inputs outside [-1, 1] are clamped. The interpolation error is at most
+ * \(\frac{h^2}{8} \max |f''|\) for a grid spacing \(h\), so the default 1025 points are exact to a
+ * few parts per million for smooth curves; the kinks of a deadzone cost at most one grid cell.
+ *
+ * <p>If a {@linkplain #setSlewRate(double) slew rate} is set, the output moves toward the curve's
+ * value by at most that much per second, measured with an injectable clock (see {@link
+ * SlewRateFilter}). Slew limiting is stateful, so each axis needs its own {@code ResponseCurve};
+ * {@link #copy()} creates another one sharing the same table.
+ *
+ * <p>A {@code ResponseCurve} is both a {@link Processor} for use in pipelines and a {@link
+ * DoubleUnaryOperator} for unboxed use. {@link #shape(DoubleSupplier)} wraps a raw axis. {@link
+ * org.team1540.rooster.drive.pipeline.SimpleJoystickInput SimpleJoystickInput} and {@link
+ * org.team1540.rooster.drive.pipeline.AdvancedArcadeJoystickInput AdvancedArcadeJoystickInput}
+ * both accept a {@code ResponseCurve} and give each axis its own copy.
+ */
+public class ResponseCurve implements Processor<Double, Double>, DoubleUnaryOperator {
+
+    /**
+     * The number of points sampled by {@link #ResponseCurve(DoubleUnaryOperator)}.
+     */
+    public static final int DEFAULT_POINTS = 1025;
+
+    @NotNull
+    private final double[] table;
+    private final double scale;
+
+    private double slewRate = Double.POSITIVE_INFINITY;
+    @NotNull
+    private LongSupplier clock = System::nanoTime;
+    @Nullable
+    private SlewRateFilter slew;
+
+    /**
+     * Creates a new {@code ResponseCurve} sampled at {@link #DEFAULT_POINTS} points.
+     *
+     * @param curve The curve to sample over [-1, 1].
+     */
+    public ResponseCurve(@NotNull DoubleUnaryOperator curve) {
+        this(curve, DEFAULT_POINTS);
+    }
+
+    /**
+     * Creates a new {@code ResponseCurve}.
+     *
+     * @param curve The curve to sample over [-1, 1].
+     * @param points The number of points to sample, including both ends. Odd numbers put a point at
+     * exactly 0.
+     * @throws IllegalArgumentException If {@code points} is less than 2.
+     */
+    public ResponseCurve(@NotNull DoubleUnaryOperator curve, int points) {
+        Objects.requireNonNull(curve);
+        if (points < 2) {
+            throw new IllegalArgumentException("Need at least 2 points, got " + points);
+        }
+        table = new double[points];
+        for (int i = 0; i < points; i++) {
+            table[i] = curve.applyAsDouble(-1 + 2.0 * i / (points - 1));
+        }
+        scale = (points - 1) / 2.0;
+    }
+
+    private ResponseCurve(@NotNull ResponseCurve other) {
+        table = other.table;
+        scale = other.scale;
+        clock = other.clock;
+        if (other.slew != null) {
+            setSlewRate(other.slewRate);
+        }
+    }
+
+    /**
+     * Creates a curve applying {@link ControlUtils#deadzone(double, double)} followed by {@link
+     * MathUtils#preserveSignRaiseToPower(double, double)}, the usual shaping for driver input.
+     *
+     * @param deadzone The deadzone.
+     * @param exponent The exponent; 1 is linear, larger values give finer control near the center.
+     * @return The curve, to be passed to a {@code ResponseCurve} constructor.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static DoubleUnaryOperator deadzoneExpo(double deadzone, double exponent) {
+        return x -> MathUtils.preserveSignRaiseToPower(ControlUtils.deadzone(x, deadzone),
+            exponent);
+    }
+
+    @Override
+    public double applyAsDouble(double input) {
+        double value = lookup(input);
+        // NaN passes through without reaching the limiter, which it would otherwise poison
+        return slew != null && !Double.isNaN(value) ? slew.applyAsDouble(value) : value;
+    }
+
+    @Override
+    public Double apply(Double input) {
+        return applyAsDouble(input);
+    }
+
+    /**
+     * Wraps a raw axis so that every read goes through this curve.
+     *
+     * @param axis The raw axis, e.g. {@code () -> joystick.getRawAxis(1)}.
+     * @return A {@link DoubleSupplier} returning the shaped axis value.
+     */
+    @NotNull
+    public DoubleSupplier shape(@NotNull DoubleSupplier axis) {
+        Objects.requireNonNull(axis);
+        return () -> applyAsDouble(axis.getAsDouble());
+    }
+
+    /**
+     * Evaluates the table without slew limiting.
+     *
+     * @param input The input.
+     * @return The interpolated curve value, or NaN if the input is NaN.
+     */
+    @Contract(pure = true)
+    public double lookup(double input) {
+        if (Double.isNaN(input)) {
+            return input;
+        }
+        double index = (Math.max(-1, Math.min(1, input)) + 1) * scale;
+        int i = Math.min((int) index, table.length - 2);
+        double a = table[i];
+        return a + (table[i + 1] - a) * (index - i);
+    }
+
+    /**
+     * Limits how fast the output can change. Defaults to unlimited. Setting the slew rate also
+     * {@linkplain #reset() resets} the limiter.
+     *
+     * @param slewRate The maximum change in output per second, or {@link
+     * Double#POSITIVE_INFINITY} for no limit.
+     * @throws IllegalArgumentException If {@code slewRate} is not positive.
+     */
+    public void setSlewRate(double slewRate) {
+        if (!(slewRate > 0)) {
+            throw new IllegalArgumentException("Slew rate must be positive, was " + slewRate);
+        }
+        this.slewRate = slewRate;
+        if (slewRate == Double.POSITIVE_INFINITY) {
+            slew = null;
+        } else {
+            slew = new SlewRateFilter(slewRate);
+            slew.setClock(clock);
+        }
+    }
+
+    /**
+     * Sets the clock used by the slew limiter, and {@linkplain #reset() resets} it. Defaults to
+     * {@link System#nanoTime()}.
+     *
+     * @param clock A clock returning the current time in nanoseconds.
+     */
+    public void setClock(@NotNull LongSupplier clock) {
+        this.clock = Objects.requireNonNull(clock);
+        if (slew != null) {
+            slew.setClock(clock);
+        }
+    }
+
+    /**
+     * Resets the slew limiter, so that the next output jumps straight to the curve's value.
+     */
+    public void reset() {
+        if (slew != null) {
+            slew.reset();
+        }
+    }
+
+    /**
+     * Creates a new {@code ResponseCurve} sharing this one's table, slew rate, and clock but with
+     * its own slew limiter state, for use on another axis.
+     *
+     * @return A new {@code ResponseCurve}.
+     */
+    @NotNull
+    public ResponseCurve copy() {
+        return new ResponseCurve(this);
+    }
+}
@@ -16,26 +16,9 @@ public class StickyFaultsUtils {
         var stickyFaults = new StickyFaults();
         controller.getStickyFaults(stickyFaults);
         if (stickyFaults.hasAnyFault()) {
-            var stringBuilder = new StringBuilder()
-                .append(stickyFaults.ForwardLimitSwitch ? "fwd lim switch, " : "")
-                .append(stickyFaults.ReverseLimitSwitch ? "rev lim switch, " : "")
-                .append(stickyFaults.ForwardSoftLimit ? "fwd soft limit, " : "")
-                .append(stickyFaults.ReverseSoftLimit ? "rev soft limit, " : "")
-                .append(stickyFaults.HardwareESDReset ? "hardware ESD reset, " : "")
-                .append(stickyFaults.RemoteLossOfSignal ? "remote loss of signal, " : "")
-                .append(stickyFaults.ResetDuringEn ? "reset during enable, " : "")
-                .append(stickyFaults.SensorOutOfPhase ? "sensor out of phase, " : "")
-                .append(stickyFaults.SensorOverflow ? "sensor overflow, " : "")
-                .append(stickyFaults.UnderVoltage ? "undervoltage, " : "");
-
-            if (stringBuilder.length() != 0) {
-                // delete the last comma
-                stringBuilder.delete(stringBuilder.length() - 3, stringBuilder.length());
-            }
-
             String description =
                 subsystemName + " controller " + controller.getDeviceID() + "(" + motorName
-                    + ") had sticky faults: " + stringBuilder.toString();
+                    + ") had sticky faults: " + describeFaults(stickyFaults);
 
             logger.warn(description);
 
@@ -45,4 +28,31 @@ public class StickyFaultsUtils {
         }
     }
 
+    /**
+     * Builds a comma-separated, human-readable list of the faults set in a {@link StickyFaults}.
+     *
+     * @param stickyFaults The faults to describe.
+     * @return The description, or an empty string if no faults are set.
+     */
+    @NotNull
+    static String describeFaults(@NotNull StickyFaults stickyFaults) {
+        var stringBuilder = new StringBuilder()
+            .append(stickyFaults.ForwardLimitSwitch ? "fwd lim switch, " : "")
+            .append(stickyFaults.ReverseLimitSwitch ? "rev lim switch, " : "")
+            .append(stickyFaults.ForwardSoftLimit ? "fwd soft limit, " : "")
+            .append(stickyFaults.ReverseSoftLimit ? "rev soft limit, " : "")
+            .append(stickyFaults.HardwareESDReset ? "hardware ESD reset, " : "")
+            .append(stickyFaults.RemoteLossOfSignal ? "remote loss of signal, " : "")
+            .append(stickyFaults.ResetDuringEn ? "reset during enable, " : "")
+            .append(stickyFaults.SensorOutOfPhase ? "sensor out of phase, " : "")
+            .append(stickyFaults.SensorOverflow ? "sensor overflow, " : "")
+            .append(stickyFaults.UnderVoltage ? "undervoltage, " : "");
+
+        if (stringBuilder.length() != 0) {
+            // delete the last comma and space
+            stringBuilder.delete(stringBuilder.length() - 2, stringBuilder.length());
+        }
+        return stringBuilder.toString();
+    }
+
 }
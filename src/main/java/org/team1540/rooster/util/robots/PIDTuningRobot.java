@@ -7,12 +7,18 @@ import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
+import java.util.ArrayList;
+import java.util.List;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.team1540.rooster.preferencemanager.Preference;
 import org.team1540.rooster.preferencemanager.PreferenceManager;
 import org.team1540.rooster.util.ControlUtils;
+import org.team1540.rooster.wrappers.ChickenController;
+import org.team1540.rooster.wrappers.ChickenControllerGroup;
 import org.team1540.rooster.wrappers.ChickenTalon;
+import org.team1540.rooster.wrappers.ControllerConfiguration;
+import org.team1540.rooster.wrappers.ControllerConfiguration.Parameter;
 
 /**
  * Robot class to tune a Motion Magic PID controller.
@@ -59,11 +65,7 @@ public class PIDTuningRobot extends IterativeRobot {
   @Nullable
   private ChickenTalon motor1;
   @Nullable
-  private ChickenTalon motor2;
-  @Nullable
-  private ChickenTalon motor3;
-  @Nullable
-  private ChickenTalon motor4;
+  private ChickenControllerGroup motors;
 
   @NotNull
   private Joystick joystick = new Joystick(0);
@@ -93,28 +95,20 @@ public class PIDTuningRobot extends IterativeRobot {
         System.err.println("Motor 1 must be set!");
         return;
       }
-      if (motor2ID != -1) {
-        motor2 = new ChickenTalon(motor2ID);
-        motor2.set(ControlMode.Follower, motor1.getDeviceID());
-      }
-      if (motor3ID != -1) {
-        motor3 = new ChickenTalon(motor3ID);
-        motor3.set(ControlMode.Follower, motor1.getDeviceID());
-      }
-      if (motor4ID != -1) {
-        motor4 = new ChickenTalon(motor4ID);
-        motor4.set(ControlMode.Follower, motor1.getDeviceID());
-      }
-
-      for (ChickenTalon motor : new ChickenTalon[]{motor1, motor2, motor3, motor4}) {
-        if (motor != null) {
-          motor.configClosedloopRamp(0);
-          motor.configOpenloopRamp(0);
-          motor.configPeakOutputForward(1);
-          motor.configPeakOutputReverse(-1);
-          motor.enableCurrentLimit(false);
+      List<ChickenController> followers = new ArrayList<>();
+      for (int id : new int[]{motor2ID, motor3ID, motor4ID}) {
+        if (id != -1) {
+          followers.add(new ChickenTalon(id));
         }
       }
+      motors = new ChickenControllerGroup(motor1, followers.toArray(new ChickenController[0]));
+
+      motors.applyConfiguration(new ControllerConfiguration()
+          .set(Parameter.CLOSED_LOOP_RAMP, 0)
+          .set(Parameter.OPEN_LOOP_RAMP, 0)
+          .set(Parameter.PEAK_OUTPUT_FORWARD, 1)
+          .set(Parameter.PEAK_OUTPUT_REVERSE, -1)
+          .set(Parameter.CURRENT_LIMIT_ENABLE, false));
     }) {
       @Override
       public boolean runsWhenDisabled() {
@@ -159,10 +153,8 @@ public class PIDTuningRobot extends IterativeRobot {
   @Override
   public void robotPeriodic() {
     CommandScheduler.getInstance().run();
-    for (ChickenTalon motor : new ChickenTalon[]{motor1, motor2, motor3, motor4}) {
-      if (motor != null) {
-        motor.setInverted(invertOutput);
-      }
+    if (motors != null) {
+      motors.setInverted(invertOutput);
     }
     if (motor1 != null) {
       motor1.setSensorPhase(invertSensor);
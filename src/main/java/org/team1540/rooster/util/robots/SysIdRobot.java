@@ -0,0 +1,470 @@
+package org.team1540.rooster.util.robots;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+import edu.wpi.first.wpilibj.IterativeRobot;
+import edu.wpi.first.wpilibj.Joystick;
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.InstantCommand;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.team1540.rooster.drive.pipeline.FeedForwardProcessor;
+import org.team1540.rooster.preferencemanager.Preference;
+import org.team1540.rooster.preferencemanager.PreferenceManager;
+import org.team1540.rooster.wrappers.ChickenController;
+import org.team1540.rooster.wrappers.ChickenControllerGroup;
+import org.team1540.rooster.wrappers.ChickenTalon;
+import org.team1540.rooster.wrappers.ControllerConfiguration;
+import org.team1540.rooster.wrappers.ControllerConfiguration.Parameter;
+import org.team1540.rooster.wrappers.StatusFrameProfile;
+
+/**
+ * Robot class to measure the drivetrain feed-forward constants used by {@link
+ * FeedForwardProcessor}. For use instructions, load onto a robot and check the console.
+ *
+ * <p>While a test button is held, a {@link Notifier} drives both sides and samples the applied
+ * voltage and the wheel velocities every {@link #SAMPLE_PERIOD} seconds. Acceleration is the
+ * change in velocity over the last few samples. Samples are written into buffers that are
+ * allocated once at startup, and every sample where the robot is moving is folded into a running
+ * least-squares fit of
+ *
+ * <p>\(V = k_S \operatorname{sgn}(v) + k_V v + k_A a\)
+ *
+ * <p>for each side, so the constants are available on the SmartDashboard as soon as the tests are
+ * done. Quasistatic tests (slowly ramping voltage) pin down \(k_S\) and \(k_V\); dynamic tests (a
+ * voltage step) pin down \(k_A\). Run both in both directions. The constants are reported in
+ * throttle units (volts divided by the nominal voltage), which is what {@link FeedForwardProcessor}
+ * expects when used with a {@link org.team1540.rooster.drive.pipeline.CTREOutput CTREOutput}.
+ */
+public class SysIdRobot extends IterativeRobot {
+
+  /**
+   * The time between samples, in seconds.
+   */
+  public static final double SAMPLE_PERIOD = 0.005;
+  /**
+   * The time between sensor samples on the Talon, in milliseconds, and the number of samples
+   * averaged into each velocity reading. The defaults (100 ms, 64 samples) delay the velocity by
+   * about 80 ms, which smears the step response the dynamic test uses to find \(k_A\).
+   */
+  private static final int VELOCITY_PERIOD_MS = 5;
+  private static final int VELOCITY_WINDOW = 2;
+  /**
+   * {@link StatusFrameProfile#DRIVE_HIGH_RATE} with the output and velocity frames sped up to the
+   * sample period, so every sample sees a fresh reading.
+   */
+  private static final StatusFrameProfile SYSID_RATE = StatusFrameProfile.DRIVE_HIGH_RATE
+      .named("SYSID_RATE")
+      .with(StatusFrame.Status_1_General, (int) (SAMPLE_PERIOD * 1000))
+      .with(StatusFrame.Status_2_Feedback0, (int) (SAMPLE_PERIOD * 1000));
+  /**
+   * The number of samples the buffers can hold; about five and a half minutes of testing.
+   */
+  public static final int CAPACITY = 1 << 16;
+
+  @Preference(persistent = false)
+  public int lMotor1ID = -1;
+  @Preference(persistent = false)
+  public int lMotor2ID = -1;
+  @Preference(persistent = false)
+  public int lMotor3ID = -1;
+  @Preference(persistent = false)
+  public int rMotor1ID = -1;
+  @Preference(persistent = false)
+  public int rMotor2ID = -1;
+  @Preference(persistent = false)
+  public int rMotor3ID = -1;
+  @Preference(persistent = false)
+  public boolean invertLeftMotor = false;
+  @Preference(persistent = false)
+  public boolean invertRightMotor = false;
+  @Preference(persistent = false)
+  public boolean invertLeftSensor = false;
+  @Preference(persistent = false)
+  public boolean invertRightSensor = false;
+  @Preference(persistent = false)
+  public double encoderTPU = 1;
+  @Preference(persistent = false)
+  public double quasistaticRampRate = 0.05;
+  @Preference(persistent = false)
+  public double dynamicStep = 0.6;
+  @Preference(persistent = false)
+  public double nominalVoltage = 12;
+  @Preference(persistent = false)
+  public double minVelocity = 0.01;
+  @Preference(persistent = false)
+  public int accelWindow = 4;
+  @Preference(persistent = false)
+  public boolean logDataToCSV = false;
+
+  @Nullable
+  private volatile ChickenTalon lMotor1;
+  @Nullable
+  private volatile ChickenTalon rMotor1;
+  @Nullable
+  private ChickenControllerGroup left;
+  @Nullable
+  private ChickenControllerGroup right;
+
+  @NotNull
+  private Joystick joystick = new Joystick(0);
+
+  @NotNull
+  private final Notifier notifier = new Notifier(this::sample);
+
+  private final Object lock = new Object();
+
+  // buffers, allocated once
+  private final double[] time = new double[CAPACITY];
+  private final double[] leftVoltage = new double[CAPACITY];
+  private final double[] rightVoltage = new double[CAPACITY];
+  private final double[] leftVelocity = new double[CAPACITY];
+  private final double[] rightVelocity = new double[CAPACITY];
+  private final double[] leftAccel = new double[CAPACITY];
+  private final double[] rightAccel = new double[CAPACITY];
+  private int count;
+
+  private final Fit leftFit = new Fit();
+  private final Fit rightFit = new Fit();
+
+  private volatile Test test = Test.NONE;
+  private double testStart;
+  private int testStartIndex;
+
+  private enum Test {
+    NONE, QUASISTATIC_FORWARD, QUASISTATIC_REVERSE, DYNAMIC_FORWARD, DYNAMIC_REVERSE
+  }
+
+  @Override
+  public void robotInit() {
+    System.out.println("Initializing SysId Robot");
+    System.out.println(
+        "To change the motors to be used, change the preference values and then run the Reset "
+            + "command to allow the values to take effect. To disable a motor, set its motor ID to "
+            + "-1. Motor 1 will be configured as the master Talon and motors 2 and 3 will be "
+            + "slaved to it in follower mode.");
+
+    PreferenceManager.getInstance().add(this);
+
+    var reset = new InstantCommand(() -> {
+      notifier.stop();
+      test = Test.NONE;
+
+      // stop any followers from the previous configuration, in case they've been removed
+      for (ChickenControllerGroup group : new ChickenControllerGroup[]{left, right}) {
+        if (group != null) {
+          for (ChickenController follower : group.getFollowers()) {
+            follower.set(ControlMode.PercentOutput, 0);
+          }
+        }
+      }
+
+      if (lMotor1ID == -1 || rMotor1ID == -1) {
+        System.err.println("Left Motor 1 and Right Motor 1 must be set!");
+        return;
+      }
+      lMotor1 = new ChickenTalon(lMotor1ID);
+      lMotor1.setSensorPhase(invertLeftSensor);
+      left = new ChickenControllerGroup(lMotor1, createFollowers(lMotor2ID, lMotor3ID));
+      rMotor1 = new ChickenTalon(rMotor1ID);
+      rMotor1.setSensorPhase(invertRightSensor);
+      right = new ChickenControllerGroup(rMotor1, createFollowers(rMotor2ID, rMotor3ID));
+
+      // no ramps, limits, or compensation, so the applied voltage is exactly what was asked for,
+      // and a short velocity filter so the measured velocity doesn't lag the acceleration
+      ControllerConfiguration config = new ControllerConfiguration()
+          .set(Parameter.CLOSED_LOOP_RAMP, 0)
+          .set(Parameter.OPEN_LOOP_RAMP, 0)
+          .set(Parameter.PEAK_OUTPUT_FORWARD, 1)
+          .set(Parameter.PEAK_OUTPUT_REVERSE, -1)
+          .set(Parameter.CURRENT_LIMIT_ENABLE, false)
+          .set(Parameter.VOLTAGE_COMP_ENABLE, false)
+          .set(Parameter.BRAKE, false)
+          .set(Parameter.VELOCITY_MEASUREMENT_PERIOD, VELOCITY_PERIOD_MS)
+          .set(Parameter.VELOCITY_MEASUREMENT_WINDOW, VELOCITY_WINDOW);
+      left.applyConfiguration(config);
+      right.applyConfiguration(config);
+      left.applyStatusFrameProfile(SYSID_RATE);
+      right.applyStatusFrameProfile(SYSID_RATE);
+
+      left.setInverted(invertLeftMotor);
+      right.setInverted(invertRightMotor);
+
+      notifier.startPeriodic(SAMPLE_PERIOD);
+    }) {
+      @Override
+      public boolean runsWhenDisabled() {
+        return true;
+      }
+    };
+    reset.setName("Reset");
+    reset.schedule();
+    SmartDashboard.putData("Reset", reset);
+
+    var clear = new InstantCommand(() -> {
+      synchronized (lock) {
+        count = 0;
+        leftFit.reset();
+        rightFit.reset();
+      }
+    }) {
+      @Override
+      public boolean runsWhenDisabled() {
+        return true;
+      }
+    };
+    clear.setName("Clear Data");
+    SmartDashboard.putData("Clear Data", clear);
+  }
+
+  private static ChickenController[] createFollowers(int... ids) {
+    List<ChickenController> followers = new ArrayList<>();
+    for (int id : ids) {
+      if (id != -1) {
+        followers.add(new ChickenTalon(id));
+      }
+    }
+    return followers.toArray(new ChickenController[0]);
+  }
+
+  @Override
+  public void teleopInit() {
+    System.out.println("Hold A for a quasistatic forward test, B for quasistatic reverse, X for "
+        + "dynamic forward, and Y for dynamic reverse. Release the button before the robot runs "
+        + "out of room. Constants update on the SmartDashboard after every test.");
+  }
+
+  @Override
+  public void teleopPeriodic() {
+    Test wanted;
+    if (joystick.getRawButton(1)) { // button A
+      wanted = Test.QUASISTATIC_FORWARD;
+    } else if (joystick.getRawButton(2)) { // button B
+      wanted = Test.QUASISTATIC_REVERSE;
+    } else if (joystick.getRawButton(3)) { // button X
+      wanted = Test.DYNAMIC_FORWARD;
+    } else if (joystick.getRawButton(4)) { // button Y
+      wanted = Test.DYNAMIC_REVERSE;
+    } else {
+      wanted = Test.NONE;
+    }
+
+    if (wanted != test) {
+      synchronized (lock) {
+        testStart = RobotController.getFPGATime() / 1e6;
+        testStartIndex = count;
+        test = wanted;
+      }
+    }
+  }
+
+  @Override
+  public void disabledInit() {
+    test = Test.NONE;
+    if (logDataToCSV) {
+      writeCSV("/home/lvuser/sysid.csv");
+    }
+    synchronized (lock) {
+      System.out.println("Left:  " + leftFit);
+      System.out.println("Right: " + rightFit);
+    }
+  }
+
+  private void sample() {
+    ChickenTalon lMotor1 = this.lMotor1;
+    ChickenTalon rMotor1 = this.rMotor1;
+    if (lMotor1 == null || rMotor1 == null) {
+      return;
+    }
+
+    synchronized (lock) {
+      double now = RobotController.getFPGATime() / 1e6;
+      double throttle;
+      switch (test) {
+        case QUASISTATIC_FORWARD:
+          throttle = Math.min(1, quasistaticRampRate * (now - testStart));
+          break;
+        case QUASISTATIC_REVERSE:
+          throttle = -Math.min(1, quasistaticRampRate * (now - testStart));
+          break;
+        case DYNAMIC_FORWARD:
+          throttle = dynamicStep;
+          break;
+        case DYNAMIC_REVERSE:
+          throttle = -dynamicStep;
+          break;
+        default:
+          lMotor1.set(ControlMode.PercentOutput, 0);
+          rMotor1.set(ControlMode.PercentOutput, 0);
+          return;
+      }
+      lMotor1.set(ControlMode.PercentOutput, throttle);
+      rMotor1.set(ControlMode.PercentOutput, throttle);
+
+      if (count == CAPACITY) {
+        return;
+      }
+      int k = count++;
+      time[k] = now;
+      // the Talon reports velocity per 100 ms
+      leftVoltage[k] = lMotor1.getMotorOutputVoltage();
+      rightVoltage[k] = rMotor1.getMotorOutputVoltage();
+      leftVelocity[k] = lMotor1.getSelectedSensorVelocity() * 10 / encoderTPU;
+      rightVelocity[k] = rMotor1.getSelectedSensorVelocity() * 10 / encoderTPU;
+
+      int window = Math.max(1, accelWindow);
+      if (k - window < testStartIndex) {
+        leftAccel[k] = Double.NaN;
+        rightAccel[k] = Double.NaN;
+        return;
+      }
+      double dt = time[k] - time[k - window];
+      leftAccel[k] = (leftVelocity[k] - leftVelocity[k - window]) / dt;
+      rightAccel[k] = (rightVelocity[k] - rightVelocity[k - window]) / dt;
+
+      if (Math.abs(leftVelocity[k]) > minVelocity) {
+        leftFit.add(leftVelocity[k], leftAccel[k], leftVoltage[k] / nominalVoltage);
+      }
+      if (Math.abs(rightVelocity[k]) > minVelocity) {
+        rightFit.add(rightVelocity[k], rightAccel[k], rightVoltage[k] / nominalVoltage);
+      }
+    }
+  }
+
+  private void writeCSV(String path) {
+    try (PrintWriter writer = new PrintWriter(new FileWriter(path))) {
+      writer.println("time,leftVoltage,rightVoltage,leftVelocity,rightVelocity,leftAccel,"
+          + "rightAccel");
+      synchronized (lock) {
+        for (int k = 0; k < count; k++) {
+          writer.println(time[k] + "," + leftVoltage[k] + "," + rightVoltage[k] + ","
+              + leftVelocity[k] + "," + rightVelocity[k] + "," + leftAccel[k] + ","
+              + rightAccel[k]);
+        }
+      }
+      System.out.println("Wrote " + count + " samples to " + path);
+    } catch (IOException e) {
+      System.err.println("Could not write " + path + ": " + e.getMessage());
+    }
+  }
+
+  @Override
+  public void robotPeriodic() {
+    CommandScheduler.getInstance().run();
+    synchronized (lock) {
+      SmartDashboard.putNumber("Samples", count);
+      SmartDashboard.putBoolean("Buffer Full", count == CAPACITY);
+      putFit("Left", leftFit);
+      putFit("Right", rightFit);
+      SmartDashboard.putNumber("kS", (leftFit.getKS() + rightFit.getKS()) / 2);
+      SmartDashboard.putNumber("kV", (leftFit.getKV() + rightFit.getKV()) / 2);
+      SmartDashboard.putNumber("kA", (leftFit.getKA() + rightFit.getKA()) / 2);
+    }
+  }
+
+  private static void putFit(String side, Fit fit) {
+    SmartDashboard.putNumber(side + " kS", fit.getKS());
+    SmartDashboard.putNumber(side + " kV", fit.getKV());
+    SmartDashboard.putNumber(side + " kA", fit.getKA());
+    SmartDashboard.putNumber(side + " R^2", fit.getRSquared());
+  }
+
+  /**
+   * Streaming ordinary least squares for \(y = k_S \operatorname{sgn}(v) + k_V v + k_A a\).
+   * Only the sums making up the normal equations are kept, so each sample is O(1) and nothing is
+   * allocated.
+   */
+  private static class Fit {
+
+    // upper triangle of X^T X, X^T y, and the sums needed for R^2
+    private double ss, sv, sa, vv, va, aa;
+    private double sy, vy, ay, y, yy;
+    private long n;
+
+    private double kS = Double.NaN;
+    private double kV = Double.NaN;
+    private double kA = Double.NaN;
+    private boolean dirty;
+
+    void add(double velocity, double accel, double output) {
+      double s = Math.signum(velocity);
+      ss += s * s;
+      sv += s * velocity;
+      sa += s * accel;
+      vv += velocity * velocity;
+      va += velocity * accel;
+      aa += accel * accel;
+      sy += s * output;
+      vy += velocity * output;
+      ay += accel * output;
+      y += output;
+      yy += output * output;
+      n++;
+      dirty = true;
+    }
+
+    void reset() {
+      ss = sv = sa = vv = va = aa = 0;
+      sy = vy = ay = y = yy = 0;
+      n = 0;
+      kS = kV = kA = Double.NaN;
+      dirty = false;
+    }
+
+    private void solve() {
+      if (!dirty) {
+        return;
+      }
+      dirty = false;
+      // Cramer's rule on the symmetric 3x3 normal equations
+      double det = ss * (vv * aa - va * va) - sv * (sv * aa - va * sa) + sa * (sv * va - vv * sa);
+      if (Math.abs(det) < 1e-12) {
+        kS = kV = kA = Double.NaN;
+        return;
+      }
+      kS = (sy * (vv * aa - va * va) - sv * (vy * aa - va * ay) + sa * (vy * va - vv * ay)) / det;
+      kV = (ss * (vy * aa - ay * va) - sy * (sv * aa - va * sa) + sa * (sv * ay - vy * sa)) / det;
+      kA = (ss * (vv * ay - va * vy) - sv * (sv * ay - vy * sa) + sy * (sv * va - vv * sa)) / det;
+    }
+
+    double getKS() {
+      solve();
+      return kS;
+    }
+
+    double getKV() {
+      solve();
+      return kV;
+    }
+
+    double getKA() {
+      solve();
+      return kA;
+    }
+
+    double getRSquared() {
+      solve();
+      if (n == 0) {
+        return Double.NaN;
+      }
+      // residual sum of squares from the normal equations: y'y - b'X'y
+      double residual = yy - (kS * sy + kV * vy + kA * ay);
+      double total = yy - y * y / n;
+      return total == 0 ? Double.NaN : 1 - residual / total;
+    }
+
+    @Override
+    public String toString() {
+      return "new FeedForwardProcessor(" + getKV() + ", " + getKS() + ", " + getKA() + ") (R^2 = "
+          + getRSquared() + ", " + n + " samples)";
+    }
+  }
+}
@@ -6,9 +6,15 @@ import edu.wpi.first.wpilibj.Joystick;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
+import java.util.ArrayList;
+import java.util.List;
 import org.team1540.rooster.preferencemanager.Preference;
 import org.team1540.rooster.preferencemanager.PreferenceManager;
+import org.team1540.rooster.wrappers.ChickenController;
+import org.team1540.rooster.wrappers.ChickenControllerGroup;
 import org.team1540.rooster.wrappers.ChickenTalon;
+import org.team1540.rooster.wrappers.ControllerConfiguration;
+import org.team1540.rooster.wrappers.ControllerConfiguration.Parameter;
 
 /**
  * Class to determine a robot's wheelbase width. For use instructions, load onto a robot and check
@@ -46,11 +52,9 @@ public class WheelbaseTestRobot extends IterativeRobot {
   public double setpoint = 0.5;
 
   private ChickenTalon lMotor1;
-  private ChickenTalon lMotor2;
-  private ChickenTalon lMotor3;
   private ChickenTalon rMotor1;
-  private ChickenTalon rMotor2;
-  private ChickenTalon rMotor3;
+  private ChickenControllerGroup left;
+  private ChickenControllerGroup right;
 
   private Joystick joystick = new Joystick(0);
 
@@ -65,75 +69,43 @@ public class WheelbaseTestRobot extends IterativeRobot {
     PreferenceManager.getInstance().add(this);
 
     var reset = new InstantCommand(() -> {
-      if (lMotor1ID != -1) {
-        lMotor1 = new ChickenTalon(lMotor1ID);
-        lMotor1.setSensorPhase(invertLeftSensor);
-      } else {
-        System.err.println("Left Motor 1 must be set!");
-        return;
-      }
-      if (lMotor2ID != -1) {
-        lMotor2 = new ChickenTalon(lMotor2ID);
-        lMotor2.set(ControlMode.Follower, lMotor1.getDeviceID());
-      } else {
-        if (lMotor2 != null) {
-          lMotor2.set(ControlMode.PercentOutput, 0);
-        }
-        lMotor2 = null;
-      }
-      if (lMotor3ID != -1) {
-        lMotor3 = new ChickenTalon(lMotor3ID);
-        lMotor3.set(ControlMode.Follower, lMotor1.getDeviceID());
-      } else {
-        if (lMotor3 != null) {
-          lMotor3.set(ControlMode.PercentOutput, 0);
+      // stop any followers from the previous configuration, in case they've been removed
+      for (ChickenControllerGroup group : new ChickenControllerGroup[]{left, right}) {
+        if (group != null) {
+          for (ChickenController follower : group.getFollowers()) {
+            follower.set(ControlMode.PercentOutput, 0);
+          }
         }
-        lMotor3 = null;
       }
 
-      if (rMotor1ID != -1) {
-        rMotor1 = new ChickenTalon(rMotor1ID);
-        rMotor1.setSensorPhase(invertRightSensor);
-      } else {
-        System.err.println("Right Motor 1 must be set!");
+      if (lMotor1ID == -1) {
+        System.err.println("Left Motor 1 must be set!");
         return;
       }
-      if (rMotor2ID != -1) {
-        rMotor2 = new ChickenTalon(rMotor2ID);
-        rMotor2.set(ControlMode.Follower, rMotor1.getDeviceID());
-      } else {
-        if (rMotor2 != null) {
-          rMotor2.set(ControlMode.PercentOutput, 0);
-        }
-        rMotor2 = null;
-      }
-      if (rMotor3ID != -1) {
-        rMotor3 = new ChickenTalon(rMotor3ID);
-        rMotor3.set(ControlMode.Follower, rMotor1.getDeviceID());
-      } else {
-        if (rMotor3 != null) {
-          rMotor3.set(ControlMode.PercentOutput, 0);
-        }
-        rMotor3 = null;
-      }
-      for (ChickenTalon motor : new ChickenTalon[]{lMotor1, lMotor2, lMotor3, rMotor1, rMotor2,
-          rMotor3}) {
-        if (motor != null) {
-          motor.configClosedloopRamp(0);
-          motor.configOpenloopRamp(0);
-          motor.configPeakOutputForward(1);
-          motor.configPeakOutputReverse(-1);
-          motor.enableCurrentLimit(false);
-          motor.setBrake(brake);
-        }
-      }
+      lMotor1 = new ChickenTalon(lMotor1ID);
+      lMotor1.setSensorPhase(invertLeftSensor);
+      left = new ChickenControllerGroup(lMotor1, createFollowers(lMotor2ID, lMotor3ID));
 
-      for (ChickenTalon motor : new ChickenTalon[]{lMotor1, lMotor2, lMotor3}) {
-        motor.setInverted(invertLeftMotor);
-      }
-      for (ChickenTalon motor : new ChickenTalon[]{rMotor1, rMotor2, rMotor3}) {
-        motor.setInverted(invertRightMotor);
+      if (rMotor1ID == -1) {
+        System.err.println("Right Motor 1 must be set!");
+        return;
       }
+      rMotor1 = new ChickenTalon(rMotor1ID);
+      rMotor1.setSensorPhase(invertRightSensor);
+      right = new ChickenControllerGroup(rMotor1, createFollowers(rMotor2ID, rMotor3ID));
+
+      ControllerConfiguration config = new ControllerConfiguration()
+          .set(Parameter.CLOSED_LOOP_RAMP, 0)
+          .set(Parameter.OPEN_LOOP_RAMP, 0)
+          .set(Parameter.PEAK_OUTPUT_FORWARD, 1)
+          .set(Parameter.PEAK_OUTPUT_REVERSE, -1)
+          .set(Parameter.CURRENT_LIMIT_ENABLE, false)
+          .set(Parameter.BRAKE, brake);
+      left.applyConfiguration(config);
+      right.applyConfiguration(config);
+
+      left.setInverted(invertLeftMotor);
+      right.setInverted(invertRightMotor);
     }) {
       @Override
       public boolean runsWhenDisabled() {
@@ -162,6 +134,16 @@ public class WheelbaseTestRobot extends IterativeRobot {
     SmartDashboard.putData("Zero", zero);
   }
 
+  private static ChickenController[] createFollowers(int... ids) {
+    List<ChickenController> followers = new ArrayList<>();
+    for (int id : ids) {
+      if (id != -1) {
+        followers.add(new ChickenTalon(id));
+      }
+    }
+    return followers.toArray(new ChickenController[0]);
+  }
+
   @Override
   public void teleopInit() {
     System.out.println("Zero encoders, then press A until the robot completes 10 revolutions");
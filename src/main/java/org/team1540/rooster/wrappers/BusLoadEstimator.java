@@ -0,0 +1,130 @@
+package org.team1540.rooster.wrappers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Estimates CAN bus load from the status frame periods of a set of registered {@link
+ * ChickenController ChickenControllers}.
+ *
+ * <p>For each controller, the period of every frame in {@link StatusFrameProfile#CTRE_DEFAULT} is
+ * taken from the controller's configuration cache if it was set through the wrapper, and from the
+ * CTRE default otherwise. One control frame per controller is also counted at the control frame
+ * period. This is an estimate: it assumes worst-case bit stuffing and doesn't count traffic from
+ * other devices (PDP, PCM, etc.), so leave some headroom.
+ */
+public class BusLoadEstimator {
+
+  /**
+   * The bit rate of the roboRIO CAN bus, in bits per second.
+   */
+  public static final double BUS_BITS_PER_SECOND = 1_000_000;
+
+  /**
+   * The length of an extended-ID CAN frame with an 8-byte payload, including worst-case bit
+   * stuffing and interframe space.
+   */
+  public static final int BITS_PER_FRAME = 155;
+
+  @NotNull
+  private final List<ChickenController> controllers = new ArrayList<>();
+  private int controlFramePeriodMs = 10;
+
+  /**
+   * Registers controllers with this estimator.
+   *
+   * @param controllers The controllers to register.
+   */
+  public void register(@NotNull ChickenController... controllers) {
+    for (ChickenController controller : controllers) {
+      this.controllers.add(Objects.requireNonNull(controller));
+    }
+  }
+
+  /**
+   * Removes a controller from this estimator.
+   *
+   * @param controller The controller to remove.
+   * @return {@code true} if the controller was registered, {@code false} otherwise.
+   */
+  public boolean unregister(@NotNull ChickenController controller) {
+    return controllers.remove(controller);
+  }
+
+  /**
+   * Gets the registered controllers.
+   *
+   * @return An unmodifiable view of the registered controllers.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public List<ChickenController> getControllers() {
+    return Collections.unmodifiableList(controllers);
+  }
+
+  /**
+   * Sets the control frame period assumed for every controller. Defaults to 10 ms, the CTRE
+   * default.
+   *
+   * @param controlFramePeriodMs The control frame period, in milliseconds.
+   */
+  public void setControlFramePeriod(int controlFramePeriodMs) {
+    if (controlFramePeriodMs <= 0) {
+      throw new IllegalArgumentException(
+          "Control frame period must be positive, was " + controlFramePeriodMs);
+    }
+    this.controlFramePeriodMs = controlFramePeriodMs;
+  }
+
+  /**
+   * Estimates the number of frames per second a single controller puts on the bus.
+   *
+   * @param controller The controller.
+   * @param controlFramePeriodMs The controller's control frame period, in milliseconds.
+   * @return The estimated frame rate, in frames per second.
+   */
+  public static double getFramesPerSecond(@NotNull ChickenController controller,
+      int controlFramePeriodMs) {
+    StatusFrameProfile defaults = StatusFrameProfile.CTRE_DEFAULT;
+    boolean isTalon = controller instanceof ChickenTalon;
+    double framesPerSecond = 1000.0 / controlFramePeriodMs;
+    for (int i = 0; i < defaults.size(); i++) {
+      if (defaults.isTalonOnly(i) && !isTalon) {
+        continue;
+      }
+      int period = controller.getConfiguredStatusFramePeriod(defaults.getFrame(i));
+      if (period < 0) {
+        period = defaults.getPeriod(i);
+      }
+      // a period of 0 is clamped to 1 ms by the firmware
+      framesPerSecond += 1000.0 / Math.max(period, 1);
+    }
+    return framesPerSecond;
+  }
+
+  /**
+   * Estimates the total number of frames per second the registered controllers put on the bus.
+   *
+   * @return The estimated frame rate, in frames per second.
+   */
+  public double getFramesPerSecond() {
+    double total = 0;
+    for (ChickenController controller : controllers) {
+      total += getFramesPerSecond(controller, controlFramePeriodMs);
+    }
+    return total;
+  }
+
+  /**
+   * Estimates the fraction of bus bandwidth used by the registered controllers.
+   *
+   * @return The estimated bus load, where 1 is a fully saturated bus.
+   */
+  public double getEstimatedLoad() {
+    return getFramesPerSecond() * BITS_PER_FRAME / BUS_BITS_PER_SECOND;
+  }
+}
@@ -13,6 +13,7 @@ import com.ctre.phoenix.motorcontrol.RemoteSensorSource;
 import com.ctre.phoenix.motorcontrol.SensorTerm;
 import com.ctre.phoenix.motorcontrol.StatusFrame;
 import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import org.jetbrains.annotations.NotNull;
 
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public interface ChickenController extends IMotorController {
@@ -524,4 +525,98 @@ public interface ChickenController extends IMotorController {
    * @return Error Code generated by function. 0 indicates no error.
    */
   ErrorCode setStatusFramePeriod(StatusFrame frame, int periodMs);
+
+  /**
+   * Applies every setting in the provided {@link ControllerConfiguration} to this controller.
+   * Settings are sent through this controller's normal configuration methods, so any setting whose
+   * value matches what was last successfully sent is skipped and only the differences go out over
+   * CAN.
+   *
+   * @param configuration The configuration to apply.
+   * @return The last non-OK error code generated while applying, or {@link ErrorCode#OK} if none.
+   */
+  default ErrorCode applyConfiguration(@NotNull ControllerConfiguration configuration) {
+    return configuration.applyTo(this);
+  }
+
+  /**
+   * Gets the number of configuration writes (config calls, status frame periods, inversion, sensor
+   * phase, and neutral mode) that were skipped because the controller already had the requested
+   * value.
+   *
+   * @return The number of skipped configuration frames since this controller was created.
+   */
+  int getSkippedConfigFrames();
+
+  /**
+   * Forgets all cached configuration values so that the next write of each setting is always sent.
+   * This should be called if the controller may have lost its configuration, e.g. after it reports
+   * a reset; {@link #checkForReset()} does so automatically.
+   */
+  void clearConfigCache();
+
+  /**
+   * Checks whether the controller has reset (e.g. after a brownout) since the last check, and if
+   * so forgets every cached configuration value and demand so that they are all sent again, and
+   * re-applies this controller's {@link StatusFrameProfile}. Every {@code set()} call does this
+   * first, so it only needs to be called by hand, once per loop, for a controller that is
+   * configured but not driven every loop.
+   *
+   * @return {@code true} if a reset was detected.
+   */
+  default boolean checkForReset() {
+    if (!hasResetOccurred()) {
+      return false;
+    }
+    clearConfigCache();
+    getDemandFilter().reset();
+    applyStatusFrameProfile(getStatusFrameProfile());
+    return true;
+  }
+
+  /**
+   * Gets the status frame period that was last successfully set through this controller.
+   *
+   * @param frame The raw value of the status frame.
+   * @return The period in milliseconds, or -1 if it hasn't been set since the cache was cleared.
+   */
+  int getConfiguredStatusFramePeriod(int frame);
+
+  /**
+   * Gets this controller's {@link SensorSnapshot}, which caches commonly used signals so that
+   * repeated reads within a loop don't each go through JNI.
+   *
+   * @return The snapshot. The same instance is returned on every call.
+   */
+  @NotNull
+  SensorSnapshot getSensorSnapshot();
+
+  /**
+   * Gets the {@link DemandFilter} that every {@code set()} call on this controller goes through.
+   * Use it to tune the epsilon and refresh period or to read how many sends were skipped.
+   *
+   * @return The demand filter. The same instance is returned on every call.
+   */
+  @NotNull
+  DemandFilter getDemandFilter();
+
+  /**
+   * Applies a {@link StatusFrameProfile} to this controller and makes it this controller's
+   * profile. While the controller is in follower mode, {@link StatusFrameProfile#FOLLOWER_MINIMAL}
+   * is used instead, and this profile is applied when the controller leaves follower mode.
+   *
+   * @param profile The profile to apply.
+   * @return The last non-OK error code generated while applying, or {@link ErrorCode#OK} if none.
+   */
+  ErrorCode applyStatusFrameProfile(@NotNull StatusFrameProfile profile);
+
+  /**
+   * Gets this controller's {@link StatusFrameProfile}.
+   *
+   * @return The profile last passed to {@link #applyStatusFrameProfile(StatusFrameProfile)
+   * applyStatusFrameProfile()}, or {@link StatusFrameProfile#CTRE_DEFAULT} if none has been
+   * applied.
+   */
+  @NotNull
+  StatusFrameProfile getStatusFrameProfile();
 }
@@ -0,0 +1,238 @@
+package org.team1540.rooster.wrappers;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.InvertType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A leader {@link ChickenController} and any number of followers that mirror its output, such as
+ * the motors on one side of a drivetrain.
+ *
+ * <p>Outputs are only sent to the leader; followers are put in {@link ControlMode#Follower} mode
+ * when the group is created (which also gives them {@link StatusFrameProfile#FOLLOWER_MINIMAL
+ * minimal status frames}). Configuration goes to every controller in the group, and is sent to all
+ * of them concurrently: when the controllers have a non-zero {@linkplain
+ * ChickenTalon#setDefaultTimeoutMs(int) default timeout}, each config call blocks until the
+ * controller acknowledges it, so configuring a group concurrently takes about as long as
+ * configuring a single controller.
+ */
+public class ChickenControllerGroup {
+
+  private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+    Thread thread = new Thread(r, "ChickenControllerGroup");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  @NotNull
+  private final ChickenController leader;
+  @NotNull
+  private final List<ChickenController> followers;
+  @NotNull
+  private final List<ChickenController> controllers;
+
+  /**
+   * Creates a new {@code ChickenControllerGroup} and puts the followers in follower mode.
+   *
+   * @param leader The leader.
+   * @param followers The followers.
+   */
+  public ChickenControllerGroup(@NotNull ChickenController leader,
+      @NotNull ChickenController... followers) {
+    this.leader = Objects.requireNonNull(leader);
+    for (ChickenController follower : followers) {
+      Objects.requireNonNull(follower);
+    }
+    this.followers = Collections.unmodifiableList(Arrays.asList(followers.clone()));
+
+    List<ChickenController> all = new ArrayList<>(followers.length + 1);
+    all.add(leader);
+    all.addAll(this.followers);
+    controllers = Collections.unmodifiableList(all);
+
+    follow();
+  }
+
+  /**
+   * Puts every follower in follower mode, following the leader. This is done automatically on
+   * creation, but may need to be repeated if a follower was commanded directly. Followers of a
+   * different device type than the leader (e.g. Victor SPXs following a Talon SRX) are supported.
+   */
+  public void follow() {
+    for (ChickenController follower : followers) {
+      // follow() builds the target from the leader's base ID, which includes its device type
+      follower.follow(leader);
+    }
+  }
+
+  /**
+   * Runs an action on every controller in the group concurrently and waits for all of them to
+   * finish. Use this for configuration calls that don't have a dedicated method here, e.g. {@code
+   * group.applyToAll(c -> c.configOpenloopRamp(0))}.
+   *
+   * @param action The action to run. It is called once per controller, possibly on different
+   * threads.
+   * @return The last non-OK error code returned by the action, or {@link ErrorCode#OK} if none.
+   */
+  public ErrorCode applyToAll(@NotNull Function<? super ChickenController, ErrorCode> action) {
+    Objects.requireNonNull(action);
+    if (followers.isEmpty()) {
+      return action.apply(leader);
+    }
+
+    List<Callable<ErrorCode>> tasks = new ArrayList<>(controllers.size());
+    for (ChickenController controller : controllers) {
+      tasks.add(() -> action.apply(controller));
+    }
+
+    ErrorCode result = ErrorCode.OK;
+    try {
+      for (Future<ErrorCode> future : executor.invokeAll(tasks)) {
+        ErrorCode code = future.get();
+        if (code != ErrorCode.OK) {
+          result = code;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return ErrorCode.GeneralError;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+    return result;
+  }
+
+  /**
+   * Applies a {@link ControllerConfiguration} to every controller in the group concurrently.
+   *
+   * @param configuration The configuration to apply.
+   * @return The last non-OK error code generated while applying, or {@link ErrorCode#OK} if none.
+   */
+  public ErrorCode applyConfiguration(@NotNull ControllerConfiguration configuration) {
+    Objects.requireNonNull(configuration);
+    return applyToAll(c -> c.applyConfiguration(configuration));
+  }
+
+  /**
+   * Sets the {@link StatusFrameProfile} of every controller in the group. Followers keep using
+   * {@link StatusFrameProfile#FOLLOWER_MINIMAL} while they are following.
+   *
+   * @param profile The profile to apply.
+   * @return The last non-OK error code generated while applying, or {@link ErrorCode#OK} if none.
+   */
+  public ErrorCode applyStatusFrameProfile(@NotNull StatusFrameProfile profile) {
+    Objects.requireNonNull(profile);
+    return applyToAll(c -> c.applyStatusFrameProfile(profile));
+  }
+
+  /**
+   * Clears the sticky faults of every controller in the group concurrently.
+   *
+   * @return The last non-OK error code generated while clearing, or {@link ErrorCode#OK} if none.
+   */
+  public ErrorCode clearStickyFaults() {
+    return applyToAll(ChickenController::clearStickyFaults);
+  }
+
+  /**
+   * Sets whether the group's output is inverted. The leader is inverted as requested and the
+   * followers are set to {@link InvertType#FollowMaster}. {@link ChickenTalon} and {@link
+   * ChickenVictor} skip inversion writes that would not change anything, so this is cheap to call
+   * every loop.
+   *
+   * @param inverted Whether to invert the output.
+   */
+  public void setInverted(boolean inverted) {
+    leader.setInverted(inverted);
+    for (ChickenController follower : followers) {
+      follower.setInverted(InvertType.FollowMaster);
+    }
+  }
+
+  /**
+   * Sets the neutral mode of every controller in the group.
+   *
+   * @param brake Whether to brake.
+   */
+  public void setBrake(boolean brake) {
+    for (ChickenController controller : controllers) {
+      controller.setBrake(brake);
+    }
+  }
+
+  /**
+   * Sets the output of the leader (and thereby the followers).
+   *
+   * @param mode The control mode.
+   * @param outputValue The output value.
+   */
+  public void set(@NotNull ControlMode mode, double outputValue) {
+    leader.set(mode, outputValue);
+  }
+
+  /**
+   * Sets the output of the leader (and thereby the followers) in the leader's current control
+   * mode.
+   *
+   * @param outputValue The output value.
+   */
+  public void set(double outputValue) {
+    leader.set(outputValue);
+  }
+
+  /**
+   * Sets the leader (and thereby the followers) to neutral output.
+   */
+  public void neutralOutput() {
+    leader.neutralOutput();
+  }
+
+  /**
+   * Gets the leader.
+   *
+   * @return The leader.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public ChickenController getLeader() {
+    return leader;
+  }
+
+  /**
+   * Gets the followers.
+   *
+   * @return An unmodifiable list of the followers.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public List<ChickenController> getFollowers() {
+    return followers;
+  }
+
+  /**
+   * Gets every controller in the group, leader first.
+   *
+   * @return An unmodifiable list of the controllers.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public List<ChickenController> getControllers() {
+    return controllers;
+  }
+}
@@ -3,7 +3,9 @@ package org.team1540.rooster.wrappers;
 import com.ctre.phoenix.ErrorCode;
 import com.ctre.phoenix.ParamEnum;
 import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.InvertType;
 import com.ctre.phoenix.motorcontrol.LimitSwitchNormal;
 import com.ctre.phoenix.motorcontrol.LimitSwitchSource;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
@@ -15,6 +17,9 @@ import com.ctre.phoenix.motorcontrol.StatusFrame;
 import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
 import com.ctre.phoenix.motorcontrol.can.MotControllerJNI;
 import com.ctre.phoenix.motorcontrol.can.VictorSPX;
+import com.ctre.phoenix.motorcontrol.can.VictorSPXConfiguration;
+import java.util.Objects;
+import org.team1540.rooster.wrappers.ControllerConfiguration.Parameter;
 
 @SuppressWarnings("unused")
 public class ChickenVictor extends VictorSPX implements ChickenController {
@@ -24,6 +29,11 @@ public class ChickenVictor extends VictorSPX implements ChickenController {
   int defaultTimeoutMs = 0;
   private double peakOutputForward = 1;
   private double peakOutputReverse = -1;
+  private final ConfigShadow configShadow = new ConfigShadow();
+  private final SensorSnapshot sensorSnapshot = new SensorSnapshot(this);
+  private final DemandFilter demandFilter = new DemandFilter();
+  private StatusFrameProfile statusFrameProfile = StatusFrameProfile.CTRE_DEFAULT;
+  private boolean following;
 
   public ChickenVictor(int deviceNumber) {
     super(deviceNumber);
@@ -41,18 +51,17 @@ public class ChickenVictor extends VictorSPX implements ChickenController {
 
   @Override
   public ErrorCode configAllowableClosedloopError(int slotIdx, int allowableClosedLoopError) {
-    return super
-        .configAllowableClosedloopError(slotIdx, allowableClosedLoopError, defaultTimeoutMs);
+    return configAllowableClosedloopError(slotIdx, allowableClosedLoopError, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configClosedloopRamp(double secondsFromNeutralToFull) {
-    return super.configClosedloopRamp(secondsFromNeutralToFull, defaultTimeoutMs);
+    return configClosedloopRamp(secondsFromNeutralToFull, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configOpenloopRamp(double secondsFromNeutralToFull) {
-    return super.configOpenloopRamp(secondsFromNeutralToFull, defaultTimeoutMs);
+    return configOpenloopRamp(secondsFromNeutralToFull, defaultTimeoutMs);
   }
 
   @Override
@@ -70,12 +79,12 @@ public class ChickenVictor extends VictorSPX implements ChickenController {
 
   @Override
   public ErrorCode configForwardSoftLimitEnable(boolean enable) {
-    return super.configForwardSoftLimitEnable(enable, defaultTimeoutMs);
+    return configForwardSoftLimitEnable(enable, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configForwardSoftLimitThreshold(int forwardSensorLimit) {
-    return super.configForwardSoftLimitThreshold(forwardSensorLimit, defaultTimeoutMs);
+    return configForwardSoftLimitThreshold(forwardSensorLimit, defaultTimeoutMs);
   }
 
   @Override
@@ -95,44 +104,44 @@ public class ChickenVictor extends VictorSPX implements ChickenController {
 
   @Override
   public ErrorCode configMaxIntegralAccumulator(int slotIdx, double iaccum) {
-    return super.configMaxIntegralAccumulator(slotIdx, iaccum, defaultTimeoutMs);
+    return configMaxIntegralAccumulator(slotIdx, iaccum, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configMotionAcceleration(int sensorUnitsPer100msPerSec) {
-    return super.configMotionAcceleration(sensorUnitsPer100msPerSec, defaultTimeoutMs);
+    return configMotionAcceleration(sensorUnitsPer100msPerSec, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configMotionCruiseVelocity(int sensorUnitsPer100ms) {
-    return super.configMotionCruiseVelocity(sensorUnitsPer100ms, defaultTimeoutMs);
+    return configMotionCruiseVelocity(sensorUnitsPer100ms, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configNeutralDeadband(double percentDeadband) {
-    return super.configNeutralDeadband(percentDeadband, defaultTimeoutMs);
+    return configNeutralDeadband(percentDeadband, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configNominalOutputForward(double percentOut) {
-    return super.configNominalOutputForward(percentOut, defaultTimeoutMs);
+    return configNominalOutputForward(percentOut, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configNominalOutputReverse(double percentOut) {
-    return super.configNominalOutputReverse(percentOut, defaultTimeoutMs);
+    return configNominalOutputReverse(percentOut, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configPeakOutputForward(double percentOut) {
     peakOutputForward = percentOut;
-    return super.configPeakOutputForward(percentOut, defaultTimeoutMs);
+    return configPeakOutputForward(percentOut, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configPeakOutputReverse(double percentOut) {
     peakOutputReverse = percentOut;
-    return super.configPeakOutputReverse(percentOut, defaultTimeoutMs);
+    return configPeakOutputReverse(percentOut, defaultTimeoutMs);
   }
 
   @Override
@@ -161,32 +170,32 @@ public class ChickenVictor extends VictorSPX implements ChickenController {
 
   @Override
   public ErrorCode configReverseSoftLimitEnable(boolean enable) {
-    return super.configReverseSoftLimitEnable(enable, defaultTimeoutMs);
+    return configReverseSoftLimitEnable(enable, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configReverseSoftLimitThreshold(int reverseSensorLimit) {
-    return super.configReverseSoftLimitThreshold(reverseSensorLimit, defaultTimeoutMs);
+    return configReverseSoftLimitThreshold(reverseSensorLimit, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configSelectedFeedbackSensor(RemoteFeedbackDevice feedbackDevice, int pidIdx) {
-    return super.configSelectedFeedbackSensor(feedbackDevice, pidIdx, defaultTimeoutMs);
+    return configSelectedFeedbackSensor(feedbackDevice, pidIdx, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configSelectedFeedbackSensor(RemoteFeedbackDevice feedbackDevice) {
-    return super.configSelectedFeedbackSensor(feedbackDevice, defaultPidIdx, defaultTimeoutMs);
+    return configSelectedFeedbackSensor(feedbackDevice, defaultPidIdx, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configSelectedFeedbackSensor(FeedbackDevice feedbackDevice, int pidIdx) {
-    return super.configSelectedFeedbackSensor(feedbackDevice, pidIdx, defaultTimeoutMs);
+    return configSelectedFeedbackSensor(feedbackDevice, pidIdx, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configSelectedFeedbackSensor(FeedbackDevice feedbackDevice) {
-    return super.configSelectedFeedbackSensor(feedbackDevice, defaultPidIdx, defaultTimeoutMs);
+    return configSelectedFeedbackSensor(feedbackDevice, defaultPidIdx, defaultTimeoutMs);
   }
 
   @Override
@@ -201,59 +210,63 @@ public class ChickenVictor extends VictorSPX implements ChickenController {
 
   @Override
   public ErrorCode configSetParameter(ParamEnum param, double value, int subValue, int ordinal) {
-    return super.configSetParameter(param, value, subValue, ordinal, defaultTimeoutMs);
+    return configSetParameter(param, value, subValue, ordinal, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configSetParameter(int param, double value, int subValue, int ordinal) {
-    return super.configSetParameter(param, value, subValue, ordinal, defaultTimeoutMs);
+    return configSetParameter(param, value, subValue, ordinal, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configVelocityMeasurementPeriod(int period) {
+    if (configShadow.skip(Parameter.VELOCITY_MEASUREMENT_PERIOD, 0, period)) {
+      return ErrorCode.OK;
+    }
     int retval = MotControllerJNI
         .ConfigVelocityMeasurementPeriod(m_handle, period, defaultTimeoutMs);
-    return ErrorCode.valueOf(retval);
+    return configShadow.record(Parameter.VELOCITY_MEASUREMENT_PERIOD, 0, period,
+        ErrorCode.valueOf(retval));
   }
 
   @Override
   public ErrorCode configVelocityMeasurementWindow(int windowSize) {
-    return super.configVelocityMeasurementWindow(windowSize, defaultTimeoutMs);
+    return configVelocityMeasurementWindow(windowSize, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configVoltageCompSaturation(double voltage) {
-    return super.configVoltageCompSaturation(voltage, defaultTimeoutMs);
+    return configVoltageCompSaturation(voltage, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode configVoltageMeasurementFilter(int filterWindowSamples) {
-    return super.configVoltageMeasurementFilter(filterWindowSamples, defaultTimeoutMs);
+    return configVoltageMeasurementFilter(filterWindowSamples, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode config_IntegralZone(int slotIdx, int izone) {
-    return super.config_IntegralZone(slotIdx, izone, defaultTimeoutMs);
+    return config_IntegralZone(slotIdx, izone, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode config_kD(int slotIdx, double value) {
-    return super.config_kD(slotIdx, value, defaultTimeoutMs);
+    return config_kD(slotIdx, value, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode config_kF(int slotIdx, double value) {
-    return super.config_kF(slotIdx, value, defaultTimeoutMs);
+    return config_kF(slotIdx, value, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode config_kI(int slotIdx, double value) {
-    return super.config_kI(slotIdx, value, defaultTimeoutMs);
+    return config_kI(slotIdx, value, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode config_kP(int slotIdx, double value) {
-    return super.config_kP(slotIdx, value, defaultTimeoutMs);
+    return config_kP(slotIdx, value, defaultTimeoutMs);
   }
 
   @Override
@@ -347,9 +360,33 @@ public class ChickenVictor extends VictorSPX implements ChickenController {
     super.set(controlMode, outputValue);
   }
 
+  /**
+   * Sets the output of the controller, skipping the call if it would not change the demand. See
+   * {@link DemandFilter} for when a demand is considered unchanged. Entering follower mode applies
+   * {@link StatusFrameProfile#FOLLOWER_MINIMAL}; leaving it restores this controller's {@linkplain
+   * #applyStatusFrameProfile(StatusFrameProfile) status frame profile}.
+   *
+   * @param mode The control mode.
+   * @param demand0 The primary demand.
+   * @param demand1Type The type of the auxiliary demand.
+   * @param demand1 The auxiliary demand.
+   */
+  @Override
+  public void set(ControlMode mode, double demand0, DemandType demand1Type, double demand1) {
+    checkForReset();
+    if (demandFilter.shouldSend(mode, demand0, demand1Type, demand1)) {
+      boolean follower = mode == ControlMode.Follower;
+      if (follower != following) {
+        following = follower;
+        (follower ? StatusFrameProfile.FOLLOWER_MINIMAL : statusFrameProfile).applyTo(this);
+      }
+      super.set(mode, demand0, demand1Type, demand1);
+    }
+  }
+
   @Override
   public void setBrake(boolean brake) {
-    super.setNeutralMode(brake ? NeutralMode.Brake : NeutralMode.Coast);
+    setNeutralMode(brake ? NeutralMode.Brake : NeutralMode.Coast);
   }
 
   @Override
@@ -374,11 +411,368 @@ public class ChickenVictor extends VictorSPX implements ChickenController {
 
   @Override
   public ErrorCode setStatusFramePeriod(int frameValue, int periodMs) {
-    return super.setStatusFramePeriod(frameValue, periodMs, defaultTimeoutMs);
+    return setStatusFramePeriod(frameValue, periodMs, defaultTimeoutMs);
   }
 
   @Override
   public ErrorCode setStatusFramePeriod(StatusFrame frame, int periodMs) {
-    return super.setStatusFramePeriod(frame, periodMs, defaultTimeoutMs);
+    return setStatusFramePeriod(frame, periodMs, defaultTimeoutMs);
+  }
+
+  // Configuration cache: every write goes through these so the shadow stays accurate.
+
+  @Override
+  public ErrorCode configAllowableClosedloopError(int slotIdx, int allowableClosedLoopError,
+      int timeoutMs) {
+    if (configShadow
+        .skip(Parameter.ALLOWABLE_CLOSED_LOOP_ERROR, slotIdx, allowableClosedLoopError)) {
+      return ErrorCode.OK;
+    }
+    return configShadow
+        .record(Parameter.ALLOWABLE_CLOSED_LOOP_ERROR, slotIdx, allowableClosedLoopError,
+            super.configAllowableClosedloopError(slotIdx, allowableClosedLoopError, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configClosedloopRamp(double secondsFromNeutralToFull, int timeoutMs) {
+    if (configShadow.skip(Parameter.CLOSED_LOOP_RAMP, 0, secondsFromNeutralToFull)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.CLOSED_LOOP_RAMP, 0, secondsFromNeutralToFull,
+        super.configClosedloopRamp(secondsFromNeutralToFull, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configForwardSoftLimitEnable(boolean enable, int timeoutMs) {
+    if (configShadow.skip(Parameter.FORWARD_SOFT_LIMIT_ENABLE, 0, enable)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.FORWARD_SOFT_LIMIT_ENABLE, 0, enable,
+        super.configForwardSoftLimitEnable(enable, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configForwardSoftLimitThreshold(int forwardSensorLimit, int timeoutMs) {
+    if (configShadow.skip(Parameter.FORWARD_SOFT_LIMIT_THRESHOLD, 0, forwardSensorLimit)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.FORWARD_SOFT_LIMIT_THRESHOLD, 0, forwardSensorLimit,
+        super.configForwardSoftLimitThreshold(forwardSensorLimit, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configMaxIntegralAccumulator(int slotIdx, double iaccum, int timeoutMs) {
+    if (configShadow.skip(Parameter.MAX_INTEGRAL_ACCUMULATOR, slotIdx, iaccum)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.MAX_INTEGRAL_ACCUMULATOR, slotIdx, iaccum,
+        super.configMaxIntegralAccumulator(slotIdx, iaccum, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configMotionAcceleration(int sensorUnitsPer100msPerSec, int timeoutMs) {
+    if (configShadow.skip(Parameter.MOTION_ACCELERATION, 0, sensorUnitsPer100msPerSec)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.MOTION_ACCELERATION, 0, sensorUnitsPer100msPerSec,
+        super.configMotionAcceleration(sensorUnitsPer100msPerSec, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configMotionCruiseVelocity(int sensorUnitsPer100ms, int timeoutMs) {
+    if (configShadow.skip(Parameter.MOTION_CRUISE_VELOCITY, 0, sensorUnitsPer100ms)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.MOTION_CRUISE_VELOCITY, 0, sensorUnitsPer100ms,
+        super.configMotionCruiseVelocity(sensorUnitsPer100ms, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configNeutralDeadband(double percentDeadband, int timeoutMs) {
+    if (configShadow.skip(Parameter.NEUTRAL_DEADBAND, 0, percentDeadband)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.NEUTRAL_DEADBAND, 0, percentDeadband,
+        super.configNeutralDeadband(percentDeadband, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configNominalOutputForward(double percentOut, int timeoutMs) {
+    if (configShadow.skip(Parameter.NOMINAL_OUTPUT_FORWARD, 0, percentOut)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.NOMINAL_OUTPUT_FORWARD, 0, percentOut,
+        super.configNominalOutputForward(percentOut, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configNominalOutputReverse(double percentOut, int timeoutMs) {
+    if (configShadow.skip(Parameter.NOMINAL_OUTPUT_REVERSE, 0, percentOut)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.NOMINAL_OUTPUT_REVERSE, 0, percentOut,
+        super.configNominalOutputReverse(percentOut, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configOpenloopRamp(double secondsFromNeutralToFull, int timeoutMs) {
+    if (configShadow.skip(Parameter.OPEN_LOOP_RAMP, 0, secondsFromNeutralToFull)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.OPEN_LOOP_RAMP, 0, secondsFromNeutralToFull,
+        super.configOpenloopRamp(secondsFromNeutralToFull, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configPeakOutputForward(double percentOut, int timeoutMs) {
+    if (configShadow.skip(Parameter.PEAK_OUTPUT_FORWARD, 0, percentOut)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.PEAK_OUTPUT_FORWARD, 0, percentOut,
+        super.configPeakOutputForward(percentOut, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configPeakOutputReverse(double percentOut, int timeoutMs) {
+    if (configShadow.skip(Parameter.PEAK_OUTPUT_REVERSE, 0, percentOut)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.PEAK_OUTPUT_REVERSE, 0, percentOut,
+        super.configPeakOutputReverse(percentOut, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configReverseSoftLimitEnable(boolean enable, int timeoutMs) {
+    if (configShadow.skip(Parameter.REVERSE_SOFT_LIMIT_ENABLE, 0, enable)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.REVERSE_SOFT_LIMIT_ENABLE, 0, enable,
+        super.configReverseSoftLimitEnable(enable, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configReverseSoftLimitThreshold(int reverseSensorLimit, int timeoutMs) {
+    if (configShadow.skip(Parameter.REVERSE_SOFT_LIMIT_THRESHOLD, 0, reverseSensorLimit)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.REVERSE_SOFT_LIMIT_THRESHOLD, 0, reverseSensorLimit,
+        super.configReverseSoftLimitThreshold(reverseSensorLimit, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configSelectedFeedbackSensor(FeedbackDevice feedbackDevice, int pidIdx,
+      int timeoutMs) {
+    if (configShadow.skip(Parameter.SELECTED_FEEDBACK_SENSOR, pidIdx, feedbackDevice.value)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.SELECTED_FEEDBACK_SENSOR, pidIdx, feedbackDevice.value,
+        super.configSelectedFeedbackSensor(feedbackDevice, pidIdx, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configSelectedFeedbackSensor(RemoteFeedbackDevice feedbackDevice, int pidIdx,
+      int timeoutMs) {
+    if (configShadow.skip(Parameter.SELECTED_FEEDBACK_SENSOR, pidIdx, feedbackDevice.value)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.SELECTED_FEEDBACK_SENSOR, pidIdx, feedbackDevice.value,
+        super.configSelectedFeedbackSensor(feedbackDevice, pidIdx, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configVelocityMeasurementWindow(int windowSize, int timeoutMs) {
+    if (configShadow.skip(Parameter.VELOCITY_MEASUREMENT_WINDOW, 0, windowSize)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.VELOCITY_MEASUREMENT_WINDOW, 0, windowSize,
+        super.configVelocityMeasurementWindow(windowSize, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configVoltageCompSaturation(double voltage, int timeoutMs) {
+    if (configShadow.skip(Parameter.VOLTAGE_COMP_SATURATION, 0, voltage)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.VOLTAGE_COMP_SATURATION, 0, voltage,
+        super.configVoltageCompSaturation(voltage, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode configVoltageMeasurementFilter(int filterWindowSamples, int timeoutMs) {
+    if (configShadow.skip(Parameter.VOLTAGE_MEASUREMENT_FILTER, 0, filterWindowSamples)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.VOLTAGE_MEASUREMENT_FILTER, 0, filterWindowSamples,
+        super.configVoltageMeasurementFilter(filterWindowSamples, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode config_IntegralZone(int slotIdx, int izone, int timeoutMs) {
+    if (configShadow.skip(Parameter.INTEGRAL_ZONE, slotIdx, izone)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.INTEGRAL_ZONE, slotIdx, izone,
+        super.config_IntegralZone(slotIdx, izone, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode config_kD(int slotIdx, double value, int timeoutMs) {
+    if (configShadow.skip(Parameter.D, slotIdx, value)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.D, slotIdx, value,
+        super.config_kD(slotIdx, value, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode config_kF(int slotIdx, double value, int timeoutMs) {
+    if (configShadow.skip(Parameter.F, slotIdx, value)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.F, slotIdx, value,
+        super.config_kF(slotIdx, value, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode config_kI(int slotIdx, double value, int timeoutMs) {
+    if (configShadow.skip(Parameter.I, slotIdx, value)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.I, slotIdx, value,
+        super.config_kI(slotIdx, value, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode config_kP(int slotIdx, double value, int timeoutMs) {
+    if (configShadow.skip(Parameter.P, slotIdx, value)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.record(Parameter.P, slotIdx, value,
+        super.config_kP(slotIdx, value, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode setStatusFramePeriod(int frameValue, int periodMs, int timeoutMs) {
+    if (configShadow.skipStatusFrame(frameValue, periodMs)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.recordStatusFrame(frameValue, periodMs,
+        super.setStatusFramePeriod(frameValue, periodMs, timeoutMs));
+  }
+
+  @Override
+  public ErrorCode setStatusFramePeriod(StatusFrame frame, int periodMs, int timeoutMs) {
+    if (configShadow.skipStatusFrame(frame.value, periodMs)) {
+      return ErrorCode.OK;
+    }
+    return configShadow.recordStatusFrame(frame.value, periodMs,
+        super.setStatusFramePeriod(frame, periodMs, timeoutMs));
+  }
+
+  @Override
+  public void setInverted(boolean invert) {
+    if (!configShadow.skip(Parameter.INVERTED, 0, invert)) {
+      super.setInverted(invert);
+      configShadow.record(Parameter.INVERTED, 0, invert, ErrorCode.OK);
+    }
+  }
+
+  @Override
+  public void setInverted(InvertType invertType) {
+    // shadowed by InvertType value, where None and InvertMotorOutput line up with false and true
+    if (!configShadow.skip(Parameter.INVERTED, 0, invertType.value)) {
+      super.setInverted(invertType);
+      configShadow.record(Parameter.INVERTED, 0, invertType.value, ErrorCode.OK);
+    }
+  }
+
+  @Override
+  public void setSensorPhase(boolean phaseSensor) {
+    if (!configShadow.skip(Parameter.SENSOR_PHASE, 0, phaseSensor)) {
+      super.setSensorPhase(phaseSensor);
+      configShadow.record(Parameter.SENSOR_PHASE, 0, phaseSensor, ErrorCode.OK);
+    }
+  }
+
+  @Override
+  public void setNeutralMode(NeutralMode neutralMode) {
+    if (neutralMode == NeutralMode.EEPROMSetting) {
+      configShadow.clear(Parameter.BRAKE, 0);
+      super.setNeutralMode(neutralMode);
+    } else if (!configShadow.skip(Parameter.BRAKE, 0, neutralMode == NeutralMode.Brake)) {
+      super.setNeutralMode(neutralMode);
+      configShadow.record(Parameter.BRAKE, 0, neutralMode == NeutralMode.Brake, ErrorCode.OK);
+    }
+  }
+
+  @Override
+  public void enableVoltageCompensation(boolean enable) {
+    if (!configShadow.skip(Parameter.VOLTAGE_COMP_ENABLE, 0, enable)) {
+      super.enableVoltageCompensation(enable);
+      configShadow.record(Parameter.VOLTAGE_COMP_ENABLE, 0, enable, ErrorCode.OK);
+    }
+  }
+
+  @Override
+  public ErrorCode configFactoryDefault(int timeoutMs) {
+    configShadow.clear();
+    return super.configFactoryDefault(timeoutMs);
+  }
+
+  @Override
+  public ErrorCode configAllSettings(VictorSPXConfiguration allConfigs, int timeoutMs) {
+    configShadow.clear();
+    return super.configAllSettings(allConfigs, timeoutMs);
+  }
+
+  @Override
+  public ErrorCode configSetParameter(ParamEnum param, double value, int subValue, int ordinal,
+      int timeoutMs) {
+    // raw parameters bypass the shadow, so it can't be trusted afterwards
+    configShadow.clear();
+    return super.configSetParameter(param, value, subValue, ordinal, timeoutMs);
+  }
+
+  @Override
+  public ErrorCode configSetParameter(int param, double value, int subValue, int ordinal,
+      int timeoutMs) {
+    configShadow.clear();
+    return super.configSetParameter(param, value, subValue, ordinal, timeoutMs);
+  }
+
+  @Override
+  public int getSkippedConfigFrames() {
+    return configShadow.getSkippedFrames();
+  }
+
+  @Override
+  public void clearConfigCache() {
+    configShadow.clear();
+  }
+
+  @Override
+  public int getConfiguredStatusFramePeriod(int frame) {
+    return configShadow.getStatusFramePeriod(frame);
+  }
+
+  @Override
+  public SensorSnapshot getSensorSnapshot() {
+    return sensorSnapshot;
+  }
+
+  @Override
+  public DemandFilter getDemandFilter() {
+    return demandFilter;
+  }
+
+  @Override
+  public ErrorCode applyStatusFrameProfile(StatusFrameProfile profile) {
+    statusFrameProfile = Objects.requireNonNull(profile);
+    return (following ? StatusFrameProfile.FOLLOWER_MINIMAL : profile).applyTo(this);
+  }
+
+  @Override
+  public StatusFrameProfile getStatusFrameProfile() {
+    return statusFrameProfile;
   }
 }
@@ -0,0 +1,74 @@
+package org.team1540.rooster.wrappers;
+
+import com.ctre.phoenix.ErrorCode;
+import org.team1540.rooster.wrappers.ControllerConfiguration.Parameter;
+
+/**
+ * Write-through shadow of the settings that have been successfully sent to a motor controller.
+ * Used by {@link ChickenTalon} and {@link ChickenVictor} to skip configuration writes that would
+ * not change anything.
+ */
+class ConfigShadow extends ControllerConfiguration {
+
+  private int skippedFrames;
+
+  /**
+   * Checks whether a write can be skipped, counting it if so.
+   *
+   * @return {@code true} if the shadow already holds the provided value.
+   */
+  boolean skip(Parameter parameter, int slot, double value) {
+    if (matches(parameter, slot, value)) {
+      skippedFrames++;
+      return true;
+    }
+    return false;
+  }
+
+  boolean skip(Parameter parameter, int slot, boolean value) {
+    return skip(parameter, slot, value ? 1 : 0);
+  }
+
+  boolean skipStatusFrame(int frame, int periodMs) {
+    if (statusFrameMatches(frame, periodMs)) {
+      skippedFrames++;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Records the result of a write. The value is only remembered if the write succeeded; otherwise
+   * the slot is forgotten so the next write goes through.
+   *
+   * @return {@code code}, for convenience.
+   */
+  ErrorCode record(Parameter parameter, int slot, double value, ErrorCode code) {
+    if (slot < 0 || slot >= SLOTS) {
+      return code;
+    }
+    if (code == ErrorCode.OK) {
+      set(parameter, slot, value);
+    } else {
+      clear(parameter, slot);
+    }
+    return code;
+  }
+
+  ErrorCode record(Parameter parameter, int slot, boolean value, ErrorCode code) {
+    return record(parameter, slot, value ? 1 : 0, code);
+  }
+
+  ErrorCode recordStatusFrame(int frame, int periodMs, ErrorCode code) {
+    if (code == ErrorCode.OK) {
+      setStatusFramePeriod(frame, periodMs);
+    } else {
+      clearStatusFramePeriod(frame);
+    }
+    return code;
+  }
+
+  int getSkippedFrames() {
+    return skippedFrames;
+  }
+}
@@ -0,0 +1,572 @@
+package org.team1540.rooster.wrappers;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import java.util.Arrays;
+import java.util.Objects;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A set of motor controller settings that can be applied to a {@link ChickenController} in one
+ * call using {@link ChickenController#applyConfiguration(ControllerConfiguration)
+ * applyConfiguration()}.
+ *
+ * <p>Each setting is identified by a {@link Parameter} and a slot index (the parameter slot for
+ * per-slot gains, the PID index for the selected feedback sensor, and 0 for everything else).
+ * Status frame periods are stored separately and keyed by their raw frame value. Settings that
+ * have not been set are left untouched when the configuration is applied.
+ *
+ * <p>{@link ChickenTalon} and {@link ChickenVictor} also keep an internal {@code
+ * ControllerConfiguration} as a write-through shadow of what has been successfully sent to the
+ * controller, which lets them skip writes that would not change anything. Storage is
+ * preallocated, so setting and comparing values does not allocate.
+ */
+public class ControllerConfiguration {
+
+  /**
+   * The number of slots tracked for each {@link Parameter}. CTRE controllers have four parameter
+   * slots; slot indices outside of {@code [0, SLOTS)} are not stored.
+   */
+  public static final int SLOTS = 4;
+
+  private static final int MAX_STATUS_FRAMES = 32;
+  private static final Parameter[] PARAMETERS = Parameter.values();
+
+  private final double[] values = new double[PARAMETERS.length * SLOTS];
+  private final boolean[] present = new boolean[PARAMETERS.length * SLOTS];
+
+  private final int[] frames = new int[MAX_STATUS_FRAMES];
+  private final int[] framePeriods = new int[MAX_STATUS_FRAMES];
+  private int frameCount;
+
+  /**
+   * Creates a new, empty {@code ControllerConfiguration}.
+   */
+  public ControllerConfiguration() {
+  }
+
+  /**
+   * Creates a copy of the provided {@code ControllerConfiguration}.
+   *
+   * @param other The configuration to copy.
+   */
+  public ControllerConfiguration(@NotNull ControllerConfiguration other) {
+    Objects.requireNonNull(other);
+    System.arraycopy(other.values, 0, values, 0, values.length);
+    System.arraycopy(other.present, 0, present, 0, present.length);
+    System.arraycopy(other.frames, 0, frames, 0, other.frameCount);
+    System.arraycopy(other.framePeriods, 0, framePeriods, 0, other.frameCount);
+    frameCount = other.frameCount;
+  }
+
+  /**
+   * Sets a parameter in slot 0.
+   *
+   * @param parameter The parameter to set.
+   * @param value The value of the parameter. Boolean parameters use 1 for {@code true} and 0 for
+   * {@code false}.
+   * @return This {@code ControllerConfiguration}, for chaining.
+   */
+  @NotNull
+  public ControllerConfiguration set(@NotNull Parameter parameter, double value) {
+    return set(parameter, 0, value);
+  }
+
+  /**
+   * Sets a boolean parameter in slot 0.
+   *
+   * @param parameter The parameter to set.
+   * @param value The value of the parameter.
+   * @return This {@code ControllerConfiguration}, for chaining.
+   */
+  @NotNull
+  public ControllerConfiguration set(@NotNull Parameter parameter, boolean value) {
+    return set(parameter, 0, value ? 1 : 0);
+  }
+
+  /**
+   * Sets a parameter in the provided slot.
+   *
+   * @param parameter The parameter to set.
+   * @param slot The slot (or PID index) of the parameter.
+   * @param value The value of the parameter. Boolean parameters use 1 for {@code true} and 0 for
+   * {@code false}.
+   * @return This {@code ControllerConfiguration}, for chaining.
+   * @throws IndexOutOfBoundsException If {@code slot} is not between 0 (inclusive) and {@link
+   * #SLOTS} (exclusive).
+   */
+  @NotNull
+  public ControllerConfiguration set(@NotNull Parameter parameter, int slot, double value) {
+    int index = Objects.checkIndex(slot, SLOTS) + parameter.ordinal() * SLOTS;
+    values[index] = value;
+    present[index] = true;
+    return this;
+  }
+
+  /**
+   * Sets the period of a status frame.
+   *
+   * @param frame The raw value of the status frame (e.g. {@code
+   * StatusFrame.Status_1_General.value}).
+   * @param periodMs The period of the frame in milliseconds.
+   * @return This {@code ControllerConfiguration}, for chaining.
+   * @throws IllegalStateException If too many distinct status frames have been set.
+   */
+  @NotNull
+  public ControllerConfiguration setStatusFramePeriod(int frame, int periodMs) {
+    int index = indexOfFrame(frame);
+    if (index == -1) {
+      if (frameCount == MAX_STATUS_FRAMES) {
+        throw new IllegalStateException("Too many status frames in configuration");
+      }
+      index = frameCount++;
+      frames[index] = frame;
+    }
+    framePeriods[index] = periodMs;
+    return this;
+  }
+
+  /**
+   * Returns whether a parameter has been set in the provided slot.
+   *
+   * @param parameter The parameter to check.
+   * @param slot The slot (or PID index) of the parameter.
+   * @return {@code true} if the parameter has been set, {@code false} otherwise (including if
+   * {@code slot} is out of range).
+   */
+  @Contract(pure = true)
+  public boolean isSet(@NotNull Parameter parameter, int slot) {
+    return slot >= 0 && slot < SLOTS && present[parameter.ordinal() * SLOTS + slot];
+  }
+
+  /**
+   * Gets the value of a parameter in the provided slot.
+   *
+   * @param parameter The parameter to get.
+   * @param slot The slot (or PID index) of the parameter.
+   * @return The value of the parameter, or {@link Double#NaN} if it has not been set.
+   */
+  @Contract(pure = true)
+  public double get(@NotNull Parameter parameter, int slot) {
+    return isSet(parameter, slot) ? values[parameter.ordinal() * SLOTS + slot] : Double.NaN;
+  }
+
+  /**
+   * Gets the period of a status frame.
+   *
+   * @param frame The raw value of the status frame.
+   * @return The period of the frame in milliseconds, or -1 if it has not been set.
+   */
+  @Contract(pure = true)
+  public int getStatusFramePeriod(int frame) {
+    int index = indexOfFrame(frame);
+    return index != -1 ? framePeriods[index] : -1;
+  }
+
+  /**
+   * Removes a parameter from this configuration.
+   *
+   * @param parameter The parameter to remove.
+   * @param slot The slot (or PID index) of the parameter.
+   */
+  public void clear(@NotNull Parameter parameter, int slot) {
+    if (slot >= 0 && slot < SLOTS) {
+      present[parameter.ordinal() * SLOTS + slot] = false;
+    }
+  }
+
+  /**
+   * Removes a status frame period from this configuration.
+   *
+   * @param frame The raw value of the status frame.
+   */
+  public void clearStatusFramePeriod(int frame) {
+    int index = indexOfFrame(frame);
+    if (index != -1) {
+      frameCount--;
+      frames[index] = frames[frameCount];
+      framePeriods[index] = framePeriods[frameCount];
+    }
+  }
+
+  /**
+   * Removes all parameters and status frame periods from this configuration.
+   */
+  public void clear() {
+    Arrays.fill(present, false);
+    frameCount = 0;
+  }
+
+  @Contract(pure = true)
+  boolean matches(@NotNull Parameter parameter, int slot, double value) {
+    return isSet(parameter, slot)
+        && Double.compare(values[parameter.ordinal() * SLOTS + slot], value) == 0;
+  }
+
+  @Contract(pure = true)
+  boolean statusFrameMatches(int frame, int periodMs) {
+    int index = indexOfFrame(frame);
+    return index != -1 && framePeriods[index] == periodMs;
+  }
+
+  /**
+   * Sends every setting in this configuration to the provided controller through its normal
+   * configuration methods.
+   *
+   * @param controller The controller to configure.
+   * @return The last non-OK error code generated, or {@link ErrorCode#OK} if none.
+   */
+  @NotNull
+  ErrorCode applyTo(@NotNull ChickenController controller) {
+    ErrorCode result = ErrorCode.OK;
+    for (int i = 0; i < present.length; i++) {
+      if (present[i]) {
+        ErrorCode code = PARAMETERS[i / SLOTS].apply(controller, i % SLOTS, values[i]);
+        if (code != ErrorCode.OK) {
+          result = code;
+        }
+      }
+    }
+    for (int i = 0; i < frameCount; i++) {
+      ErrorCode code = controller.setStatusFramePeriod(frames[i], framePeriods[i]);
+      if (code != ErrorCode.OK) {
+        result = code;
+      }
+    }
+    return result;
+  }
+
+  private int indexOfFrame(int frame) {
+    for (int i = 0; i < frameCount; i++) {
+      if (frames[i] == frame) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Settings that can be stored in a {@link ControllerConfiguration}. Unless otherwise noted,
+   * parameters only use slot 0.
+   */
+  public enum Parameter {
+    /**
+     * Allowable closed-loop error, per parameter slot. See {@link
+     * ChickenController#configAllowableClosedloopError(int, int)}.
+     */
+    ALLOWABLE_CLOSED_LOOP_ERROR {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configAllowableClosedloopError(slot, (int) value);
+      }
+    },
+    /**
+     * Closed-loop ramp in seconds. See {@link ChickenController#configClosedloopRamp(double)}.
+     */
+    CLOSED_LOOP_RAMP {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configClosedloopRamp(value);
+      }
+    },
+    /**
+     * Open-loop ramp in seconds. See {@link ChickenController#configOpenloopRamp(double)}.
+     */
+    OPEN_LOOP_RAMP {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configOpenloopRamp(value);
+      }
+    },
+    /**
+     * Forward soft limit enable (boolean).
+     */
+    FORWARD_SOFT_LIMIT_ENABLE {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configForwardSoftLimitEnable(value != 0);
+      }
+    },
+    /**
+     * Forward soft limit threshold in raw sensor units.
+     */
+    FORWARD_SOFT_LIMIT_THRESHOLD {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configForwardSoftLimitThreshold((int) value);
+      }
+    },
+    /**
+     * Reverse soft limit enable (boolean).
+     */
+    REVERSE_SOFT_LIMIT_ENABLE {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configReverseSoftLimitEnable(value != 0);
+      }
+    },
+    /**
+     * Reverse soft limit threshold in raw sensor units.
+     */
+    REVERSE_SOFT_LIMIT_THRESHOLD {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configReverseSoftLimitThreshold((int) value);
+      }
+    },
+    /**
+     * Maximum integral accumulator, per parameter slot.
+     */
+    MAX_INTEGRAL_ACCUMULATOR {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configMaxIntegralAccumulator(slot, value);
+      }
+    },
+    /**
+     * Motion Magic acceleration in sensor units per 100ms per second.
+     */
+    MOTION_ACCELERATION {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configMotionAcceleration((int) value);
+      }
+    },
+    /**
+     * Motion Magic cruise velocity in sensor units per 100ms.
+     */
+    MOTION_CRUISE_VELOCITY {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configMotionCruiseVelocity((int) value);
+      }
+    },
+    /**
+     * Neutral deadband as a fraction of full output.
+     */
+    NEUTRAL_DEADBAND {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configNeutralDeadband(value);
+      }
+    },
+    /**
+     * Nominal forward output as a fraction of full output.
+     */
+    NOMINAL_OUTPUT_FORWARD {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configNominalOutputForward(value);
+      }
+    },
+    /**
+     * Nominal reverse output as a fraction of full output.
+     */
+    NOMINAL_OUTPUT_REVERSE {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configNominalOutputReverse(value);
+      }
+    },
+    /**
+     * Peak forward output as a fraction of full output.
+     */
+    PEAK_OUTPUT_FORWARD {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configPeakOutputForward(value);
+      }
+    },
+    /**
+     * Peak reverse output as a fraction of full output.
+     */
+    PEAK_OUTPUT_REVERSE {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configPeakOutputReverse(value);
+      }
+    },
+    /**
+     * Velocity measurement period in milliseconds.
+     */
+    VELOCITY_MEASUREMENT_PERIOD {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configVelocityMeasurementPeriod((int) value);
+      }
+    },
+    /**
+     * Velocity measurement rolling average window in samples.
+     */
+    VELOCITY_MEASUREMENT_WINDOW {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configVelocityMeasurementWindow((int) value);
+      }
+    },
+    /**
+     * Voltage compensation saturation voltage.
+     */
+    VOLTAGE_COMP_SATURATION {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configVoltageCompSaturation(value);
+      }
+    },
+    /**
+     * Voltage compensation enable (boolean).
+     */
+    VOLTAGE_COMP_ENABLE {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        c.enableVoltageCompensation(value != 0);
+        return ErrorCode.OK;
+      }
+    },
+    /**
+     * Voltage measurement filter window in samples.
+     */
+    VOLTAGE_MEASUREMENT_FILTER {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.configVoltageMeasurementFilter((int) value);
+      }
+    },
+    /**
+     * Integral zone, per parameter slot.
+     */
+    INTEGRAL_ZONE {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.config_IntegralZone(slot, (int) value);
+      }
+    },
+    /**
+     * Proportional gain, per parameter slot.
+     */
+    P {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.config_kP(slot, value);
+      }
+    },
+    /**
+     * Integral gain, per parameter slot.
+     */
+    I {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.config_kI(slot, value);
+      }
+    },
+    /**
+     * Derivative gain, per parameter slot.
+     */
+    D {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.config_kD(slot, value);
+      }
+    },
+    /**
+     * Feed-forward gain, per parameter slot.
+     */
+    F {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c.config_kF(slot, value);
+      }
+    },
+    /**
+     * Selected feedback sensor, per PID index. The value is the raw value of the {@link
+     * FeedbackDevice} (or {@link com.ctre.phoenix.motorcontrol.RemoteFeedbackDevice}).
+     */
+    SELECTED_FEEDBACK_SENSOR {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        for (FeedbackDevice device : FeedbackDevice.values()) {
+          if (device.value == (int) value) {
+            return c.configSelectedFeedbackSensor(device, slot);
+          }
+        }
+        return ErrorCode.InvalidParamValue;
+      }
+    },
+    /**
+     * Output inversion (boolean).
+     */
+    INVERTED {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        c.setInverted(value != 0);
+        return ErrorCode.OK;
+      }
+    },
+    /**
+     * Sensor phase (boolean).
+     */
+    SENSOR_PHASE {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        c.setSensorPhase(value != 0);
+        return ErrorCode.OK;
+      }
+    },
+    /**
+     * Brake mode (boolean); see {@link ChickenController#setBrake(boolean)}.
+     */
+    BRAKE {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        c.setBrake(value != 0);
+        return ErrorCode.OK;
+      }
+    },
+    /**
+     * Continuous current limit in amps. Ignored by controllers other than {@link ChickenTalon}.
+     */
+    CONTINUOUS_CURRENT_LIMIT {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c instanceof ChickenTalon
+            ? ((ChickenTalon) c).configContinuousCurrentLimit((int) value) : ErrorCode.OK;
+      }
+    },
+    /**
+     * Peak current limit in amps. Ignored by controllers other than {@link ChickenTalon}.
+     */
+    PEAK_CURRENT_LIMIT {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c instanceof ChickenTalon
+            ? ((ChickenTalon) c).configPeakCurrentLimit((int) value) : ErrorCode.OK;
+      }
+    },
+    /**
+     * Peak current duration in milliseconds. Ignored by controllers other than {@link
+     * ChickenTalon}.
+     */
+    PEAK_CURRENT_DURATION {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        return c instanceof ChickenTalon
+            ? ((ChickenTalon) c).configPeakCurrentDuration((int) value) : ErrorCode.OK;
+      }
+    },
+    /**
+     * Current limit enable (boolean). Ignored by controllers other than {@link ChickenTalon}.
+     */
+    CURRENT_LIMIT_ENABLE {
+      @Override
+      ErrorCode apply(ChickenController c, int slot, double value) {
+        if (c instanceof ChickenTalon) {
+          ((ChickenTalon) c).enableCurrentLimit(value != 0);
+        }
+        return ErrorCode.OK;
+      }
+    };
+
+    abstract ErrorCode apply(ChickenController c, int slot, double value);
+  }
+}
@@ -0,0 +1,203 @@
+package org.team1540.rooster.wrappers;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Change detector for motor controller demands. Robot code usually calls {@code set()} every loop
+ * even when the setpoint hasn't changed; a {@code DemandFilter} remembers the last demand that was
+ * actually sent and lets callers skip sends that would not change anything.
+ *
+ * <p>Skipping a send saves the JNI call into Phoenix and the work it does there; it does not
+ * reduce CAN traffic. Phoenix transmits the control frame periodically whether or not {@code
+ * set()} is called, carrying whatever demand was last set.
+ *
+ * <p>A demand is sent if the control mode or demand type changed, if either demand value moved by
+ * more than the {@linkplain #setEpsilon(double) epsilon}, or if the last send is older than the
+ * {@linkplain #setRefreshPeriod(double) refresh period}. The periodic refresh makes sure a
+ * controller that lost its setpoint (e.g. because it browned out and rebooted) gets it back.
+ *
+ * <p>{@link ChickenTalon} and {@link ChickenVictor} run every {@code set()} call through their own
+ * {@code DemandFilter}, available through {@link ChickenController#getDemandFilter()}.
+ */
+public class DemandFilter {
+
+  @NotNull
+  private final LongSupplier clock;
+
+  private double epsilon = 1e-4;
+  private long refreshPeriodUs = 100_000;
+
+  private boolean hasSent;
+  private ControlMode lastMode;
+  private DemandType lastDemandType;
+  private double lastDemand0;
+  private double lastDemand1;
+  private long lastSentUs;
+
+  private long sentCount;
+  private long skippedCount;
+
+  /**
+   * Creates a new {@code DemandFilter} using {@link System#nanoTime()} as its clock. This doesn't
+   * go through the HAL, so it also works off-robot.
+   */
+  public DemandFilter() {
+    this(() -> System.nanoTime() / 1000);
+  }
+
+  /**
+   * Creates a new {@code DemandFilter}.
+   *
+   * @param clock A clock returning the current time in microseconds.
+   */
+  public DemandFilter(@NotNull LongSupplier clock) {
+    this.clock = Objects.requireNonNull(clock);
+  }
+
+  /**
+   * Decides whether a demand needs to be sent to the controller. If this method returns {@code
+   * true}, the demand is remembered as the last sent demand and the caller must send it.
+   *
+   * @param mode The control mode.
+   * @param demand0 The primary demand.
+   * @param demand1Type The type of the auxiliary demand.
+   * @param demand1 The auxiliary demand.
+   * @return {@code true} if the demand should be sent, {@code false} if it can be skipped.
+   */
+  public boolean shouldSend(@NotNull ControlMode mode, double demand0,
+      @NotNull DemandType demand1Type, double demand1) {
+    long now = clock.getAsLong();
+    if (hasSent
+        && mode == lastMode
+        && demand1Type == lastDemandType
+        && Math.abs(demand0 - lastDemand0) <= epsilon
+        && Math.abs(demand1 - lastDemand1) <= epsilon
+        && now - lastSentUs < refreshPeriodUs) {
+      skippedCount++;
+      return false;
+    }
+
+    hasSent = true;
+    lastMode = mode;
+    lastDemandType = demand1Type;
+    lastDemand0 = demand0;
+    lastDemand1 = demand1;
+    lastSentUs = now;
+    sentCount++;
+    return true;
+  }
+
+  /**
+   * Decides whether a demand with no auxiliary demand needs to be sent to the controller. This is
+   * equivalent to calling {@link #shouldSend(ControlMode, double, DemandType, double)} with a
+   * demand type of {@link DemandType#Neutral} and an auxiliary demand of 0.
+   *
+   * @param mode The control mode.
+   * @param demand The demand.
+   * @return {@code true} if the demand should be sent, {@code false} if it can be skipped.
+   */
+  public boolean shouldSend(@NotNull ControlMode mode, double demand) {
+    return shouldSend(mode, demand, DemandType.Neutral, 0);
+  }
+
+  /**
+   * Forgets the last sent demand so that the next demand is always sent.
+   */
+  public void reset() {
+    hasSent = false;
+  }
+
+  /**
+   * Gets the largest change in a demand value that is still considered "no change".
+   *
+   * @return The epsilon, in the units of the demand.
+   */
+  @Contract(pure = true)
+  public double getEpsilon() {
+    return epsilon;
+  }
+
+  /**
+   * Sets the largest change in a demand value that is still considered "no change". Defaults to
+   * 1e-4, which is below the output resolution of a Talon SRX in percent output mode. Set to 0 to
+   * only skip exactly repeated demands.
+   *
+   * @param epsilon The epsilon, in the units of the demand.
+   * @throws IllegalArgumentException If {@code epsilon} is negative or NaN.
+   */
+  public void setEpsilon(double epsilon) {
+    if (!(epsilon >= 0)) {
+      throw new IllegalArgumentException("Epsilon must be non-negative, was " + epsilon);
+    }
+    this.epsilon = epsilon;
+  }
+
+  /**
+   * Gets the time after which an unchanged demand is sent again anyway.
+   *
+   * @return The refresh period, in seconds.
+   */
+  @Contract(pure = true)
+  public double getRefreshPeriod() {
+    return refreshPeriodUs / 1e6;
+  }
+
+  /**
+   * Sets the time after which an unchanged demand is sent again anyway. Defaults to 100 ms. Set to
+   * 0 to disable filtering entirely.
+   *
+   * @param refreshPeriod The refresh period, in seconds.
+   */
+  public void setRefreshPeriod(double refreshPeriod) {
+    refreshPeriodUs = (long) (refreshPeriod * 1e6);
+  }
+
+  /**
+   * Gets the number of demands that were sent.
+   *
+   * @return The number of sent demands since creation or the last call to {@link
+   * #resetCounts()}.
+   */
+  @Contract(pure = true)
+  public long getSentCount() {
+    return sentCount;
+  }
+
+  /**
+   * Gets the number of demands that were skipped because they would not have changed anything.
+   * Each skipped demand is one JNI call into Phoenix that didn't happen; the control frame itself
+   * is sent periodically either way.
+   *
+   * @return The number of skipped demands since creation or the last call to {@link
+   * #resetCounts()}.
+   */
+  @Contract(pure = true)
+  public long getSkippedCount() {
+    return skippedCount;
+  }
+
+  /**
+   * Gets the fraction of demands that were skipped.
+   *
+   * @return The number of skipped demands divided by the total number of demands, or 0 if there
+   * have been no demands.
+   */
+  @Contract(pure = true)
+  public double getSkippedFraction() {
+    long total = sentCount + skippedCount;
+    return total == 0 ? 0 : (double) skippedCount / total;
+  }
+
+  /**
+   * Resets the sent and skipped counts to zero.
+   */
+  public void resetCounts() {
+    sentCount = 0;
+    skippedCount = 0;
+  }
+}
@@ -20,7 +20,20 @@ public class Limelight {
      * @param name hostname of the limelight
      */
     public Limelight(String name) {
-        limelightTable = NetworkTableInstance.getDefault().getTable(name);
+        this(name, NetworkTableInstance.getDefault());
+    }
+
+    /**
+     * Constructs a new limelight interface on a specific NetworkTables instance. Passing an
+     * instance from {@link NetworkTableInstance#create()} that is never started as a client or
+     * server gives an in-process table that tests can write {@code tx}/{@code ty}/{@code tv} to
+     * directly.
+     *
+     * @param name hostname of the limelight
+     * @param instance the NetworkTables instance to use
+     */
+    public Limelight(String name, NetworkTableInstance instance) {
+        limelightTable = instance.getTable(name);
     }
 
     public NetworkTable getNetworkTable() {
@@ -65,7 +78,7 @@ public class Limelight {
     public void setLeds(boolean isOn) {
         if (getLeds() != isOn) {
             limelightTable.getEntry("ledMode").setNumber(isOn ? 0 : 1);
-            NetworkTableInstance.getDefault().flush();
+            limelightTable.getInstance().flush();
         }
     }
 
@@ -80,13 +93,13 @@ public class Limelight {
      */
     public void setDriverCam(boolean driverCam) {
         limelightTable.getEntry("camMode").setNumber(driverCam ? 1 : 0);
-        NetworkTableInstance.getDefault().flush();
+        limelightTable.getInstance().flush();
     }
 
     public void setPipeline(double id) {
         if (getPipeline() != id) {
             limelightTable.getEntry("pipeline").setNumber(id);
-            NetworkTableInstance.getDefault().flush();
+            limelightTable.getInstance().flush();
         }
     }
 
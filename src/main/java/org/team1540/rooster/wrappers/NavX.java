@@ -11,6 +11,14 @@ public class NavX {
         navx = new AHRS(port);
     }
 
+    /**
+     * Constructor for subclasses that don't talk to a physical NavX, such as {@link SimNavX}.
+     * Subclasses using this constructor must override every method.
+     */
+    protected NavX() {
+        navx = null;
+    }
+
     /**
      * @return NavX yaw counter-clockwise in radians, from -pi to pi. This method does NOT continue
      * past pi or -pi and is thus the one you probably want to use most of the time.
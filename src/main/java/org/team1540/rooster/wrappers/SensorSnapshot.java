@@ -0,0 +1,362 @@
+package org.team1540.rooster.wrappers;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+import edu.wpi.first.wpilibj.RobotController;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Cached copy of the commonly used signals of a {@link ChickenController}.
+ *
+ * <p>Every getter on a CTRE controller is a JNI call. When several commands or pipeline stages read
+ * the same signal in one loop, a {@code SensorSnapshot} reads each group of signals from the
+ * controller at most once per refresh window (see {@link #setMaxAge(double) setMaxAge()}) and
+ * serves all other reads from memory. Signals are grouped by the {@link Frame status frame} that
+ * carries them, and only the group that is actually read gets refreshed.
+ *
+ * <p>Each group is stamped with the FPGA time at which it was last read successfully. A group is
+ * {@linkplain #isStale(Frame) stale} if the controller reported that the frame has not been
+ * received, or if the stamp is older than the frame's period (as set through the controller's
+ * {@code setStatusFramePeriod()} methods, or the CTRE default if it hasn't been set).
+ *
+ * <p>Each read and the check of {@link ChickenController#getLastError()} that follows it are done
+ * while holding the controller's monitor. Code on other threads that calls the same controller
+ * (such as {@link org.team1540.rooster.util.FaultMonitor FaultMonitor}) must also synchronize on
+ * the controller, or the last error seen here may belong to its call instead.
+ *
+ * <p>Snapshots are obtained through {@link ChickenController#getSensorSnapshot()}. Refreshing does
+ * not allocate.
+ */
+public class SensorSnapshot {
+
+  private static final Frame[] FRAMES = Frame.values();
+
+  @NotNull
+  private final ChickenController controller;
+  @NotNull
+  private final LongSupplier clock;
+
+  private long maxAgeUs = 5000;
+
+  private final long[] readTimeUs = new long[FRAMES.length];
+  private final long[] goodTimeUs = new long[FRAMES.length];
+  private final boolean[] lastReadOk = new boolean[FRAMES.length];
+  private final boolean[] everRead = new boolean[FRAMES.length];
+
+  private double motorOutputPercent;
+  private int selectedSensorPosition;
+  private int selectedSensorVelocity;
+  private double outputCurrent;
+  private double busVoltage;
+  private double temperature;
+  private int closedLoopError;
+  private double integralAccumulator;
+  private double errorDerivative;
+
+  /**
+   * Creates a new {@code SensorSnapshot} using the FPGA clock.
+   *
+   * @param controller The controller to read from.
+   */
+  SensorSnapshot(@NotNull ChickenController controller) {
+    this(controller, RobotController::getFPGATime);
+  }
+
+  /**
+   * Creates a new {@code SensorSnapshot}.
+   *
+   * @param controller The controller to read from.
+   * @param clock A clock returning the current time in microseconds.
+   */
+  SensorSnapshot(@NotNull ChickenController controller, @NotNull LongSupplier clock) {
+    this.controller = Objects.requireNonNull(controller);
+    this.clock = Objects.requireNonNull(clock);
+  }
+
+  /**
+   * Re-reads every signal group from the controller, regardless of how recently it was read.
+   */
+  public void update() {
+    long now = clock.getAsLong();
+    for (Frame frame : FRAMES) {
+      read(frame, now);
+    }
+  }
+
+  /**
+   * Marks every signal group as out of date so that the next read of each goes to the controller.
+   * Call this at the start of each loop to get exactly one read per group per loop.
+   */
+  public void invalidate() {
+    for (int i = 0; i < FRAMES.length; i++) {
+      everRead[i] = false;
+    }
+  }
+
+  /**
+   * Gets the window during which repeated reads are served from memory.
+   *
+   * @return The maximum age of a cached signal group, in seconds.
+   */
+  @Contract(pure = true)
+  public double getMaxAge() {
+    return maxAgeUs / 1e6;
+  }
+
+  /**
+   * Sets the window during which repeated reads are served from memory. This should be shorter
+   * than the robot loop period so that each loop gets fresh values. Defaults to 5 ms.
+   *
+   * @param maxAge The maximum age of a cached signal group, in seconds.
+   */
+  public void setMaxAge(double maxAge) {
+    maxAgeUs = (long) (maxAge * 1e6);
+  }
+
+  /**
+   * Returns whether the values in a signal group are stale. A group is stale if the controller
+   * reported an error (e.g. the frame was not received) when it was last read, or if the last
+   * successful read is older than the frame's configured period.
+   *
+   * @param frame The signal group to check.
+   * @return {@code true} if the group's values should not be trusted, {@code false} otherwise.
+   */
+  public boolean isStale(@NotNull Frame frame) {
+    int i = frame.ordinal();
+    int periodMs = controller.getConfiguredStatusFramePeriod(frame.value);
+    long periodUs = (periodMs > 0 ? periodMs : frame.defaultPeriodMs) * 1000L;
+    return !lastReadOk[i] || clock.getAsLong() - goodTimeUs[i] > periodUs;
+  }
+
+  /**
+   * Returns whether any signal group is {@linkplain #isStale(Frame) stale}.
+   *
+   * @return {@code true} if any group is stale, {@code false} otherwise.
+   */
+  public boolean isAnyStale() {
+    for (Frame frame : FRAMES) {
+      if (isStale(frame)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the FPGA time at which a signal group was last read successfully.
+   *
+   * @param frame The signal group.
+   * @return The timestamp in microseconds, or 0 if the group has never been read successfully.
+   */
+  @Contract(pure = true)
+  public long getTimestamp(@NotNull Frame frame) {
+    return goodTimeUs[frame.ordinal()];
+  }
+
+  /**
+   * Gets the motor output.
+   *
+   * @return The motor output as a fraction of full output, from -1 to 1.
+   */
+  public double getMotorOutputPercent() {
+    refresh(Frame.GENERAL);
+    return motorOutputPercent;
+  }
+
+  /**
+   * Gets the motor output voltage. This is computed from the cached output percentage and bus
+   * voltage, the same way the controller computes it.
+   *
+   * @return The motor output in volts.
+   */
+  public double getMotorOutputVoltage() {
+    return getMotorOutputPercent() * getBusVoltage();
+  }
+
+  /**
+   * Gets the selected sensor position for the controller's default PID index.
+   *
+   * @return The position in raw sensor units.
+   */
+  public int getSelectedSensorPosition() {
+    refresh(Frame.FEEDBACK);
+    return selectedSensorPosition;
+  }
+
+  /**
+   * Gets the selected sensor velocity for the controller's default PID index.
+   *
+   * @return The velocity in raw sensor units per 100ms.
+   */
+  public int getSelectedSensorVelocity() {
+    refresh(Frame.FEEDBACK);
+    return selectedSensorVelocity;
+  }
+
+  /**
+   * Gets the output current. Only {@link ChickenTalon Talon SRXs} measure current; other
+   * controllers always report 0.
+   *
+   * @return The output current in amps.
+   */
+  public double getOutputCurrent() {
+    refresh(Frame.FEEDBACK);
+    return outputCurrent;
+  }
+
+  /**
+   * Gets the controller's supply voltage.
+   *
+   * @return The bus voltage in volts.
+   */
+  public double getBusVoltage() {
+    refresh(Frame.BATTERY_TEMP);
+    return busVoltage;
+  }
+
+  /**
+   * Gets the controller's temperature.
+   *
+   * @return The temperature in degrees Celsius.
+   */
+  public double getTemperature() {
+    refresh(Frame.BATTERY_TEMP);
+    return temperature;
+  }
+
+  /**
+   * Gets the closed-loop error for the controller's default PID index.
+   *
+   * @return The closed-loop error in raw sensor units.
+   */
+  public int getClosedLoopError() {
+    refresh(Frame.PIDF0);
+    return closedLoopError;
+  }
+
+  /**
+   * Gets the integral accumulator for the controller's default PID index.
+   *
+   * @return The integral accumulator.
+   */
+  public double getIntegralAccumulator() {
+    refresh(Frame.PIDF0);
+    return integralAccumulator;
+  }
+
+  /**
+   * Gets the derivative of the closed-loop error for the controller's default PID index.
+   *
+   * @return The error derivative.
+   */
+  public double getErrorDerivative() {
+    refresh(Frame.PIDF0);
+    return errorDerivative;
+  }
+
+  private void refresh(Frame frame) {
+    long now = clock.getAsLong();
+    int i = frame.ordinal();
+    if (!everRead[i] || now - readTimeUs[i] >= maxAgeUs) {
+      read(frame, now);
+    }
+  }
+
+  private void read(Frame frame, long now) {
+    // each getter overwrites the controller's last error, so it has to be checked after every
+    // call, with the controller locked so that another thread's call can't land in between
+    boolean ok;
+    synchronized (controller) {
+      ok = readLocked(frame);
+    }
+
+    int i = frame.ordinal();
+    everRead[i] = true;
+    readTimeUs[i] = now;
+    lastReadOk[i] = ok;
+    if (ok) {
+      goodTimeUs[i] = now;
+    }
+  }
+
+  private boolean readLocked(Frame frame) {
+    boolean ok;
+    switch (frame) {
+      case GENERAL:
+        motorOutputPercent = controller.getMotorOutputPercent();
+        ok = lastCallOk();
+        break;
+      case FEEDBACK:
+        selectedSensorPosition = controller.getSelectedSensorPosition();
+        ok = lastCallOk();
+        selectedSensorVelocity = controller.getSelectedSensorVelocity();
+        ok &= lastCallOk();
+        if (controller instanceof ChickenTalon) {
+          outputCurrent = ((ChickenTalon) controller).getOutputCurrent();
+          ok &= lastCallOk();
+        }
+        break;
+      case BATTERY_TEMP:
+        busVoltage = controller.getBusVoltage();
+        ok = lastCallOk();
+        temperature = controller.getTemperature();
+        ok &= lastCallOk();
+        break;
+      case PIDF0:
+        closedLoopError = controller.getClosedLoopError();
+        ok = lastCallOk();
+        integralAccumulator = controller.getIntegralAccumulator();
+        ok &= lastCallOk();
+        errorDerivative = controller.getErrorDerivative();
+        ok &= lastCallOk();
+        break;
+      default:
+        throw new AssertionError(frame);
+    }
+    return ok;
+  }
+
+  private boolean lastCallOk() {
+    return controller.getLastError() == ErrorCode.OK;
+  }
+
+  /**
+   * Groups of signals in a {@link SensorSnapshot}, named after the CTRE status frame that carries
+   * them.
+   */
+  public enum Frame {
+    /**
+     * Status 1 (general): motor output.
+     */
+    GENERAL(StatusFrame.Status_1_General.value, 10),
+    /**
+     * Status 2 (feedback 0): selected sensor position and velocity, and output current.
+     */
+    FEEDBACK(StatusFrame.Status_2_Feedback0.value, 20),
+    /**
+     * Status 4 (analog in/temperature/battery): bus voltage and temperature.
+     */
+    BATTERY_TEMP(StatusFrame.Status_4_AinTempVbat.value, 160),
+    /**
+     * Status 13 (base PIDF 0): closed-loop error, integral accumulator, and error derivative.
+     */
+    PIDF0(StatusFrame.Status_13_Base_PIDF0.value, 160);
+
+    /**
+     * The raw value of the status frame.
+     */
+    public final int value;
+    /**
+     * The CTRE default period of the status frame, in milliseconds.
+     */
+    public final int defaultPeriodMs;
+
+    Frame(int value, int defaultPeriodMs) {
+      this.value = value;
+      this.defaultPeriodMs = defaultPeriodMs;
+    }
+  }
+}
@@ -0,0 +1,1390 @@
+package org.team1540.rooster.wrappers;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.ParamEnum;
+import com.ctre.phoenix.motion.BufferedTrajectoryPointStream;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlFrame;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+import com.ctre.phoenix.motorcontrol.Faults;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.IMotorController;
+import com.ctre.phoenix.motorcontrol.InvertType;
+import com.ctre.phoenix.motorcontrol.LimitSwitchNormal;
+import com.ctre.phoenix.motorcontrol.LimitSwitchSource;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.RemoteFeedbackDevice;
+import com.ctre.phoenix.motorcontrol.RemoteLimitSwitchSource;
+import com.ctre.phoenix.motorcontrol.RemoteSensorSource;
+import com.ctre.phoenix.motorcontrol.SensorTerm;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import com.ctre.phoenix.motorcontrol.StickyFaults;
+import java.util.Objects;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Simulated motor controller driving a first-order DC motor and inertia model, for running
+ * pipelines and robot code off-robot.
+ *
+ * <p>A {@code SimChickenController} is a {@link ChickenController}, so it can be passed anywhere a
+ * real controller can (e.g. a {@link org.team1540.rooster.drive.pipeline.CTREOutput CTREOutput}).
+ * It never touches JNI. The following are modeled:
+ *
+ * <ul>
+ * <li>{@link ControlMode#PercentOutput PercentOutput}, {@link ControlMode#Position Position},
+ * and {@link ControlMode#Velocity Velocity} (with arbitrary feed-forward) demands, with the
+ * closed loop running at 1 kHz on slot gains in Talon SRX native units;</li>
+ * <li>following another {@code SimChickenController} through {@link
+ * #follow(IMotorController) follow()}, including {@link InvertType#FollowMaster FollowMaster} and
+ * {@link InvertType#OpposeMaster OpposeMaster} inversion (a follower copies the output its leader
+ * computed on its last step);</li>
+ * <li>peak outputs, inversion, sensor phase, and brake/coast neutral mode;</li>
+ * <li>selected sensor position and velocity (in native units), output voltage and current, and bus
+ * voltage;</li>
+ * <li>status frame periods and custom parameters, which read back what was written.</li>
+ * </ul>
+ *
+ * <p>Everything else is an explicit no-op: configuration the model has no use for (ramps, soft
+ * and hard limits, voltage compensation, sensor selection and the like) is accepted and returns
+ * {@link ErrorCode#OK} so that a {@link ControllerConfiguration} can be applied, and signals it
+ * doesn't compute (trajectory state, faults, raw parameters) read as zero. Motion profile points
+ * can't be streamed to it; {@link #pushMotionProfileTrajectory(TrajectoryPoint)} returns {@link
+ * ErrorCode#GeneralError}. {@link #getLastError()} always returns {@link ErrorCode#OK}.
+ *
+ * <p>The simulation does not advance on its own; call {@link #update(double)} with a fixed step
+ * to integrate it. Time (as seen by the controller's {@link DemandFilter} and {@link
+ * SensorSnapshot}) is simulation time, so runs are deterministic and can go faster than real
+ * time.
+ */
+public class SimChickenController implements ChickenController {
+
+  private static final double CLOSED_LOOP_PERIOD = 0.001;
+  private static final int SLOTS = 4;
+  private static final int CUSTOM_PARAMS = 2;
+
+  private final int deviceID;
+  @NotNull
+  private final Motor motor;
+  private final int motorCount;
+  private final double gearRatio;
+  private final double inertia;
+  private final double countsPerRev;
+
+  @NotNull
+  private final DemandFilter demandFilter;
+  @NotNull
+  private final SensorSnapshot sensorSnapshot;
+
+  private long timeUs;
+
+  // configuration
+  private ControlMode defaultControlMode = ControlMode.PercentOutput;
+  private int defaultPidIdx;
+  private int defaultTimeoutMs;
+  private final double[] kP = new double[SLOTS];
+  private final double[] kI = new double[SLOTS];
+  private final double[] kD = new double[SLOTS];
+  private final double[] kF = new double[SLOTS];
+  private final double[] iZone = new double[SLOTS];
+  private int slot;
+  private double peakOutputForward = 1;
+  private double peakOutputReverse = -1;
+  private InvertType invertType = InvertType.None;
+  private boolean sensorPhase;
+  private boolean brake;
+  private double busVoltage = 12;
+  private StatusFrameProfile statusFrameProfile = StatusFrameProfile.CTRE_DEFAULT;
+  @NotNull
+  private final ControllerConfiguration statusFrames = new ControllerConfiguration();
+  private final int[] customParams = new int[CUSTOM_PARAMS];
+
+  // demand
+  private ControlMode mode = ControlMode.PercentOutput;
+  private SimChickenController leader;
+  private double demand0;
+  private double feedForward;
+  private double auxTarget;
+
+  // closed-loop state
+  private double integralAccumulator;
+  private double lastError;
+  private double errorDerivative;
+  private double closedLoopError;
+
+  // output and mechanism state
+  private double outputPercent;
+  private double outputCurrent;
+  private double position;
+  private double velocity;
+  private double sensorOffset;
+  private double loadTorque;
+
+  /**
+   * Creates a new {@code SimChickenController}.
+   *
+   * @param deviceID The CAN ID the controller reports.
+   * @param motor The motor model.
+   * @param motorCount The number of motors driving the mechanism.
+   * @param gearRatio The reduction between the motors and the mechanism (motor rotations per
+   * mechanism rotation).
+   * @param inertia The moment of inertia of the mechanism, in kg*m^2.
+   * @param countsPerRev The number of sensor counts per mechanism rotation.
+   */
+  public SimChickenController(int deviceID, @NotNull Motor motor, int motorCount,
+      double gearRatio, double inertia, double countsPerRev) {
+    if (!(inertia > 0)) {
+      throw new IllegalArgumentException("Inertia must be positive, was " + inertia);
+    }
+    this.deviceID = deviceID;
+    this.motor = Objects.requireNonNull(motor);
+    this.motorCount = motorCount;
+    this.gearRatio = gearRatio;
+    this.inertia = inertia;
+    this.countsPerRev = countsPerRev;
+
+    demandFilter = new DemandFilter(this::getTimeMicros);
+    sensorSnapshot = new SensorSnapshot(this, this::getTimeMicros);
+  }
+
+  /**
+   * Gets the {@link ChickenController} view of this simulation, which is the simulation itself.
+   *
+   * @return This controller.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public ChickenController getController() {
+    return this;
+  }
+
+  /**
+   * Advances the simulation, integrating the mechanism with its own inertia and the {@linkplain
+   * #setLoadTorque(double) load torque}. Internally this takes 1 ms steps to match the rate of the
+   * controller's closed loop.
+   *
+   * @param dt The time to advance by, in seconds.
+   */
+  public void update(double dt) {
+    double remaining = dt;
+    while (remaining > 1e-9) {
+      double h = Math.min(CLOSED_LOOP_PERIOD, remaining);
+      double voltage = stepControl(h);
+      double torque = getTorque(voltage) + loadTorque;
+      velocity += torque / inertia * h;
+      position += velocity * h;
+      remaining -= h;
+    }
+  }
+
+  /**
+   * Runs the controller's closed loop for one step without integrating the mechanism, and returns
+   * the resulting motor voltage. For use by simulations that integrate the mechanism themselves
+   * and report the result through {@link #setMechanismState(double, double)}.
+   *
+   * @param dt The length of the step, in seconds.
+   * @return The voltage applied to the motors, positive in the direction of positive mechanism
+   * motion, or {@link Double#NaN} if the controller is in coast and neutral.
+   */
+  public double stepControl(double dt) {
+    timeUs += Math.round(dt * 1e6);
+
+    double percent;
+    switch (mode) {
+      case PercentOutput:
+        percent = demand0;
+        break;
+      case Position:
+        percent = runClosedLoop(demand0, getSensorPosition());
+        break;
+      case Velocity:
+        percent = runClosedLoop(demand0, getSensorVelocity());
+        break;
+      case Follower:
+        percent = leader == null ? 0 : leader.outputPercent;
+        break;
+      default:
+        percent = 0;
+    }
+
+    percent = Math.max(peakOutputReverse, Math.min(peakOutputForward, percent));
+    outputPercent = percent;
+
+    double voltage = percent * busVoltage * (isInverted() ? -1 : 1);
+    if (percent == 0 && !brake) {
+      outputCurrent = 0;
+      return Double.NaN;
+    }
+    outputCurrent = Math.abs(motor.getCurrent(voltage, velocity * gearRatio));
+    return voltage;
+  }
+
+  /**
+   * Gets the torque the motors apply to the mechanism at the current mechanism velocity.
+   *
+   * @param voltage The voltage from {@link #stepControl(double)}.
+   * @return The torque on the mechanism, in N*m.
+   */
+  public double getTorque(double voltage) {
+    if (Double.isNaN(voltage)) {
+      return 0;
+    }
+    return motorCount * gearRatio * motor.getTorque(voltage, velocity * gearRatio);
+  }
+
+  private double runClosedLoop(double target, double measured) {
+    double error = target - measured;
+    if (iZone[slot] != 0 && Math.abs(error) > iZone[slot]) {
+      integralAccumulator = 0;
+    } else {
+      integralAccumulator += error;
+    }
+    errorDerivative = error - lastError;
+    lastError = error;
+    closedLoopError = error;
+
+    double output = kP[slot] * error + kI[slot] * integralAccumulator + kD[slot] * errorDerivative
+        + kF[slot] * target;
+    return output / 1023 + feedForward;
+  }
+
+  private double sensorSign() {
+    return (isInverted() ? -1 : 1) * (sensorPhase ? -1 : 1);
+  }
+
+  private double getSensorPosition() {
+    return position / (2 * Math.PI) * countsPerRev * sensorSign() + sensorOffset;
+  }
+
+  private double getSensorVelocity() {
+    return velocity / (2 * Math.PI) * countsPerRev / 10 * sensorSign();
+  }
+
+  /**
+   * Sets the state of the mechanism.
+   *
+   * @param position The mechanism position, in radians.
+   * @param velocity The mechanism velocity, in radians per second.
+   */
+  public void setMechanismState(double position, double velocity) {
+    this.position = position;
+    this.velocity = velocity;
+  }
+
+  /**
+   * Gets the mechanism position.
+   *
+   * @return The position, in radians.
+   */
+  @Contract(pure = true)
+  public double getPosition() {
+    return position;
+  }
+
+  /**
+   * Gets the mechanism velocity.
+   *
+   * @return The velocity, in radians per second.
+   */
+  @Contract(pure = true)
+  public double getVelocity() {
+    return velocity;
+  }
+
+  /**
+   * Sets an external torque on the mechanism, e.g. gravity or friction. Only used by {@link
+   * #update(double)}.
+   *
+   * @param loadTorque The torque, in N*m.
+   */
+  public void setLoadTorque(double loadTorque) {
+    this.loadTorque = loadTorque;
+  }
+
+  /**
+   * Sets the simulated bus voltage. Defaults to 12 V.
+   *
+   * @param busVoltage The bus voltage, in volts.
+   */
+  public void setBusVoltage(double busVoltage) {
+    this.busVoltage = busVoltage;
+  }
+
+  /**
+   * Gets the simulation time.
+   *
+   * @return The time since the simulation was created, in microseconds.
+   */
+  @Contract(pure = true)
+  public long getTimeMicros() {
+    return timeUs;
+  }
+
+  private boolean isInverted() {
+    switch (invertType) {
+      case FollowMaster:
+        return leader != null && leader.isInverted();
+      case OpposeMaster:
+        return leader == null || !leader.isInverted();
+      default:
+        return invertType == InvertType.InvertMotorOutput;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SimChickenController " + deviceID;
+  }
+
+  // output
+
+  @Override
+  public void set(double outputValue) {
+    set(defaultControlMode, outputValue, DemandType.Neutral, 0);
+  }
+
+  @Override
+  public void set(ControlMode mode, double demand) {
+    set(mode, demand, DemandType.Neutral, 0);
+  }
+
+  /**
+   * Sets the output with an auxiliary PID target, like Phoenix's deprecated three-argument {@code
+   * set()}. The auxiliary loop is not simulated, but the target is passed through the demand filter
+   * and reported by {@link #getClosedLoopTarget(int) getClosedLoopTarget(1)}.
+   *
+   * @param mode The control mode.
+   * @param demand0 The primary demand.
+   * @param demand1 The auxiliary PID target.
+   */
+  public void set(ControlMode mode, double demand0, double demand1) {
+    set(mode, demand0, DemandType.AuxPID, demand1);
+  }
+
+  @Override
+  public void set(ControlMode mode, double demand0, DemandType demand1Type, double demand1) {
+    if (!demandFilter.shouldSend(mode, demand0, demand1Type, demand1)) {
+      return;
+    }
+    if (mode != this.mode) {
+      integralAccumulator = 0;
+      lastError = 0;
+    }
+    this.mode = mode;
+    this.demand0 = demand0;
+    feedForward = demand1Type == DemandType.ArbitraryFeedForward ? demand1 : 0;
+    auxTarget = demand1Type == DemandType.AuxPID ? demand1 : 0;
+  }
+
+  @Override
+  public void neutralOutput() {
+    set(ControlMode.Disabled, 0, DemandType.Neutral, 0);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException If {@code masterToFollow} is not a {@code
+   * SimChickenController}, since the simulation has no other controller's output to copy.
+   */
+  @Override
+  public void follow(IMotorController masterToFollow) {
+    if (!(masterToFollow instanceof SimChickenController)) {
+      throw new IllegalArgumentException(
+          "A SimChickenController can only follow another SimChickenController");
+    }
+    leader = (SimChickenController) masterToFollow;
+    mode = ControlMode.Follower;
+    demandFilter.reset();
+  }
+
+  @Override
+  public void valueUpdated() {
+    // followers read the leader's output on every step, so there is nothing to push
+  }
+
+  @Override
+  public ControlMode getControlMode() {
+    return mode;
+  }
+
+  @Override
+  public void setControlMode(ControlMode controlMode) {
+    defaultControlMode = Objects.requireNonNull(controlMode);
+  }
+
+  // output shaping
+
+  @Override
+  public void setNeutralMode(NeutralMode neutralMode) {
+    brake = neutralMode == NeutralMode.Brake;
+  }
+
+  @Override
+  public void setBrake(boolean brake) {
+    this.brake = brake;
+  }
+
+  @Override
+  public void setSensorPhase(boolean phaseSensor) {
+    sensorPhase = phaseSensor;
+  }
+
+  @Override
+  public void setInverted(boolean invert) {
+    invertType = invert ? InvertType.InvertMotorOutput : InvertType.None;
+  }
+
+  @Override
+  public void setInverted(InvertType invertType) {
+    this.invertType = Objects.requireNonNull(invertType);
+  }
+
+  @Override
+  public boolean getInverted() {
+    return isInverted();
+  }
+
+  @Override
+  public ErrorCode configPeakOutputForward(double percentOut) {
+    return configPeakOutputForward(percentOut, defaultTimeoutMs);
+  }
+
+  @Override
+  public ErrorCode configPeakOutputForward(double percentOut, int timeoutMs) {
+    peakOutputForward = percentOut;
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configPeakOutputReverse(double percentOut) {
+    return configPeakOutputReverse(percentOut, defaultTimeoutMs);
+  }
+
+  @Override
+  public ErrorCode configPeakOutputReverse(double percentOut, int timeoutMs) {
+    peakOutputReverse = percentOut;
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public double getPeakOutputForward() {
+    return peakOutputForward;
+  }
+
+  @Override
+  public double getPeakOutputReverse() {
+    return peakOutputReverse;
+  }
+
+  @Override
+  public ErrorCode configOpenloopRamp(double secondsFromNeutralToFull) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configOpenloopRamp(double secondsFromNeutralToFull, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configClosedloopRamp(double secondsFromNeutralToFull) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configClosedloopRamp(double secondsFromNeutralToFull, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configNominalOutputForward(double percentOut) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configNominalOutputForward(double percentOut, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configNominalOutputReverse(double percentOut) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configNominalOutputReverse(double percentOut, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configNeutralDeadband(double percentDeadband) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configNeutralDeadband(double percentDeadband, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configVoltageCompSaturation(double voltage) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configVoltageCompSaturation(double voltage, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configVoltageMeasurementFilter(int filterWindowSamples) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configVoltageMeasurementFilter(int filterWindowSamples, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public void enableVoltageCompensation(boolean enable) {
+  }
+
+  // status
+
+  @Override
+  public double getBusVoltage() {
+    return busVoltage;
+  }
+
+  @Override
+  public double getMotorOutputPercent() {
+    return outputPercent;
+  }
+
+  @Override
+  public double getMotorOutputVoltage() {
+    return outputPercent * busVoltage;
+  }
+
+  /**
+   * Gets the output current.
+   *
+   * @return The current drawn by all motors together, in amps.
+   */
+  public double getOutputCurrent() {
+    return outputCurrent;
+  }
+
+  @Override
+  public double getTemperature() {
+    return 25;
+  }
+
+  // sensors
+
+  @Override
+  public ErrorCode configSelectedFeedbackSensor(FeedbackDevice feedbackDevice) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configSelectedFeedbackSensor(FeedbackDevice feedbackDevice, int pidIdx) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configSelectedFeedbackSensor(RemoteFeedbackDevice feedbackDevice) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configSelectedFeedbackSensor(RemoteFeedbackDevice feedbackDevice, int pidIdx) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configSelectedFeedbackSensor(RemoteFeedbackDevice feedbackDevice, int pidIdx,
+      int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configSelectedFeedbackCoefficient(double coefficient, int pidIdx,
+      int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configRemoteFeedbackFilter(int deviceID, RemoteSensorSource remoteSensorSource,
+      int remoteOrdinal) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configRemoteFeedbackFilter(int deviceID, RemoteSensorSource remoteSensorSource,
+      int remoteOrdinal, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configSensorTerm(SensorTerm sensorTerm, FeedbackDevice feedbackDevice) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configSensorTerm(SensorTerm sensorTerm, FeedbackDevice feedbackDevice,
+      int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configVelocityMeasurementPeriod(int period) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configVelocityMeasurementWindow(int windowSize) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public int getSelectedSensorPosition() {
+    return getSelectedSensorPosition(defaultPidIdx);
+  }
+
+  @Override
+  public int getSelectedSensorPosition(int pidIdx) {
+    return (int) getSensorPosition();
+  }
+
+  @Override
+  public int getSelectedSensorVelocity() {
+    return getSelectedSensorVelocity(defaultPidIdx);
+  }
+
+  @Override
+  public int getSelectedSensorVelocity(int pidIdx) {
+    return (int) getSensorVelocity();
+  }
+
+  @Override
+  public ErrorCode setSelectedSensorPosition(int sensorPos) {
+    return setSelectedSensorPosition(sensorPos, defaultPidIdx, defaultTimeoutMs);
+  }
+
+  @Override
+  public ErrorCode setSelectedSensorPosition(int sensorPos, int pidIdx) {
+    return setSelectedSensorPosition(sensorPos, pidIdx, defaultTimeoutMs);
+  }
+
+  @Override
+  public ErrorCode setSelectedSensorPosition(int sensorPos, int pidIdx, int timeoutMs) {
+    sensorOffset += sensorPos - getSensorPosition();
+    return ErrorCode.OK;
+  }
+
+  // frame periods
+
+  @Override
+  public ErrorCode setControlFramePeriod(ControlFrame frame, int periodMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode setStatusFramePeriod(int frameValue, int periodMs) {
+    statusFrames.setStatusFramePeriod(frameValue, periodMs);
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode setStatusFramePeriod(StatusFrame frame, int periodMs) {
+    return setStatusFramePeriod(frame.value, periodMs);
+  }
+
+  @Override
+  public ErrorCode setStatusFramePeriod(StatusFrame frame, int periodMs, int timeoutMs) {
+    return setStatusFramePeriod(frame.value, periodMs);
+  }
+
+  /**
+   * Sets the period of a status frame.
+   *
+   * @param frame The frame.
+   * @param periodMs The period in milliseconds.
+   * @return {@link ErrorCode#OK}.
+   */
+  public ErrorCode setStatusFramePeriod(StatusFrameEnhanced frame, int periodMs) {
+    return setStatusFramePeriod(frame.value, periodMs);
+  }
+
+  @Override
+  public int getStatusFramePeriod(int frame) {
+    return statusFrames.getStatusFramePeriod(frame);
+  }
+
+  @Override
+  public int getStatusFramePeriod(StatusFrame frame) {
+    return getStatusFramePeriod(frame.value);
+  }
+
+  @Override
+  public int getStatusFramePeriod(StatusFrame frame, int timeoutMs) {
+    return getStatusFramePeriod(frame.value);
+  }
+
+  @Override
+  public int getStatusFramePeriod(StatusFrameEnhanced frame) {
+    return getStatusFramePeriod(frame.value);
+  }
+
+  @Override
+  public int getConfiguredStatusFramePeriod(int frame) {
+    return statusFrames.getStatusFramePeriod(frame);
+  }
+
+  @Override
+  public ErrorCode applyStatusFrameProfile(@NotNull StatusFrameProfile profile) {
+    statusFrameProfile = Objects.requireNonNull(profile);
+    return (mode == ControlMode.Follower ? StatusFrameProfile.FOLLOWER_MINIMAL : profile)
+        .applyTo(this);
+  }
+
+  @Override
+  public StatusFrameProfile getStatusFrameProfile() {
+    return statusFrameProfile;
+  }
+
+  // limits
+
+  @Override
+  public ErrorCode configForwardLimitSwitchSource(LimitSwitchSource type,
+      LimitSwitchNormal normalOpenOrClose) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configForwardLimitSwitchSource(RemoteLimitSwitchSource type,
+      LimitSwitchNormal normalOpenOrClose, int deviceID) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configForwardLimitSwitchSource(RemoteLimitSwitchSource type,
+      LimitSwitchNormal normalOpenOrClose, int deviceID, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configReverseLimitSwitchSource(RemoteLimitSwitchSource type,
+      LimitSwitchNormal normalOpenOrClose, int deviceID) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configReverseLimitSwitchSource(RemoteLimitSwitchSource type,
+      LimitSwitchNormal normalOpenOrClose, int deviceID, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public void overrideLimitSwitchesEnable(boolean enable) {
+  }
+
+  @Override
+  public ErrorCode configForwardSoftLimitThreshold(int forwardSensorLimit) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configForwardSoftLimitThreshold(int forwardSensorLimit, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configReverseSoftLimitThreshold(int reverseSensorLimit) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configReverseSoftLimitThreshold(int reverseSensorLimit, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configForwardSoftLimitEnable(boolean enable) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configForwardSoftLimitEnable(boolean enable, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configReverseSoftLimitEnable(boolean enable) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configReverseSoftLimitEnable(boolean enable, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public void overrideSoftLimitsEnable(boolean enable) {
+  }
+
+  // closed loop
+
+  @Override
+  public ErrorCode config_kP(int slotIdx, double value) {
+    return config_kP(slotIdx, value, defaultTimeoutMs);
+  }
+
+  @Override
+  public ErrorCode config_kP(int slotIdx, double value, int timeoutMs) {
+    return configSlot(kP, slotIdx, value);
+  }
+
+  @Override
+  public ErrorCode config_kI(int slotIdx, double value) {
+    return config_kI(slotIdx, value, defaultTimeoutMs);
+  }
+
+  @Override
+  public ErrorCode config_kI(int slotIdx, double value, int timeoutMs) {
+    return configSlot(kI, slotIdx, value);
+  }
+
+  @Override
+  public ErrorCode config_kD(int slotIdx, double value) {
+    return config_kD(slotIdx, value, defaultTimeoutMs);
+  }
+
+  @Override
+  public ErrorCode config_kD(int slotIdx, double value, int timeoutMs) {
+    return configSlot(kD, slotIdx, value);
+  }
+
+  @Override
+  public ErrorCode config_kF(int slotIdx, double value) {
+    return config_kF(slotIdx, value, defaultTimeoutMs);
+  }
+
+  @Override
+  public ErrorCode config_kF(int slotIdx, double value, int timeoutMs) {
+    return configSlot(kF, slotIdx, value);
+  }
+
+  @Override
+  public ErrorCode config_IntegralZone(int slotIdx, int izone) {
+    return config_IntegralZone(slotIdx, izone, defaultTimeoutMs);
+  }
+
+  @Override
+  public ErrorCode config_IntegralZone(int slotIdx, int izone, int timeoutMs) {
+    return configSlot(iZone, slotIdx, izone);
+  }
+
+  private static ErrorCode configSlot(double[] values, int slotIdx, double value) {
+    if (slotIdx < 0 || slotIdx >= SLOTS) {
+      return ErrorCode.InvalidParamValue;
+    }
+    values[slotIdx] = value;
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configAllowableClosedloopError(int slotIdx, int allowableClosedLoopError) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configAllowableClosedloopError(int slotIdx, int allowableCloseLoopError,
+      int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configMaxIntegralAccumulator(int slotIdx, double iaccum) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configMaxIntegralAccumulator(int slotIdx, double iaccum, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configClosedLoopPeakOutput(int slotIdx, double percentOut, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configClosedLoopPeriod(int slotIdx, int loopTimeMs, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configAuxPIDPolarity(boolean invert, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public void selectProfileSlot(int slotIdx) {
+    selectProfileSlot(slotIdx, defaultPidIdx);
+  }
+
+  @Override
+  public void selectProfileSlot(int slotIdx, int pidIdx) {
+    slot = Objects.checkIndex(slotIdx, SLOTS);
+  }
+
+  @Override
+  public ErrorCode setIntegralAccumulator(double iaccum) {
+    return setIntegralAccumulator(iaccum, defaultPidIdx, defaultTimeoutMs);
+  }
+
+  @Override
+  public ErrorCode setIntegralAccumulator(double iaccum, int pidIdx) {
+    return setIntegralAccumulator(iaccum, pidIdx, defaultTimeoutMs);
+  }
+
+  @Override
+  public ErrorCode setIntegralAccumulator(double iaccum, int pidIdx, int timeoutMs) {
+    integralAccumulator = iaccum;
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public int getClosedLoopError() {
+    return getClosedLoopError(defaultPidIdx);
+  }
+
+  @Override
+  public int getClosedLoopError(int pidIdx) {
+    return (int) closedLoopError;
+  }
+
+  @Override
+  public double getIntegralAccumulator() {
+    return getIntegralAccumulator(defaultPidIdx);
+  }
+
+  @Override
+  public double getIntegralAccumulator(int pidIdx) {
+    return integralAccumulator;
+  }
+
+  @Override
+  public double getErrorDerivative() {
+    return getErrorDerivative(defaultPidIdx);
+  }
+
+  @Override
+  public double getErrorDerivative(int pidIdx) {
+    return errorDerivative;
+  }
+
+  @Override
+  public double getClosedLoopTarget(int pidIdx) {
+    return pidIdx == 1 ? auxTarget : demand0;
+  }
+
+  // motion magic and motion profiles, which are not simulated
+
+  @Override
+  public ErrorCode configMotionCruiseVelocity(int sensorUnitsPer100ms) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configMotionCruiseVelocity(int sensorUnitsPer100ms, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configMotionAcceleration(int sensorUnitsPer100msPerSec) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configMotionAcceleration(int sensorUnitsPer100msPerSec, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public int getActiveTrajectoryPosition() {
+    return 0;
+  }
+
+  @Override
+  public int getActiveTrajectoryVelocity() {
+    return 0;
+  }
+
+  @Override
+  public ErrorCode clearMotionProfileTrajectories() {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public int getMotionProfileTopLevelBufferCount() {
+    return 0;
+  }
+
+  @Override
+  public ErrorCode pushMotionProfileTrajectory(TrajectoryPoint trajPt) {
+    return ErrorCode.GeneralError;
+  }
+
+  @Override
+  public boolean isMotionProfileTopLevelBufferFull() {
+    return false;
+  }
+
+  @Override
+  public void processMotionProfileBuffer() {
+  }
+
+  @Override
+  public ErrorCode getMotionProfileStatus(MotionProfileStatus statusToFill) {
+    return ErrorCode.GeneralError;
+  }
+
+  @Override
+  public ErrorCode clearMotionProfileHasUnderrun() {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode clearMotionProfileHasUnderrun(int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode changeMotionControlFramePeriod(int periodMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configMotionProfileTrajectoryPeriod(int baseTrajDurationMs, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  // not declared by every Phoenix 5 release, so these are not marked @Override
+
+  public double getActiveTrajectoryHeading() {
+    return 0;
+  }
+
+  public ErrorCode configMotionSCurveStrength(int curveStrength, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  public ErrorCode startMotionProfile(BufferedTrajectoryPointStream stream, int minBufferedPts,
+      ControlMode motionProfControlMode) {
+    return ErrorCode.GeneralError;
+  }
+
+  public boolean isMotionProfileFinished() {
+    return false;
+  }
+
+  public ErrorCode configMotionProfileTrajectoryInterpolationEnable(boolean enable,
+      int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  // feedback device interaction
+
+  @Override
+  public ErrorCode configFeedbackNotContinuous(boolean feedbackNotContinuous, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configRemoteSensorClosedLoopDisableNeutralOnLOS(
+      boolean remoteSensorClosedLoopDisableNeutralOnLOS, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configClearPositionOnLimitF(boolean clearPositionOnLimitF, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configClearPositionOnLimitR(boolean clearPositionOnLimitR, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configClearPositionOnQuadIdx(boolean clearPositionOnQuadIdx, int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configLimitSwitchDisableNeutralOnLOS(boolean limitSwitchDisableNeutralOnLOS,
+      int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configSoftLimitDisableNeutralOnLOS(boolean softLimitDisableNeutralOnLOS,
+      int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configPulseWidthPeriod_EdgesPerRot(int pulseWidthPeriod_EdgesPerRot,
+      int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configPulseWidthPeriod_FilterWindowSz(int pulseWidthPeriod_FilterWindowSz,
+      int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  // errors, faults, and firmware
+
+  @Override
+  public ErrorCode getLastError() {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode getFaults(Faults toFill) {
+    toFill.update(0);
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode getStickyFaults(StickyFaults toFill) {
+    toFill.update(0);
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode clearStickyFaults() {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode clearStickyFaults(int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public int getFirmwareVersion() {
+    return 0;
+  }
+
+  @Override
+  public boolean hasResetOccurred() {
+    return false;
+  }
+
+  // parameters
+
+  @Override
+  public ErrorCode configSetCustomParam(int newValue, int paramIndex) {
+    return configSetCustomParam(newValue, paramIndex, defaultTimeoutMs);
+  }
+
+  @Override
+  public ErrorCode configSetCustomParam(int newValue, int paramIndex, int timeoutMs) {
+    if (paramIndex < 0 || paramIndex >= CUSTOM_PARAMS) {
+      return ErrorCode.InvalidParamValue;
+    }
+    customParams[paramIndex] = newValue;
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public int configGetCustomParam(int paramIndex) {
+    return configGetCustomParam(paramIndex, defaultTimeoutMs);
+  }
+
+  @Override
+  public int configGetCustomParam(int paramIndex, int timeoutMs) {
+    return paramIndex >= 0 && paramIndex < CUSTOM_PARAMS ? customParams[paramIndex] : 0;
+  }
+
+  @Override
+  public ErrorCode configSetParameter(ParamEnum param, double value, int subValue, int ordinal) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configSetParameter(ParamEnum param, double value, int subValue, int ordinal,
+      int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configSetParameter(int param, double value, int subValue, int ordinal) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public ErrorCode configSetParameter(int param, double value, int subValue, int ordinal,
+      int timeoutMs) {
+    return ErrorCode.OK;
+  }
+
+  @Override
+  public double configGetParameter(ParamEnum param, int ordinal) {
+    return 0;
+  }
+
+  @Override
+  public double configGetParameter(ParamEnum paramEnum, int ordinal, int timeoutMs) {
+    return 0;
+  }
+
+  @Override
+  public double configGetParameter(int param, int ordinal) {
+    return 0;
+  }
+
+  @Override
+  public double configGetParameter(int paramEnum, int ordinal, int timeoutMs) {
+    return 0;
+  }
+
+  // wrapper state
+
+  @Override
+  public int getBaseID() {
+    return deviceID;
+  }
+
+  @Override
+  public int getDeviceID() {
+    return deviceID;
+  }
+
+  @Override
+  public int getDefaultPidIdx() {
+    return defaultPidIdx;
+  }
+
+  @Override
+  public void setDefaultPidIdx(int defaultPidIdx) {
+    this.defaultPidIdx = defaultPidIdx;
+  }
+
+  @Override
+  public int getDefaultTimeoutMs() {
+    return defaultTimeoutMs;
+  }
+
+  @Override
+  public void setDefaultTimeoutMs(int defaultTimeoutMs) {
+    this.defaultTimeoutMs = defaultTimeoutMs;
+  }
+
+  @Override
+  @Deprecated
+  public double getEncoderCodesPerRev() {
+    return 0;
+  }
+
+  @Override
+  @Deprecated
+  public void setEncoderCodesPerRev(double encoderCodesPerRev) {
+  }
+
+  @Override
+  public int getSkippedConfigFrames() {
+    // there is no configuration shadow to skip writes with
+    return 0;
+  }
+
+  @Override
+  public void clearConfigCache() {
+  }
+
+  @Override
+  public SensorSnapshot getSensorSnapshot() {
+    return sensorSnapshot;
+  }
+
+  @Override
+  public DemandFilter getDemandFilter() {
+    return demandFilter;
+  }
+
+  /**
+   * Model of a brushed DC motor at 12 V nominal.
+   */
+  public static class Motor {
+
+    /**
+     * CIM motor.
+     */
+    public static final Motor CIM = new Motor(5330, 2.41, 131, 2.7);
+    /**
+     * Mini CIM motor.
+     */
+    public static final Motor MINI_CIM = new Motor(5840, 1.41, 89, 3);
+    /**
+     * BAG motor.
+     */
+    public static final Motor BAG = new Motor(13180, 0.43, 53, 1.8);
+    /**
+     * 775pro motor.
+     */
+    public static final Motor PRO_775 = new Motor(18730, 0.71, 134, 0.7);
+
+    private final double resistance;
+    private final double kV;
+    private final double kT;
+
+    /**
+     * Creates a new {@code Motor} from its datasheet values at 12 V.
+     *
+     * @param freeSpeed The free speed, in RPM.
+     * @param stallTorque The stall torque, in N*m.
+     * @param stallCurrent The stall current, in amps.
+     * @param freeCurrent The free current, in amps.
+     */
+    public Motor(double freeSpeed, double stallTorque, double stallCurrent, double freeCurrent) {
+      resistance = 12 / stallCurrent;
+      kV = (freeSpeed * 2 * Math.PI / 60) / (12 - resistance * freeCurrent);
+      kT = stallTorque / stallCurrent;
+    }
+
+    /**
+     * Gets the current drawn by the motor.
+     *
+     * @param voltage The applied voltage, in volts.
+     * @param speed The motor speed, in radians per second.
+     * @return The current, in amps.
+     */
+    @Contract(pure = true)
+    public double getCurrent(double voltage, double speed) {
+      return (voltage - speed / kV) / resistance;
+    }
+
+    /**
+     * Gets the torque produced by the motor.
+     *
+     * @param voltage The applied voltage, in volts.
+     * @param speed The motor speed, in radians per second.
+     * @return The torque, in N*m.
+     */
+    @Contract(pure = true)
+    public double getTorque(double voltage, double speed) {
+      return kT * getCurrent(voltage, speed);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package org.team1540.rooster.wrappers;
+
+/**
+ * Simulated {@link NavX} whose readings are set by a simulation instead of read from hardware. Uses
+ * the same conventions as {@link NavX}: angles are counter-clockwise in radians.
+ */
+public class SimNavX extends NavX {
+
+    private double angle;
+    private double accelX;
+    private double accelY;
+    private double pitchDegrees;
+
+    /**
+     * Creates a new {@code SimNavX} reading zero on every axis.
+     */
+    public SimNavX() {
+        super();
+    }
+
+    /**
+     * Sets the continuous angle the NavX reports.
+     *
+     * @param angle The angle counter-clockwise in radians. This may go past pi or -pi.
+     */
+    public void setAngleRadians(double angle) {
+        this.angle = angle;
+    }
+
+    /**
+     * Sets the world-frame linear acceleration the NavX reports.
+     *
+     * @param accelX The acceleration along the X axis, in G.
+     * @param accelY The acceleration along the Y axis, in G.
+     */
+    public void setAccel(double accelX, double accelY) {
+        this.accelX = accelX;
+        this.accelY = accelY;
+    }
+
+    /**
+     * Sets the raw pitch the NavX reports.
+     *
+     * @param pitchDegrees The pitch clockwise in degrees.
+     */
+    public void setRawPitchDegrees(double pitchDegrees) {
+        this.pitchDegrees = pitchDegrees;
+    }
+
+    @Override
+    public double getYawRadians() {
+        return Math.IEEEremainder(angle, 2 * Math.PI);
+    }
+
+    @Override
+    public double getAngleRadians() {
+        return angle;
+    }
+
+    @Override
+    public double getAccelX() {
+        return accelX;
+    }
+
+    @Override
+    public double getAccelY() {
+        return accelY;
+    }
+
+    @Override
+    public double getRawPitchDegrees() {
+        return pitchDegrees;
+    }
+}
@@ -0,0 +1,281 @@
+package org.team1540.rooster.wrappers;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import java.util.Arrays;
+import java.util.Objects;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Named set of status frame periods that can be applied to a {@link ChickenController} in one
+ * call.
+ *
+ * <p>Every status frame a controller sends takes up CAN bandwidth whether or not anything reads it,
+ * and with the CTRE defaults a bus with a dozen or so controllers is already heavily loaded. A
+ * profile slows down the frames a controller's role doesn't need and speeds up the ones it does.
+ * Profiles are immutable; custom profiles can be built from an existing one (or an empty one) with
+ * the {@link #with(StatusFrame, int) with()} methods.
+ *
+ * <p>Frames that only exist on a Talon SRX (added with {@link #with(StatusFrameEnhanced, int)})
+ * are skipped when applying a profile to other controllers. Since writes go through the
+ * controller's configuration cache, re-applying a profile only sends the frames whose period
+ * actually changes.
+ */
+public class StatusFrameProfile {
+
+  /**
+   * The CTRE default periods.
+   */
+  public static final StatusFrameProfile CTRE_DEFAULT = new StatusFrameProfile("CTRE_DEFAULT")
+      .with(StatusFrame.Status_1_General, 10)
+      .with(StatusFrame.Status_2_Feedback0, 20)
+      .with(StatusFrameEnhanced.Status_3_Quadrature, 160)
+      .with(StatusFrame.Status_4_AinTempVbat, 160)
+      .with(StatusFrameEnhanced.Status_8_PulseWidth, 160)
+      .with(StatusFrame.Status_10_MotionMagic, 160)
+      .with(StatusFrame.Status_12_Feedback1, 160)
+      .with(StatusFrame.Status_13_Base_PIDF0, 160)
+      .with(StatusFrame.Status_14_Turn_PIDF1, 160)
+      .with(StatusFrame.Status_15_FirmareApiStatus, 160);
+
+  /**
+   * For drivetrain leaders: fast output, feedback, and closed-loop frames for odometry and
+   * velocity control, with unused sensor and auxiliary PID frames slowed down.
+   */
+  public static final StatusFrameProfile DRIVE_HIGH_RATE = new StatusFrameProfile("DRIVE_HIGH_RATE")
+      .with(StatusFrame.Status_1_General, 10)
+      .with(StatusFrame.Status_2_Feedback0, 10)
+      .with(StatusFrameEnhanced.Status_3_Quadrature, 255)
+      .with(StatusFrame.Status_4_AinTempVbat, 50)
+      .with(StatusFrameEnhanced.Status_8_PulseWidth, 255)
+      .with(StatusFrame.Status_10_MotionMagic, 20)
+      .with(StatusFrame.Status_12_Feedback1, 255)
+      .with(StatusFrame.Status_13_Base_PIDF0, 20)
+      .with(StatusFrame.Status_14_Turn_PIDF1, 255)
+      .with(StatusFrame.Status_15_FirmareApiStatus, 255);
+
+  /**
+   * For followers, which nothing reads from: every frame as slow as possible, except for the
+   * general frame, which still reports faults.
+   */
+  public static final StatusFrameProfile FOLLOWER_MINIMAL = new StatusFrameProfile(
+      "FOLLOWER_MINIMAL")
+      .with(StatusFrame.Status_1_General, 100)
+      .with(StatusFrame.Status_2_Feedback0, 255)
+      .with(StatusFrameEnhanced.Status_3_Quadrature, 255)
+      .with(StatusFrame.Status_4_AinTempVbat, 255)
+      .with(StatusFrameEnhanced.Status_8_PulseWidth, 255)
+      .with(StatusFrame.Status_10_MotionMagic, 255)
+      .with(StatusFrame.Status_12_Feedback1, 255)
+      .with(StatusFrame.Status_13_Base_PIDF0, 255)
+      .with(StatusFrame.Status_14_Turn_PIDF1, 255)
+      .with(StatusFrame.Status_15_FirmareApiStatus, 255);
+
+  /**
+   * For single-sensor mechanisms: CTRE defaults for the frames a mechanism uses, with the
+   * auxiliary feedback and PID frames slowed down.
+   */
+  public static final StatusFrameProfile MECHANISM_DEFAULT = CTRE_DEFAULT
+      .named("MECHANISM_DEFAULT")
+      .with(StatusFrame.Status_12_Feedback1, 255)
+      .with(StatusFrame.Status_14_Turn_PIDF1, 255)
+      .with(StatusFrame.Status_15_FirmareApiStatus, 255);
+
+  @NotNull
+  private final String name;
+  @NotNull
+  private final int[] frames;
+  @NotNull
+  private final int[] periods;
+  @NotNull
+  private final boolean[] talonOnly;
+
+  /**
+   * Creates a new empty {@code StatusFrameProfile}.
+   *
+   * @param name The name of the profile.
+   */
+  public StatusFrameProfile(@NotNull String name) {
+    this(name, new int[0], new int[0], new boolean[0]);
+  }
+
+  private StatusFrameProfile(@NotNull String name, @NotNull int[] frames, @NotNull int[] periods,
+      @NotNull boolean[] talonOnly) {
+    this.name = Objects.requireNonNull(name);
+    this.frames = frames;
+    this.periods = periods;
+    this.talonOnly = talonOnly;
+  }
+
+  /**
+   * Returns a copy of this profile with the period of a frame set.
+   *
+   * @param frame The status frame.
+   * @param periodMs The period of the frame, in milliseconds.
+   * @return A new profile.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public StatusFrameProfile with(@NotNull StatusFrame frame, int periodMs) {
+    return with(frame.value, periodMs, false);
+  }
+
+  /**
+   * Returns a copy of this profile with the period of a frame set. If the frame only exists on a
+   * Talon SRX, it will be skipped when the profile is applied to other controllers.
+   *
+   * @param frame The status frame.
+   * @param periodMs The period of the frame, in milliseconds.
+   * @return A new profile.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public StatusFrameProfile with(@NotNull StatusFrameEnhanced frame, int periodMs) {
+    return with(frame.value, periodMs, !isCommonFrame(frame.value));
+  }
+
+  /**
+   * Returns a copy of this profile with a different name.
+   *
+   * @param name The new name.
+   * @return A new profile.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public StatusFrameProfile named(@NotNull String name) {
+    return new StatusFrameProfile(name, frames, periods, talonOnly);
+  }
+
+  @NotNull
+  private StatusFrameProfile with(int frame, int periodMs, boolean isTalonOnly) {
+    if (periodMs < 0 || periodMs > 255) {
+      throw new IllegalArgumentException("Status frame period must be 0-255 ms, was " + periodMs);
+    }
+
+    int index = indexOf(frame);
+    if (index == -1) {
+      index = frames.length;
+    }
+
+    int length = Math.max(frames.length, index + 1);
+    int[] newFrames = Arrays.copyOf(frames, length);
+    int[] newPeriods = Arrays.copyOf(periods, length);
+    boolean[] newTalonOnly = Arrays.copyOf(talonOnly, length);
+    newFrames[index] = frame;
+    newPeriods[index] = periodMs;
+    newTalonOnly[index] = isTalonOnly;
+    return new StatusFrameProfile(name, newFrames, newPeriods, newTalonOnly);
+  }
+
+  /**
+   * Applies this profile to a controller.
+   *
+   * @param controller The controller to apply the profile to.
+   * @return The last non-OK error code generated while applying, or {@link ErrorCode#OK} if none.
+   */
+  public ErrorCode applyTo(@NotNull ChickenController controller) {
+    boolean isTalon = controller instanceof ChickenTalon;
+    ErrorCode result = ErrorCode.OK;
+    for (int i = 0; i < frames.length; i++) {
+      if (talonOnly[i] && !isTalon) {
+        continue;
+      }
+      ErrorCode code = controller.setStatusFramePeriod(frames[i], periods[i]);
+      if (code != ErrorCode.OK) {
+        result = code;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the name of this profile.
+   *
+   * @return The name.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the number of frames in this profile.
+   *
+   * @return The number of frames.
+   */
+  @Contract(pure = true)
+  public int size() {
+    return frames.length;
+  }
+
+  /**
+   * Gets the raw value of a frame in this profile.
+   *
+   * @param index The index of the frame, from 0 to {@link #size()} exclusive.
+   * @return The raw frame value.
+   */
+  @Contract(pure = true)
+  public int getFrame(int index) {
+    return frames[index];
+  }
+
+  /**
+   * Gets the period of a frame in this profile.
+   *
+   * @param index The index of the frame, from 0 to {@link #size()} exclusive.
+   * @return The period in milliseconds.
+   */
+  @Contract(pure = true)
+  public int getPeriod(int index) {
+    return periods[index];
+  }
+
+  /**
+   * Returns whether a frame in this profile only exists on a Talon SRX.
+   *
+   * @param index The index of the frame, from 0 to {@link #size()} exclusive.
+   * @return {@code true} if the frame is Talon-only, {@code false} otherwise.
+   */
+  @Contract(pure = true)
+  public boolean isTalonOnly(int index) {
+    return talonOnly[index];
+  }
+
+  /**
+   * Gets the period of a frame in this profile.
+   *
+   * @param frame The raw frame value.
+   * @return The period in milliseconds, or -1 if the frame is not part of this profile.
+   */
+  @Contract(pure = true)
+  public int getPeriodOf(int frame) {
+    int index = indexOf(frame);
+    return index != -1 ? periods[index] : -1;
+  }
+
+  private int indexOf(int frame) {
+    for (int i = 0; i < frames.length; i++) {
+      if (frames[i] == frame) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isCommonFrame(int frame) {
+    for (StatusFrame f : StatusFrame.values()) {
+      if (f.value == frame) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -0,0 +1,331 @@
+package org.team1540.rooster.wrappers;
+
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.SetValueMotionProfile;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import edu.wpi.first.wpilibj.Notifier;
+import java.util.Objects;
+import org.apache.log4j.Logger;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.team1540.rooster.motionprofiling.MotionProfile.Point;
+import org.team1540.rooster.motionprofiling.Profile;
+
+/**
+ * Runs a {@link Profile} in a Talon SRX's onboard motion-profile executor.
+ *
+ * <p>Following a profile with a {@link org.team1540.rooster.drive.pipeline.ProfileInput
+ * ProfileInput} sends a new setpoint from the roboRIO every loop, so tracking is limited by the
+ * loop rate and CAN latency. A {@code TalonProfileStreamer} instead converts the profile into CTRE
+ * trajectory points, streams them into the controller's buffer from a {@link Notifier} thread,
+ * and lets the controller step through them itself every millisecond. Once {@link #start()}
+ * returns, the main robot loop has no per-loop profile work to do.
+ *
+ * <p>The background thread pushes points into the API's top-level buffer whenever it has room,
+ * moves them to the controller with {@code processMotionProfileBuffer()}, and enables the profile
+ * once enough points are buffered on the controller. If the controller runs out of points before
+ * the last one (an underrun), the underrun is counted and logged and streaming continues; the
+ * controller resumes as soon as more points arrive. After the last point the controller holds its
+ * final setpoint until {@link #stop()} is called or the controller is given another command.
+ *
+ * <p>Positions are converted to native units by multiplying by the position scale, and
+ * velocities are additionally converted from per-second to the native per-100-ms. An optional
+ * feed-forward, in the same units as {@link
+ * org.team1540.rooster.drive.pipeline.FeedForwardProcessor FeedForwardProcessor}, is sent with each
+ * point as an arbitrary feed-forward.
+ *
+ * <p>While the profile is running, the streamer owns the controller: the background thread calls
+ * {@code set()} on it to enable and hold the profile, and {@link ChickenTalon ChickenTalon's}
+ * {@code set()} (its {@link DemandFilter} and cached state) is not thread-safe. Don't command the
+ * controller from anywhere else, including through a {@link ChickenControllerGroup} it leads,
+ * until {@link #isRunning()} returns {@code false} or {@link #stop()} has been called.
+ *
+ * <p>Each streamer holds a {@link Notifier}, which has a native handle and a thread. Call {@link
+ * #close()} once the streamer is no longer needed (e.g. when replacing it with one for a new
+ * profile) to release them.
+ */
+public class TalonProfileStreamer implements AutoCloseable {
+
+  private static final Logger logger = Logger.getLogger(TalonProfileStreamer.class);
+
+  /**
+   * The number of points that must be buffered on the controller before the profile is enabled,
+   * unless the profile is shorter.
+   */
+  public static final int MIN_BUFFERED_POINTS = 5;
+
+  // pushed per fill so one slow CAN frame doesn't stall the thread
+  private static final int MAX_PUSH_PER_FILL = 64;
+  // the largest duration a trajectory point can hold
+  private static final int MAX_POINT_DURATION_MS = 255;
+
+  @NotNull
+  private final ChickenController controller;
+  @NotNull
+  private final Profile profile;
+  private final double positionScale;
+  private final double fillPeriod;
+
+  private double kV;
+  private double kA;
+  private double kS;
+  private int profileSlot;
+
+  // only touched under the lock or by the fill thread
+  @NotNull
+  private final Point source = new Point();
+  @NotNull
+  private final TrajectoryPoint point = new TrajectoryPoint();
+  @NotNull
+  private final MotionProfileStatus status = new MotionProfileStatus();
+  @NotNull
+  private final Notifier notifier = new Notifier(this::fill);
+  private int nextPoint;
+  private boolean enabled;
+  private boolean closed;
+
+  private volatile boolean running;
+  private volatile boolean finished;
+  private volatile int pointsSent;
+  private volatile int topBufferCount;
+  private volatile int bottomBufferCount;
+  private volatile int underrunCount;
+
+  /**
+   * Creates a new {@code TalonProfileStreamer}. The profile does not start until {@link #start()}
+   * is called.
+   *
+   * @param controller The controller to run the profile on. It should be a Talon SRX with its
+   * closed-loop gains configured for the profile slot.
+   * @param profile The profile.
+   * @param positionScale The number of native sensor units per profile position unit.
+   * @throws IllegalArgumentException If the profile is empty or {@code positionScale} is zero or
+   * not finite.
+   */
+  public TalonProfileStreamer(@NotNull ChickenController controller,
+      @NotNull Profile profile, double positionScale) {
+    this.controller = Objects.requireNonNull(controller);
+    this.profile = Objects.requireNonNull(profile);
+    if (profile.size() == 0) {
+      throw new IllegalArgumentException("Profile is empty");
+    }
+    if (positionScale == 0 || !Double.isFinite(positionScale)) {
+      throw new IllegalArgumentException("Invalid position scale " + positionScale);
+    }
+    this.positionScale = positionScale;
+    // CTRE recommends processing the buffer at twice the rate points are consumed
+    fillPeriod = Math.max(0.001, profile.get(0).dt / 2);
+  }
+
+  /**
+   * Sets the feed-forward sent with each point. Defaults to none.
+   *
+   * @param kV The velocity feed-forward, in throttle per profile velocity unit.
+   * @param kA The acceleration feed-forward, in throttle per profile acceleration unit.
+   * @param kS The static friction feed-forward, in throttle, applied in the direction of the
+   * velocity.
+   * @return This {@code TalonProfileStreamer} in order to allow chaining.
+   * @throws IllegalStateException If the profile is running.
+   */
+  @NotNull
+  public synchronized TalonProfileStreamer setFeedForward(double kV, double kA, double kS) {
+    checkNotRunning();
+    this.kV = kV;
+    this.kA = kA;
+    this.kS = kS;
+    return this;
+  }
+
+  /**
+   * Sets the closed-loop gain slot used for every point. Defaults to 0.
+   *
+   * @param profileSlot The slot.
+   * @return This {@code TalonProfileStreamer} in order to allow chaining.
+   * @throws IllegalStateException If the profile is running.
+   */
+  @NotNull
+  public synchronized TalonProfileStreamer setProfileSlot(int profileSlot) {
+    checkNotRunning();
+    this.profileSlot = profileSlot;
+    return this;
+  }
+
+  private void checkNotRunning() {
+    if (running) {
+      throw new IllegalStateException("Cannot change settings while the profile is running");
+    }
+  }
+
+  /**
+   * Clears the controller's buffer and starts streaming the profile from the beginning. The
+   * controller is put into motion profile mode immediately, but stays disabled (neutral) until
+   * enough points have been buffered.
+   *
+   * @throws IllegalStateException If the streamer has been {@linkplain #close() closed}.
+   */
+  public synchronized void start() {
+    if (closed) {
+      throw new IllegalStateException("Streamer has been closed");
+    }
+    notifier.stop();
+    int timeout = controller.getDefaultTimeoutMs();
+    controller.clearMotionProfileTrajectories();
+    controller.clearMotionProfileHasUnderrun();
+    controller.configMotionProfileTrajectoryPeriod(0, timeout);
+    controller.changeMotionControlFramePeriod(Math.max(1, (int) (fillPeriod * 1000)));
+    controller.set(ControlMode.MotionProfile, SetValueMotionProfile.Disable.value);
+
+    nextPoint = 0;
+    enabled = false;
+    finished = false;
+    pointsSent = 0;
+    topBufferCount = 0;
+    bottomBufferCount = 0;
+    underrunCount = 0;
+    running = true;
+    notifier.startPeriodic(fillPeriod);
+  }
+
+  /**
+   * Stops streaming, clears the controller's buffer, and disables the profile, leaving the
+   * controller in neutral.
+   */
+  public synchronized void stop() {
+    notifier.stop();
+    running = false;
+    controller.set(ControlMode.MotionProfile, SetValueMotionProfile.Disable.value);
+    controller.clearMotionProfileTrajectories();
+  }
+
+  /**
+   * Stops the profile if it is running and releases the background thread. The streamer cannot be
+   * started again afterwards.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      if (running) {
+        stop();
+      }
+      closed = true;
+    }
+    // outside the lock: closing joins the fill thread, which may be waiting for the lock
+    notifier.close();
+  }
+
+  private synchronized void fill() {
+    if (!running) {
+      return;
+    }
+
+    int end = Math.min(profile.size(), nextPoint + MAX_PUSH_PER_FILL);
+    while (nextPoint < end && !controller.isMotionProfileTopLevelBufferFull()) {
+      setPoint(nextPoint);
+      controller.pushMotionProfileTrajectory(point);
+      nextPoint++;
+    }
+    pointsSent = nextPoint;
+    controller.processMotionProfileBuffer();
+    controller.getMotionProfileStatus(status);
+    topBufferCount = status.topBufferCnt;
+    bottomBufferCount = status.btmBufferCnt;
+
+    if (status.hasUnderrun) {
+      underrunCount++;
+      logger.warn("Motion profile underrun on controller " + controller.getDeviceID()
+          + " after " + nextPoint + " of " + profile.size() + " points");
+      controller.clearMotionProfileHasUnderrun(0);
+    }
+
+    if (!enabled && (status.btmBufferCnt >= MIN_BUFFERED_POINTS || nextPoint == profile.size())) {
+      enabled = true;
+      controller.set(ControlMode.MotionProfile, SetValueMotionProfile.Enable.value);
+    }
+
+    if (enabled && status.activePointValid && status.isLast) {
+      controller.set(ControlMode.MotionProfile, SetValueMotionProfile.Hold.value);
+      finished = true;
+      running = false;
+      notifier.stop();
+    }
+  }
+
+  private void setPoint(int index) {
+    Point p = profile.get(index, source);
+    point.position = p.position * positionScale;
+    point.velocity = p.velocity * positionScale / 10;
+    point.arbFeedFwd = kV * p.velocity + kA * p.acceleration
+        + (p.velocity != 0 ? Math.copySign(kS, p.velocity) : 0);
+    point.timeDur = Math.max(0, Math.min(MAX_POINT_DURATION_MS, (int) Math.round(p.dt * 1000)));
+    point.profileSlotSelect0 = profileSlot;
+    point.zeroPos = false;
+    point.isLastPoint = index == profile.size() - 1;
+  }
+
+  /**
+   * Returns whether the profile is being streamed or executed.
+   *
+   * @return {@code true} between {@link #start()} and either the end of the profile or {@link
+   * #stop()}, {@code false} otherwise.
+   */
+  @Contract(pure = true)
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Returns whether the controller has reached the last point of the profile.
+   *
+   * @return {@code true} if the profile has finished, {@code false} otherwise.
+   */
+  @Contract(pure = true)
+  public boolean isFinished() {
+    return finished;
+  }
+
+  /**
+   * Gets the number of points pushed to the API so far.
+   *
+   * @return The number of points sent.
+   */
+  @Contract(pure = true)
+  public int getPointsSent() {
+    return pointsSent;
+  }
+
+  /**
+   * Gets the number of points waiting in the API's top-level buffer, as of the last fill.
+   *
+   * @return The top-level buffer count.
+   */
+  @Contract(pure = true)
+  public int getTopBufferCount() {
+    return topBufferCount;
+  }
+
+  /**
+   * Gets the number of points buffered on the controller, as of the last fill.
+   *
+   * @return The controller's buffer count.
+   */
+  @Contract(pure = true)
+  public int getBottomBufferCount() {
+    return bottomBufferCount;
+  }
+
+  /**
+   * Gets the number of times the controller has run out of points since {@link #start()}. Any
+   * nonzero value means the profile was not followed on time; if it happens regularly, CAN
+   * utilization is probably too high.
+   *
+   * @return The underrun count.
+   */
+  @Contract(pure = true)
+  public int getUnderrunCount() {
+    return underrunCount;
+  }
+}
@@ -0,0 +1,48 @@
+package org.team1540.rooster;
+
+import java.lang.management.ManagementFactory;
+import org.junit.Assume;
+
+/**
+ * Measures heap allocation by the current thread, for tests that check code meant to run every
+ * loop doesn't produce garbage.
+ */
+public class AllocationCounter {
+
+  private static final int WARMUP_ITERATIONS = 20_000;
+
+  private AllocationCounter() {
+  }
+
+  /**
+   * Runs an action many times and returns the number of bytes the current thread allocated while
+   * doing so, less the cost of taking the measurement. The action is run first without measuring
+   * so that class loading and JIT compilation aren't counted. Skips the calling test if the JVM
+   * can't measure per-thread allocation.
+   *
+   * @param iterations The number of times to run the action while measuring.
+   * @param action The action.
+   * @return The number of bytes allocated.
+   */
+  public static long allocatedBytes(int iterations, Runnable action) {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+    Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+    long id = Thread.currentThread().getId();
+
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      action.run();
+    }
+
+    long overheadStart = threads.getThreadAllocatedBytes(id);
+    long overhead = threads.getThreadAllocatedBytes(id) - overheadStart;
+
+    long start = threads.getThreadAllocatedBytes(id);
+    for (int i = 0; i < iterations; i++) {
+      action.run();
+    }
+    return threads.getThreadAllocatedBytes(id) - start - overhead;
+  }
+}
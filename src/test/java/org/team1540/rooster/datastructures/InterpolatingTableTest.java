@@ -0,0 +1,280 @@
+package org.team1540.rooster.datastructures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Test;
+import org.team1540.rooster.AllocationCounter;
+import org.team1540.rooster.datastructures.InterpolatingTable.Interpolation;
+
+public class InterpolatingTableTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private static final double[] KEYS = {1, 2.5, 4};
+    private static final double[] VALUES = {3000, 3600, 4500};
+
+    @Test
+    public void linearInterpolatesBetweenPoints() {
+        InterpolatingTable table = new InterpolatingTable(KEYS, VALUES);
+        assertEquals(3000, table.get(1), EPSILON);
+        assertEquals(3300, table.get(1.75), EPSILON);
+        assertEquals(3600, table.get(2.5), EPSILON);
+        assertEquals(4050, table.get(3.25), EPSILON);
+        assertEquals(4500, table.get(4), EPSILON);
+    }
+
+    @Test
+    public void clampsOutsideRange() {
+        for (Interpolation interpolation : Interpolation.values()) {
+            InterpolatingTable table = new InterpolatingTable(KEYS, VALUES, interpolation);
+            assertEquals(3000, table.get(0.5), 0);
+            assertEquals(3000, table.get(Double.NEGATIVE_INFINITY), 0);
+            assertEquals(4500, table.get(4.5), 0);
+            assertEquals(4500, table.get(Double.POSITIVE_INFINITY), 0);
+            assertTrue(Double.isNaN(table.get(Double.NaN)));
+        }
+    }
+
+    @Test
+    public void singlePointIsConstant() {
+        InterpolatingTable table = new InterpolatingTable(new double[]{2}, new double[]{7});
+        assertEquals(7, table.get(-1), 0);
+        assertEquals(7, table.get(2), 0);
+        assertEquals(7, table.get(5), 0);
+    }
+
+    @Test
+    public void uniformAndBinarySearchLookupsAgree() {
+        int n = 50;
+        double[] uniformKeys = new double[n];
+        double[] skewedKeys = new double[n];
+        double[] values = new double[n];
+        Random random = new Random(1540);
+        for (int i = 0; i < n; i++) {
+            uniformKeys[i] = 0.1 * i;
+            // nudge each key enough to defeat the uniform check but not change the segments
+            skewedKeys[i] = uniformKeys[i] + (i % 2 == 0 ? 1e-3 : -1e-3);
+            values[i] = random.nextDouble() * 100;
+        }
+        skewedKeys[0] = uniformKeys[0];
+        skewedKeys[n - 1] = uniformKeys[n - 1];
+
+        InterpolatingTable uniform = new InterpolatingTable(uniformKeys, values);
+        InterpolatingTable skewed = new InterpolatingTable(skewedKeys, values);
+        assertTrue(uniform.isUniform());
+        assertFalse(skewed.isUniform());
+
+        for (int i = 0; i <= 100_000; i++) {
+            double key = -0.5 + i * (uniformKeys[n - 1] + 1) / 100_000;
+            assertEquals("uniform at " + key,
+                bruteForce(uniformKeys, values, key), uniform.get(key), EPSILON);
+            assertEquals("binary search at " + key,
+                bruteForce(skewedKeys, values, key), skewed.get(key), EPSILON);
+        }
+        // exactly on every point, where rounding in the uniform index is most likely to slip
+        for (int i = 0; i < n; i++) {
+            assertEquals(values[i], uniform.get(uniformKeys[i]), EPSILON);
+            assertEquals(values[i], skewed.get(skewedKeys[i]), EPSILON);
+        }
+    }
+
+    @Test
+    public void monotoneCubicDoesNotOvershoot() {
+        // flat, then a sharp step, then flat: a plain cubic spline rings around the step
+        double[] keys = {0, 1, 2, 3, 3.1, 4, 5, 6};
+        double[] values = {0, 0, 0, 0, 10, 10, 10, 10};
+        InterpolatingTable table = new InterpolatingTable(keys, values, Interpolation.CUBIC);
+
+        double previous = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i <= 60_000; i++) {
+            double key = i * 1e-4;
+            double value = table.get(key);
+            assertTrue("overshoot at " + key + ": " + value,
+                value >= -EPSILON && value <= 10 + EPSILON);
+            assertTrue("not monotone at " + key, value >= previous - EPSILON);
+            previous = value;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(values[i], table.get(keys[i]), EPSILON);
+        }
+    }
+
+    @Test
+    public void cubicStaysWithinEachSegment() {
+        double[] keys = {0, 1, 1.5, 4, 4.2, 7};
+        double[] values = {0, 5, 2, 2.5, 9, 1};
+        InterpolatingTable table = new InterpolatingTable(keys, values, Interpolation.CUBIC);
+        for (int i = 0; i < keys.length - 1; i++) {
+            double low = Math.min(values[i], values[i + 1]);
+            double high = Math.max(values[i], values[i + 1]);
+            for (int j = 0; j <= 1000; j++) {
+                double key = keys[i] + j * (keys[i + 1] - keys[i]) / 1000;
+                double value = table.get(key);
+                assertTrue("outside segment " + i + " at " + key + ": " + value,
+                    value >= low - EPSILON && value <= high + EPSILON);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonIncreasingKeysThrow() {
+        new InterpolatingTable(new double[]{1, 1}, new double[]{0, 1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mismatchedLengthsThrow() {
+        new InterpolatingTable(new double[]{1, 2}, new double[]{0});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyTableThrows() {
+        new InterpolatingTable(new double[0], new double[0]);
+    }
+
+    @Test
+    public void setTextRejectsBadTextAndKeepsTable() {
+        InterpolatingTable table = new InterpolatingTable(KEYS, VALUES);
+        String before = table.toString();
+        String[] bad = {"", "1:2:3", "1:a", "1:2, 3", "2:1, 1:2", "1:2, 1:3", "1:NaN"};
+        for (String text : bad) {
+            try {
+                table.setText(text);
+                fail("accepted \"" + text + "\"");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+            assertEquals(before, table.toString());
+            assertEquals(3, table.size());
+            assertEquals(3300, table.get(1.75), EPSILON);
+        }
+    }
+
+    @Test
+    public void setTextRepeatedRejectionIsSilent() {
+        InterpolatingTable table = new InterpolatingTable(KEYS, VALUES);
+        try {
+            table.setText("2:1, 1:2");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        // the same bad text again is ignored rather than thrown every loop
+        table.setText("2:1, 1:2");
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    public void setTextAppliesValidText() {
+        InterpolatingTable table = new InterpolatingTable(KEYS, VALUES, Interpolation.CUBIC);
+        table.setText(" 0:0 , 1:10 ");
+        assertEquals(2, table.size());
+        assertEquals(Interpolation.CUBIC, table.getInterpolation());
+        assertEquals(5, table.get(0.5), EPSILON);
+        assertEquals(" 0:0 , 1:10 ", table.toString());
+    }
+
+    @Test
+    public void parseRoundTripsToString() {
+        InterpolatingTable table = new InterpolatingTable(KEYS, VALUES);
+        assertEquals("1.0:3000.0, 2.5:3600.0, 4.0:4500.0", table.toString());
+
+        InterpolatingTable parsed = InterpolatingTable.parse(table.toString(),
+            Interpolation.LINEAR);
+        assertEquals(table.size(), parsed.size());
+        for (int i = 0; i < table.size(); i++) {
+            assertEquals(table.getKey(i), parsed.getKey(i), 0);
+            assertEquals(table.getValue(i), parsed.getValue(i), 0);
+        }
+    }
+
+    @Test
+    public void lookupMatchesTreeMapAndAllocatesNothing() {
+        int n = 64;
+        double[] keys = new double[n];
+        double[] values = new double[n];
+        TreeMap<Double, Double> tree = new TreeMap<>();
+        Random random = new Random(1540);
+        double key = 0;
+        for (int i = 0; i < n; i++) {
+            key += 0.5 + random.nextDouble();
+            keys[i] = key;
+            values[i] = random.nextDouble() * 1000;
+            tree.put(keys[i], values[i]);
+        }
+        InterpolatingTable table = new InterpolatingTable(keys, values);
+        assertFalse(table.isUniform());
+
+        double[] queries = new double[1024];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = random.nextDouble() * (key + 2) - 1;
+            assertEquals(treeMapGet(tree, queries[i]), table.get(queries[i]), EPSILON);
+        }
+
+        int iterations = 200_000;
+        double[] sink = {0};
+        int[] index = {0};
+        Runnable tableLookup = () -> {
+            sink[0] += table.get(queries[index[0]]);
+            index[0] = (index[0] + 1) & (queries.length - 1);
+        };
+        Runnable treeLookup = () -> {
+            sink[0] += treeMapGet(tree, queries[index[0]]);
+            index[0] = (index[0] + 1) & (queries.length - 1);
+        };
+
+        long bytes = AllocationCounter.allocatedBytes(iterations, tableLookup);
+        assertEquals("allocated " + bytes + " bytes", 0, Math.max(0, bytes - 1024));
+
+        double tableNanos = nanosPerRun(iterations, tableLookup);
+        double treeNanos = nanosPerRun(iterations, treeLookup);
+        // about 70 ns against 100 ns for the TreeMap on a desktop; the bound is loose so a busy
+        // machine doesn't fail the build, but still catches a regression to a linear scan
+        assertTrue("table took " + tableNanos + " ns, TreeMap took " + treeNanos + " ns",
+            tableNanos < 3 * treeNanos + 100);
+        assertFalse(Double.isNaN(sink[0]));
+    }
+
+    private static double bruteForce(double[] keys, double[] values, double key) {
+        if (key <= keys[0]) {
+            return values[0];
+        }
+        for (int i = 0; i < keys.length - 1; i++) {
+            if (key <= keys[i + 1]) {
+                double t = (key - keys[i]) / (keys[i + 1] - keys[i]);
+                return values[i] + t * (values[i + 1] - values[i]);
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    private static double treeMapGet(TreeMap<Double, Double> tree, double key) {
+        Entry<Double, Double> floor = tree.floorEntry(key);
+        Entry<Double, Double> ceiling = tree.ceilingEntry(key);
+        if (floor == null) {
+            return ceiling.getValue();
+        }
+        if (ceiling == null || floor == ceiling) {
+            return floor.getValue();
+        }
+        double t = (key - floor.getKey()) / (ceiling.getKey() - floor.getKey());
+        return floor.getValue() + t * (ceiling.getValue() - floor.getValue());
+    }
+
+    private static double nanosPerRun(int iterations, Runnable action) {
+        // warm up so both lookups are compiled before timing
+        for (int i = 0; i < iterations; i++) {
+            action.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            action.run();
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+}
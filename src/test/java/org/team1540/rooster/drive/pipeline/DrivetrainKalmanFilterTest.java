@@ -0,0 +1,66 @@
+package org.team1540.rooster.drive.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.team1540.rooster.util.Matrix2;
+
+public class DrivetrainKalmanFilterTest {
+
+  private static final double DT = 0.02;
+
+  private static DrivetrainModel drivetrain() {
+    return new DrivetrainModel(0.28, 0.05, 0.3, 0.12);
+  }
+
+  @Test
+  public void estimateErrorDecays() {
+    // with the true drivetrain at rest, the estimate error evolves as (I - K) A_d e, so it shrinks
+    // every loop exactly when that matrix is stable
+    DrivetrainKalmanFilter filter = new DrivetrainKalmanFilter(drivetrain(), DT, 0.05, 0.2);
+    filter.reset(1, -2);
+    double previous = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < 50; i++) {
+      filter.predict(0, 0);
+      filter.correct(0, 0);
+      double error = Math.hypot(filter.getLeftVelocity(), filter.getRightVelocity());
+      assertTrue("error grew to " + error + " at loop " + i, error < previous);
+      previous = error;
+    }
+    assertEquals(0, previous, 1e-3);
+  }
+
+  @Test
+  public void trustsMeasurementsMoreWithLargerModelError() {
+    DrivetrainKalmanFilter trustModel = new DrivetrainKalmanFilter(drivetrain(), DT, 0.01, 1);
+    DrivetrainKalmanFilter trustSensor = new DrivetrainKalmanFilter(drivetrain(), DT, 1, 0.01);
+    trustModel.correct(1, 1);
+    trustSensor.correct(1, 1);
+    assertTrue(trustModel.getLeftVelocity() < 0.5);
+    assertTrue(trustSensor.getLeftVelocity() > 0.5);
+    assertTrue(trustSensor.getLeftVelocity() <= 1);
+  }
+
+  @Test
+  public void followsModelWithoutNoise() {
+    DrivetrainModel model = drivetrain();
+    Matrix2 a = model.getDiscreteA(DT);
+    Matrix2 b = model.getDiscreteB(DT);
+    DrivetrainKalmanFilter filter = new DrivetrainKalmanFilter(model, DT, 0.05, 0.2);
+    double left = 0.6;
+    double right = 0.2;
+    double trueLeft = 0;
+    double trueRight = 0;
+    for (int i = 0; i < 200; i++) {
+      filter.predict(left, right);
+      double nextLeft = a.m00 * trueLeft + a.m01 * trueRight + b.m00 * left + b.m01 * right;
+      double nextRight = a.m10 * trueLeft + a.m11 * trueRight + b.m10 * left + b.m11 * right;
+      trueLeft = nextLeft;
+      trueRight = nextRight;
+      filter.correct(trueLeft, trueRight);
+      assertEquals(trueLeft, filter.getLeftVelocity(), 1e-9);
+      assertEquals(trueRight, filter.getRightVelocity(), 1e-9);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package org.team1540.rooster.drive.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.OptionalDouble;
+import org.junit.Test;
+import org.team1540.rooster.util.Matrix2;
+
+public class LQRVelocityProcessorTest {
+
+  private static final double EPSILON = 1e-12;
+  private static final double DT = 0.02;
+
+  /**
+   * A competition drivetrain in meters: 3.5 m/s top speed, turning harder to accelerate than
+   * driving straight.
+   */
+  private static DrivetrainModel drivetrain() {
+    return new DrivetrainModel(0.28, 0.05, 0.3, 0.12);
+  }
+
+  /**
+   * Gets the spectral radius of a 2x2 matrix from its trace and determinant.
+   */
+  private static double spectralRadius(Matrix2 m) {
+    double halfTrace = (m.m00 + m.m11) / 2;
+    double discriminant = halfTrace * halfTrace - m.determinant();
+    if (discriminant < 0) {
+      // complex conjugate pair, |lambda|^2 = det
+      return Math.sqrt(m.determinant());
+    }
+    double root = Math.sqrt(discriminant);
+    return Math.max(Math.abs(halfTrace + root), Math.abs(halfTrace - root));
+  }
+
+  @Test
+  public void independentSidesDiscretizeToClosedForm() {
+    double kV = 0.28;
+    double kA = 0.05;
+    DrivetrainModel model = new DrivetrainModel(kV, kA);
+    // each side is v' = -(kV / kA) v + u / kA
+    double decay = Math.exp(-kV / kA * DT);
+    Matrix2 a = model.getDiscreteA(DT);
+    Matrix2 b = model.getDiscreteB(DT);
+    assertEquals(decay, a.m00, EPSILON);
+    assertEquals(0, a.m01, EPSILON);
+    assertEquals(decay, a.m11, EPSILON);
+    assertEquals((1 - decay) / kV, b.m00, EPSILON);
+    assertEquals(0, b.m01, EPSILON);
+    assertEquals((1 - decay) / kV, b.m11, EPSILON);
+  }
+
+  @Test
+  public void coupledModelHoldsSteadyStateThrottle() {
+    DrivetrainModel model = drivetrain();
+    Matrix2 a = model.getDiscreteA(DT);
+    Matrix2 b = model.getDiscreteB(DT);
+    // at a constant speed v straight ahead the model needs kV v on both sides; turning in place
+    // needs kVAngular v with opposite signs
+    double[][] cases = {{2, 2, 0.28 * 2, 0.28 * 2}, {1.5, -1.5, 0.3 * 1.5, -0.3 * 1.5}};
+    for (double[] c : cases) {
+      double left = a.m00 * c[0] + a.m01 * c[1] + b.m00 * c[2] + b.m01 * c[3];
+      double right = a.m10 * c[0] + a.m11 * c[1] + b.m10 * c[2] + b.m11 * c[3];
+      assertEquals(c[0], left, 1e-9);
+      assertEquals(c[1], right, 1e-9);
+    }
+  }
+
+  @Test
+  public void closedLoopIsStable() {
+    DrivetrainModel model = drivetrain();
+    Matrix2 a = model.getDiscreteA(DT);
+    Matrix2 b = model.getDiscreteB(DT);
+    double openLoop = spectralRadius(a);
+    for (double maxError : new double[]{0.05, 0.2, 1}) {
+      LQRVelocityProcessor processor = new LQRVelocityProcessor(model, 0, DT, maxError, 1,
+          () -> 0, () -> 0);
+      double closedLoop = spectralRadius(a.minus(b.times(processor.getGain())));
+      assertTrue("closed-loop spectral radius " + closedLoop, closedLoop < 1);
+      // feedback should speed up the response, not just keep it stable
+      assertTrue("closed loop " + closedLoop + " vs. open loop " + openLoop,
+          closedLoop < openLoop);
+    }
+  }
+
+  @Test
+  public void tighterErrorGivesLargerGain() {
+    DrivetrainModel model = drivetrain();
+    Matrix2 loose = new LQRVelocityProcessor(model, 0, DT, 1, 1, () -> 0, () -> 0).getGain();
+    Matrix2 tight = new LQRVelocityProcessor(model, 0, DT, 0.1, 1, () -> 0, () -> 0).getGain();
+    assertTrue(tight.m00 > loose.m00);
+    assertTrue(tight.m11 > loose.m11);
+    // the model is symmetric, so the gain is too
+    assertEquals(tight.m00, tight.m11, EPSILON);
+    assertEquals(tight.m01, tight.m10, EPSILON);
+  }
+
+  @Test
+  public void tracksSetpointOnModel() {
+    DrivetrainModel model = drivetrain();
+    Matrix2 a = model.getDiscreteA(DT);
+    Matrix2 b = model.getDiscreteB(DT);
+    double[] state = {0, 0};
+    LQRVelocityProcessor processor = new LQRVelocityProcessor(model, 0, DT, 0.2, 1,
+        () -> state[0], () -> state[1]);
+    TankDriveData setpoint = new TankDriveData(
+        new DriveData(OptionalDouble.of(1.5)), new DriveData(OptionalDouble.of(0.5)),
+        OptionalDouble.empty(), OptionalDouble.empty());
+
+    for (int i = 0; i < 100; i++) {
+      TankDriveData output = processor.apply(setpoint);
+      double left = output.left.additionalFeedForward.getAsDouble();
+      double right = output.right.additionalFeedForward.getAsDouble();
+      double nextLeft = a.m00 * state[0] + a.m01 * state[1] + b.m00 * left + b.m01 * right;
+      double nextRight = a.m10 * state[0] + a.m11 * state[1] + b.m10 * left + b.m11 * right;
+      state[0] = nextLeft;
+      state[1] = nextRight;
+    }
+    assertEquals(1.5, state[0], 1e-6);
+    assertEquals(0.5, state[1], 1e-6);
+  }
+}
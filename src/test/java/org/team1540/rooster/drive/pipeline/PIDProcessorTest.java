@@ -0,0 +1,81 @@
+package org.team1540.rooster.drive.pipeline;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class PIDProcessorTest {
+
+  private static final double EPSILON = 1e-12;
+
+  /**
+   * Takes {setpoint, measurement} and returns the loop output.
+   */
+  private static class ErrorProcessor extends PIDProcessor<double[], Double> {
+
+    ErrorProcessor(double p, double i, double d) {
+      super(p, i, d);
+    }
+
+    @Override
+    protected double getError(double[] data) {
+      return data[0] - data[1];
+    }
+
+    @Override
+    protected Double createOutput(double[] data, double loopOutput) {
+      return loopOutput;
+    }
+  }
+
+  private static class MeasurementProcessor extends ErrorProcessor {
+
+    MeasurementProcessor(double p, double i, double d) {
+      super(p, i, d);
+    }
+
+    @Override
+    protected double getMeasurement(double[] data) {
+      return data[1];
+    }
+  }
+
+  private long timeNanos;
+
+  private double step(PIDProcessor<double[], Double> processor, double setpoint,
+      double measurement) {
+    double output = processor.apply(new double[]{setpoint, measurement});
+    timeNanos += 20_000_000;
+    return output;
+  }
+
+  @Test
+  public void derivativeIsOnErrorByDefault() {
+    ErrorProcessor processor = new ErrorProcessor(0, 0, 1);
+    processor.setClock(() -> timeNanos);
+    step(processor, 0, 0);
+    // a setpoint step of 1 over 20 ms
+    assertEquals(50, step(processor, 1, 0), EPSILON);
+  }
+
+  @Test
+  public void derivativeIsOnMeasurementWhenProvided() {
+    MeasurementProcessor processor = new MeasurementProcessor(1, 0, 1);
+    processor.setClock(() -> timeNanos);
+    step(processor, 0, 0);
+    // no kick from the setpoint step, only the P term
+    assertEquals(1, step(processor, 1, 0), EPSILON);
+    assertEquals(0.5 - 25, step(processor, 1, 0.5), EPSILON);
+    assertEquals(0.5, processor.getError(), EPSILON);
+  }
+
+  @Test
+  public void nanosecondClockIsNotQuantized() {
+    ErrorProcessor processor = new ErrorProcessor(0, 1, 0);
+    processor.setClock(() -> timeNanos);
+    processor.apply(new double[]{1, 0});
+    timeNanos = 15_500_000;
+    processor.apply(new double[]{1, 0});
+    assertEquals(0.0155, processor.getIAccum(), EPSILON);
+  }
+}
@@ -0,0 +1,108 @@
+package org.team1540.rooster.drive.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.team1540.rooster.motionprofiling.MotionProfile;
+import org.team1540.rooster.motionprofiling.MotionProfile.Point;
+import org.team1540.rooster.motionprofiling.ProfilePair;
+
+public class ProfileSequenceInputTest {
+
+  private static final double DT = 0.01;
+  private static final long DT_NANOS = 10_000_000;
+
+  /**
+   * A profile at constant velocity that counts how many points are read from it.
+   */
+  private static class CountingProfile extends MotionProfile {
+
+    int reads;
+
+    CountingProfile(int size, double velocity) {
+      super(constantVelocity(size, velocity));
+    }
+
+    @Override
+    public Point get(int index) {
+      reads++;
+      return super.get(index);
+    }
+
+    @Override
+    public Point get(int index, Point into) {
+      reads++;
+      return super.get(index, into);
+    }
+  }
+
+  private static Point[] constantVelocity(int size, double velocity) {
+    Point[] points = new Point[size];
+    for (int i = 0; i < size; i++) {
+      points[i] = new Point(DT, 0, 0, i * DT * velocity, velocity, 0, 0, 0);
+    }
+    return points;
+  }
+
+  private long timeNanos;
+
+  @Test
+  public void segmentsRunBackToBackWithOffsets() {
+    ProfileSequenceInput input = new ProfileSequenceInput(
+        new ProfilePair(new CountingProfile(101, 1), new CountingProfile(101, 2)),
+        new ProfilePair(new CountingProfile(101, 1), new CountingProfile(101, 2)));
+    input.setClock(() -> timeNanos);
+
+    input.get();
+    assertTrue(input.isStarted());
+    // 1.5 s in: halfway through the second segment, which starts at the first one's end
+    timeNanos = 150 * DT_NANOS;
+    TankDriveData data = input.get();
+    assertEquals(1.5, data.left.position.getAsDouble(), 1e-9);
+    assertEquals(3, data.right.position.getAsDouble(), 1e-9);
+    assertEquals(1, input.getSegmentsCompleted());
+    assertFalse(input.isFinished());
+
+    timeNanos = 250 * DT_NANOS;
+    data = input.get();
+    assertEquals(2, data.left.position.getAsDouble(), 1e-9);
+    assertTrue(input.isFinished());
+    assertEquals(2, input.getSegmentsCompleted());
+  }
+
+  @Test
+  public void durationIsMeasuredOnAppendNotInGet() {
+    ProfileSequenceInput input = new ProfileSequenceInput();
+    input.setClock(() -> timeNanos);
+    CountingProfile firstLeft = new CountingProfile(10, 1);
+    input.append(new ProfilePair(firstLeft, new CountingProfile(10, 1)));
+    input.get();
+
+    CountingProfile left = new CountingProfile(10_000, 1);
+    CountingProfile right = new CountingProfile(10_000, 1);
+    input.append(new ProfilePair(left, right));
+    assertTrue(left.reads >= 10_000);
+
+    // run through the handoff into the long segment
+    left.reads = 0;
+    right.reads = 0;
+    for (int i = 0; i < 20; i++) {
+      timeNanos += DT_NANOS;
+      input.get();
+    }
+    assertEquals(1, input.getSegmentsCompleted());
+    // the end points for the offset, plus a couple of points per loop for the lookups
+    assertTrue("read " + left.reads + " points", left.reads < 100);
+    assertTrue("read " + right.reads + " points", right.reads < 100);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void velocityMismatchIsRejected() {
+    ProfileSequenceInput input = new ProfileSequenceInput();
+    input.setVelocityTolerance(0.1);
+    input.append(new ProfilePair(new CountingProfile(10, 1), new CountingProfile(10, 1)));
+    input.append(new ProfilePair(new CountingProfile(10, 2), new CountingProfile(10, 1)));
+  }
+}
@@ -0,0 +1,138 @@
+package org.team1540.rooster.filters;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import org.team1540.rooster.AllocationCounter;
+
+public class FilterTest {
+
+  private static final int SAMPLES = 10_000;
+  private static final int ITERATIONS = 100_000;
+  // room for one-off allocations (e.g. by the JIT), far below one byte per sample
+  private static final long ALLOCATION_SLACK = 1024;
+
+  private static double[] randomSamples(long seed) {
+    Random random = new Random(seed);
+    double[] samples = new double[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      // a coarse grid so there are plenty of duplicates, with the occasional spike
+      samples[i] = random.nextInt(20) + (random.nextInt(50) == 0 ? 1000 : 0);
+    }
+    return samples;
+  }
+
+  private static double bruteForceMedian(double[] samples, int end, int size) {
+    double[] window = Arrays.copyOfRange(samples, Math.max(0, end - size), end);
+    Arrays.sort(window);
+    int n = window.length;
+    return n % 2 == 1 ? window[n / 2] : (window[n / 2 - 1] + window[n / 2]) / 2;
+  }
+
+  private static double bruteForceAverage(double[] samples, int end, int size) {
+    double sum = 0;
+    int start = Math.max(0, end - size);
+    for (int i = start; i < end; i++) {
+      sum += samples[i];
+    }
+    return sum / (end - start);
+  }
+
+  @Test
+  public void medianMatchesBruteForce() {
+    for (int size : new int[]{1, 2, 3, 4, 5, 8, 31}) {
+      double[] samples = randomSamples(size);
+      MedianFilter filter = new MedianFilter(size);
+      for (int i = 0; i < SAMPLES; i++) {
+        assertEquals("size " + size + ", sample " + i, bruteForceMedian(samples, i + 1, size),
+            filter.applyAsDouble(samples[i]), 0);
+      }
+    }
+  }
+
+  @Test
+  public void medianMatchesBruteForceAfterReset() {
+    double[] samples = randomSamples(1540);
+    MedianFilter filter = new MedianFilter(5);
+    for (int i = 0; i < 7; i++) {
+      filter.applyAsDouble(-1000);
+    }
+    filter.reset();
+    for (int i = 0; i < 100; i++) {
+      assertEquals(bruteForceMedian(samples, i + 1, 5), filter.applyAsDouble(samples[i]), 0);
+    }
+  }
+
+  @Test
+  public void movingAverageMatchesBruteForce() {
+    for (int size : new int[]{1, 2, 5, 50}) {
+      Random random = new Random(size);
+      double[] samples = new double[SAMPLES];
+      for (int i = 0; i < SAMPLES; i++) {
+        samples[i] = random.nextGaussian() * 1e3;
+      }
+      MovingAverageFilter filter = new MovingAverageFilter(size);
+      for (int i = 0; i < SAMPLES; i++) {
+        assertEquals("size " + size + ", sample " + i, bruteForceAverage(samples, i + 1, size),
+            filter.applyAsDouble(samples[i]), 1e-9);
+      }
+    }
+  }
+
+  @Test
+  public void biquadStartsInSteadyStateAndPassesDc() {
+    BiquadLowPassFilter filter = new BiquadLowPassFilter(5, 50);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(3, filter.applyAsDouble(3), 1e-12);
+    }
+  }
+
+  @Test
+  public void biquadAttenuatesAboveCutoff() {
+    BiquadLowPassFilter filter = new BiquadLowPassFilter(2, 50);
+    double peak = 0;
+    for (int i = 0; i < 500; i++) {
+      // 20 Hz, ten times the cutoff: about -40 dB for a second-order filter
+      double output = filter.applyAsDouble(Math.sin(2 * Math.PI * 20 * i / 50.0));
+      if (i >= 250) {
+        peak = Math.max(peak, Math.abs(output));
+      }
+    }
+    assertEquals(0, peak, 0.02);
+  }
+
+  @Test
+  public void slewRateLimitsChange() {
+    long[] timeNanos = {0};
+    SlewRateFilter filter = new SlewRateFilter(2, 4);
+    filter.setClock(() -> timeNanos[0]);
+    assertEquals(10, filter.applyAsDouble(10), 0);
+    timeNanos[0] = 500_000_000;
+    assertEquals(11, filter.applyAsDouble(20), 1e-12);
+    timeNanos[0] = 1_000_000_000;
+    assertEquals(9, filter.applyAsDouble(0), 1e-12);
+  }
+
+  @Test
+  public void filtersAllocateNothingPerSample() {
+    double[] samples = randomSamples(1);
+    long[] timeNanos = {0};
+    SlewRateFilter slew = new SlewRateFilter(1);
+    slew.setClock(() -> timeNanos[0] += 20_000_000);
+    Filter[] filters = {new MedianFilter(9), new MovingAverageFilter(9),
+        new BiquadLowPassFilter(5, 50), slew};
+
+    for (Filter filter : filters) {
+      int[] index = {0};
+      double[] sink = {0};
+      long bytes = AllocationCounter.allocatedBytes(ITERATIONS, () -> {
+        sink[0] += filter.applyAsDouble(samples[index[0]]);
+        index[0] = index[0] + 1 == SAMPLES ? 0 : index[0] + 1;
+      });
+      assertEquals(filter.getClass().getSimpleName() + " allocated " + bytes + " bytes", 0,
+          Math.max(0, bytes - ALLOCATION_SLACK));
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package org.team1540.rooster.functional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.team1540.rooster.AllocationCounter;
+import org.team1540.rooster.filters.MedianFilter;
+
+public class PrimitivePipelineTest {
+
+  private static final int ITERATIONS = 100_000;
+  // room for one-off allocations (e.g. by the JIT), far below one byte per tick
+  private static final long ALLOCATION_SLACK = 1024;
+
+  private double sample;
+  private double result;
+  private boolean flag;
+  private int rising;
+
+  @Test
+  public void doubleChainComposesInOrder() {
+    DoubleProcessor plusOne = x -> x + 1;
+    DoubleProcessor timesTwo = x -> x * 2;
+    DoubleInput input = () -> sample;
+
+    sample = 3;
+    assertEquals(8, input.then(plusOne).then(timesTwo).getAsDouble(), 0);
+    assertEquals(8, timesTwo.process(plusOne.process(input)).getAsDouble(), 0);
+    plusOne.followedBy(timesTwo.followedBy(x -> result = x)).after(input).execute();
+    assertEquals(8, result, 0);
+    input.then(plusOne).then((DoubleOutput) x -> result = x).execute();
+    assertEquals(4, result, 0);
+    ((DoubleOutput) x -> result = x).after(timesTwo).after(input).execute();
+    assertEquals(6, result, 0);
+  }
+
+  @Test
+  public void boxedAndUnboxedAgree() {
+    DoubleProcessor square = x -> x * x;
+    assertEquals(9, square.boxed().apply(3.0), 0);
+    assertEquals(9, DoubleProcessor.unboxed(square.boxed()).applyAsDouble(3), 0);
+    BooleanProcessor not = x -> !x;
+    assertFalse(not.boxed().apply(true));
+    assertTrue(BooleanProcessor.unboxed(not.boxed()).applyAsBoolean(false));
+  }
+
+  @Test
+  public void memoizedInputIsReadOncePerTick() {
+    TickClock clock = new TickClock();
+    int[] reads = {0};
+    DoubleInput input = ((DoubleInput) () -> ++reads[0]).memoizedPerTick(clock);
+    clock.tick();
+    assertEquals(1, input.getAsDouble(), 0);
+    assertEquals(1, input.getAsDouble(), 0);
+    clock.tick();
+    assertEquals(2, input.getAsDouble(), 0);
+  }
+
+  @Test
+  public void doubleChainAllocatesNothingPerTick() {
+    TickClock clock = new TickClock();
+    DoubleInput source = ((DoubleInput) () -> sample).memoizedPerTick(clock);
+    Executable loop = source
+        .then((DoubleProcessor) x -> x * 1.5 + 1e6)
+        .then(new MedianFilter(5))
+        .then((DoubleOutput) x -> result = x);
+
+    long bytes = AllocationCounter.allocatedBytes(ITERATIONS, () -> {
+      clock.tick();
+      sample += 0.37;
+      loop.execute();
+    });
+    assertEquals("allocated " + bytes + " bytes", 0, Math.max(0, bytes - ALLOCATION_SLACK));
+  }
+
+  @Test
+  public void booleanChainAllocatesNothingPerTick() {
+    BooleanProcessor not = x -> !x;
+    Executable loop = ((BooleanInput) () -> flag)
+        .then(not)
+        .then((BooleanOutput) x -> {
+          if (x) {
+            rising++;
+          }
+        });
+
+    long bytes = AllocationCounter.allocatedBytes(ITERATIONS, () -> {
+      flag = !flag;
+      loop.execute();
+    });
+    assertEquals("allocated " + bytes + " bytes", 0, Math.max(0, bytes - ALLOCATION_SLACK));
+    assertTrue(rising > 0);
+  }
+}
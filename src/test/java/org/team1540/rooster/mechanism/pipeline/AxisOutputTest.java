@@ -0,0 +1,39 @@
+package org.team1540.rooster.mechanism.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.team1540.rooster.wrappers.ChickenController;
+import org.team1540.rooster.wrappers.SimChickenController;
+import org.team1540.rooster.wrappers.SimChickenController.Motor;
+
+public class AxisOutputTest {
+
+  private static final int LOOPS = 500;
+
+  @Test
+  public void demandsAreFilteredOnceByTheController() {
+    SimChickenController sim = new SimChickenController(1, Motor.BAG, 1, 100, 0.01, 4096);
+    ChickenController controller = sim.getController();
+    AxisOutput output = new AxisOutput(controller, true);
+    assertSame(controller.getDemandFilter(), output.getFilter());
+
+    AxisData data = new AxisData().set(1000, Double.NaN, Double.NaN, 0.1);
+    for (int i = 0; i < LOOPS; i++) {
+      output.accept(data);
+      sim.update(0.02);
+    }
+    // one send, then one refresh every 100 ms (5 loops)
+    assertEquals(LOOPS / 5, output.getFilter().getSentCount());
+  }
+
+  @Test
+  public void openLoopSendsTheFeedForward() {
+    SimChickenController sim = new SimChickenController(1, Motor.BAG, 1, 100, 0.01, 4096);
+    AxisOutput output = new AxisOutput(sim.getController(), false);
+    output.accept(new AxisData().set(1000, Double.NaN, Double.NaN, 0.3));
+    sim.update(0.02);
+    assertEquals(0.3, sim.getController().getMotorOutputPercent(), 0);
+  }
+}
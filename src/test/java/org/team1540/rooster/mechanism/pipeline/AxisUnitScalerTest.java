@@ -0,0 +1,31 @@
+package org.team1540.rooster.mechanism.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class AxisUnitScalerTest {
+
+  @Test
+  public void scalesEachDerivativeByItsTimeUnits() {
+    // inches to ticks (4096 per 6 inches), seconds to 100 ms
+    AxisUnitScaler scaler = new AxisUnitScaler(4096 / 6.0, 10);
+    AxisData data = new AxisData().set(6, 12, 24, 0.25);
+    assertSame(data, scaler.apply(data));
+    assertEquals(4096, data.position, 1e-9);
+    assertEquals(819.2, data.velocity, 1e-9);
+    assertEquals(163.84, data.acceleration, 1e-9);
+    assertEquals(0.25, data.feedForward, 0);
+  }
+
+  @Test
+  public void missingSetpointsStayMissing() {
+    AxisData data = new AxisData().set(Double.NaN, 1, Double.NaN, 0);
+    new AxisUnitScaler(2, 3).apply(data);
+    assertFalse(data.hasPosition());
+    assertEquals(2 / 3.0, data.velocity, 1e-12);
+    assertFalse(data.hasAcceleration());
+  }
+}
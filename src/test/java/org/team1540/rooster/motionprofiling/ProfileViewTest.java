@@ -0,0 +1,197 @@
+package org.team1540.rooster.motionprofiling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.team1540.rooster.AllocationCounter;
+import org.team1540.rooster.motionprofiling.MotionProfile.Point;
+
+public class ProfileViewTest {
+
+  private static final double EPSILON = 1e-12;
+
+  /**
+   * A short profile with uneven time steps and every field distinct, so a transformation that
+   * reads the wrong point or field shows up.
+   */
+  private static MotionProfile profile() {
+    return new MotionProfile(new Point[]{
+        new Point(0.01, 0, 0, 0, 0, 4, 40, 0),
+        new Point(0.02, 0.1, 0.01, 0.1, 0.5, 3, -10, 0.05),
+        new Point(0.03, 0.3, 0.05, 0.3, 1.2, -2, -20, 0.1),
+        new Point(0.04, 0.6, 0.12, 0.6, 0.8, -5, 30, 0.2)
+    });
+  }
+
+  private static void assertPoint(Point expected, Point actual) {
+    assertEquals("dt", expected.dt, actual.dt, EPSILON);
+    assertEquals("x", expected.x, actual.x, EPSILON);
+    assertEquals("y", expected.y, actual.y, EPSILON);
+    assertEquals("position", expected.position, actual.position, EPSILON);
+    assertEquals("velocity", expected.velocity, actual.velocity, EPSILON);
+    assertEquals("acceleration", expected.acceleration, actual.acceleration, EPSILON);
+    assertEquals("jerk", expected.jerk, actual.jerk, EPSILON);
+    assertEquals("heading", expected.heading, actual.heading, EPSILON);
+  }
+
+  private static void assertSameProfile(Profile expected, Profile actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertPoint(expected.get(i), actual.get(i));
+    }
+  }
+
+  @Test
+  public void reversedRetracesPositionsBackwards() {
+    MotionProfile base = profile();
+    Profile reversed = base.reversed();
+    int size = base.size();
+    assertEquals(size, reversed.size());
+    for (int i = 0; i < size; i++) {
+      Point original = base.get(size - 1 - i);
+      Point point = reversed.get(i);
+      // each step takes as long as the step it retraces, which is stored on the later point
+      double dt = i == 0 ? base.get(0).dt : base.get(size - i).dt;
+      assertPoint(new Point(dt, original.x, original.y, original.position, -original.velocity,
+          original.acceleration, -original.jerk, original.heading), point);
+    }
+  }
+
+  @Test
+  public void reversedKeepsTotalDuration() {
+    MotionProfile base = profile();
+    Profile reversed = base.reversed();
+    double forward = 0;
+    double backward = 0;
+    for (int i = 1; i < base.size(); i++) {
+      forward += base.get(i).dt;
+      backward += reversed.get(i).dt;
+    }
+    assertEquals(forward, backward, EPSILON);
+  }
+
+  @Test
+  public void mirroredNegatesYAndHeading() {
+    MotionProfile base = profile();
+    Profile mirrored = base.mirrored();
+    for (int i = 0; i < base.size(); i++) {
+      Point original = base.get(i);
+      assertPoint(new Point(original.dt, original.x, -original.y, original.position,
+          original.velocity, original.acceleration, original.jerk, -original.heading),
+          mirrored.get(i));
+    }
+  }
+
+  @Test
+  public void offsetAddsToPositionOnly() {
+    MotionProfile base = profile();
+    Profile offset = base.offset(1.5).offset(-0.25);
+    for (int i = 0; i < base.size(); i++) {
+      Point original = base.get(i);
+      assertPoint(new Point(original.dt, original.x, original.y, original.position + 1.25,
+          original.velocity, original.acceleration, original.jerk, original.heading),
+          offset.get(i));
+    }
+  }
+
+  @Test
+  public void scaledSpeedScalesTimeAndDerivatives() {
+    MotionProfile base = profile();
+    Profile scaled = base.scaledSpeed(2).scaledSpeed(0.25);
+    double scale = 0.5;
+    for (int i = 0; i < base.size(); i++) {
+      Point original = base.get(i);
+      assertPoint(new Point(original.dt / scale, original.x, original.y, original.position,
+          original.velocity * scale, original.acceleration * scale * scale,
+          original.jerk * scale * scale * scale, original.heading), scaled.get(i));
+    }
+  }
+
+  @Test
+  public void transformationsCommute() {
+    MotionProfile base = profile();
+    Profile expected = base.reversed().mirrored().offset(2).scaledSpeed(0.8);
+    assertSameProfile(expected, base.scaledSpeed(0.8).offset(2).mirrored().reversed());
+    assertSameProfile(expected, base.offset(2).reversed().scaledSpeed(0.8).mirrored());
+  }
+
+  @Test
+  public void transformationsUndo() {
+    MotionProfile base = profile();
+    assertSameProfile(base, base.reversed().reversed());
+    assertSameProfile(base, base.mirrored().mirrored());
+    assertSameProfile(base, base.offset(3).offset(-3));
+    assertSameProfile(base, base.scaledSpeed(4).scaledSpeed(0.25));
+  }
+
+  @Test
+  public void viewsReadThroughToTheStoredPoints() {
+    MotionProfile base = profile();
+    Profile offset = base.offset(1);
+    base.points[2].position = 10;
+    assertEquals(11, offset.get(2).position, EPSILON);
+  }
+
+  @Test
+  public void getIntoFillsTheProvidedPoint() {
+    MotionProfile base = profile();
+    Point into = new Point();
+    assertSame(into, base.get(1, into));
+    assertNotSame(base.points[1], into);
+    assertEquals(base.points[1], into);
+
+    Profile view = base.reversed().mirrored().offset(1).scaledSpeed(2);
+    assertSame(into, view.get(1, into));
+    assertEquals(view.get(1), into);
+  }
+
+  @Test
+  public void getIntoAllocatesNothing() {
+    Profile view = profile().reversed().mirrored().offset(1).scaledSpeed(2);
+    Point into = new Point();
+    int[] index = {0};
+    double[] sum = {0};
+    long bytes = AllocationCounter.allocatedBytes(100_000, () -> {
+      sum[0] += view.get(index[0]++ % view.size(), into).position;
+    });
+    assertEquals("allocated " + bytes + " bytes", 0, Math.max(0, bytes - 1024));
+  }
+
+  @Test
+  public void outOfRangeIndexThrows() {
+    Profile view = profile().reversed();
+    for (int index : new int[]{-1, view.size()}) {
+      try {
+        view.get(index, new Point());
+        fail("read index " + index);
+      } catch (ArrayIndexOutOfBoundsException expected) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void invalidSpeedScaleIsRejected() {
+    Profile view = profile().offset(1);
+    for (double scale : new double[]{0, -1, Double.NaN, Double.POSITIVE_INFINITY}) {
+      try {
+        view.scaledSpeed(scale);
+        fail("accepted scale " + scale);
+      } catch (IllegalArgumentException expected) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void mirroredPairSwapsSides() {
+    MotionProfile left = profile();
+    MotionProfile right = new MotionProfile(new Point[]{new Point(0.01, 0, 1, 2, 3, 4, 5, 6)});
+    ProfilePair mirrored = new ProfilePair(left, right).mirrored();
+    assertSameProfile(right.mirrored(), mirrored.getLeft());
+    assertSameProfile(left.mirrored(), mirrored.getRight());
+  }
+}
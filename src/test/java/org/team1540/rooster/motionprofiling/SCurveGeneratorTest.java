@@ -0,0 +1,222 @@
+package org.team1540.rooster.motionprofiling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import org.team1540.rooster.AllocationCounter;
+
+public class SCurveGeneratorTest {
+
+  private static final double MAX_VELOCITY = 2;
+  private static final double MAX_ACCELERATION = 4;
+  private static final double MAX_JERK = 20;
+  private static final long STEP_NANOS = 1_000_000;
+  private static final double STEP = 1e-3;
+  private static final double EPSILON = 1e-9;
+
+  private long timeNanos;
+
+  @Before
+  public void setUp() {
+    timeNanos = 0;
+  }
+
+  private SCurveGenerator create(double maxJerk) {
+    SCurveGenerator generator = new SCurveGenerator(MAX_VELOCITY, MAX_ACCELERATION, maxJerk);
+    generator.setClock(() -> timeNanos);
+    return generator;
+  }
+
+  /**
+   * Steps the generator in 1 ms increments, checking the limits and that the motion is continuous
+   * from one step to the next.
+   *
+   * @return The number of steps taken.
+   */
+  private int runChecked(SCurveGenerator generator, double maxJerk, int steps) {
+    double lastPosition = generator.getPosition();
+    double lastVelocity = generator.getVelocity();
+    double lastAcceleration = generator.getAcceleration();
+    for (int k = 0; k < steps; k++) {
+      timeNanos += STEP_NANOS;
+      generator.update();
+      double position = generator.getPosition();
+      double velocity = generator.getVelocity();
+      double acceleration = generator.getAcceleration();
+
+      assertTrue("velocity " + velocity, Math.abs(velocity) <= MAX_VELOCITY + EPSILON);
+      assertTrue("acceleration " + acceleration,
+          Math.abs(acceleration) <= MAX_ACCELERATION + EPSILON);
+      assertTrue("position jumped", Math.abs(position - lastPosition)
+          <= MAX_VELOCITY * STEP + EPSILON);
+      assertTrue("velocity jumped", Math.abs(velocity - lastVelocity)
+          <= MAX_ACCELERATION * STEP + EPSILON);
+      if (maxJerk < Double.POSITIVE_INFINITY) {
+        assertTrue("acceleration jumped", Math.abs(acceleration - lastAcceleration)
+            <= maxJerk * STEP + EPSILON);
+      }
+
+      lastPosition = position;
+      lastVelocity = velocity;
+      lastAcceleration = acceleration;
+      if (generator.isFinished()) {
+        return k + 1;
+      }
+    }
+    return steps;
+  }
+
+  @Test
+  public void jerkLimitedMoveTakesTheExpectedTime() {
+    SCurveGenerator generator = create(MAX_JERK);
+    generator.setTarget(5);
+    // 0.7 s to reach cruise (0.5 s at full acceleration plus a 0.2 s jerk ramp), 1.8 s cruising
+    assertEquals(3.2, generator.getPlanDuration(), 1e-9);
+    runChecked(generator, MAX_JERK, 4000);
+    assertTrue(generator.isFinished());
+    assertEquals(5, generator.getPosition(), 0);
+    assertEquals(0, generator.getVelocity(), 0);
+    assertEquals(0, generator.getAcceleration(), 0);
+  }
+
+  @Test
+  public void infiniteJerkGivesATrapezoid() {
+    SCurveGenerator generator = create(Double.POSITIVE_INFINITY);
+    generator.setTarget(5);
+    assertEquals(3.0, generator.getPlanDuration(), 1e-9);
+    for (int k = 0; k < 3000; k++) {
+      timeNanos += STEP_NANOS;
+      generator.update();
+      double acceleration = Math.abs(generator.getAcceleration());
+      assertTrue("acceleration " + acceleration,
+          acceleration == 0 || Math.abs(acceleration - MAX_ACCELERATION) < EPSILON);
+      if (k >= 500 && k < 2499) {
+        assertEquals(MAX_VELOCITY, generator.getVelocity(), EPSILON);
+      }
+    }
+    timeNanos += STEP_NANOS;
+    generator.update();
+    assertTrue(generator.isFinished());
+    assertEquals(5, generator.getPosition(), 0);
+  }
+
+  @Test
+  public void shortMoveStaysUnderTheVelocityLimit() {
+    SCurveGenerator generator = create(MAX_JERK);
+    generator.setTarget(0.3);
+    runChecked(generator, MAX_JERK, 4000);
+    assertTrue(generator.isFinished());
+    assertEquals(0.3, generator.getPosition(), 0);
+  }
+
+  @Test
+  public void movesFromRestDoNotOvershoot() {
+    Random random = new Random(1540);
+    for (double jerk : new double[]{MAX_JERK, Double.POSITIVE_INFINITY}) {
+      SCurveGenerator generator = create(jerk);
+      for (int move = 0; move < 50; move++) {
+        double start = generator.getPosition();
+        double target = start + (random.nextDouble() - 0.5) * 10;
+        generator.setTarget(target);
+        double low = Math.min(start, target) - EPSILON;
+        double high = Math.max(start, target) + EPSILON;
+        while (!generator.isFinished()) {
+          timeNanos += STEP_NANOS;
+          generator.update();
+          double position = generator.getPosition();
+          assertTrue("position " + position + " outside [" + low + ", " + high + "]",
+              position >= low && position <= high);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void retargetingIsContinuousAndWithinLimits() {
+    Random random = new Random(1540);
+    SCurveGenerator generator = create(MAX_JERK);
+    for (int retarget = 0; retarget < 200; retarget++) {
+      timeNanos += STEP_NANOS;
+      generator.update();
+      double position = generator.getPosition();
+      double velocity = generator.getVelocity();
+      double acceleration = generator.getAcceleration();
+
+      generator.setTarget((random.nextDouble() - 0.5) * 20);
+      // replanning starts from the sampled state at the same instant
+      assertEquals(position, generator.getPosition(), EPSILON);
+      assertEquals(velocity, generator.getVelocity(), EPSILON);
+      assertEquals(acceleration, generator.getAcceleration(), EPSILON);
+
+      runChecked(generator, MAX_JERK, random.nextInt(800));
+    }
+    runChecked(generator, MAX_JERK, 100_000);
+    assertTrue(generator.isFinished());
+    assertEquals(generator.getTarget(), generator.getPosition(), 0);
+  }
+
+  @Test
+  public void retargetingTowardsAFartherTargetDoesNotOvershoot() {
+    SCurveGenerator generator = create(MAX_JERK);
+    generator.setTarget(3);
+    runChecked(generator, MAX_JERK, 700);
+    generator.setTarget(6);
+    while (!generator.isFinished()) {
+      timeNanos += STEP_NANOS;
+      generator.update();
+      assertTrue(generator.getPosition() <= 6 + EPSILON);
+    }
+    assertEquals(6, generator.getPosition(), 0);
+  }
+
+  @Test
+  public void resetWhileMovingComesToAStop() {
+    SCurveGenerator generator = create(MAX_JERK);
+    generator.reset(1, 1.5, 0);
+    assertTrue(generator.getTarget() > 1);
+    runChecked(generator, MAX_JERK, 10_000);
+    assertTrue(generator.isFinished());
+    assertEquals(generator.getTarget(), generator.getPosition(), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void infiniteVelocityLimitThrows() {
+    new SCurveGenerator(Double.POSITIVE_INFINITY, 1, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nonPositiveJerkLimitThrows() {
+    new SCurveGenerator(1, 1, 0);
+  }
+
+  @Test
+  public void retargetIsCheapAndAllocatesNothing() {
+    SCurveGenerator generator = create(MAX_JERK);
+    double[] targets = new double[1024];
+    Random random = new Random(1540);
+    for (int i = 0; i < targets.length; i++) {
+      targets[i] = (random.nextDouble() - 0.5) * 20;
+    }
+    int[] index = {0};
+    Runnable retarget = () -> {
+      timeNanos += STEP_NANOS;
+      generator.setTarget(targets[index[0]]);
+      index[0] = (index[0] + 1) & (targets.length - 1);
+    };
+
+    int iterations = 100_000;
+    long bytes = AllocationCounter.allocatedBytes(iterations, retarget);
+    assertEquals("allocated " + bytes + " bytes", 0, Math.max(0, bytes - 1024));
+
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      retarget.run();
+    }
+    double nanosPerRetarget = (System.nanoTime() - start) / (double) iterations;
+    // about 1.5 us on a desktop; the bound only catches a regression to something like O(n)
+    assertTrue("retarget took " + nanosPerRetarget + " ns", nanosPerRetarget < 100_000);
+  }
+}
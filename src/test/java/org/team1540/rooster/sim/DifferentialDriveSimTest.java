@@ -0,0 +1,47 @@
+package org.team1540.rooster.sim;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.team1540.rooster.drive.pipeline.CTREOutput;
+import org.team1540.rooster.drive.pipeline.TankDriveData;
+import org.team1540.rooster.wrappers.SimChickenController.Motor;
+
+public class DifferentialDriveSimTest {
+
+  private static DifferentialDriveSim create() {
+    return new DifferentialDriveSim(Motor.CIM, 2, 10.71, 0.0762, 0.6, 50, 5, 4096);
+  }
+
+  @Test
+  public void demandFiltersRunOnSimulationTime() {
+    DifferentialDriveSim sim = create();
+    CTREOutput output = sim.getOutput();
+    output.setClosedLoop(false);
+    TankDriveData data = new TankDriveData().plusAdditionalFeedForwards(0.5, 0.5);
+
+    // 10 s of simulated time finishes in far less wall time, so any wall-clock filter would
+    // skip every refresh after the first send
+    sim.run(() -> output.accept(data), 0.02, 10);
+
+    assertEquals(100, output.getLeftFilter().getSentCount());
+    assertEquals(100, output.getRightFilter().getSentCount());
+    assertEquals(10_000_000, sim.getTimeMicros());
+  }
+
+  @Test
+  public void identicalRunsGiveIdenticalResults() {
+    double[] x = new double[2];
+    for (int i = 0; i < 2; i++) {
+      DifferentialDriveSim sim = create();
+      CTREOutput output = sim.getOutput();
+      output.setClosedLoop(false);
+      TankDriveData data = new TankDriveData().plusAdditionalFeedForwards(0.6, 0.4);
+      sim.run(() -> output.accept(data), 0.02, 3);
+      x[i] = sim.getX();
+    }
+    assertTrue(x[0] != 0);
+    assertEquals(x[0], x[1], 0);
+  }
+}
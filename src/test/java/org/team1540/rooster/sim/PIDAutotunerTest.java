@@ -0,0 +1,101 @@
+package org.team1540.rooster.sim;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import org.team1540.rooster.sim.PIDAutotuner.Candidate;
+
+public class PIDAutotunerTest {
+
+  private static PIDAutotuner create() {
+    return new PIDAutotuner(() -> Plant.firstOrder(2, 0.3), PIDAutotuner.forMiniPID(0.02))
+        .setSearches(2)
+        .setMaxEvaluations(60)
+        .setPool(new ForkJoinPool(2));
+  }
+
+  @Test
+  public void untunedFeedForwardStaysAtItsFixedValue() {
+    List<Candidate> results = create().tune();
+    for (Candidate candidate : results) {
+      assertEquals(0, candidate.getGains()[PIDAutotuner.F], 0);
+    }
+  }
+
+  @Test
+  public void onlyTunedGainsAreSeeded() {
+    PIDAutotuner tuner = create();
+    double[] fixed = {0.1, 0.2, 0.3, 0.4};
+    double[] seed = tuner.identify().getSeedGains(fixed, new boolean[]{false, true, false, false});
+    assertEquals(0.1, seed[PIDAutotuner.P], 0);
+    assertTrue(seed[PIDAutotuner.I] != 0.2);
+    assertEquals(0.3, seed[PIDAutotuner.D], 0);
+    assertEquals(0.4, seed[PIDAutotuner.F], 0);
+
+    assertArrayEquals(fixed,
+        tuner.identify().getSeedGains(fixed, new boolean[]{false, false, false, false}), 0);
+  }
+
+  @Test
+  public void untunedGainsAreHeldEvenWhenSeededOtherwise() {
+    PIDAutotuner tuner = create()
+        .setTuned(true, false, false, false)
+        .setFixedGains(0, 0, 0, 0.5);
+    for (Candidate candidate : tuner.tune(new double[]{1, 1, 1, 1})) {
+      double[] gains = candidate.getGains();
+      assertTrue(gains[PIDAutotuner.P] > 0);
+      assertEquals(0, gains[PIDAutotuner.I], 0);
+      assertEquals(0, gains[PIDAutotuner.D], 0);
+      assertEquals(0.5, gains[PIDAutotuner.F], 0);
+    }
+  }
+
+  @Test
+  public void tuningLowersCostFromTheStartingGains() {
+    PIDAutotuner tuner = create();
+    double[] start = {0.5, 0.5, 0.01, 0};
+    Candidate initial = tuner.evaluate(start);
+    Candidate tuned = tuner.tune(start).get(0);
+    assertTrue("tuned cost " + tuned.getCost() + " vs. starting cost " + initial.getCost(),
+        tuned.getCost() < 0.5 * initial.getCost());
+
+    // the relay-seeded run should improve on its Ziegler-Nichols seed too
+    boolean[] tunedGains = {true, true, true, false};
+    double[] seed = tuner.identify().getSeedGains(new double[4], tunedGains);
+    assertTrue(tuner.tune().get(0).getCost() < tuner.evaluate(seed).getCost());
+  }
+
+  @Test
+  public void singleEvaluationStillReturnsACandidate() {
+    List<Candidate> results = create().setMaxEvaluations(1).tune(new double[]{1, 1, 0.1, 0});
+    assertEquals(2, results.size());
+    for (Candidate candidate : results) {
+      assertTrue(Double.isFinite(candidate.getCost()));
+    }
+  }
+
+  @Test
+  public void nonPositiveSettingsAreRejected() {
+    PIDAutotuner tuner = create();
+    assertRejected(() -> tuner.setMaxEvaluations(0));
+    assertRejected(() -> tuner.setMaxEvaluations(-1));
+    for (double bad : new double[]{0, -1, Double.NaN}) {
+      assertRejected(() -> tuner.setOvershootPenalty(bad));
+      assertRejected(() -> tuner.setSettlingBand(bad));
+    }
+  }
+
+  private static void assertRejected(Runnable setter) {
+    try {
+      setter.run();
+      fail("expected an IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,245 @@
+package org.team1540.rooster.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.team1540.rooster.AllocationCounter;
+
+public class EdgeEventBusTest {
+
+    private static final long MS = 1_000_000;
+
+    private long timeNanos;
+    private EdgeEventBus bus;
+    private boolean[] values;
+    private int rising;
+    private int falling;
+    private int longPresses;
+
+    @Before
+    public void setUp() {
+        timeNanos = 0;
+        bus = new EdgeEventBus();
+        bus.setClock(() -> timeNanos);
+        values = new boolean[1];
+        rising = 0;
+        falling = 0;
+        longPresses = 0;
+    }
+
+    private int registerCounted(double debounce) {
+        int index = bus.register(() -> values[0], debounce);
+        bus.onRising(index, () -> rising++)
+                .onFalling(index, () -> falling++);
+        return index;
+    }
+
+    /**
+     * Advances the clock by 20 ms and polls.
+     */
+    private void step() {
+        timeNanos += 20 * MS;
+        bus.poll();
+    }
+
+    @Test
+    public void pressAndReleaseFireOnce() {
+        int index = registerCounted(0);
+        step();
+        assertEquals(0, rising);
+
+        values[0] = true;
+        step();
+        assertEquals(1, rising);
+        assertTrue(bus.get(index));
+        // holding doesn't fire again
+        step();
+        step();
+        assertEquals(1, rising);
+        assertEquals(0, falling);
+
+        values[0] = false;
+        step();
+        assertEquals(1, falling);
+        assertFalse(bus.get(index));
+        step();
+        assertEquals(1, rising);
+        assertEquals(1, falling);
+    }
+
+    @Test
+    public void sourceTrueAtFirstPollFiresRising() {
+        registerCounted(0);
+        values[0] = true;
+        bus.poll();
+        assertEquals(1, rising);
+    }
+
+    @Test
+    public void debounceIgnoresBounce() {
+        int index = registerCounted(0.05);
+        // bounce: true for one 20 ms loop, then false again
+        values[0] = true;
+        step();
+        values[0] = false;
+        step();
+        values[0] = true;
+        step();
+        step();
+        step();
+        // 40 ms since the raw value last changed
+        assertEquals(0, rising);
+        assertFalse(bus.get(index));
+
+        // 60 ms
+        step();
+        assertEquals(1, rising);
+        assertTrue(bus.get(index));
+
+        values[0] = false;
+        step();
+        step();
+        step();
+        assertEquals(0, falling);
+        step();
+        assertEquals(1, falling);
+    }
+
+    @Test
+    public void longPressFiresOncePerHold() {
+        int index = registerCounted(0);
+        bus.onLongPress(index, 0.5, () -> longPresses++);
+
+        values[0] = true;
+        step();
+        for (int i = 0; i < 24; i++) {
+            step();
+        }
+        // 480 ms held
+        assertEquals(0, longPresses);
+        step();
+        assertEquals(1, longPresses);
+        for (int i = 0; i < 50; i++) {
+            step();
+        }
+        assertEquals(1, longPresses);
+
+        // a short press doesn't count
+        values[0] = false;
+        step();
+        values[0] = true;
+        step();
+        values[0] = false;
+        step();
+        assertEquals(1, longPresses);
+
+        // but a second long hold does
+        values[0] = true;
+        for (int i = 0; i < 30; i++) {
+            step();
+        }
+        assertEquals(2, longPresses);
+        assertEquals(3, rising);
+    }
+
+    @Test
+    public void longPressIncludesDebounceTime() {
+        int index = registerCounted(0.1);
+        bus.onLongPress(index, 0.2, () -> longPresses++);
+        values[0] = true;
+        step();
+        // raw changed at 20 ms; the state goes true at 120 ms and the long press fires at 220 ms
+        for (int i = 0; i < 9; i++) {
+            step();
+        }
+        assertEquals(1, rising);
+        assertEquals(0, longPresses);
+        step();
+        assertEquals(1, longPresses);
+    }
+
+    @Test
+    public void handlersRunInOrderAdded() {
+        StringBuilder order = new StringBuilder();
+        int index = bus.register(() -> values[0]);
+        bus.onRising(index, () -> order.append('a'))
+                .onRising(index, () -> order.append('b'))
+                .onRising(index, () -> order.append('c'));
+        values[0] = true;
+        step();
+        assertEquals("abc", order.toString());
+    }
+
+    @Test
+    public void throwingHandlerDoesNotStopOthers() {
+        boolean[] other = new boolean[1];
+        int first = bus.register(() -> values[0]);
+        int second = bus.register(() -> other[0]);
+        bus.onRising(first, () -> {
+            throw new IllegalStateException("test");
+        });
+        bus.onRising(first, () -> rising++);
+        bus.onRising(second, () -> falling++);
+
+        values[0] = true;
+        other[0] = true;
+        step();
+        // the handler after the throwing one and the next source's handler both ran
+        assertEquals(1, rising);
+        assertEquals(1, falling);
+        assertTrue(bus.get(first));
+        assertTrue(bus.get(second));
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        boolean[] many = new boolean[200];
+        int[] fired = new int[200];
+        for (int i = 0; i < many.length; i++) {
+            int source = i;
+            assertEquals(i, bus.register(() -> many[source]));
+            bus.onRising(i, () -> fired[source]++);
+        }
+        assertEquals(200, bus.size());
+        many[3] = true;
+        many[64] = true;
+        many[199] = true;
+        step();
+        for (int i = 0; i < many.length; i++) {
+            assertEquals("source " + i, many[i] ? 1 : 0, fired[i]);
+            assertEquals(many[i], bus.get(i));
+        }
+    }
+
+    @Test
+    public void pollAllocatesNothing() {
+        boolean[] many = new boolean[100];
+        for (int i = 0; i < many.length; i++) {
+            int source = i;
+            int index = bus.register(() -> many[source], 0.02);
+            bus.onRising(index, () -> rising++).onFalling(index, () -> falling++);
+        }
+        int[] loop = {0};
+        long bytes = AllocationCounter.allocatedBytes(100_000, () -> {
+            many[loop[0] % many.length] ^= true;
+            loop[0]++;
+            timeNanos += 20 * MS;
+            bus.poll();
+        });
+        assertEquals("allocated " + bytes + " bytes", 0, Math.max(0, bytes - 1024));
+        assertTrue(rising > 0 && falling > 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void unknownIndexThrows() {
+        bus.onRising(0, () -> { });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeDebounceThrows() {
+        bus.register(() -> true, -1);
+    }
+}
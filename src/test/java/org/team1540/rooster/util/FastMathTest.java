@@ -0,0 +1,92 @@
+package org.team1540.rooster.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FastMathTest {
+
+    private static final double HALF_PI = Math.PI / 2;
+
+    @Test
+    public void sinAndCosWithinBoundOverFullDomain() {
+        double maxError = 0;
+        // a step that isn't a multiple of the table spacing, so samples land all over each segment
+        int samples = 4_000_000;
+        for (int i = 0; i <= samples; i++) {
+            double angle = -1000 + 2000.0 * i / samples;
+            maxError = Math.max(maxError, Math.abs(FastMath.sin(angle) - Math.sin(angle)));
+            maxError = Math.max(maxError, Math.abs(FastMath.cos(angle) - Math.cos(angle)));
+        }
+        assertTrue("max error " + maxError, maxError <= FastMath.TRIG_ERROR);
+    }
+
+    @Test
+    public void sinAndCosWithinBoundAtQuadrantEdges() {
+        double maxError = 0;
+        for (int k = -636; k <= 636; k++) {
+            double edge = k * HALF_PI;
+            for (double angle : new double[]{edge, Math.nextDown(edge), Math.nextUp(edge),
+                    edge - 1e-9, edge + 1e-9}) {
+                maxError = Math.max(maxError, Math.abs(FastMath.sin(angle) - Math.sin(angle)));
+                maxError = Math.max(maxError, Math.abs(FastMath.cos(angle) - Math.cos(angle)));
+            }
+        }
+        assertTrue("max error " + maxError, maxError <= FastMath.TRIG_ERROR);
+        assertEquals(0, FastMath.sin(0), 0);
+        assertEquals(1, FastMath.cos(0), 0);
+    }
+
+    @Test
+    public void atan2WithinBoundAroundCircle() {
+        double maxError = 0;
+        int samples = 1_000_000;
+        for (double radius : new double[]{1e-300, 1e-6, 1, 1e6, 1e300}) {
+            for (int i = 0; i < samples; i++) {
+                double angle = -Math.PI + 2 * Math.PI * i / samples;
+                double y = radius * Math.sin(angle);
+                double x = radius * Math.cos(angle);
+                maxError = Math.max(maxError, Math.abs(FastMath.atan2(y, x) - Math.atan2(y, x)));
+            }
+        }
+        assertTrue("max error " + maxError, maxError <= FastMath.ATAN2_ERROR);
+    }
+
+    @Test
+    public void atan2WithinBoundAtOctantAndQuadrantEdges() {
+        double[] magnitudes = {Double.MIN_VALUE, 1e-10, 0.5, 1, 3, Double.MAX_VALUE};
+        double maxError = 0;
+        for (double a : magnitudes) {
+            for (double b : new double[]{a, Math.nextUp(a), Math.nextDown(a), 0.0, -0.0}) {
+                for (int signs = 0; signs < 4; signs++) {
+                    double y = (signs & 1) == 0 ? a : -a;
+                    double x = (signs & 2) == 0 ? b : -b;
+                    maxError = Math.max(maxError, atan2Error(y, x));
+                    maxError = Math.max(maxError, atan2Error(x, y));
+                }
+            }
+        }
+        assertTrue("max error " + maxError, maxError <= FastMath.ATAN2_ERROR);
+    }
+
+    @Test
+    public void atan2MatchesSignedZerosAndNaN() {
+        double[][] exact = {{0.0, 0.0}, {-0.0, 0.0}, {0.0, -0.0}, {-0.0, -0.0},
+                {0.0, 1}, {-0.0, 1}, {0.0, -1}, {-0.0, -1}, {1, 0.0}, {-1, 0.0}, {1, -0.0},
+                {-1, -0.0}};
+        for (double[] point : exact) {
+            // compare the bits so +0 and -0 (and +pi and -pi) are told apart
+            assertEquals("atan2(" + point[0] + ", " + point[1] + ")",
+                    Double.doubleToLongBits(Math.atan2(point[0], point[1])),
+                    Double.doubleToLongBits(FastMath.atan2(point[0], point[1])));
+        }
+        assertTrue(Double.isNaN(FastMath.atan2(Double.NaN, 1)));
+        assertTrue(Double.isNaN(FastMath.atan2(1, Double.NaN)));
+        assertTrue(Double.isNaN(FastMath.atan2(Double.NaN, 0)));
+    }
+
+    private static double atan2Error(double y, double x) {
+        return Math.abs(FastMath.atan2(y, x) - Math.atan2(y, x));
+    }
+}
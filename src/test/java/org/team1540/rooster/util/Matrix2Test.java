@@ -0,0 +1,126 @@
+package org.team1540.rooster.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class Matrix2Test {
+
+    private static final double EPSILON = 1e-12;
+
+    private static void assertMatrixEquals(Matrix2 expected, Matrix2 actual, double tolerance) {
+        String message = "expected " + expected + ", got " + actual;
+        assertEquals(message, expected.m00, actual.m00, tolerance);
+        assertEquals(message, expected.m01, actual.m01, tolerance);
+        assertEquals(message, expected.m10, actual.m10, tolerance);
+        assertEquals(message, expected.m11, actual.m11, tolerance);
+    }
+
+    /**
+     * Tolerance relative to the largest element, for results that grow or shrink exponentially.
+     */
+    private static void assertMatrixClose(Matrix2 expected, Matrix2 actual) {
+        assertMatrixEquals(expected, actual, 1e-12 * Math.max(1, expected.maxNorm()));
+    }
+
+    @Test
+    public void expOfDiagonalIsElementwise() {
+        for (double[] d : new double[][]{{0, 0}, {1, -1}, {-0.3, 2.5}, {-50, 3}, {10, 1e-6}}) {
+            assertMatrixClose(Matrix2.diagonal(Math.exp(d[0]), Math.exp(d[1])),
+                    Matrix2.diagonal(d[0], d[1]).exp());
+        }
+    }
+
+    @Test
+    public void expOfSkewSymmetricIsRotation() {
+        for (double theta : new double[]{0.1, 1, Math.PI, -2.5, 20}) {
+            Matrix2 rotation = new Matrix2(Math.cos(theta), -Math.sin(theta),
+                    Math.sin(theta), Math.cos(theta));
+            assertMatrixClose(rotation, new Matrix2(0, -theta, theta, 0).exp());
+        }
+    }
+
+    @Test
+    public void expOfNilpotentIsFiniteSeries() {
+        // N^2 = 0, so e^N = I + N
+        assertMatrixClose(new Matrix2(1, 3.5, 0, 1), new Matrix2(0, 3.5, 0, 0).exp());
+    }
+
+    @Test
+    public void expOfCoupledMatrixMatchesEigendecomposition() {
+        // [[a, b], [b, a]] has eigenvalues a + b and a - b on the eigenvectors (1, 1) and (1, -1),
+        // which is the shape of a drivetrain model
+        double a = -8;
+        double b = 3;
+        double sum = Math.exp(a + b);
+        double difference = Math.exp(a - b);
+        Matrix2 expected = new Matrix2(sum + difference, sum - difference,
+                sum - difference, sum + difference).times(0.5);
+        assertMatrixClose(expected, new Matrix2(a, b, b, a).exp());
+    }
+
+    @Test
+    public void inverseMatchesClosedForm() {
+        Matrix2 m = new Matrix2(4, 7, 2, 6);
+        // det = 10
+        assertMatrixEquals(new Matrix2(0.6, -0.7, -0.2, 0.4), m.inverse(), EPSILON);
+        assertMatrixEquals(Matrix2.IDENTITY, m.times(m.inverse()), EPSILON);
+        assertMatrixEquals(Matrix2.IDENTITY, m.inverse().times(m), EPSILON);
+        assertMatrixEquals(Matrix2.diagonal(0.5, -4), Matrix2.diagonal(2, -0.25).inverse(),
+                EPSILON);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void singularInverseThrows() {
+        new Matrix2(1, 2, 2, 4).inverse();
+    }
+
+    @Test
+    public void scalarDAREMatchesClosedForm() {
+        // with everything diagonal the DARE splits into two scalar equations
+        // p = q + a^2 p - a^2 b^2 p^2 / (r + b^2 p), whose positive root is below
+        double a = 0.9;
+        double b = 0.05;
+        double q = 4;
+        double r = 1;
+        double c = r * (1 - a * a) / (b * b);
+        double expected = (q - c + Math.sqrt((q - c) * (q - c) + 4 * q * r / (b * b))) / 2;
+
+        Matrix2 p = Matrix2.solveDARE(Matrix2.diagonal(a, a), Matrix2.diagonal(b, b),
+                Matrix2.diagonal(q, q), Matrix2.diagonal(r, r));
+        assertMatrixEquals(Matrix2.diagonal(expected, expected), p, 1e-9 * expected);
+    }
+
+    @Test
+    public void dareSolutionSatisfiesRiccatiEquation() {
+        Matrix2[][] systems = {
+                // a coupled, discretized drivetrain
+                {new Matrix2(0.95, 0.02, 0.02, 0.95), new Matrix2(0.3, 0.05, 0.05, 0.3),
+                        Matrix2.bryson(0.1, 0.1), Matrix2.bryson(1, 1)},
+                // an unstable, non-symmetric system with a single input direction
+                {new Matrix2(1.1, 0.2, 0, 0.8), new Matrix2(0, 0, 1, 0),
+                        Matrix2.diagonal(1, 2), Matrix2.diagonal(0.5, 1)},
+                // the Kalman filter's dual problem
+                {new Matrix2(0.95, 0.02, 0.02, 0.95).transpose(), Matrix2.IDENTITY,
+                        Matrix2.diagonal(0.01, 0.01), Matrix2.diagonal(0.04, 0.04)},
+        };
+        for (Matrix2[] system : systems) {
+            Matrix2 a = system[0];
+            Matrix2 b = system[1];
+            Matrix2 q = system[2];
+            Matrix2 r = system[3];
+            Matrix2 p = Matrix2.solveDARE(a, b, q, r);
+
+            Matrix2 at = a.transpose();
+            Matrix2 bt = b.transpose();
+            Matrix2 rhs = q.plus(at.times(p).times(a))
+                    .minus(at.times(p).times(b).times(r.plus(bt.times(p).times(b)).inverse())
+                            .times(bt).times(p).times(a));
+            assertMatrixEquals(rhs, p, 1e-9 * p.maxNorm());
+            assertEquals(p.m01, p.m10, 0);
+            // P is positive definite
+            assertTrue(p.m00 > 0 && p.determinant() > 0);
+        }
+    }
+}
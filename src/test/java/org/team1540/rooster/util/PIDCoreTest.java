@@ -0,0 +1,137 @@
+package org.team1540.rooster.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.team1540.rooster.util.PIDCore.AntiWindup;
+
+public class PIDCoreTest {
+
+    private static final double EPSILON = 1e-12;
+    private static final double DT = 0.1;
+
+    @Test
+    public void firstCallUsesOnlyPAndF() {
+        PIDCore core = new PIDCore(1, 1, 1, 0.5);
+        assertEquals(0.5 * 2 + 2, core.calculate(2, 0, DT), EPSILON);
+        assertEquals(0, core.getIntegral(), 0);
+    }
+
+    @Test
+    public void integralAccumulatesErrorTimesDt() {
+        PIDCore core = new PIDCore(0, 2, 0);
+        assertEquals(0, core.calculate(1, 0, DT), EPSILON);
+        assertEquals(0.2, core.calculate(1, 0, DT), EPSILON);
+        assertEquals(0.4, core.calculate(1, 0, DT), EPSILON);
+        assertEquals(0.2, core.getIntegral(), EPSILON);
+    }
+
+    @Test
+    public void derivativeIsOnMeasurement() {
+        PIDCore core = new PIDCore(0, 0, 1);
+        core.calculate(0, 0, DT);
+        // a setpoint step doesn't kick the derivative
+        assertEquals(0, core.calculate(5, 0, DT), EPSILON);
+        assertEquals(-10, core.calculate(5, 1, DT), EPSILON);
+    }
+
+    @Test
+    public void nonPositiveDtHoldsIntegralAndDerivative() {
+        PIDCore core = new PIDCore(0, 1, 1);
+        core.calculate(1, 0, DT);
+        core.calculate(1, 1, DT);
+        double integral = core.getIntegral();
+        double output = core.getOutput();
+        assertEquals(output, core.calculate(1, 1, 0), EPSILON);
+        assertEquals(output, core.calculate(1, 1, Double.NaN), EPSILON);
+        assertEquals(integral, core.getIntegral(), 0);
+    }
+
+    @Test
+    public void derivativeFilterIsFirstOrder() {
+        PIDCore core = new PIDCore(0, 0, 1);
+        core.setDerivativeFilter(DT);
+        core.calculate(0, 0, DT);
+        // raw derivative -10, filtered by dt / (tau + dt) = 1/2
+        assertEquals(-5, core.calculate(0, 1, DT), EPSILON);
+        assertEquals(-7.5, core.calculate(0, 2, DT), EPSILON);
+    }
+
+    @Test
+    public void clampStopsIntegratingIntoSaturation() {
+        PIDCore core = new PIDCore(2, 1, 0);
+        core.setOutputLimits(-1, 1);
+        core.setAntiWindup(AntiWindup.CLAMP);
+        core.calculate(1, 0, DT);
+        assertEquals(1, core.calculate(1, 0, DT), EPSILON);
+        assertEquals(0, core.getIntegral(), EPSILON);
+        // integration resumes once the output is back within the limits
+        core.calculate(-0.2, 0, DT);
+        assertEquals(-0.2 * DT, core.getIntegral(), EPSILON);
+    }
+
+    @Test
+    public void backCalculationBleedsExcessIntegral() {
+        PIDCore core = new PIDCore(2, 1, 0);
+        core.setOutputLimits(-1, 1);
+        core.setAntiWindup(AntiWindup.BACK_CALCULATION);
+        core.calculate(1, 0, DT);
+        assertEquals(1, core.calculate(1, 0, DT), EPSILON);
+        // unsaturated 2.1 against a limit of 1 removes 1.1 of integral
+        assertEquals(DT - 1.1, core.getIntegral(), EPSILON);
+    }
+
+    @Test
+    public void noAntiWindupKeepsIntegrating() {
+        PIDCore core = new PIDCore(2, 1, 0);
+        core.setOutputLimits(-1, 1);
+        core.setAntiWindup(AntiWindup.NONE);
+        for (int k = 0; k < 11; k++) {
+            assertEquals(1, core.calculate(1, 0, DT), EPSILON);
+        }
+        assertEquals(1, core.getIntegral(), EPSILON);
+    }
+
+    @Test
+    public void maxIOutputCapsIntegral() {
+        PIDCore core = new PIDCore(0, 2, 0);
+        core.setMaxIOutput(1);
+        for (int k = 0; k < 20; k++) {
+            core.calculate(1, 0, DT);
+        }
+        assertEquals(0.5, core.getIntegral(), EPSILON);
+        assertEquals(1, core.getOutput(), EPSILON);
+    }
+
+    @Test
+    public void clockGivesTheTimeStep() {
+        long[] timeNanos = {0};
+        PIDCore core = new PIDCore(0, 1, 0);
+        core.setClock(() -> timeNanos[0]);
+        core.calculate(1, 0);
+        timeNanos[0] = 15_500_000;
+        core.calculate(1, 0);
+        assertEquals(0.0155, core.getIntegral(), EPSILON);
+    }
+
+    @Test
+    public void resetMakesTheNextCallTheFirst() {
+        PIDCore core = new PIDCore(1, 1, 1);
+        core.calculate(1, 0, DT);
+        core.calculate(1, 0.5, DT);
+        core.reset();
+        assertEquals(0, core.getIntegral(), 0);
+        assertEquals(0, core.getError(), 0);
+        assertEquals(1, core.calculate(1, 0, DT), EPSILON);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invertedOutputLimitsThrow() {
+        new PIDCore(1, 0, 0).setOutputLimits(1, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeMaxIOutputThrows() {
+        new PIDCore(1, 0, 0).setMaxIOutput(-1);
+    }
+}
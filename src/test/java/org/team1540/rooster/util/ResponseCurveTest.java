@@ -0,0 +1,141 @@
+package org.team1540.rooster.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.DoubleUnaryOperator;
+import org.junit.Test;
+
+public class ResponseCurveTest {
+
+    private static final double EPSILON = 1e-12;
+    private static final long STEP_NANOS = 100_000_000;
+
+    private long timeNanos;
+
+    private ResponseCurve slewLimited(double slewRate) {
+        ResponseCurve curve = new ResponseCurve(x -> x);
+        curve.setClock(() -> timeNanos);
+        curve.setSlewRate(slewRate);
+        return curve;
+    }
+
+    @Test
+    public void smoothCurveWithinInterpolationBound() {
+        DoubleUnaryOperator cube = x -> x * x * x;
+        ResponseCurve curve = new ResponseCurve(cube);
+        // h^2 / 8 max |f''| with h = 2 / 1024 and f'' = 6x
+        double h = 2.0 / (ResponseCurve.DEFAULT_POINTS - 1);
+        double bound = h * h / 8 * 6;
+        double maxError = 0;
+        for (int i = 0; i <= 100_000; i++) {
+            double x = -1 + 2.0 * i / 100_000;
+            maxError = Math.max(maxError, Math.abs(curve.lookup(x) - cube.applyAsDouble(x)));
+        }
+        assertTrue("max error " + maxError + " vs. bound " + bound, maxError <= bound + EPSILON);
+    }
+
+    @Test
+    public void deadzoneCurveWithinOneCell() {
+        DoubleUnaryOperator source = ResponseCurve.deadzoneExpo(0.1, 2);
+        ResponseCurve curve = new ResponseCurve(source);
+        double h = 2.0 / (ResponseCurve.DEFAULT_POINTS - 1);
+        // the steepest slope is 2 / 0.9 at the ends, so one cell can be off by at most h times that
+        double bound = h * 2 / 0.9;
+        for (int i = 0; i <= 100_000; i++) {
+            double x = -1 + 2.0 * i / 100_000;
+            assertEquals("at " + x, source.applyAsDouble(x), curve.lookup(x), bound);
+        }
+        // exact on the grid and inside the deadzone
+        for (int i = 0; i < ResponseCurve.DEFAULT_POINTS; i++) {
+            double x = -1 + i * h;
+            assertEquals(source.applyAsDouble(x), curve.lookup(x), EPSILON);
+        }
+        assertEquals(0, curve.lookup(0.05), 0);
+        assertEquals(0, curve.lookup(-0.05), 0);
+    }
+
+    @Test
+    public void inputsOutsideRangeAreClamped() {
+        DoubleUnaryOperator source = ResponseCurve.deadzoneExpo(0.1, 3);
+        ResponseCurve curve = new ResponseCurve(source, 33);
+        assertEquals(source.applyAsDouble(1), curve.lookup(1.5), EPSILON);
+        assertEquals(source.applyAsDouble(1), curve.lookup(Double.POSITIVE_INFINITY), EPSILON);
+        assertEquals(source.applyAsDouble(-1), curve.lookup(-1.0001), EPSILON);
+        assertEquals(source.applyAsDouble(-1), curve.lookup(Double.NEGATIVE_INFINITY), EPSILON);
+        assertEquals(1, curve.lookup(1), EPSILON);
+        assertEquals(-1, curve.lookup(-1), EPSILON);
+    }
+
+    @Test
+    public void nanPassesThrough() {
+        ResponseCurve curve = new ResponseCurve(x -> x);
+        assertTrue(Double.isNaN(curve.lookup(Double.NaN)));
+        assertTrue(Double.isNaN(curve.applyAsDouble(Double.NaN)));
+
+        // and doesn't get stuck in the slew limiter
+        ResponseCurve limited = slewLimited(2);
+        assertEquals(0.5, limited.applyAsDouble(0.5), EPSILON);
+        timeNanos += STEP_NANOS;
+        assertTrue(Double.isNaN(limited.applyAsDouble(Double.NaN)));
+        timeNanos += STEP_NANOS;
+        // 200 ms since the last real sample at 2 per second
+        assertEquals(0.9, limited.applyAsDouble(1), EPSILON);
+    }
+
+    @Test
+    public void slewRateLimitsChange() {
+        ResponseCurve curve = slewLimited(2);
+        // the first sample passes straight through
+        assertEquals(0, curve.applyAsDouble(0), EPSILON);
+        timeNanos += STEP_NANOS;
+        assertEquals(0.2, curve.applyAsDouble(1), EPSILON);
+        timeNanos += STEP_NANOS;
+        assertEquals(0.4, curve.applyAsDouble(1), EPSILON);
+        timeNanos += STEP_NANOS;
+        assertEquals(0.2, curve.applyAsDouble(-1), EPSILON);
+        // the table lookup itself is never limited
+        assertEquals(-1, curve.lookup(-1), EPSILON);
+
+        curve.reset();
+        assertEquals(-1, curve.applyAsDouble(-1), EPSILON);
+
+        curve.setSlewRate(Double.POSITIVE_INFINITY);
+        assertEquals(1, curve.applyAsDouble(1), EPSILON);
+    }
+
+    @Test
+    public void copiesHaveSeparateLimiters() {
+        ResponseCurve first = slewLimited(2);
+        ResponseCurve second = first.copy();
+
+        assertEquals(0, first.applyAsDouble(0), EPSILON);
+        timeNanos += STEP_NANOS;
+        assertEquals(0.2, first.applyAsDouble(1), EPSILON);
+        // the copy has never been sampled, so it jumps straight to its input
+        assertEquals(-1, second.applyAsDouble(-1), EPSILON);
+        timeNanos += STEP_NANOS;
+        // and sampling it didn't move the original's limiter
+        assertEquals(0.4, first.applyAsDouble(1), EPSILON);
+        assertEquals(-0.8, second.applyAsDouble(1), EPSILON);
+    }
+
+    @Test
+    public void shapeReadsThroughCurve() {
+        double[] raw = {0.05};
+        ResponseCurve curve = new ResponseCurve(ResponseCurve.deadzoneExpo(0.1, 1));
+        assertEquals(0, curve.shape(() -> raw[0]).getAsDouble(), 0);
+        raw[0] = 1;
+        assertEquals(1, curve.shape(() -> raw[0]).getAsDouble(), EPSILON);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooFewPointsThrow() {
+        new ResponseCurve(x -> x, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveSlewRateThrows() {
+        new ResponseCurve(x -> x).setSlewRate(0);
+    }
+}
@@ -0,0 +1,125 @@
+package org.team1540.rooster.wrappers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+import org.junit.Before;
+import org.junit.Test;
+import org.team1540.rooster.drive.pipeline.CTREOutput;
+import org.team1540.rooster.drive.pipeline.TankDriveData;
+import org.team1540.rooster.wrappers.SimChickenController.Motor;
+
+public class DemandFilterTest {
+
+  // 50 Hz robot loop
+  private static final double LOOP_PERIOD = 0.02;
+  private static final int LOOPS = 500;
+
+  private long timeUs;
+  private DemandFilter filter;
+
+  @Before
+  public void setUp() {
+    timeUs = 0;
+    filter = new DemandFilter(() -> timeUs);
+  }
+
+  @Test
+  public void firstDemandIsSent() {
+    assertTrue(filter.shouldSend(ControlMode.PercentOutput, 0.5));
+  }
+
+  @Test
+  public void repeatedDemandIsSkippedUntilRefresh() {
+    assertTrue(filter.shouldSend(ControlMode.PercentOutput, 0.5));
+    timeUs = 99_999;
+    assertFalse(filter.shouldSend(ControlMode.PercentOutput, 0.5));
+    timeUs = 100_000;
+    assertTrue(filter.shouldSend(ControlMode.PercentOutput, 0.5));
+  }
+
+  @Test
+  public void changesAreSent() {
+    assertTrue(filter.shouldSend(ControlMode.PercentOutput, 0.5));
+    assertFalse(filter.shouldSend(ControlMode.PercentOutput, 0.5 + 0.5e-4));
+    assertTrue(filter.shouldSend(ControlMode.PercentOutput, 0.6));
+    assertTrue(filter.shouldSend(ControlMode.Velocity, 0.6));
+    assertTrue(filter.shouldSend(ControlMode.Velocity, 0.6, DemandType.ArbitraryFeedForward, 0));
+    assertTrue(filter.shouldSend(ControlMode.Velocity, 0.6, DemandType.ArbitraryFeedForward, 0.1));
+  }
+
+  @Test
+  public void resetForcesNextSend() {
+    assertTrue(filter.shouldSend(ControlMode.PercentOutput, 0.5));
+    filter.reset();
+    assertTrue(filter.shouldSend(ControlMode.PercentOutput, 0.5));
+  }
+
+  @Test
+  public void zeroRefreshPeriodDisablesFiltering() {
+    filter.setRefreshPeriod(0);
+    assertTrue(filter.shouldSend(ControlMode.PercentOutput, 0.5));
+    assertTrue(filter.shouldSend(ControlMode.PercentOutput, 0.5));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeEpsilonThrows() {
+    filter.setEpsilon(-1);
+  }
+
+  @Test
+  public void constantDemandOnSimControllerIsMostlySkipped() {
+    SimChickenController sim = new SimChickenController(1, Motor.CIM, 2, 10, 0.1, 4096);
+    ChickenController controller = sim.getController();
+
+    for (int i = 0; i < LOOPS; i++) {
+      controller.set(ControlMode.PercentOutput, 0.5);
+      sim.update(LOOP_PERIOD);
+    }
+
+    DemandFilter simFilter = controller.getDemandFilter();
+    // one send, then one refresh every 100 ms (5 loops) over 10 s
+    assertEquals(LOOPS / 5, simFilter.getSentCount());
+    assertEquals(LOOPS - LOOPS / 5, simFilter.getSkippedCount());
+    assertEquals(0.8, simFilter.getSkippedFraction(), 1e-9);
+  }
+
+  @Test
+  public void changingDemandOnSimControllerIsAlwaysSent() {
+    SimChickenController sim = new SimChickenController(1, Motor.CIM, 2, 10, 0.1, 4096);
+    ChickenController controller = sim.getController();
+
+    for (int i = 0; i < LOOPS; i++) {
+      controller.set(ControlMode.PercentOutput, Math.sin(i * 0.1));
+      sim.update(LOOP_PERIOD);
+    }
+
+    assertEquals(LOOPS, controller.getDemandFilter().getSentCount());
+    assertEquals(0, controller.getDemandFilter().getSkippedCount());
+  }
+
+  @Test
+  public void ctreOutputUsesChickenControllerFilter() {
+    SimChickenController left = new SimChickenController(1, Motor.CIM, 2, 10, 0.1, 4096);
+    SimChickenController right = new SimChickenController(2, Motor.CIM, 2, 10, 0.1, 4096);
+    CTREOutput output = new CTREOutput(left.getController(), right.getController(), false);
+
+    assertSame(left.getController().getDemandFilter(), output.getLeftFilter());
+    assertSame(right.getController().getDemandFilter(), output.getRightFilter());
+
+    TankDriveData data = new TankDriveData().plusAdditionalFeedForwards(0.5, 0.5);
+    for (int i = 0; i < LOOPS; i++) {
+      output.accept(data);
+      left.update(LOOP_PERIOD);
+      right.update(LOOP_PERIOD);
+    }
+
+    // filtered once, so the refresh still happens every 100 ms
+    assertEquals(LOOPS / 5, output.getLeftFilter().getSentCount());
+    assertEquals(LOOPS / 5, output.getRightFilter().getSentCount());
+  }
+}
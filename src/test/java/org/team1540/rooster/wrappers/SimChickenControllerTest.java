@@ -0,0 +1,90 @@
+package org.team1540.rooster.wrappers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+import org.junit.Test;
+import org.team1540.rooster.wrappers.SimChickenController.Motor;
+
+public class SimChickenControllerTest {
+
+  private static SimChickenController create(int id) {
+    return new SimChickenController(id, Motor.CIM, 1, 10, 0.1, 4096);
+  }
+
+  @Test
+  public void storedSettingsReadBack() {
+    ChickenController controller = create(1).getController();
+    assertEquals(ErrorCode.OK, controller.configSetCustomParam(42, 1));
+    assertEquals(42, controller.configGetCustomParam(1));
+    assertEquals(ErrorCode.InvalidParamValue, controller.configSetCustomParam(1, 2));
+
+    assertEquals(-1, controller.getStatusFramePeriod(StatusFrame.Status_1_General));
+    controller.setStatusFramePeriod(StatusFrame.Status_1_General, 5);
+    assertEquals(5, controller.getStatusFramePeriod(StatusFrame.Status_1_General));
+    assertEquals(5,
+        controller.getConfiguredStatusFramePeriod(StatusFrame.Status_1_General.value));
+  }
+
+  @Test
+  public void threeArgumentSetKeepsAuxTarget() {
+    SimChickenController sim = create(1);
+    sim.set(ControlMode.Position, 100, 7);
+    assertEquals(ControlMode.Position, sim.getControlMode());
+    assertEquals(100, sim.getClosedLoopTarget(0), 0);
+    assertEquals(7, sim.getClosedLoopTarget(1), 0);
+
+    // a change in only the aux target still gets through the demand filter
+    sim.set(ControlMode.Position, 100, 8);
+    assertEquals(8, sim.getClosedLoopTarget(1), 0);
+    assertEquals(2, sim.getDemandFilter().getSentCount());
+  }
+
+  @Test
+  public void motionProfilesAreRejected() {
+    ChickenController controller = create(1).getController();
+    assertEquals(ErrorCode.GeneralError, controller.pushMotionProfileTrajectory(null));
+    assertEquals(0, controller.getMotionProfileTopLevelBufferCount());
+  }
+
+  @Test
+  public void ignoredConfigurationReturnsOk() {
+    ChickenController controller = create(1).getController();
+    assertEquals(ErrorCode.OK, controller.configOpenloopRamp(0.5));
+    assertEquals(ErrorCode.OK, controller.configVoltageCompSaturation(12));
+  }
+
+  @Test
+  public void objectMethodsAreHandled() {
+    ChickenController controller = create(3).getController();
+    assertEquals("SimChickenController 3", controller.toString());
+    assertTrue(controller.equals(controller));
+    assertFalse(controller.equals(create(3).getController()));
+    assertEquals(System.identityHashCode(controller), controller.hashCode());
+  }
+
+  @Test
+  public void groupFollowersCopyTheLeader() {
+    SimChickenController leader = create(1);
+    SimChickenController follower = create(2);
+    ChickenControllerGroup group =
+        new ChickenControllerGroup(leader.getController(), follower.getController());
+    group.setInverted(true);
+    group.set(ControlMode.PercentOutput, 0.5);
+
+    for (int i = 0; i < 50; i++) {
+      leader.update(0.02);
+      follower.update(0.02);
+    }
+
+    assertEquals(0.5, follower.getController().getMotorOutputPercent(), 0);
+    // FollowMaster picks up the leader's inversion, so both spin the same way
+    assertTrue(leader.getVelocity() < 0);
+    assertTrue(follower.getVelocity() < 0);
+    assertTrue(follower.getController().getInverted());
+  }
+}